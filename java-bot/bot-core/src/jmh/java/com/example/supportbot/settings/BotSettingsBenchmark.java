@@ -0,0 +1,88 @@
+package com.example.supportbot.settings;
+
+import com.example.supportbot.service.RuntimeConfigService;
+import com.example.supportbot.service.SharedConfigService;
+import com.example.supportbot.settings.dto.BotSettingsDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sanitizing a channel's raw {@code questions_cfg} JSON into {@link BotSettingsDto}, the work done on
+ * every settings load of a bot runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BotSettingsBenchmark {
+
+    @Param({"1", "20"})
+    public int questionTemplates;
+
+    private Path sharedConfigDir;
+    private BotSettingsService service;
+    private Map<String, Object> presetDefinitions;
+    private String rawJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        sharedConfigDir = Files.createTempDirectory("bot-benchmark-shared-config-");
+        SharedConfigService sharedConfigService = new SharedConfigService(objectMapper, sharedConfigDir.toString());
+        service = new BotSettingsService(objectMapper, sharedConfigService, Mockito.mock(RuntimeConfigService.class));
+        presetDefinitions = sharedConfigService.presetDefinitions();
+
+        Map<String, Object> settings = objectMapper.convertValue(service.buildDefaultSettings(), new TypeReference<>() {});
+        List<?> defaults = (List<?>) settings.get("question_templates");
+        List<Object> templates = new ArrayList<>(questionTemplates);
+        for (int i = 0; i < questionTemplates; i++) {
+            Map<String, Object> template = new LinkedHashMap<>(objectMapper.convertValue(defaults.get(0), new TypeReference<Map<String, Object>>() {}));
+            template.put("id", "template-" + i);
+            template.put("name", "Шаблон " + i);
+            templates.add(template);
+        }
+        settings.put("question_templates", templates);
+        rawJson = objectMapper.writeValueAsString(settings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(sharedConfigDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public BotSettingsDto sanitizeFromJson() {
+        return service.sanitizeFromJson(rawJson, presetDefinitions, 10);
+    }
+}
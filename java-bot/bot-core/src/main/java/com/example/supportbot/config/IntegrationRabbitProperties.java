@@ -18,6 +18,7 @@ public class IntegrationRabbitProperties {
     private String outboundQueue;
     private String outboundDlq;
     private String outboundRoutingKey;
+    private String lifecycleRoutingKey = "integration.outbound.lifecycle.#";
     private String routingTelegram;
     private String routingVk;
     private String routingMax;
@@ -114,6 +115,14 @@ public class IntegrationRabbitProperties {
         this.outboundRoutingKey = outboundRoutingKey;
     }
 
+    public String getLifecycleRoutingKey() {
+        return lifecycleRoutingKey;
+    }
+
+    public void setLifecycleRoutingKey(String lifecycleRoutingKey) {
+        this.lifecycleRoutingKey = lifecycleRoutingKey;
+    }
+
     public String getRoutingTelegram() {
         return routingTelegram;
     }
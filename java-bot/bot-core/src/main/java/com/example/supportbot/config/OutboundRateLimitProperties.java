@@ -0,0 +1,131 @@
+package com.example.supportbot.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-bot outbound limits. Operator replies from the panel go straight to the platform under the panel's
+ * own limiter ({@code app.operator-replies}), so the defaults leave that share of each platform's limit free.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.outbound")
+public class OutboundRateLimitProperties {
+
+    private boolean enabled = true;
+    private int workersPerBot = 4;
+    private int maxRetries = 3;
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+    private PlatformLimits defaults = new PlatformLimits(20, 1, 3);
+    private Map<String, PlatformLimits> platforms = defaultPlatforms();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWorkersPerBot() {
+        return workersPerBot;
+    }
+
+    public void setWorkersPerBot(int workersPerBot) {
+        this.workersPerBot = workersPerBot;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public Duration getDefaultRetryAfter() {
+        return defaultRetryAfter;
+    }
+
+    public void setDefaultRetryAfter(Duration defaultRetryAfter) {
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    public PlatformLimits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(PlatformLimits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, PlatformLimits> getPlatforms() {
+        return platforms;
+    }
+
+    public void setPlatforms(Map<String, PlatformLimits> platforms) {
+        this.platforms = platforms;
+    }
+
+    public PlatformLimits limitsFor(String platform) {
+        if (platform != null && platforms != null) {
+            PlatformLimits limits = platforms.get(platform.toLowerCase(Locale.ROOT));
+            if (limits != null) {
+                return limits;
+            }
+        }
+        return defaults;
+    }
+
+    private static Map<String, PlatformLimits> defaultPlatforms() {
+        Map<String, PlatformLimits> limits = new LinkedHashMap<>();
+        limits.put("telegram", new PlatformLimits(25, 1, 3));
+        limits.put("vk", new PlatformLimits(17, 1, 3));
+        limits.put("max", new PlatformLimits(25, 1, 3));
+        return limits;
+    }
+
+    public static class PlatformLimits {
+
+        private double globalPerSecond;
+        private double perChatPerSecond;
+        private int perChatBurst;
+
+        public PlatformLimits() {
+            this(20, 1, 3);
+        }
+
+        public PlatformLimits(double globalPerSecond, double perChatPerSecond, int perChatBurst) {
+            this.globalPerSecond = globalPerSecond;
+            this.perChatPerSecond = perChatPerSecond;
+            this.perChatBurst = perChatBurst;
+        }
+
+        public double getGlobalPerSecond() {
+            return globalPerSecond;
+        }
+
+        public void setGlobalPerSecond(double globalPerSecond) {
+            this.globalPerSecond = globalPerSecond;
+        }
+
+        public double getPerChatPerSecond() {
+            return perChatPerSecond;
+        }
+
+        public void setPerChatPerSecond(double perChatPerSecond) {
+            this.perChatPerSecond = perChatPerSecond;
+        }
+
+        public int getPerChatBurst() {
+            return perChatBurst;
+        }
+
+        public void setPerChatBurst(int perChatBurst) {
+            this.perChatBurst = perChatBurst;
+        }
+    }
+}
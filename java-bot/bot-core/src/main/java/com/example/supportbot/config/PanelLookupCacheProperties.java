@@ -0,0 +1,65 @@
+package com.example.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.integration.panel-api.cache")
+public class PanelLookupCacheProperties {
+
+    private boolean enabled = true;
+    private Duration blacklistTtl = Duration.ofSeconds(30);
+    private Duration activeTicketTtl = Duration.ofSeconds(5);
+    private Duration pendingFeedbackTtl = Duration.ofSeconds(30);
+    private Duration missTtl = Duration.ofSeconds(5);
+    private int maxUsers = 50_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getBlacklistTtl() {
+        return blacklistTtl;
+    }
+
+    public void setBlacklistTtl(Duration blacklistTtl) {
+        this.blacklistTtl = blacklistTtl;
+    }
+
+    public Duration getActiveTicketTtl() {
+        return activeTicketTtl;
+    }
+
+    public void setActiveTicketTtl(Duration activeTicketTtl) {
+        this.activeTicketTtl = activeTicketTtl;
+    }
+
+    public Duration getPendingFeedbackTtl() {
+        return pendingFeedbackTtl;
+    }
+
+    public void setPendingFeedbackTtl(Duration pendingFeedbackTtl) {
+        this.pendingFeedbackTtl = pendingFeedbackTtl;
+    }
+
+    public Duration getMissTtl() {
+        return missTtl;
+    }
+
+    public void setMissTtl(Duration missTtl) {
+        this.missTtl = missTtl;
+    }
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.supportbot.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Declarables;
@@ -77,6 +78,25 @@ public class RabbitIntegrationTransportConfig {
         );
     }
 
+    /**
+     * Per-instance queue for ticket lifecycle events: every bot instance keeps its own panel lookup
+     * cache, so each one needs every event. The queue is removed when the instance disconnects.
+     */
+    @Bean
+    public Queue ticketLifecycleQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Declarables ticketLifecycleBinding(Queue ticketLifecycleQueue, IntegrationRabbitProperties properties) {
+        TopicExchange outboundExchange = new TopicExchange(properties.getOutboundExchange(), true, false);
+        return new Declarables(
+            BindingBuilder.bind(ticketLifecycleQueue)
+                .to(outboundExchange)
+                .with(properties.getLifecycleRoutingKey())
+        );
+    }
+
     @Bean(name = "outboundFeedbackPromptListenerContainerFactory")
     public SimpleRabbitListenerContainerFactory outboundFeedbackPromptListenerContainerFactory(
         ConnectionFactory connectionFactory,
@@ -0,0 +1,27 @@
+package com.example.supportbot.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+
+@Configuration
+public class BotMetricsConfiguration {
+
+    /**
+     * Replaces Boot's default scheduler with an instrumented one, keeping {@code spring.task.scheduling.*}
+     * settings applied through the builder.
+     */
+    @Bean
+    public TaskScheduler taskScheduler(ObjectProvider<ThreadPoolTaskSchedulerBuilder> builder,
+                                       BotMetricsRegistry metricsRegistry) {
+        InstrumentedTaskScheduler scheduler = new InstrumentedTaskScheduler(metricsRegistry);
+        ThreadPoolTaskSchedulerBuilder configured = builder.getIfAvailable();
+        if (configured != null) {
+            return configured.configure(scheduler);
+        }
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
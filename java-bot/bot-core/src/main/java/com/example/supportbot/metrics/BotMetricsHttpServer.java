@@ -0,0 +1,86 @@
+package com.example.supportbot.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Serves {@code GET /metrics} in the Prometheus text format on a dedicated port. Bot runtimes mostly run
+ * without a servlet container, so the endpoint uses the JDK HTTP server and is off unless
+ * {@code support-bot.metrics.port} is set.
+ */
+@Component
+public class BotMetricsHttpServer {
+
+    private static final Logger log = LoggerFactory.getLogger(BotMetricsHttpServer.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final BotMetricsRegistry registry;
+    private final int port;
+    private final String bindAddress;
+    private final String token;
+    private HttpServer server;
+
+    public BotMetricsHttpServer(BotMetricsRegistry registry,
+                                @Value("${support-bot.metrics.port:-1}") int port,
+                                @Value("${support-bot.metrics.bind-address:0.0.0.0}") String bindAddress,
+                                @Value("${support-bot.metrics.token:}") String token) {
+        this.registry = registry;
+        this.port = port;
+        this.bindAddress = bindAddress;
+        this.token = token;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (port < 0) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        log.info("Prometheus metrics endpoint listening on {}:{}/metrics", bindAddress, server.getAddress().getPort());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    int boundPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (StringUtils.hasText(token)
+                && !("Bearer " + token).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
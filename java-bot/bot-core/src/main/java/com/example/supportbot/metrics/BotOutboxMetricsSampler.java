@@ -0,0 +1,99 @@
+package com.example.supportbot.metrics;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples the backlog of transport events this bot still has to publish from
+ * {@code integration_transport_outbox} and exposes the last sample as gauges.
+ */
+@Component
+public class BotOutboxMetricsSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(BotOutboxMetricsSampler.class);
+    private static final List<String> PENDING_STATUSES = List.of("queued", "processing", "failed");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Double> samples = new ConcurrentHashMap<>();
+
+    public BotOutboxMetricsSampler(JdbcTemplate jdbcTemplate, BotMetricsRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (String status : PENDING_STATUSES) {
+            registry.gauge("bot_outbox_depth", "Undelivered outbox rows at the last sample.",
+                () -> samples.getOrDefault(status, Double.NaN), "outbox", "integration_transport_outbox", "status", status);
+        }
+        registry.gauge("bot_outbox_oldest_age_seconds", "Age of the oldest undelivered outbox row at the last sample.",
+            () -> samples.getOrDefault("age", Double.NaN), "outbox", "integration_transport_outbox");
+    }
+
+    @Scheduled(fixedDelayString = "${support-bot.metrics.outbox-sample-interval-ms:15000}",
+        initialDelayString = "${support-bot.metrics.outbox-sample-initial-delay-ms:10000}")
+    public void sample() {
+        Instant now = Instant.now();
+        try {
+            Map<String, Double> depth = new HashMap<>();
+            Instant[] oldest = new Instant[1];
+            jdbcTemplate.query("""
+                    SELECT status, COUNT(*) AS depth, MIN(created_at) AS oldest
+                      FROM integration_transport_outbox
+                     WHERE status IN ('queued', 'processing', 'failed')
+                       AND transport_source LIKE 'bot.%'
+                     GROUP BY status
+                    """,
+                rs -> {
+                    depth.put(rs.getString("status"), (double) rs.getLong("depth"));
+                    Instant created = toInstant(rs.getObject("oldest"));
+                    if (created != null && (oldest[0] == null || created.isBefore(oldest[0]))) {
+                        oldest[0] = created;
+                    }
+                });
+            for (String status : PENDING_STATUSES) {
+                samples.put(status, depth.getOrDefault(status, 0d));
+            }
+            samples.put("age", oldest[0] == null ? 0d : Math.max(0d, Duration.between(oldest[0], now).toMillis() / 1000d));
+        } catch (DataAccessException ex) {
+            log.debug("Outbox metrics sample failed: {}", ex.getMessage());
+        }
+    }
+
+    static Instant toInstant(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        String raw = value.toString().trim();
+        try {
+            return OffsetDateTime.parse(raw).toInstant();
+        } catch (DateTimeParseException ignored) {
+            // fall through to local timestamp forms written by SQLite defaults
+        }
+        try {
+            return LocalDateTime.parse(raw.replace(' ', 'T')).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+}
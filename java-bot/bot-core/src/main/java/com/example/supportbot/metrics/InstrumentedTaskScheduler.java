@@ -0,0 +1,152 @@
+package com.example.supportbot.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Task scheduler that times every {@code @Scheduled} method it runs.
+ *
+ * <p>Per job ({@code Class.method}) it records run duration, start lag against the time the run was
+ * due, failures, runs that took longer than the configured fixed rate/delay, and the number of runs
+ * currently in flight. Tasks that are not annotated methods are scheduled untouched.</p>
+ */
+public class InstrumentedTaskScheduler extends ThreadPoolTaskScheduler {
+
+    private final BotMetricsRegistry registry;
+
+    public InstrumentedTaskScheduler(BotMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.schedule(task, trigger);
+        }
+        TimedJob job = new TimedJob(method, null, false);
+        return super.schedule(job, new Trigger() {
+            @Override
+            public Instant nextExecution(TriggerContext triggerContext) {
+                Instant next = trigger.nextExecution(triggerContext);
+                job.expectedStart = next;
+                return next;
+            }
+        });
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.schedule(task, startTime);
+        }
+        TimedJob job = new TimedJob(method, null, false);
+        job.expectedStart = startTime;
+        return super.schedule(job, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.scheduleAtFixedRate(task, startTime, period);
+        }
+        TimedJob job = new TimedJob(method, period, true);
+        job.expectedStart = startTime;
+        return super.scheduleAtFixedRate(job, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.scheduleAtFixedRate(task, period);
+        }
+        TimedJob job = new TimedJob(method, period, true);
+        job.expectedStart = Instant.now();
+        return super.scheduleAtFixedRate(job, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.scheduleWithFixedDelay(task, startTime, delay);
+        }
+        TimedJob job = new TimedJob(method, delay, false);
+        job.expectedStart = startTime;
+        return super.scheduleWithFixedDelay(job, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        if (!(task instanceof ScheduledMethodRunnable method)) {
+            return super.scheduleWithFixedDelay(task, delay);
+        }
+        TimedJob job = new TimedJob(method, delay, false);
+        job.expectedStart = Instant.now();
+        return super.scheduleWithFixedDelay(job, delay);
+    }
+
+    static String jobName(ScheduledMethodRunnable method) {
+        return ClassUtils.getUserClass(method.getTarget()).getSimpleName() + "." + method.getMethod().getName();
+    }
+
+    private final class TimedJob implements Runnable {
+
+        private final Runnable delegate;
+        private final String job;
+        private final Duration interval;
+        private final boolean fixedRate;
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile Instant expectedStart;
+
+        private TimedJob(ScheduledMethodRunnable delegate, Duration interval, boolean fixedRate) {
+            this.delegate = delegate;
+            this.job = jobName(delegate);
+            this.interval = interval;
+            this.fixedRate = fixedRate;
+            registry.gauge("bot_scheduled_job_running", "Runs of a scheduled job currently in progress.",
+                    running::get, "job", job);
+        }
+
+        @Override
+        public void run() {
+            Instant startedAt = Instant.now();
+            Instant due = expectedStart;
+            if (due != null) {
+                registry.histogram("bot_scheduled_job_lag_seconds",
+                                "Delay between the time a scheduled job was due and the time it started.", "job", job)
+                        .record(due.isAfter(startedAt) ? Duration.ZERO : Duration.between(due, startedAt));
+            }
+            running.incrementAndGet();
+            long started = System.nanoTime();
+            String outcome = "success";
+            try {
+                delegate.run();
+            } catch (RuntimeException | Error ex) {
+                outcome = "failure";
+                throw ex;
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                running.decrementAndGet();
+                registry.histogram("bot_scheduled_job_duration_seconds",
+                                "Execution time of scheduled jobs.", "job", job, "outcome", outcome)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+                if (interval != null) {
+                    if (elapsed > interval.toNanos()) {
+                        registry.counter("bot_scheduled_job_overruns_total",
+                                "Runs that took longer than the job's fixed rate or delay.", "job", job).increment();
+                    }
+                    expectedStart = fixedRate
+                            ? (due != null ? due : startedAt).plus(interval)
+                            : Instant.now().plus(interval);
+                }
+            }
+        }
+    }
+}
@@ -14,11 +14,14 @@ public class ConversationTicketCreatedPublisher {
 
     private final IntegrationRabbitProperties rabbitProperties;
     private final IntegrationTransportOutboxService integrationTransportOutboxService;
+    private final PanelLookupCache lookupCache;
 
     public ConversationTicketCreatedPublisher(IntegrationTransportOutboxService integrationTransportOutboxService,
-                                              IntegrationRabbitProperties rabbitProperties) {
+                                              IntegrationRabbitProperties rabbitProperties,
+                                              PanelLookupCache lookupCache) {
         this.integrationTransportOutboxService = integrationTransportOutboxService;
         this.rabbitProperties = rabbitProperties;
+        this.lookupCache = lookupCache;
     }
 
     public void publish(ConversationTicketCreationCommand command,
@@ -53,6 +56,7 @@ public class ConversationTicketCreatedPublisher {
             command.historyEntries()
         );
         integrationTransportOutboxService.enqueueConversationTicketCreated(event, rabbitProperties);
+        lookupCache.invalidateUser(command.userId());
         log.info("Queued conversation ticket creation event {} for ticket {}", eventId, ticketId);
     }
 
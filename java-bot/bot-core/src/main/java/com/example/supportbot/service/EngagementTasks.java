@@ -12,6 +12,8 @@ import com.example.supportbot.settings.dto.BotSettingsDto;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -29,6 +31,11 @@ public class EngagementTasks {
     private final MessagingService messagingService;
     private final TicketService ticketService;
     private final BotIntegrationTransportMode integrationTransportMode;
+    /**
+     * Prompts handed to the send queue whose outcome is not known yet; the next pass must not queue them
+     * again, otherwise a prompt still waiting for a rate-limit window would be sent twice.
+     */
+    private final Set<Long> inFlightRequests = ConcurrentHashMap.newKeySet();
 
     public EngagementTasks(PendingFeedbackRequestRepository pendingFeedbackRequestRepository,
                            NotificationRepository notificationRepository,
@@ -65,9 +72,22 @@ public class EngagementTasks {
                 continue;
             }
             String prompt = buildRatingPrompt(channel, request);
-            if (messagingService.sendToUser(channel, userId, prompt)) {
-                markFeedbackRequestSent(request, OffsetDateTime.now());
+            Long requestId = request.getId();
+            if (requestId != null && !inFlightRequests.add(requestId)) {
+                continue;
             }
+            messagingService.sendToUser(channel, userId, prompt, OutboundSendScheduler.Priority.BULK)
+                    .whenComplete((delivered, error) -> {
+                        try {
+                            if (Boolean.TRUE.equals(delivered)) {
+                                markFeedbackRequestSent(request, OffsetDateTime.now());
+                            }
+                        } finally {
+                            if (requestId != null) {
+                                inFlightRequests.remove(requestId);
+                            }
+                        }
+                    });
         }
     }
 
@@ -10,42 +10,103 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.MessageDeliveryMode;
 import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 @Service
-public class IntegrationTransportOutboxService {
+public class IntegrationTransportOutboxService implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(IntegrationTransportOutboxService.class);
     private static final Duration STALE_PROCESSING_TIMEOUT = Duration.ofMinutes(5);
-    private static final int BATCH_SIZE = 50;
+    private static final Duration CONFIRM_TIMEOUT = Duration.ofSeconds(15);
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_BATCHES_PER_DISPATCH = 20;
+    private static final String NOTIFY_CHANNEL = "integration_transport_outbox";
+    private static final int NOTIFY_POLL_TIMEOUT_MS = 500;
+    private static final long NOTIFY_RECONNECT_DELAY_MS = 5000L;
 
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
     private final ObjectMapper transportObjectMapper;
     private final RabbitTemplate rabbitTemplate;
+    private final boolean postgres;
+    private final long fallbackIntervalNanos;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    private final AtomicBoolean workPending = new AtomicBoolean(true);
+    private volatile long lastDispatchAt = System.nanoTime();
+    private volatile boolean listening;
+    private volatile boolean running;
+    private Thread notificationListener;
+    private final ExecutorService wakeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "integration-outbox-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public IntegrationTransportOutboxService(JdbcTemplate jdbcTemplate,
                                              ObjectMapper objectMapper,
                                              RabbitTemplate rabbitTemplate) {
+        this(jdbcTemplate, objectMapper, rabbitTemplate, 5000L);
+    }
+
+    /**
+     * @param fallbackIntervalMs how often the scheduled tick still drains the table while the PostgreSQL
+     *                           LISTEN connection is up; matches the shortest retry backoff by default
+     */
+    @Autowired
+    public IntegrationTransportOutboxService(JdbcTemplate jdbcTemplate,
+                                             ObjectMapper objectMapper,
+                                             RabbitTemplate rabbitTemplate,
+                                             @Value("${app.integration.outbox.fallback-interval-ms:5000}") long fallbackIntervalMs) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
         this.transportObjectMapper = objectMapper.copy().registerModule(offsetDateTimeModule());
         this.rabbitTemplate = rabbitTemplate;
+        this.fallbackIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, fallbackIntervalMs));
         ensureSchema();
+        this.postgres = detectPostgres();
     }
 
     public void enqueueInboundClientMessage(InboundClientMessageEvent event,
@@ -81,34 +142,119 @@ public class IntegrationTransportOutboxService {
         );
     }
 
+    /**
+     * Periodic safety net for {@link #dispatchPending()}. Enqueues wake the dispatcher directly (see
+     * {@link #wakeDispatcher()}) and, on PostgreSQL, every bot instance is woken by a {@code NOTIFY} on
+     * insert, so while the LISTEN connection is up the tick only drains the table after a pass that left
+     * work behind or once per {@code app.integration.outbox.fallback-interval-ms} for retries.
+     */
     @Scheduled(fixedDelayString = "${app.integration.outbox.dispatch-interval-ms:1500}")
     public void dispatchScheduled() {
-        recoverStaleProcessing();
-        List<String> eventIds = jdbcTemplate.query("""
-                SELECT event_id
-                  FROM integration_transport_outbox
-                 WHERE status IN ('queued', 'failed')
-                   AND (available_at IS NULL OR available_at <= CURRENT_TIMESTAMP)
-                 ORDER BY created_at ASC, event_id ASC
-                 LIMIT ?
-                """,
-            (rs, rowNum) -> rs.getString("event_id"),
-            BATCH_SIZE
-        );
-        for (String eventId : eventIds) {
-            if (!claim(eventId)) {
-                continue;
-            }
-            OutboxEntry entry = load(eventId);
-            if (entry == null) {
-                continue;
-            }
-            try {
-                publish(entry);
-                markPublished(entry.eventId());
-            } catch (Exception ex) {
-                markFailed(entry, ex);
+        boolean due = workPending.getAndSet(false)
+            || !listening
+            || System.nanoTime() - lastDispatchAt >= fallbackIntervalNanos;
+        if (due) {
+            dispatchPending();
+        }
+    }
+
+    /**
+     * Drains due events in batches: each batch is claimed in one statement, published with all broker
+     * confirms awaited together, and settled with one update for the published rows.
+     */
+    public void dispatchPending() {
+        dispatchLock.lock();
+        try {
+            lastDispatchAt = System.nanoTime();
+            recoverStaleProcessing();
+            for (int batch = 0; batch < MAX_BATCHES_PER_DISPATCH; batch++) {
+                List<OutboxEntry> claimed = claimBatch();
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                publishBatch(claimed);
+                if (claimed.size() < BATCH_SIZE) {
+                    return;
+                }
             }
+            workPending.set(true);
+        } catch (RuntimeException ex) {
+            workPending.set(true);
+            throw ex;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * Starts the LISTEN thread once the context is refreshed, so wakes never reach a bean that is still
+     * being constructed or a Rabbit connection that is not set up yet.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (postgres) {
+            startNotificationListener();
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        listening = false;
+        Thread listener = notificationListener;
+        notificationListener = null;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stop();
+        wakeExecutor.shutdownNow();
+    }
+
+    /**
+     * Schedules an immediate dispatch once the current transaction (if any) commits. Wakes that arrive
+     * while one is already pending are coalesced.
+     */
+    private void wakeDispatcher() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submitWake();
+                }
+            });
+            return;
+        }
+        submitWake();
+    }
+
+    private void submitWake() {
+        if (!wakePending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            wakeExecutor.execute(() -> {
+                wakePending.set(false);
+                try {
+                    dispatchPending();
+                } catch (RuntimeException ex) {
+                    log.warn("Immediate integration transport outbox dispatch failed: {}", ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            wakePending.set(false);
         }
     }
 
@@ -161,6 +307,86 @@ public class IntegrationTransportOutboxService {
             timestamp(now),
             timestamp(now)
         );
+        if (postgres) {
+            // Delivered on commit, so other bot instances never wake up for a row they cannot see yet.
+            jdbcTemplate.execute("NOTIFY " + NOTIFY_CHANNEL);
+        }
+        wakeDispatcher();
+    }
+
+    /**
+     * Holds one connection on {@code LISTEN integration_transport_outbox} so that events enqueued by any
+     * bot instance are dispatched right away instead of on the next poll. The connection is opened
+     * outside the pool (see {@link #openListenConnection(DataSource)}).
+     */
+    private void startNotificationListener() {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        Thread thread = new Thread(() -> listenForNotifications(dataSource), "integration-outbox-listen");
+        thread.setDaemon(true);
+        notificationListener = thread;
+        thread.start();
+    }
+
+    private void listenForNotifications(DataSource dataSource) {
+        while (running) {
+            try (Connection connection = openListenConnection(dataSource);
+                 Statement statement = connection.createStatement()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                statement.execute("LISTEN " + NOTIFY_CHANNEL);
+                listening = true;
+                // Anything inserted before LISTEN took effect went unannounced.
+                submitWake();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFY_POLL_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        submitWake();
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Integration transport outbox LISTEN connection failed, reconnecting in {} ms: {}",
+                    NOTIFY_RECONNECT_DELAY_MS, ex.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(NOTIFY_RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        listening = false;
+    }
+
+    /**
+     * A LISTEN session lives as long as the process, so with a Hikari pool it gets its own driver
+     * connection rather than a permanent slot of the pool; other datasources are not pooled and hand
+     * out a connection directly.
+     */
+    static Connection openListenConnection(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            if (StringUtils.hasText(hikari.getJdbcUrl())) {
+                Properties properties = new Properties();
+                properties.putAll(hikari.getDataSourceProperties());
+                if (hikari.getUsername() != null) {
+                    properties.setProperty("user", hikari.getUsername());
+                }
+                if (hikari.getPassword() != null) {
+                    properties.setProperty("password", hikari.getPassword());
+                }
+                return DriverManager.getConnection(hikari.getJdbcUrl(), properties);
+            }
+        }
+        return dataSource.getConnection();
     }
 
     private void recoverStaleProcessing() {
@@ -178,7 +404,119 @@ public class IntegrationTransportOutboxService {
         );
     }
 
-    private boolean claim(String eventId) {
+    private List<OutboxEntry> claimBatch() {
+        return postgres ? claimBatchReturning() : claimBatchGeneric();
+    }
+
+    /**
+     * PostgreSQL: one statement that locks due rows (skipping rows another bot instance is claiming),
+     * flips them to processing and returns them.
+     */
+    private List<OutboxEntry> claimBatchReturning() {
+        Timestamp now = timestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        return jdbcTemplate.query("""
+                WITH due AS (
+                    SELECT event_id
+                      FROM integration_transport_outbox
+                     WHERE status IN ('queued', 'failed')
+                       AND (available_at IS NULL OR available_at <= ?)
+                     ORDER BY created_at ASC, event_id ASC
+                     LIMIT ?
+                       FOR UPDATE SKIP LOCKED
+                ), claimed AS (
+                    UPDATE integration_transport_outbox outbox
+                       SET status = 'processing',
+                           attempt_count = outbox.attempt_count + 1,
+                           processing_started_at = ?,
+                           updated_at = ?
+                      FROM due
+                     WHERE outbox.event_id = due.event_id
+                    RETURNING outbox.event_id, outbox.event_kind, outbox.exchange_name, outbox.routing_key,
+                              outbox.payload_json, outbox.ticket_id, outbox.attempt_count, outbox.created_at
+                )
+                SELECT event_id, event_kind, exchange_name, routing_key, payload_json, ticket_id, attempt_count
+                  FROM claimed
+                 ORDER BY created_at ASC, event_id ASC
+                """,
+            (rs, rowNum) -> mapEntry(rs, 0),
+            now,
+            BATCH_SIZE,
+            now,
+            now
+        );
+    }
+
+    /**
+     * Other databases: read the due rows, then claim them all in one guarded update. If another
+     * dispatcher won some of them meanwhile, fall back to claiming the rows one by one.
+     */
+    private List<OutboxEntry> claimBatchGeneric() {
+        Timestamp now = timestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        List<OutboxEntry> candidates = jdbcTemplate.query("""
+                SELECT event_id, event_kind, exchange_name, routing_key, payload_json, ticket_id, attempt_count
+                  FROM integration_transport_outbox
+                 WHERE status IN ('queued', 'failed')
+                   AND (available_at IS NULL OR available_at <= ?)
+                 ORDER BY created_at ASC, event_id ASC
+                 LIMIT ?
+                """,
+            (rs, rowNum) -> mapEntry(rs, 1),
+            now,
+            BATCH_SIZE
+        );
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<Object> args = new ArrayList<>(candidates.size() + 3);
+        args.add(now);
+        args.add(now);
+        candidates.forEach(entry -> args.add(entry.eventId()));
+        args.add(now);
+        int updated = jdbcTemplate.update("""
+                UPDATE integration_transport_outbox
+                   SET status = 'processing',
+                       attempt_count = attempt_count + 1,
+                       processing_started_at = ?,
+                       updated_at = ?
+                 WHERE event_id IN (%s)
+                   AND status IN ('queued', 'failed')
+                   AND (available_at IS NULL OR available_at <= ?)
+                """.formatted(placeholders(candidates.size())),
+            args.toArray()
+        );
+        if (updated == candidates.size()) {
+            return candidates;
+        }
+        // Another dispatcher claimed part of the batch; without a claim token we cannot tell which rows
+        // are ours, so hand back the rows stamped with this claim and claim them one by one.
+        releaseClaims(candidates, now);
+        List<OutboxEntry> claimed = new ArrayList<>(candidates.size());
+        for (OutboxEntry entry : candidates) {
+            if (claimSingle(entry.eventId())) {
+                claimed.add(entry);
+            }
+        }
+        return claimed;
+    }
+
+    private void releaseClaims(List<OutboxEntry> entries, Timestamp claimedAt) {
+        List<Object> args = new ArrayList<>(entries.size() + 1);
+        entries.forEach(entry -> args.add(entry.eventId()));
+        args.add(claimedAt);
+        jdbcTemplate.update("""
+                UPDATE integration_transport_outbox
+                   SET status = 'queued',
+                       attempt_count = attempt_count - 1,
+                       processing_started_at = NULL
+                 WHERE event_id IN (%s)
+                   AND status = 'processing'
+                   AND processing_started_at = ?
+                """.formatted(placeholders(entries.size())),
+            args.toArray()
+        );
+    }
+
+    private boolean claimSingle(String eventId) {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         return jdbcTemplate.update("""
                 UPDATE integration_transport_outbox
@@ -197,33 +535,52 @@ public class IntegrationTransportOutboxService {
         ) > 0;
     }
 
-    private OutboxEntry load(String eventId) {
-        List<OutboxEntry> rows = jdbcTemplate.query("""
-                SELECT event_id,
-                       event_kind,
-                       exchange_name,
-                       routing_key,
-                       payload_json,
-                       ticket_id,
-                       attempt_count
-                  FROM integration_transport_outbox
-                 WHERE event_id = ?
-                """,
-            (rs, rowNum) -> new OutboxEntry(
-                rs.getString("event_id"),
-                rs.getString("event_kind"),
-                rs.getString("exchange_name"),
-                rs.getString("routing_key"),
-                rs.getString("payload_json"),
-                rs.getString("ticket_id"),
-                rs.getInt("attempt_count")
-            ),
-            eventId
+    private OutboxEntry mapEntry(ResultSet rs, int attemptIncrement) throws SQLException {
+        return new OutboxEntry(
+            rs.getString("event_id"),
+            rs.getString("event_kind"),
+            rs.getString("exchange_name"),
+            rs.getString("routing_key"),
+            rs.getString("payload_json"),
+            rs.getString("ticket_id"),
+            rs.getInt("attempt_count") + attemptIncrement
         );
-        return rows.isEmpty() ? null : rows.get(0);
     }
 
-    private void publish(OutboxEntry entry) throws Exception {
+    /**
+     * Sends every claimed event, then awaits all broker confirms against one shared deadline, so a
+     * batch costs one confirm round trip instead of one per event.
+     */
+    private void publishBatch(List<OutboxEntry> entries) {
+        Map<OutboxEntry, CorrelationData> inFlight = new LinkedHashMap<>();
+        Map<OutboxEntry, Exception> failures = new LinkedHashMap<>();
+        for (OutboxEntry entry : entries) {
+            try {
+                inFlight.put(entry, send(entry));
+            } catch (Exception ex) {
+                failures.put(entry, ex);
+            }
+        }
+        long deadline = System.nanoTime() + CONFIRM_TIMEOUT.toNanos();
+        List<String> published = new ArrayList<>(inFlight.size());
+        for (Map.Entry<OutboxEntry, CorrelationData> sent : inFlight.entrySet()) {
+            try {
+                awaitBrokerConfirm(sent.getValue(), Math.max(0L, deadline - System.nanoTime()));
+                published.add(sent.getKey().eventId());
+                log.info("Published integration transport outbox event {} ({}) for ticket {}",
+                    sent.getKey().eventId(), sent.getKey().eventKind(), sent.getKey().ticketId());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failures.put(sent.getKey(), ex);
+            } catch (Exception ex) {
+                failures.put(sent.getKey(), ex);
+            }
+        }
+        markPublished(published);
+        markFailed(failures);
+    }
+
+    private CorrelationData send(OutboxEntry entry) throws Exception {
         Object payload = switch (normalize(entry.eventKind())) {
             case "client_message.active_ticket" ->
                 transportObjectMapper.readValue(entry.payloadJson(), InboundClientMessageEvent.class);
@@ -244,18 +601,15 @@ public class IntegrationTransportOutboxService {
             },
             correlationData
         );
-        awaitBrokerConfirm(correlationData);
-        log.info("Published integration transport outbox event {} ({}) for ticket {}",
-            entry.eventId(), entry.eventKind(), entry.ticketId());
+        return correlationData;
     }
 
-    private void awaitBrokerConfirm(CorrelationData correlationData) throws Exception {
+    private void awaitBrokerConfirm(CorrelationData correlationData, long timeoutNanos) throws Exception {
         CorrelationData.Confirm confirm;
         try {
-            confirm = correlationData.getFuture().get(15, TimeUnit.SECONDS);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw ex;
+            confirm = correlationData.getFuture().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("RabbitMQ publish confirm timed out for event " + correlationData.getId(), ex);
         }
         if (correlationData.getReturned() != null) {
             throw new IllegalStateException("RabbitMQ returned publish for event " + correlationData.getId());
@@ -267,8 +621,15 @@ public class IntegrationTransportOutboxService {
         }
     }
 
-    private void markPublished(String eventId) {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    private void markPublished(List<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = timestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        List<Object> args = new ArrayList<>(eventIds.size() + 2);
+        args.add(now);
+        args.add(now);
+        args.addAll(eventIds);
         jdbcTemplate.update("""
                 UPDATE integration_transport_outbox
                    SET status = 'published',
@@ -276,19 +637,24 @@ public class IntegrationTransportOutboxService {
                        processing_started_at = NULL,
                        published_at = ?,
                        updated_at = ?
-                 WHERE event_id = ?
-                """,
-            timestamp(now),
-            timestamp(now),
-            eventId
+                 WHERE event_id IN (%s)
+                """.formatted(placeholders(eventIds.size())),
+            args.toArray()
         );
     }
 
-    private void markFailed(OutboxEntry entry,
-                            Exception exception) {
+    private void markFailed(Map<OutboxEntry, Exception> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        OffsetDateTime retryAt = now.plusSeconds(Math.min(300L, Math.max(5L, entry.attemptCount() * 5L)));
-        jdbcTemplate.update("""
+        List<Object[]> rows = new ArrayList<>(failures.size());
+        failures.forEach((entry, exception) -> {
+            OffsetDateTime retryAt = now.plusSeconds(Math.min(300L, Math.max(5L, entry.attemptCount() * 5L)));
+            rows.add(new Object[]{truncateError(exception), timestamp(retryAt), timestamp(now), entry.eventId()});
+            log.warn("Failed to publish integration transport outbox event {}: {}", entry.eventId(), exception.getMessage());
+        });
+        jdbcTemplate.batchUpdate("""
                 UPDATE integration_transport_outbox
                    SET status = 'failed',
                        last_error = ?,
@@ -297,12 +663,22 @@ public class IntegrationTransportOutboxService {
                        updated_at = ?
                  WHERE event_id = ?
                 """,
-            truncateError(exception),
-            timestamp(retryAt),
-            timestamp(now),
-            entry.eventId()
+            rows
         );
-        log.warn("Failed to publish integration transport outbox event {}: {}", entry.eventId(), exception.getMessage());
+    }
+
+    private boolean detectPostgres() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
 
     private void ensureSchema() {
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -16,8 +17,10 @@ public class MessagingService {
     private static final Logger log = LoggerFactory.getLogger(MessagingService.class);
 
     private final Map<String, OutboundMessenger> messengers;
+    private final OutboundSendScheduler sendScheduler;
 
-    public MessagingService(List<OutboundMessenger> messengers) {
+    public MessagingService(List<OutboundMessenger> messengers, OutboundSendScheduler sendScheduler) {
+        this.sendScheduler = sendScheduler;
         this.messengers = messengers.stream()
                 .collect(Collectors.toMap(
                         messenger -> messenger.platform().toLowerCase(Locale.ROOT),
@@ -25,32 +28,42 @@ public class MessagingService {
                         (existing, replacement) -> existing));
     }
 
-    public boolean sendToUser(Channel channel, Long userId, String text) {
+    public CompletableFuture<Boolean> sendToUser(Channel channel, Long userId, String text) {
+        return sendToUser(channel, userId, text, OutboundSendScheduler.Priority.INTERACTIVE);
+    }
+
+    public CompletableFuture<Boolean> sendToUser(Channel channel, Long userId, String text, OutboundSendScheduler.Priority priority) {
         if (userId == null || text == null || text.isBlank()) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         OutboundMessenger messenger = resolveMessenger(channel);
         if (messenger == null) {
             log.warn("No outbound messenger registered for platform {}", platform(channel));
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        return messenger.sendToUser(userId, text);
+        return sendScheduler.send(messenger.platform(), botKey(channel), String.valueOf(userId), priority,
+                () -> messenger.sendToUser(userId, text));
+    }
+
+    public CompletableFuture<Boolean> sendToSupportChat(Channel channel, String text) {
+        return sendToSupportChat(channel, text, OutboundSendScheduler.Priority.INTERACTIVE);
     }
 
-    public boolean sendToSupportChat(Channel channel, String text) {
+    public CompletableFuture<Boolean> sendToSupportChat(Channel channel, String text, OutboundSendScheduler.Priority priority) {
         if (channel == null || text == null || text.isBlank()) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         String supportChatId = channel.getSupportChatId();
         if (supportChatId == null || supportChatId.isBlank()) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         OutboundMessenger messenger = resolveMessenger(channel);
         if (messenger == null) {
             log.warn("No outbound messenger registered for platform {}", platform(channel));
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        return messenger.sendToSupportChat(supportChatId, text);
+        return sendScheduler.send(messenger.platform(), botKey(channel), supportChatId, priority,
+                () -> messenger.sendToSupportChat(supportChatId, text));
     }
 
     private OutboundMessenger resolveMessenger(Channel channel) {
@@ -64,6 +77,10 @@ public class MessagingService {
         return messengers.get("telegram");
     }
 
+    private String botKey(Channel channel) {
+        return channel != null && channel.getId() != null ? String.valueOf(channel.getId()) : "default";
+    }
+
     private String platform(Channel channel) {
         return channel != null ? channel.getPlatform() : null;
     }
@@ -46,7 +46,10 @@ public class OutboundFeedbackPromptDispatchService {
             deliveryLedgerService.markFailed(event.eventId(), exception);
             throw exception;
         }
-        boolean delivered = messagingService.sendToUser(channel.get(), event.userId(), event.prompt());
+        // The listener thread waits for the queued send without a deadline: giving up while the prompt is
+        // still queued would nack an event whose prompt may yet be delivered, and the redelivery would send it twice.
+        boolean delivered = Boolean.TRUE.equals(messagingService.sendToUser(channel.get(), event.userId(), event.prompt(),
+                OutboundSendScheduler.Priority.BULK).join());
         if (!delivered) {
             IllegalStateException exception = new IllegalStateException(
                     "Failed to deliver outbound feedback prompt for channel " + event.channelId());
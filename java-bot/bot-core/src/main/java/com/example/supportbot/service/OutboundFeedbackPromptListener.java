@@ -11,9 +11,12 @@ import org.springframework.stereotype.Component;
 public class OutboundFeedbackPromptListener {
 
     private final OutboundFeedbackPromptDispatchService dispatchService;
+    private final PanelLookupCache lookupCache;
 
-    public OutboundFeedbackPromptListener(OutboundFeedbackPromptDispatchService dispatchService) {
+    public OutboundFeedbackPromptListener(OutboundFeedbackPromptDispatchService dispatchService,
+                                          PanelLookupCache lookupCache) {
         this.dispatchService = dispatchService;
+        this.lookupCache = lookupCache;
     }
 
     @RabbitListener(
@@ -22,6 +25,12 @@ public class OutboundFeedbackPromptListener {
     )
     public void onFeedbackPrompt(OutboundFeedbackPromptEvent event,
                                  @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
+        // The panel prompts for feedback once it has closed the ticket, so the user's active ticket and
+        // pending feedback request have both changed.
+        if (event != null) {
+            lookupCache.invalidateUser(event.userId());
+            lookupCache.invalidateTicket(event.ticketId());
+        }
         dispatchService.dispatch(event, routingKey);
     }
 }
@@ -0,0 +1,22 @@
+package com.example.supportbot.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown by an {@link OutboundMessenger} when the platform rejected a send with a rate limit
+ * (HTTP 429 / flood control). {@link #retryAfter()} is the delay requested by the platform, or
+ * {@code null} when the response did not carry one.
+ */
+public class OutboundRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OutboundRateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.supportbot.service;
+
+import com.example.supportbot.config.OutboundRateLimitProperties;
+import com.example.supportbot.config.OutboundRateLimitProperties.PlatformLimits;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rate-limited outbound send queue shared by all messengers.
+ *
+ * <p>Every bot (platform + channel) gets its own lane with a global token bucket, per-chat token
+ * buckets and two priority queues: interactive sends (operator replies, conversation prompts) always
+ * leave before bulk sends (feedback prompts, digests). Messages to one chat are never sent in parallel,
+ * so their order is kept. When a platform answers with a rate limit the lane pauses for the requested
+ * {@code retry_after} and the send is retried at the head of its queue.</p>
+ */
+@Service
+public class OutboundSendScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundSendScheduler.class);
+    private static final int SCAN_LIMIT = 256;
+    private static final int MAX_CHAT_BUCKETS = 10_000;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    public enum Priority {
+        INTERACTIVE,
+        BULK
+    }
+
+    private final OutboundRateLimitProperties properties;
+    private final Map<String, BotLane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    public OutboundSendScheduler(OutboundRateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Queues the send without waiting for it. The returned future completes with {@code true} once the
+     * platform accepted the message and with {@code false} when the send failed or was rate limited more
+     * than {@code maxRetries} times; while it is not done the message is still queued or in flight.
+     * Callers must not cancel it: a send that already reached the platform cannot be recalled.
+     */
+    public CompletableFuture<Boolean> send(String platform, String botKey, String chatKey, Priority priority,
+                                           BooleanSupplier delivery) {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(deliverDirect(platform, delivery));
+        }
+        return submit(platform, botKey, chatKey, priority, delivery);
+    }
+
+    public CompletableFuture<Boolean> submit(String platform, String botKey, String chatKey, Priority priority,
+                                             BooleanSupplier delivery) {
+        SendTask task = new SendTask(chatKey != null ? chatKey : "", priority != null ? priority : Priority.INTERACTIVE, delivery);
+        if (stopped) {
+            task.future.complete(false);
+            return task.future;
+        }
+        String laneKey = platform + ":" + botKey;
+        lanes.computeIfAbsent(laneKey, key -> new BotLane(key, properties.limitsFor(platform))).enqueue(task);
+        return task.future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        lanes.values().forEach(BotLane::stop);
+    }
+
+    private boolean deliverDirect(String platform, BooleanSupplier delivery) {
+        try {
+            return delivery.getAsBoolean();
+        } catch (OutboundRateLimitedException ex) {
+            log.warn("Outbound {} send rejected by rate limit: {}", platform, ex.getMessage());
+            return false;
+        } catch (RuntimeException ex) {
+            log.warn("Outbound {} send failed", platform, ex);
+            return false;
+        }
+    }
+
+    private static final class SendTask {
+
+        private final String chatKey;
+        private final Priority priority;
+        private final BooleanSupplier delivery;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private int attempts;
+
+        private SendTask(String chatKey, Priority priority, BooleanSupplier delivery) {
+            this.chatKey = chatKey;
+            this.priority = priority;
+            this.delivery = delivery;
+        }
+    }
+
+    private final class BotLane {
+
+        private final String key;
+        private final PlatformLimits limits;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Deque<SendTask> interactive = new ArrayDeque<>();
+        private final Deque<SendTask> bulk = new ArrayDeque<>();
+        private final TokenBucket global;
+        private final Map<String, TokenBucket> chats = new HashMap<>();
+        private final Set<String> inFlightChats = new HashSet<>();
+        private final List<Thread> workers = new ArrayList<>();
+        private long pausedUntil;
+        private long nextWaitNanos;
+
+        private BotLane(String key, PlatformLimits limits) {
+            this.key = key;
+            this.limits = limits;
+            long now = System.nanoTime();
+            this.global = new TokenBucket(limits.getGlobalPerSecond(), limits.getGlobalPerSecond(), now);
+            this.pausedUntil = now;
+        }
+
+        private void enqueue(SendTask task) {
+            lock.lock();
+            try {
+                queue(task.priority).addLast(task);
+                if (workers.isEmpty()) {
+                    startWorkers();
+                }
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void startWorkers() {
+            int count = Math.max(1, properties.getWorkersPerBot());
+            for (int i = 0; i < count; i++) {
+                Thread worker = new Thread(this::runWorker, "outbound-" + key + "-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+
+        private void runWorker() {
+            while (!stopped) {
+                SendTask task;
+                lock.lock();
+                try {
+                    task = takeReady(System.nanoTime());
+                    if (task == null) {
+                        changed.awaitNanos(nextWaitNanos);
+                        continue;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                deliver(task);
+            }
+        }
+
+        private SendTask takeReady(long now) {
+            nextWaitNanos = IDLE_WAIT_NANOS;
+            if (interactive.isEmpty() && bulk.isEmpty()) {
+                return null;
+            }
+            if (pausedUntil - now > 0) {
+                nextWaitNanos = pausedUntil - now;
+                return null;
+            }
+            long globalWait = global.nanosUntilToken(now);
+            if (globalWait > 0) {
+                nextWaitNanos = globalWait;
+                return null;
+            }
+            SendTask task = pick(interactive, now);
+            if (task == null) {
+                task = pick(bulk, now);
+            }
+            if (task == null) {
+                return null;
+            }
+            global.take(now);
+            chatBucket(task.chatKey, now).take(now);
+            inFlightChats.add(task.chatKey);
+            return task;
+        }
+
+        private SendTask pick(Deque<SendTask> queue, long now) {
+            Iterator<SendTask> iterator = queue.iterator();
+            int scanned = 0;
+            while (iterator.hasNext() && scanned++ < SCAN_LIMIT) {
+                SendTask task = iterator.next();
+                if (task.future.isDone()) {
+                    iterator.remove();
+                    continue;
+                }
+                if (inFlightChats.contains(task.chatKey)) {
+                    continue;
+                }
+                TokenBucket bucket = chats.get(task.chatKey);
+                long chatWait = bucket != null ? bucket.nanosUntilToken(now) : 0L;
+                if (chatWait > 0) {
+                    nextWaitNanos = Math.min(nextWaitNanos, chatWait);
+                    continue;
+                }
+                iterator.remove();
+                return task;
+            }
+            return null;
+        }
+
+        private TokenBucket chatBucket(String chatKey, long now) {
+            if (chats.size() >= MAX_CHAT_BUCKETS) {
+                chats.entrySet().removeIf(entry -> !inFlightChats.contains(entry.getKey()) && entry.getValue().isFull(now));
+            }
+            return chats.computeIfAbsent(chatKey,
+                    ignored -> new TokenBucket(limits.getPerChatPerSecond(), limits.getPerChatBurst(), now));
+        }
+
+        private void deliver(SendTask task) {
+            boolean delivered = false;
+            OutboundRateLimitedException limited = null;
+            try {
+                delivered = task.delivery.getAsBoolean();
+            } catch (OutboundRateLimitedException ex) {
+                limited = ex;
+            } catch (RuntimeException ex) {
+                log.warn("Outbound send on {} to chat {} failed", key, task.chatKey, ex);
+            }
+            boolean completed = limited == null;
+            lock.lock();
+            try {
+                inFlightChats.remove(task.chatKey);
+                if (limited != null) {
+                    Duration retryAfter = limited.retryAfter() != null && !limited.retryAfter().isNegative()
+                            ? limited.retryAfter()
+                            : properties.getDefaultRetryAfter();
+                    long resumeAt = System.nanoTime() + retryAfter.toNanos();
+                    if (resumeAt - pausedUntil > 0) {
+                        pausedUntil = resumeAt;
+                    }
+                    if (task.attempts++ < properties.getMaxRetries() && !task.future.isDone()) {
+                        log.warn("Outbound send on {} rate limited, retrying in {} ms", key, retryAfter.toMillis());
+                        queue(task.priority).addFirst(task);
+                    } else {
+                        log.warn("Outbound send on {} to chat {} dropped after {} rate limited attempts", key, task.chatKey, task.attempts);
+                        completed = true;
+                    }
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (completed) {
+                task.future.complete(delivered);
+            }
+        }
+
+        private Deque<SendTask> queue(Priority priority) {
+            return priority == Priority.BULK ? bulk : interactive;
+        }
+
+        private void stop() {
+            lock.lock();
+            try {
+                workers.forEach(Thread::interrupt);
+                interactive.forEach(task -> task.future.complete(false));
+                bulk.forEach(task -> task.future.complete(false));
+                interactive.clear();
+                bulk.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedAt;
+
+        private TokenBucket(double perSecond, double capacity, long now) {
+            this.tokensPerNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1d, capacity);
+            this.tokens = this.capacity;
+            this.updatedAt = now;
+        }
+
+        private long nanosUntilToken(long now) {
+            if (tokensPerNano <= 0) {
+                return 0L;
+            }
+            refill(now);
+            return tokens >= 1d ? 0L : (long) Math.ceil((1d - tokens) / tokensPerNano);
+        }
+
+        private void take(long now) {
+            if (tokensPerNano <= 0) {
+                return;
+            }
+            refill(now);
+            tokens -= 1d;
+        }
+
+        private boolean isFull(long now) {
+            refill(now);
+            return tokensPerNano <= 0 || tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now - updatedAt > 0) {
+                tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+                updatedAt = now;
+            }
+        }
+    }
+}
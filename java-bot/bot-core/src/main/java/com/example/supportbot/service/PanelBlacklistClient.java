@@ -28,11 +28,14 @@ public class PanelBlacklistClient {
     private final IntegrationPanelApiProperties properties;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+    private final PanelLookupCache lookupCache;
 
     public PanelBlacklistClient(IntegrationPanelApiProperties properties,
-                                ObjectMapper objectMapper) {
+                                ObjectMapper objectMapper,
+                                PanelLookupCache lookupCache) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.lookupCache = lookupCache;
         this.httpClient = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(5))
             .build();
@@ -46,6 +49,10 @@ public class PanelBlacklistClient {
         if (!isEnabled()) {
             return Optional.empty();
         }
+        return lookupCache.blacklistStatus(userId, aliases, () -> loadStatus(userId, aliases));
+    }
+
+    private Optional<ResolvedBlacklistStatus> loadStatus(long userId, List<String> aliases) {
         StringBuilder path = new StringBuilder("/internal/api/bot/blacklist/status?userId=").append(userId);
         if (aliases != null) {
             for (String alias : aliases) {
@@ -65,6 +72,7 @@ public class PanelBlacklistClient {
         if (!isEnabled()) {
             return Optional.empty();
         }
+        lookupCache.invalidateUser(userId);
         return send(
             "/internal/api/bot/blacklist/unblock-requests",
             "POST",
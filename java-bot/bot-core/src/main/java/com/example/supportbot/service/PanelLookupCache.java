@@ -0,0 +1,160 @@
+package com.example.supportbot.service;
+
+import com.example.supportbot.config.PanelLookupCacheProperties;
+import com.example.supportbot.entity.PendingFeedbackRequest;
+import com.example.supportbot.entity.TicketActive;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Read-through cache for the per-message panel lookups made in RabbitMQ transport mode: blacklist
+ * status, active ticket and pending feedback request of a user.
+ *
+ * <p>Entries are grouped per user so that any change concerning the user drops all of them at once.
+ * Invalidation is driven by the writes the bot itself sends to the panel (ticket creation, reopen,
+ * activity reset, feedback, unblock requests), by the ticket lifecycle events the panel publishes when
+ * an operator or auto-close closes or reopens a ticket or changes a client's blacklist status
+ * ({@link TicketLifecycleEventListener}), and by outbound feedback prompts. Lifecycle events go through
+ * the panel outbox and may arrive a few seconds late or be lost while RabbitMQ is down, so active ticket
+ * hits are kept only briefly as well. Empty lookups are kept for the shorter {@code missTtl}, because the
+ * panel API answers a failed call the same way as a missing record.</p>
+ */
+@Service
+public class PanelLookupCache {
+
+    private final PanelLookupCacheProperties properties;
+    private final Map<Long, UserEntries> users = new ConcurrentHashMap<>();
+    private final Map<String, Long> ticketOwners = new ConcurrentHashMap<>();
+    private final Map<Long, Long> feedbackRequestOwners = new ConcurrentHashMap<>();
+
+    public PanelLookupCache(PanelLookupCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public Optional<PanelBlacklistClient.ResolvedBlacklistStatus> blacklistStatus(
+            long userId,
+            List<String> aliases,
+            Supplier<Optional<PanelBlacklistClient.ResolvedBlacklistStatus>> loader) {
+        String key = "blacklist|" + (aliases != null ? String.join(",", aliases) : "");
+        // An empty result means the panel call failed, so it is never cached.
+        return lookup(userId, key, properties.getBlacklistTtl(), Duration.ZERO, loader);
+    }
+
+    public Optional<TicketActive> activeTicket(Long userId,
+                                               String username,
+                                               Long channelId,
+                                               Supplier<Optional<TicketActive>> loader) {
+        if (userId == null) {
+            return loader.get();
+        }
+        String key = "ticket|" + (StringUtils.hasText(username) ? username.trim() : "") + "|" + channelId;
+        Optional<TicketActive> result = lookup(userId, key, properties.getActiveTicketTtl(), properties.getMissTtl(), loader);
+        result.map(TicketActive::getTicketId)
+                .filter(StringUtils::hasText)
+                .ifPresent(ticketId -> ticketOwners.put(ticketId, userId));
+        return result;
+    }
+
+    public Optional<PendingFeedbackRequest> pendingFeedback(Long userId,
+                                                            Long channelId,
+                                                            Supplier<Optional<PendingFeedbackRequest>> loader) {
+        if (userId == null) {
+            return loader.get();
+        }
+        Optional<PendingFeedbackRequest> result = lookup(userId, "feedback|" + channelId,
+                properties.getPendingFeedbackTtl(), properties.getMissTtl(), loader);
+        result.ifPresent(request -> {
+            if (request.getId() != null) {
+                feedbackRequestOwners.put(request.getId(), userId);
+            }
+            if (StringUtils.hasText(request.getTicketId())) {
+                ticketOwners.put(request.getTicketId(), userId);
+            }
+        });
+        return result;
+    }
+
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            users.remove(userId);
+        }
+    }
+
+    public void invalidateTicket(String ticketId) {
+        if (StringUtils.hasText(ticketId)) {
+            invalidateUser(ticketOwners.remove(ticketId.trim()));
+        }
+    }
+
+    public void invalidateFeedbackRequest(Long requestId) {
+        if (requestId != null) {
+            invalidateUser(feedbackRequestOwners.remove(requestId));
+        }
+    }
+
+    public void invalidateAll() {
+        users.clear();
+        ticketOwners.clear();
+        feedbackRequestOwners.clear();
+    }
+
+    private <T> Optional<T> lookup(long userId,
+                                   String key,
+                                   Duration hitTtl,
+                                   Duration missTtl,
+                                   Supplier<Optional<T>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        long now = System.nanoTime();
+        UserEntries entries = users.get(userId);
+        if (entries != null) {
+            Entry cached = entries.values.get(key);
+            if (cached != null && cached.expiresAt - now > 0) {
+                @SuppressWarnings("unchecked")
+                Optional<T> value = (Optional<T>) cached.value;
+                return value;
+            }
+        }
+        if (entries == null) {
+            evictIfFull(now);
+            entries = users.computeIfAbsent(userId, ignored -> new UserEntries());
+        }
+        Optional<T> loaded = loader.get();
+        Duration ttl = loaded.isPresent() ? hitTtl : missTtl;
+        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            // Stored into the group read before loading: if the user was invalidated meanwhile, the
+            // group is already detached and the possibly stale value is dropped with it.
+            entries.values.put(key, new Entry(loaded, System.nanoTime() + ttl.toNanos()));
+        }
+        return loaded;
+    }
+
+    private void evictIfFull(long now) {
+        int limit = Math.max(1, properties.getMaxUsers());
+        if (users.size() >= limit) {
+            users.values().forEach(entries -> entries.values.values().removeIf(entry -> entry.expiresAt - now <= 0));
+            users.values().removeIf(entries -> entries.values.isEmpty());
+            if (users.size() >= limit) {
+                invalidateAll();
+            }
+        }
+        if (ticketOwners.size() >= limit || feedbackRequestOwners.size() >= limit) {
+            ticketOwners.values().removeIf(owner -> !users.containsKey(owner));
+            feedbackRequestOwners.values().removeIf(owner -> !users.containsKey(owner));
+        }
+    }
+
+    private static final class UserEntries {
+        private final Map<String, Entry> values = new ConcurrentHashMap<>();
+    }
+
+    private record Entry(Optional<?> value, long expiresAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.example.supportbot.service;
 import com.example.supportbot.config.IntegrationPanelApiProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -14,11 +15,20 @@ import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Client for the panel runtime-config API. The first lookup of a channel is synchronous; afterwards an
+ * expired entry keeps being served while a background refresh replaces it, so message handling never
+ * waits on the panel once a channel has been seen.
+ */
 @Service
 public class PanelRuntimeConfigClient {
 
@@ -30,6 +40,12 @@ public class PanelRuntimeConfigClient {
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
     private final ConcurrentHashMap<Long, CachedRuntimeConfig> cache = new ConcurrentHashMap<>();
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "panel-runtime-config-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public PanelRuntimeConfigClient(IntegrationPanelApiProperties properties,
                                     ObjectMapper objectMapper) {
@@ -49,15 +65,54 @@ public class PanelRuntimeConfigClient {
             return Optional.empty();
         }
         CachedRuntimeConfig cached = cache.get(channelId);
-        if (cached != null && cached.isFresh()) {
+        if (cached != null) {
+            if (!cached.isFresh()) {
+                refreshAsync(channelId);
+            }
             return Optional.of(cached.snapshot());
         }
+        return load(channelId);
+    }
+
+    /**
+     * Drops the cached config of a channel so that the next lookup reads it from the panel again.
+     */
+    public void invalidate(Long channelId) {
+        if (channelId != null) {
+            cache.remove(channelId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Optional<RuntimeConfigSnapshot> load(Long channelId) {
         return fetch(channelId).map(snapshot -> {
             cache.put(channelId, new CachedRuntimeConfig(snapshot, Instant.now()));
             return snapshot;
         });
     }
 
+    private void refreshAsync(Long channelId) {
+        if (!refreshing.add(channelId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    // On failure the stale entry stays in place and the next lookup retries.
+                    load(channelId);
+                } finally {
+                    refreshing.remove(channelId);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(channelId);
+        }
+    }
+
     private Optional<RuntimeConfigSnapshot> fetch(Long channelId) {
         String path = "/internal/api/bot/channels/" + channelId + "/runtime-config";
         HttpRequest request = HttpRequest.newBuilder(resolve(path))
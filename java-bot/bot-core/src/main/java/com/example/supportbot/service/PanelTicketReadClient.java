@@ -31,11 +31,14 @@ public class PanelTicketReadClient {
     private final IntegrationPanelApiProperties properties;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+    private final PanelLookupCache lookupCache;
 
     public PanelTicketReadClient(IntegrationPanelApiProperties properties,
-                                 ObjectMapper objectMapper) {
+                                 ObjectMapper objectMapper,
+                                 PanelLookupCache lookupCache) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.lookupCache = lookupCache;
         this.httpClient = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(5))
             .build();
@@ -49,6 +52,10 @@ public class PanelTicketReadClient {
         if (!isEnabled()) {
             return Optional.empty();
         }
+        return lookupCache.activeTicket(userId, username, channelId, () -> loadActiveTicket(userId, username, channelId));
+    }
+
+    private Optional<TicketActive> loadActiveTicket(Long userId, String username, Long channelId) {
         StringBuilder path = new StringBuilder("/internal/api/bot/tickets/active?");
         boolean appended = false;
         if (userId != null) {
@@ -144,6 +151,10 @@ public class PanelTicketReadClient {
         if (!isEnabled() || userId == null) {
             return Optional.empty();
         }
+        return lookupCache.pendingFeedback(userId, channelId, () -> loadActiveFeedbackRequest(userId, channelId));
+    }
+
+    private Optional<com.example.supportbot.entity.PendingFeedbackRequest> loadActiveFeedbackRequest(Long userId, Long channelId) {
         String path = channelId == null
             ? "/internal/api/bot/users/" + userId + "/feedback/pending"
             : "/internal/api/bot/users/" + userId + "/feedback/pending?channelId=" + channelId;
@@ -25,11 +25,14 @@ public class PanelTicketWriteClient {
     private final IntegrationPanelApiProperties properties;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+    private final PanelLookupCache lookupCache;
 
     public PanelTicketWriteClient(IntegrationPanelApiProperties properties,
-                                  ObjectMapper objectMapper) {
+                                  ObjectMapper objectMapper,
+                                  PanelLookupCache lookupCache) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.lookupCache = lookupCache;
         this.httpClient = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(5))
             .build();
@@ -47,6 +50,7 @@ public class PanelTicketWriteClient {
         if (!isEnabled() || !StringUtils.hasText(ticketId)) {
             return false;
         }
+        lookupCache.invalidateTicket(ticketId);
         return sendMutation(
             "/internal/api/bot/tickets/" + encodePath(ticketId.trim()) + "/reopen",
             "POST",
@@ -69,6 +73,7 @@ public class PanelTicketWriteClient {
         if (!isEnabled() || !StringUtils.hasText(ticketId)) {
             return false;
         }
+        lookupCache.invalidateTicket(ticketId);
         return sendMutation(
             "/internal/api/bot/tickets/" + encodePath(ticketId.trim()) + "/activity",
             "DELETE",
@@ -122,6 +127,7 @@ public class PanelTicketWriteClient {
         if (!isEnabled() || requestId == null || rating == null) {
             return false;
         }
+        lookupCache.invalidateFeedbackRequest(requestId);
         return sendMutation(
             "/internal/api/bot/feedback/pending/" + requestId + "/submit",
             "POST",
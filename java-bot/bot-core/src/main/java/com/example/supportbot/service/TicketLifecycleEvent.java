@@ -0,0 +1,8 @@
+package com.example.supportbot.service;
+
+public record TicketLifecycleEvent(String eventId,
+                                   String eventType,
+                                   Long channelId,
+                                   Long userId,
+                                   String ticketId) {
+}
@@ -0,0 +1,37 @@
+package com.example.supportbot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached panel lookups of a user when the panel closes or reopens one of their tickets or
+ * changes their blacklist status.
+ */
+@Component
+@ConditionalOnProperty(name = "app.integration.transport.mode", havingValue = "rabbitmq")
+public class TicketLifecycleEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketLifecycleEventListener.class);
+
+    private final PanelLookupCache lookupCache;
+
+    public TicketLifecycleEventListener(PanelLookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
+    @RabbitListener(
+        queues = "#{ticketLifecycleQueue.name}",
+        containerFactory = "outboundFeedbackPromptListenerContainerFactory"
+    )
+    public void onLifecycleEvent(TicketLifecycleEvent event) {
+        if (event == null) {
+            return;
+        }
+        lookupCache.invalidateUser(event.userId());
+        lookupCache.invalidateTicket(event.ticketId());
+        log.debug("Dropped cached panel lookups after {} for user {} ticket {}", event.eventType(), event.userId(), event.ticketId());
+    }
+}
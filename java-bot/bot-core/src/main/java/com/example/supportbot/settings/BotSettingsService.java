@@ -20,6 +20,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +42,7 @@ public class BotSettingsService {
     private final ObjectMapper objectMapper;
     private final SharedConfigService sharedConfigService;
     private final RuntimeConfigService runtimeConfigService;
+    private final Map<Long, CompiledChannelSettings> compiledChannelSettings = new ConcurrentHashMap<>();
 
     public BotSettingsService(ObjectMapper objectMapper,
                               SharedConfigService sharedConfigService,
@@ -92,18 +94,37 @@ public class BotSettingsService {
     /**
      * Build settings from a raw {@link Channel#getQuestionsCfg()} JSON payload.
      * Falls back to defaults if the config is missing or invalid.
+     *
+     * <p>The result is compiled once per channel and reused until the shared settings version, the
+     * panel runtime config snapshot or the channel template selection changes. The returned DTO is
+     * shared between callers and must be treated as read-only.</p>
      */
     public BotSettingsDto loadFromChannel(Channel channel) {
-        Map<String, Object> sharedSettings = sharedConfigService.loadSettings();
-        Optional<PanelRuntimeConfigClient.RuntimeConfigSnapshot> remoteConfig = runtimeConfigService.findChannelConfig(channel);
-        Map<String, Object> raw = remoteConfig.isPresent()
-                ? new LinkedHashMap<>(remoteConfig.get().botSettings())
-                : canonicalBotSettingsFromSharedSettings(sharedSettings);
+        SharedConfigService.SettingsSnapshot sharedSettings = sharedConfigService.settingsSnapshot();
+        PanelRuntimeConfigClient.RuntimeConfigSnapshot remoteConfig =
+                runtimeConfigService.findChannelConfig(channel).orElse(null);
+        Long cacheKey = channel != null && channel.getId() != null ? channel.getId() : 0L;
+        CompiledChannelSettings compiled = compiledChannelSettings.get(cacheKey);
+        if (compiled != null && compiled.matches(sharedSettings.version(), remoteConfig, channel)) {
+            return compiled.settings();
+        }
+        BotSettingsDto settings = compileChannelSettings(channel, remoteConfig);
+        compiledChannelSettings.put(cacheKey, CompiledChannelSettings.of(sharedSettings.version(), remoteConfig, channel, settings));
+        return settings;
+    }
+
+    private BotSettingsDto compileChannelSettings(Channel channel,
+                                                  PanelRuntimeConfigClient.RuntimeConfigSnapshot remoteConfig) {
+        Map<String, Object> raw = remoteConfig != null
+                ? new LinkedHashMap<>(remoteConfig.botSettings())
+                : canonicalBotSettingsFromSharedSettings(sharedConfigService.loadSettings());
         if (raw.isEmpty() && channel != null && channel.getQuestionsCfg() != null && !channel.getQuestionsCfg().isBlank()) {
             logger.warn("Ignoring deprecated channel.questions_cfg bot settings payload because runtime requires shared canonical bot_settings");
         }
-        Map<String, Object> sanitized = sanitizeBotSettingsInternal(raw,
-                runtimeConfigService.basePresetDefinitions(channel), 10);
+        Map<String, Object> presetDefinitions = remoteConfig != null
+                ? new LinkedHashMap<>(remoteConfig.presetDefinitions())
+                : sharedConfigService.presetDefinitions();
+        Map<String, Object> sanitized = sanitizeBotSettingsInternal(raw, presetDefinitions, 10);
         if (channel != null) {
             sanitized = mergeChannelTemplateSelection(sanitized, channel);
         }
@@ -1597,4 +1618,37 @@ public class BotSettingsService {
 
     private record PresetKey(String group, String field) {
     }
+
+    /**
+     * Settings compiled for one channel together with the inputs they were built from. The remote
+     * snapshot is compared by identity: the runtime config client replaces it on every refresh.
+     */
+    private record CompiledChannelSettings(long sharedVersion,
+                                           PanelRuntimeConfigClient.RuntimeConfigSnapshot remoteConfig,
+                                           String questionsCfg,
+                                           String questionTemplateId,
+                                           String ratingTemplateId,
+                                           BotSettingsDto settings) {
+
+        private static CompiledChannelSettings of(long sharedVersion,
+                                                  PanelRuntimeConfigClient.RuntimeConfigSnapshot remoteConfig,
+                                                  Channel channel,
+                                                  BotSettingsDto settings) {
+            return new CompiledChannelSettings(sharedVersion, remoteConfig,
+                    channel != null ? channel.getQuestionsCfg() : null,
+                    channel != null ? channel.getQuestionTemplateId() : null,
+                    channel != null ? channel.getRatingTemplateId() : null,
+                    settings);
+        }
+
+        private boolean matches(long currentSharedVersion,
+                                PanelRuntimeConfigClient.RuntimeConfigSnapshot currentRemoteConfig,
+                                Channel channel) {
+            return sharedVersion == currentSharedVersion
+                    && remoteConfig == currentRemoteConfig
+                    && Objects.equals(questionsCfg, channel != null ? channel.getQuestionsCfg() : null)
+                    && Objects.equals(questionTemplateId, channel != null ? channel.getQuestionTemplateId() : null)
+                    && Objects.equals(ratingTemplateId, channel != null ? channel.getRatingTemplateId() : null);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.supportbot.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+class BotMetricsHttpServerTest {
+
+    @Test
+    void servesPrometheusTextOnlyToScrapersWithToken() throws Exception {
+        BotMetricsRegistry registry = new BotMetricsRegistry();
+        registry.counter("bot_test_total", "Test counter.", "channel", "7").increment();
+        BotMetricsHttpServer server = new BotMetricsHttpServer(registry, 0, "127.0.0.1", "secret");
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            URI uri = URI.create("http://127.0.0.1:" + server.boundPort() + "/metrics");
+
+            HttpResponse<String> anonymous = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> authorized = client.send(HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer secret")
+                    .GET()
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(anonymous.statusCode()).isEqualTo(401);
+            assertThat(authorized.statusCode()).isEqualTo(200);
+            assertThat(authorized.headers().firstValue("Content-Type")).hasValue("text/plain; version=0.0.4; charset=utf-8");
+            assertThat(authorized.body()).contains("# TYPE bot_test_total counter\nbot_test_total{channel=\"7\",} 1.0\n");
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.supportbot.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.example.supportbot.config.BotIntegrationTransportMode;
+import com.example.supportbot.entity.Channel;
+import com.example.supportbot.entity.PendingFeedbackRequest;
 import com.example.supportbot.repository.ChannelRepository;
 import com.example.supportbot.repository.NotificationRepository;
 import com.example.supportbot.repository.PendingFeedbackRequestRepository;
 import com.example.supportbot.settings.BotSettingsService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.env.MockEnvironment;
 
@@ -32,4 +41,43 @@ class EngagementTasksTest {
 
         verify(pendingRepository, never()).findTop50BySentAtIsNullAndExpiresAtAfterOrderByCreatedAtAsc(any());
     }
+
+    @Test
+    void dispatchPendingFeedbackRequestsDoesNotRequeuePromptStillInFlight() {
+        PendingFeedbackRequestRepository pendingRepository = mock(PendingFeedbackRequestRepository.class);
+        BotSettingsService botSettingsService = mock(BotSettingsService.class);
+        MessagingService messagingService = mock(MessagingService.class);
+        Channel channel = new Channel();
+        channel.setId(12L);
+        PendingFeedbackRequest request = new PendingFeedbackRequest();
+        request.setId(5L);
+        request.setUserId(77L);
+        request.setChannel(channel);
+        request.setTicketId("T-5");
+        CompletableFuture<Boolean> delivery = new CompletableFuture<>();
+        when(pendingRepository.findTop50BySentAtIsNullAndExpiresAtAfterOrderByCreatedAtAsc(any())).thenReturn(List.of(request));
+        when(botSettingsService.ratingScale(any(), anyInt())).thenReturn(5);
+        when(botSettingsService.ratingPrompt(any(), anyString())).thenReturn("Оцените заявку {ticket_id}");
+        when(messagingService.sendToUser(eq(channel), eq(77L), anyString(), eq(OutboundSendScheduler.Priority.BULK)))
+                .thenReturn(delivery);
+        EngagementTasks tasks = new EngagementTasks(
+            pendingRepository,
+            mock(NotificationRepository.class),
+            mock(ChannelRepository.class),
+            botSettingsService,
+            messagingService,
+            mock(TicketService.class),
+            new BotIntegrationTransportMode(new MockEnvironment())
+        );
+
+        tasks.dispatchPendingFeedbackRequests();
+        tasks.dispatchPendingFeedbackRequests();
+
+        verify(messagingService, times(1)).sendToUser(eq(channel), eq(77L), anyString(), eq(OutboundSendScheduler.Priority.BULK));
+        verify(pendingRepository, never()).save(any());
+
+        delivery.complete(true);
+
+        verify(pendingRepository).save(request);
+    }
 }
@@ -8,11 +8,16 @@ import static org.mockito.Mockito.mock;
 
 import com.example.supportbot.config.IntegrationRabbitProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
 import java.nio.file.Files;
+import java.sql.Connection;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.rabbit.connection.CorrelationData;
@@ -25,6 +30,7 @@ class IntegrationTransportOutboxServiceTest {
     private JdbcTemplate jdbcTemplate;
     private IntegrationTransportOutboxService service;
     private IntegrationRabbitProperties properties;
+    private final Set<String> nackedEventIds = ConcurrentHashMap.newKeySet();
 
     @BeforeEach
     void setUp() throws Exception {
@@ -35,7 +41,8 @@ class IntegrationTransportOutboxServiceTest {
         RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
         doAnswer(invocation -> {
             CorrelationData correlationData = invocation.getArgument(4);
-            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            boolean nacked = nackedEventIds.contains(correlationData.getId());
+            correlationData.getFuture().complete(new CorrelationData.Confirm(!nacked, nacked ? "nack" : null));
             return null;
         }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(), any(), any(CorrelationData.class));
         service = new IntegrationTransportOutboxService(
@@ -76,6 +83,65 @@ class IntegrationTransportOutboxServiceTest {
         assertThat(statusOf(event.eventId())).isEqualTo("published");
     }
 
+    @Test
+    void dispatchDrainsBacklogLargerThanOneBatchAndFailsOnlyNackedEvents() {
+        List<String> eventIds = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            InboundClientMessageEvent event = inboundEvent("T-" + i);
+            eventIds.add(event.eventId());
+            if (i == 7) {
+                nackedEventIds.add(event.eventId());
+            }
+            service.enqueueInboundClientMessage(event, "integration.inbound.telegram", properties);
+        }
+
+        service.dispatchScheduled();
+
+        assertThat(statusOf(eventIds.get(7))).isEqualTo("failed");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM integration_transport_outbox WHERE status = 'published'", Integer.class))
+            .isEqualTo(249);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT attempt_count FROM integration_transport_outbox WHERE event_id = ?", Integer.class, eventIds.get(7)))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void enqueueWakesDispatcherWithoutWaitingForScheduledTick() throws Exception {
+        InboundClientMessageEvent event = inboundEvent("T-77");
+
+        service.enqueueInboundClientMessage(event, "integration.inbound.telegram", properties);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"published".equals(statusOf(event.eventId())) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(statusOf(event.eventId())).isEqualTo("published");
+    }
+
+    @Test
+    void listenerStartsWithTheLifecycleRatherThanTheConstructor() {
+        assertThat(service.isRunning()).isFalse();
+
+        service.start();
+        assertThat(service.isRunning()).isTrue();
+
+        service.stop();
+        assertThat(service.isRunning()).isFalse();
+    }
+
+    @Test
+    void listenConnectionDoesNotTakeAPoolSlot() throws Exception {
+        Path dbFile = Files.createTempFile("bot-outbox-listen-", ".db");
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl("jdbc:sqlite:" + dbFile.toAbsolutePath());
+            try (Connection connection = IntegrationTransportOutboxService.openListenConnection(pool)) {
+                assertThat(connection.isValid(1)).isTrue();
+                assertThat(pool.getHikariPoolMXBean()).isNull();
+            }
+        }
+    }
+
     @Test
     void conversationTicketCreatedPublishIsPersistedAndMarkedPublished() {
         ConversationTicketCreatedEvent event = new ConversationTicketCreatedEvent(
@@ -121,6 +187,28 @@ class IntegrationTransportOutboxServiceTest {
         assertThat(statusOf(event.eventId())).isEqualTo("published");
     }
 
+    private InboundClientMessageEvent inboundEvent(String ticketId) {
+        return new InboundClientMessageEvent(
+            UUID.randomUUID().toString(),
+            "client_message.active_ticket",
+            "telegram",
+            10L,
+            ticketId,
+            20L,
+            "u20",
+            "tester",
+            "Test User",
+            "hello",
+            "text",
+            null,
+            null,
+            null,
+            null,
+            null,
+            OffsetDateTime.now()
+        );
+    }
+
     private String statusOf(String eventId) {
         return jdbcTemplate.queryForObject(
             "SELECT status FROM integration_transport_outbox WHERE event_id = ?",
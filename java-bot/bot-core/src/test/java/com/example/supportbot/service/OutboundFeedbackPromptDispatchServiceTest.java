@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import com.example.supportbot.entity.Channel;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 
 class OutboundFeedbackPromptDispatchServiceTest {
@@ -21,7 +22,7 @@ class OutboundFeedbackPromptDispatchServiceTest {
         channel.setId(12L);
         channel.setPlatform("telegram");
         when(channelService.findById(12L)).thenReturn(Optional.of(channel));
-        when(messagingService.sendToUser(channel, 77L, "Prompt")).thenReturn(true);
+        when(messagingService.sendToUser(channel, 77L, "Prompt", OutboundSendScheduler.Priority.BULK)).thenReturn(CompletableFuture.completedFuture(true));
         when(deliveryLedgerService.beginDelivery("evt-1", "feedback.prompt.dispatch", "integration.outbound.feedback.prompt.telegram.channel.12", 12L, 77L, "T-901", 901L))
                 .thenReturn(true);
 
@@ -33,7 +34,7 @@ class OutboundFeedbackPromptDispatchServiceTest {
             "integration.outbound.feedback.prompt.telegram.channel.12"
         );
 
-        verify(messagingService).sendToUser(channel, 77L, "Prompt");
+        verify(messagingService).sendToUser(channel, 77L, "Prompt", OutboundSendScheduler.Priority.BULK);
         verify(deliveryLedgerService).markDelivered("evt-1");
     }
 
@@ -45,7 +46,7 @@ class OutboundFeedbackPromptDispatchServiceTest {
         Channel channel = new Channel();
         channel.setId(12L);
         when(channelService.findById(12L)).thenReturn(Optional.of(channel));
-        when(messagingService.sendToUser(channel, 77L, "Prompt")).thenReturn(false);
+        when(messagingService.sendToUser(channel, 77L, "Prompt", OutboundSendScheduler.Priority.BULK)).thenReturn(CompletableFuture.completedFuture(false));
         when(deliveryLedgerService.beginDelivery("evt-1", "feedback.prompt.dispatch", "integration.outbound.feedback.prompt.telegram.channel.12", 12L, 77L, "T-901", 901L))
                 .thenReturn(true);
 
@@ -77,6 +78,6 @@ class OutboundFeedbackPromptDispatchServiceTest {
         );
 
         verify(channelService, never()).findById(12L);
-        verify(messagingService, never()).sendToUser(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyLong(), org.mockito.ArgumentMatchers.anyString());
+        verify(messagingService, never()).sendToUser(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyLong(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.any());
     }
 }
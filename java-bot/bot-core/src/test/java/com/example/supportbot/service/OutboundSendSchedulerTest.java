@@ -0,0 +1,126 @@
+package com.example.supportbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.supportbot.config.OutboundRateLimitProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OutboundSendSchedulerTest {
+
+    private final OutboundRateLimitProperties properties = new OutboundRateLimitProperties();
+    private OutboundSendScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void interactiveSendsLeaveBeforeQueuedBulkSends() throws Exception {
+        properties.setWorkersPerBot(1);
+        properties.setPlatforms(Map.of("telegram", new OutboundRateLimitProperties.PlatformLimits(1000, 1000, 10)));
+        scheduler = new OutboundSendScheduler(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Boolean> blocker = scheduler.submit("telegram", "1", "chat-0", OutboundSendScheduler.Priority.BULK, () -> {
+            await(release);
+            return true;
+        });
+        Thread.sleep(50);
+        CompletableFuture<Boolean> bulk = scheduler.submit("telegram", "1", "chat-1", OutboundSendScheduler.Priority.BULK,
+                () -> order.add("bulk"));
+        CompletableFuture<Boolean> reply = scheduler.submit("telegram", "1", "chat-2", OutboundSendScheduler.Priority.INTERACTIVE,
+                () -> order.add("reply"));
+        release.countDown();
+
+        assertThat(CompletableFuture.allOf(blocker, bulk, reply).thenApply(ignored -> true).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("reply", "bulk");
+    }
+
+    @Test
+    void sendReturnsWhileDeliveryIsStillQueued() throws Exception {
+        properties.setWorkersPerBot(1);
+        scheduler = new OutboundSendScheduler(properties);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> blocker = scheduler.send("telegram", "1", "chat-0", OutboundSendScheduler.Priority.BULK, () -> {
+            await(release);
+            return true;
+        });
+        CompletableFuture<Boolean> queued = scheduler.send("telegram", "1", "chat-1", OutboundSendScheduler.Priority.BULK, () -> true);
+
+        assertThat(queued).isNotDone();
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void retriesAfterRateLimitUsingRetryAfter() {
+        scheduler = new OutboundSendScheduler(properties);
+        AtomicInteger attempts = new AtomicInteger();
+        long startedAt = System.nanoTime();
+
+        CompletableFuture<Boolean> delivered = scheduler.send("vk", "7", "42", OutboundSendScheduler.Priority.BULK, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OutboundRateLimitedException("Too many requests per second", Duration.ofMillis(200));
+            }
+            return true;
+        });
+
+        assertThat(delivered.join()).isTrue();
+        assertThat(attempts).hasValue(2);
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        properties.setMaxRetries(1);
+        properties.setDefaultRetryAfter(Duration.ofMillis(10));
+        scheduler = new OutboundSendScheduler(properties);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Boolean> delivered = scheduler.send("max", "3", "42", OutboundSendScheduler.Priority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            throw new OutboundRateLimitedException("rate limited", null);
+        });
+
+        assertThat(delivered.join()).isFalse();
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void perChatBucketSpacesSendsToOneChat() {
+        properties.setPlatforms(Map.of("telegram", new OutboundRateLimitProperties.PlatformLimits(1000, 10, 1)));
+        scheduler = new OutboundSendScheduler(properties);
+        long startedAt = System.nanoTime();
+
+        List<CompletableFuture<Boolean>> sends = List.of(
+                scheduler.submit("telegram", "1", "42", OutboundSendScheduler.Priority.BULK, () -> true),
+                scheduler.submit("telegram", "1", "42", OutboundSendScheduler.Priority.BULK, () -> true),
+                scheduler.submit("telegram", "1", "42", OutboundSendScheduler.Priority.BULK, () -> true));
+        sends.forEach(CompletableFuture::join);
+
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(180));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
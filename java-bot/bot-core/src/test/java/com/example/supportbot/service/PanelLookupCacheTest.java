@@ -0,0 +1,126 @@
+package com.example.supportbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.supportbot.config.PanelLookupCacheProperties;
+import com.example.supportbot.entity.PendingFeedbackRequest;
+import com.example.supportbot.entity.TicketActive;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PanelLookupCacheTest {
+
+    private final PanelLookupCacheProperties properties = new PanelLookupCacheProperties();
+    private final PanelLookupCache cache = new PanelLookupCache(properties);
+
+    @Test
+    void servesRepeatedBlacklistLookupsFromCacheButNeverCachesFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        PanelBlacklistClient.ResolvedBlacklistStatus status = new PanelBlacklistClient.ResolvedBlacklistStatus("77", false, false);
+
+        cache.blacklistStatus(77L, List.of(), () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.blacklistStatus(77L, List.of(), () -> {
+            calls.incrementAndGet();
+            return Optional.of(status);
+        });
+        Optional<PanelBlacklistClient.ResolvedBlacklistStatus> cached = cache.blacklistStatus(77L, List.of(), () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(cached).contains(status);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void ticketInvalidationDropsEveryLookupOfItsOwner() {
+        AtomicInteger ticketCalls = new AtomicInteger();
+        AtomicInteger feedbackCalls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.activeTicket(42L, "client", 5L, () -> {
+                ticketCalls.incrementAndGet();
+                return Optional.of(activeTicket("T-1"));
+            });
+            cache.pendingFeedback(42L, 5L, () -> {
+                feedbackCalls.incrementAndGet();
+                return Optional.empty();
+            });
+        }
+        cache.invalidateTicket("T-1");
+        cache.activeTicket(42L, "client", 5L, () -> {
+            ticketCalls.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.pendingFeedback(42L, 5L, () -> {
+            feedbackCalls.incrementAndGet();
+            return Optional.of(pendingFeedback(9L, "T-1"));
+        });
+
+        assertThat(ticketCalls).hasValue(2);
+        assertThat(feedbackCalls).hasValue(2);
+    }
+
+    @Test
+    void feedbackSubmissionInvalidatesThePendingRequest() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.pendingFeedback(42L, null, () -> {
+            calls.incrementAndGet();
+            return Optional.of(pendingFeedback(9L, "T-1"));
+        });
+
+        cache.invalidateFeedbackRequest(9L);
+        Optional<PendingFeedbackRequest> reloaded = cache.pendingFeedback(42L, null, () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(reloaded).isEmpty();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void zeroMissTtlAndDisabledCacheAlwaysLoad() {
+        properties.setMissTtl(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        cache.activeTicket(42L, null, null, () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.activeTicket(42L, null, null, () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+
+        properties.setEnabled(false);
+        cache.activeTicket(7L, null, null, () -> {
+            calls.incrementAndGet();
+            return Optional.of(activeTicket("T-2"));
+        });
+        cache.activeTicket(7L, null, null, () -> {
+            calls.incrementAndGet();
+            return Optional.of(activeTicket("T-2"));
+        });
+
+        assertThat(calls).hasValue(4);
+    }
+
+    private static TicketActive activeTicket(String ticketId) {
+        TicketActive active = new TicketActive();
+        active.setTicketId(ticketId);
+        return active;
+    }
+
+    private static PendingFeedbackRequest pendingFeedback(Long id, String ticketId) {
+        PendingFeedbackRequest request = new PendingFeedbackRequest();
+        request.setId(id);
+        request.setTicketId(ticketId);
+        return request;
+    }
+}
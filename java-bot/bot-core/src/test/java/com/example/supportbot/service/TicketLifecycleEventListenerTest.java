@@ -0,0 +1,35 @@
+package com.example.supportbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.supportbot.config.PanelLookupCacheProperties;
+import com.example.supportbot.entity.TicketActive;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TicketLifecycleEventListenerTest {
+
+    private final PanelLookupCache cache = new PanelLookupCache(new PanelLookupCacheProperties());
+    private final TicketLifecycleEventListener listener = new TicketLifecycleEventListener(cache);
+
+    @Test
+    void closedTicketDropsCachedActiveTicketOfItsOwner() {
+        AtomicInteger calls = new AtomicInteger();
+        TicketActive active = new TicketActive();
+        active.setTicketId("T-1");
+        cache.activeTicket(42L, "client", 5L, () -> {
+            calls.incrementAndGet();
+            return Optional.of(active);
+        });
+
+        listener.onLifecycleEvent(new TicketLifecycleEvent("e-1", "ticket.closed", 5L, 42L, "T-1"));
+        Optional<TicketActive> reloaded = cache.activeTicket(42L, "client", 5L, () -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(reloaded).isEmpty();
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -5,14 +5,17 @@ import com.example.supportbot.settings.dto.BotSettingsDto;
 import com.example.supportbot.settings.dto.QuestionFlowItemDto;
 import com.example.supportbot.settings.dto.RatingResponseDto;
 import com.example.supportbot.settings.dto.RatingTemplateDto;
+import com.example.supportbot.service.PanelRuntimeConfigClient;
 import com.example.supportbot.service.RuntimeConfigService;
 import com.example.supportbot.service.SharedConfigService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.io.TempDir;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class BotSettingsServiceTest {
 
@@ -640,6 +644,79 @@ class BotSettingsServiceTest {
         assertThat(settings.getUnblockRequestCooldownMinutes()).isEqualTo(21);
     }
 
+    @Test
+    void loadFromChannelShouldReuseCompiledSettingsUntilSharedSettingsOrTemplateSelectionChange() throws IOException {
+        writeSharedSettings("""
+                {
+                  "bot_settings": {
+                    "question_templates": [
+                      {"id": "q-default", "name": "Default", "question_flow": [{"type": "custom", "text": "Default question"}]},
+                      {"id": "q-channel", "name": "Channel", "question_flow": [{"type": "custom", "text": "Channel question"}]}
+                    ],
+                    "active_template_id": "q-default"
+                  }
+                }
+                """);
+        Channel channel = new Channel();
+        channel.setId(5L);
+
+        BotSettingsDto first = service.loadFromChannel(channel);
+        BotSettingsDto second = service.loadFromChannel(channel);
+        channel.setQuestionTemplateId("q-channel");
+        BotSettingsDto reselected = service.loadFromChannel(channel);
+
+        assertThat(second).isSameAs(first);
+        assertThat(reselected).isNotSameAs(first);
+        assertThat(reselected.getActiveTemplateId()).isEqualTo("q-channel");
+
+        writeSharedSettings("""
+                {
+                  "bot_settings": {
+                    "question_templates": [
+                      {"id": "q-channel", "name": "Channel", "question_flow": [{"type": "custom", "text": "Updated question"}]}
+                    ],
+                    "active_template_id": "q-channel"
+                  }
+                }
+                """);
+        Files.setLastModifiedTime(tempDir.resolve("settings.json"), FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        BotSettingsDto updated = service.loadFromChannel(channel);
+
+        assertThat(updated).isNotSameAs(reselected);
+        assertThat(updated.getQuestionFlow()).extracting(QuestionFlowItemDto::getText)
+                .containsExactly("Updated question");
+    }
+
+    @Test
+    void loadFromChannelShouldRecompileWhenRuntimeConfigSnapshotIsReplaced() {
+        RuntimeConfigService runtimeConfigService = mock(RuntimeConfigService.class);
+        BotSettingsService remoteService = new BotSettingsService(objectMapper,
+                new SharedConfigService(objectMapper, tempDir.toString()), runtimeConfigService);
+        Channel channel = new Channel();
+        channel.setId(9L);
+        Map<String, Object> botSettings = Map.of(
+                "question_templates", List.of(Map.of(
+                        "id", "q-remote",
+                        "name", "Remote",
+                        "question_flow", List.of(Map.of("type", "custom", "text", "Remote question")))),
+                "active_template_id", "q-remote");
+        PanelRuntimeConfigClient.RuntimeConfigSnapshot snapshot =
+                new PanelRuntimeConfigClient.RuntimeConfigSnapshot(9L, botSettings, Map.of(), Map.of());
+        when(runtimeConfigService.findChannelConfig(channel)).thenReturn(Optional.of(snapshot));
+
+        BotSettingsDto first = remoteService.loadFromChannel(channel);
+        BotSettingsDto cached = remoteService.loadFromChannel(channel);
+        when(runtimeConfigService.findChannelConfig(channel)).thenReturn(Optional.of(
+                new PanelRuntimeConfigClient.RuntimeConfigSnapshot(9L, botSettings, Map.of(), Map.of())));
+        BotSettingsDto refreshed = remoteService.loadFromChannel(channel);
+
+        assertThat(cached).isSameAs(first);
+        assertThat(refreshed).isNotSameAs(first);
+        assertThat(refreshed.getQuestionFlow()).extracting(QuestionFlowItemDto::getText)
+                .containsExactly("Remote question");
+    }
+
     @Test
     void buildLocationPresetsShouldMatchExpectedOutput() throws IOException {
         Map<String, Object> locationTree = objectMapper.readValue(
@@ -1,6 +1,7 @@
 package com.example.supportbot.max;
 
 import com.example.supportbot.config.MaxBotProperties;
+import com.example.supportbot.service.OutboundRateLimitedException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URI;
@@ -107,14 +108,31 @@ public class MaxApiClient {
             if (response.statusCode() >= 200 && response.statusCode() < 300) {
                 return true;
             }
+            if (response.statusCode() == 429) {
+                throw new OutboundRateLimitedException("MAX API rate limit: " + response.body(),
+                    parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null)));
+            }
             log.warn("MAX API returned status {} body={}", response.statusCode(), response.body());
             return false;
+        } catch (OutboundRateLimitedException ex) {
+            throw ex;
         } catch (Exception ex) {
             log.error("Failed to send MAX message", ex);
             return false;
         }
     }
 
+    private Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
     public record PollBatch(List<JsonNode> updates, String marker) {
         public static PollBatch empty(String marker) {
             return new PollBatch(List.of(), marker == null ? "" : marker);
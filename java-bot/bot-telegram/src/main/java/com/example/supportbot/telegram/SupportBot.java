@@ -14,6 +14,8 @@ import com.example.supportbot.service.ConversationProblemTextSupport;
 import com.example.supportbot.service.ConversationTicketCreationCommand;
 import com.example.supportbot.service.BotIngressCoordinationService;
 import com.example.supportbot.service.FeedbackService;
+import com.example.supportbot.service.OutboundRateLimitedException;
+import com.example.supportbot.service.OutboundSendScheduler;
 import com.example.supportbot.service.RuntimeConfigService;
 import com.example.supportbot.service.TicketService;
 import com.example.supportbot.service.UnblockRequestService;
@@ -57,6 +59,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.Keyboard
 import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
 
 import java.io.File;
 import java.io.FilterInputStream;
@@ -75,6 +78,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
@@ -103,6 +107,7 @@ public class SupportBot extends TelegramLongPollingBot {
     private final FeedbackService feedbackService;
     private final BotIngressCoordinationService ingressCoordinationService;
     private final RuntimeConfigService runtimeConfigService;
+    private final OutboundSendScheduler outboundSendScheduler;
     private final ObjectMapper objectMapper;
 
     private final Map<Long, ConversationSession> conversations = new ConcurrentHashMap<>();
@@ -127,6 +132,7 @@ public class SupportBot extends TelegramLongPollingBot {
                       FeedbackService feedbackService,
                       BotIngressCoordinationService ingressCoordinationService,
                       RuntimeConfigService runtimeConfigService,
+                      OutboundSendScheduler outboundSendScheduler,
                       ObjectMapper objectMapper) {
         super(resolveTelegramBotOptionsFromEnv(), properties.getToken());
         this.properties = properties;
@@ -140,6 +146,7 @@ public class SupportBot extends TelegramLongPollingBot {
         this.feedbackService = feedbackService;
         this.ingressCoordinationService = ingressCoordinationService;
         this.runtimeConfigService = runtimeConfigService;
+        this.outboundSendScheduler = outboundSendScheduler;
         this.objectMapper = objectMapper;
     }
 
@@ -504,11 +511,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(text)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(confirmation);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send support chat confirmation", e);
-        }
+        queueSend(confirmation, "Failed to send support chat confirmation");
     }
 
     private boolean handleOperatorMessage(Message message) {
@@ -535,11 +538,7 @@ public class SupportBot extends TelegramLongPollingBot {
                     .chatId(chatId)
                     .text("Не удалось найти заявку с ID " + ticketReference.ticketId)
                     .build();
-            try {
-                execute(warning);
-            } catch (TelegramApiException e) {
-                log.error("Failed to notify about missing ticket", e);
-            }
+            queueSend(warning, "Failed to notify about missing ticket");
             return true;
         }
 
@@ -553,19 +552,24 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(ticketReference.outboundText)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(toClient);
-            ticketService.recordOperatorRelay(
-                    ticket.userId(),
-                    ticket.ticketId(),
-                    ticketReference.outboundText,
-                    getChannel(),
-                    message.getMessageId() != null ? message.getMessageId().longValue() : null,
-                    ticketReference.replyToTelegramId,
-                    operatorIdentity);
-        } catch (TelegramApiException e) {
-            log.error("Failed to relay operator reply to user {}", ticket.userId(), e);
-        }
+        Channel channel = getChannel();
+        queueSend(toClient, "Failed to relay operator reply to user " + ticket.userId())
+                .thenAccept(delivered -> {
+                    if (Boolean.TRUE.equals(delivered)) {
+                        ticketService.recordOperatorRelay(
+                                ticket.userId(),
+                                ticket.ticketId(),
+                                ticketReference.outboundText,
+                                channel,
+                                message.getMessageId() != null ? message.getMessageId().longValue() : null,
+                                ticketReference.replyToTelegramId,
+                                operatorIdentity);
+                    }
+                })
+                .exceptionally(ex -> {
+                    log.error("Failed to record operator reply for ticket {}", ticket.ticketId(), ex);
+                    return null;
+                });
 
         return true;
     }
@@ -630,11 +634,7 @@ public class SupportBot extends TelegramLongPollingBot {
                     .chatId(message.getChatId())
                     .text("Отправьте число от 1 до " + scale)
                     .build();
-            try {
-                execute(retry);
-            } catch (TelegramApiException e) {
-                log.error("Failed to prompt for valid rating", e);
-            }
+            queueSend(retry, "Failed to prompt for valid rating");
             return true;
         }
 
@@ -646,11 +646,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(response)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(confirmation);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send rating confirmation", e);
-        }
+        queueSend(confirmation, "Failed to send rating confirmation");
         return true;
     }
 
@@ -939,11 +935,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text("��������� ������� ���. �������� ���������, � � ������ ����� ���������.")
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(warning);
-        } catch (TelegramApiException e) {
-            log.error("Failed to notify about missing active dialog", e);
-        }
+        queueSend(warning, "Failed to notify about missing active dialog");
     }
 
     private void notifyClosedDialog(Message message) {
@@ -955,11 +947,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text("Диалог закрыт. Оператор сможет открыть его снова, после этого вы сможете продолжить переписку.")
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(warning);
-        } catch (TelegramApiException e) {
-            log.error("Failed to notify about closed dialog", e);
-        }
+        queueSend(warning, "Failed to notify about closed dialog");
     }
 
     private void handleEditedMessage(Message editedMessage) {
@@ -1068,18 +1056,17 @@ public class SupportBot extends TelegramLongPollingBot {
                 messageType,
                 attachmentPath);
         String relayText = buildOperatorRelayText(ticketId, messageType, text, attachmentPath, username, userId);
-        if (attachmentPath != null && !attachmentPath.isBlank() && relayAttachmentToOperators(operatorChatId, messageType, attachmentPath, relayText)) {
-            return;
-        }
-        SendMessage toChannel = SendMessage.builder()
-                .chatId(operatorChatId)
-                .text(relayText)
-                .build();
-        try {
-            execute(toChannel);
-        } catch (TelegramApiException e) {
-            log.error("Failed to relay active ticket message to operator channel", e);
-        }
+        queueSend(operatorChatId, OutboundSendScheduler.Priority.INTERACTIVE,
+                "Failed to relay active ticket message to operator channel", () -> {
+                    if (attachmentPath != null && !attachmentPath.isBlank()
+                            && relayAttachmentToOperators(operatorChatId, messageType, attachmentPath, relayText)) {
+                        return;
+                    }
+                    execute(SendMessage.builder()
+                            .chatId(operatorChatId)
+                            .text(relayText)
+                            .build());
+                });
     }
 
     private Long resolveOperatorRelayChatId() {
@@ -1136,6 +1123,11 @@ public class SupportBot extends TelegramLongPollingBot {
             relayAttachmentWithPreferredType(operatorChatId, normalizedType, file, safeCaption);
             return true;
         } catch (Exception primaryEx) {
+            OutboundRateLimitedException limited = rateLimited(primaryEx);
+            if (limited != null) {
+                cleanupMaterializedAttachment(materializedPath);
+                throw limited;
+            }
             log.warn("Failed to relay attachment with preferred Telegram method: type={} path={}",
                     normalizedType,
                     attachmentPath,
@@ -1153,6 +1145,10 @@ public class SupportBot extends TelegramLongPollingBot {
                     .build());
             return true;
         } catch (Exception fallbackEx) {
+            OutboundRateLimitedException limited = rateLimited(fallbackEx);
+            if (limited != null) {
+                throw limited;
+            }
             log.error("Failed to relay attachment to operator channel even as document: type={} path={}",
                     normalizedType,
                     attachmentPath,
@@ -1273,11 +1269,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(response)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(confirmation);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send unblock confirmation", e);
-        }
+        queueSend(confirmation, "Failed to send unblock confirmation");
     }
 
     @Scheduled(cron = "0 0 * * * *")
@@ -1306,7 +1298,8 @@ public class SupportBot extends TelegramLongPollingBot {
                 builder.append("\n");
             }
         }
-        sendOperatorMessage(channelId, builder.toString().trim());
+        String digest = builder.toString().trim();
+        sendOperatorMessage(channelId, digest, OutboundSendScheduler.Priority.BULK);
     }
 
     @Scheduled(fixedDelay = 60000L)
@@ -1337,11 +1330,7 @@ public class SupportBot extends TelegramLongPollingBot {
                     ))
                     .replyMarkup(new ReplyKeyboardRemove(true))
                     .build();
-            try {
-                execute(notification);
-            } catch (TelegramApiException e) {
-                log.error("Failed to send first-response-timeout notice to user {}", userId, e);
-            }
+            queueSend(notification, "Failed to send first-response-timeout notice to user " + userId);
             log.info("Expired question-flow session for user {} after {} minutes without first response",
                     userId,
                     timeoutMinutes);
@@ -1366,10 +1355,10 @@ public class SupportBot extends TelegramLongPollingBot {
             builder.append("Создан: ").append(formatTimestamp(request.getCreatedAt())).append("\n");
         }
         builder.append("Статус: ").append(request.getStatus());
-        sendOperatorMessage(channelId, builder.toString());
+        sendOperatorMessage(channelId, builder.toString(), OutboundSendScheduler.Priority.INTERACTIVE);
     }
 
-    private void sendOperatorMessage(Long channelId, String text) {
+    private void sendOperatorMessage(Long channelId, String text, OutboundSendScheduler.Priority priority) {
         if (channelId == null || channelId <= 0 || text == null || text.isBlank()) {
             return;
         }
@@ -1377,11 +1366,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .chatId(channelId)
                 .text(text)
                 .build();
-        try {
-            execute(toChannel);
-        } catch (TelegramApiException e) {
-            log.error("Failed to notify operator channel", e);
-        }
+        queueSend(channelId, priority, "Failed to notify operator channel", () -> execute(toChannel));
     }
 
     private String formatTimestamp(OffsetDateTime value) {
@@ -1435,11 +1420,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(text)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(warning);
-        } catch (TelegramApiException e) {
-            log.error("Failed to notify blacklisted user", e);
-        }
+        queueSend(warning, "Failed to notify blacklisted user");
     }
 
     private String getChannelPublicId() {
@@ -1476,11 +1457,65 @@ public class SupportBot extends TelegramLongPollingBot {
             execute(message);
             return true;
         } catch (TelegramApiException e) {
+            OutboundRateLimitedException limited = rateLimited(e);
+            if (limited != null) {
+                throw limited;
+            }
             log.error("Failed to send direct Telegram message to chat {}", chatId, e);
             return false;
         }
     }
 
+    /**
+     * Sends through the bot's outbound queue so conversation replies, relays and digests share one rate
+     * limit; a Telegram 429 pauses the lane and retries the send. Operator replies from the panel do not
+     * pass through this queue: the panel limits them separately within its own share of the bot's limit.
+     */
+    private CompletableFuture<Boolean> queueSend(SendMessage message, String failureMessage) {
+        return queueSend(message.getChatId(), OutboundSendScheduler.Priority.INTERACTIVE, failureMessage,
+                () -> execute(message));
+    }
+
+    private CompletableFuture<Boolean> queueSend(Object chatId,
+                                                 OutboundSendScheduler.Priority priority,
+                                                 String failureMessage,
+                                                 TelegramSend send) {
+        return outboundSendScheduler.send("telegram", String.valueOf(getChannel().getId()), String.valueOf(chatId),
+                priority, () -> {
+                    try {
+                        send.run();
+                        return true;
+                    } catch (TelegramApiException e) {
+                        OutboundRateLimitedException limited = rateLimited(e);
+                        if (limited != null) {
+                            throw limited;
+                        }
+                        log.error(failureMessage, e);
+                        return false;
+                    }
+                });
+    }
+
+    private static OutboundRateLimitedException rateLimited(Exception e) {
+        if (e instanceof OutboundRateLimitedException limited) {
+            return limited;
+        }
+        if (e instanceof TelegramApiRequestException requestException
+                && Integer.valueOf(429).equals(requestException.getErrorCode())) {
+            Integer retryAfter = requestException.getParameters() != null
+                    ? requestException.getParameters().getRetryAfter()
+                    : null;
+            return new OutboundRateLimitedException(requestException.getApiResponse(),
+                    retryAfter != null ? Duration.ofSeconds(retryAfter) : null);
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface TelegramSend {
+        void run() throws TelegramApiException;
+    }
+
     private BotSettingsDto loadSettings() {
         return botSettingsService.loadFromChannel(getChannel());
     }
@@ -1515,12 +1550,8 @@ public class SupportBot extends TelegramLongPollingBot {
                     .text("У вас уже есть активная заявка. Отправьте /cancel, чтобы начать заново.")
                     .replyMarkup(new ReplyKeyboardRemove(true))
                     .build();
-            try {
-                log.info("Sending active conversation warning to user {}", existing.userId());
-                execute(warning);
-            } catch (TelegramApiException e) {
-                log.error("Failed to notify about existing conversation", e);
-            }
+            log.info("Sending active conversation warning to user {}", existing.userId());
+            queueSend(warning, "Failed to notify about existing conversation");
             return;
         }
 
@@ -1556,11 +1587,7 @@ public class SupportBot extends TelegramLongPollingBot {
                     .text(startAutoReply)
                     .replyMarkup(new ReplyKeyboardRemove(true))
                     .build();
-            try {
-                execute(greeting);
-            } catch (TelegramApiException e) {
-                log.error("Failed to send start auto-reply", e);
-            }
+            queueSend(greeting, "Failed to send start auto-reply");
         }
         askCurrentQuestion(session);
     }
@@ -1574,11 +1601,7 @@ public class SupportBot extends TelegramLongPollingBot {
                         .text("Ответьте 'да' чтобы повторить прошлые данные или 'нет' чтобы заполнить заново.")
                         .replyMarkup(new ReplyKeyboardRemove(true))
                         .build();
-                try {
-                    execute(retry);
-                } catch (TelegramApiException e) {
-                    log.error("Failed to resend reuse prompt", e);
-                }
+                queueSend(retry, "Failed to resend reuse prompt");
                 return;
             }
             if (session.isComplete()) {
@@ -1608,11 +1631,7 @@ public class SupportBot extends TelegramLongPollingBot {
                         .text("Сейчас нет доступных вариантов для выбора. Обратитесь к администратору.")
                         .replyMarkup(new ReplyKeyboardRemove(true))
                         .build();
-                try {
-                    execute(retry);
-                } catch (TelegramApiException e) {
-                    log.error("Failed to notify about missing preset options", e);
-                }
+                queueSend(retry, "Failed to notify about missing preset options");
                 return;
             }
             resolvedAnswer = resolveChoiceAnswer(resolvedAnswer, options, current, session.settings());
@@ -1622,11 +1641,7 @@ public class SupportBot extends TelegramLongPollingBot {
                         .text("Введите один из вариантов текстом: " + String.join(", ", options))
                         .replyMarkup(new ReplyKeyboardRemove(true))
                         .build();
-                try {
-                    execute(retry);
-                } catch (TelegramApiException e) {
-                    log.error("Failed to resend preset options", e);
-                }
+                queueSend(retry, "Failed to resend preset options");
                 return;
             }
         }
@@ -1648,11 +1663,7 @@ public class SupportBot extends TelegramLongPollingBot {
                     .text(session.reusePrompt())
                     .replyMarkup(new ReplyKeyboardRemove(true))
                     .build();
-            try {
-                execute(prompt);
-            } catch (TelegramApiException e) {
-                log.error("Failed to send reuse prompt", e);
-            }
+            queueSend(prompt, "Failed to send reuse prompt");
             return;
         }
         QuestionFlowItemDto current = session.currentQuestion();
@@ -1668,11 +1679,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(buildQuestionPromptText(current, options, includeBack))
                 .replyMarkup(new ReplyKeyboardRemove(true));
         SendMessage prompt = promptBuilder.build();
-        try {
-            execute(prompt);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send conversation prompt", e);
-        }
+        queueSend(prompt, "Failed to send conversation prompt");
     }
 
     private String buildQuestionPromptText(QuestionFlowItemDto current, List<String> options, boolean includeBack) {
@@ -1798,11 +1805,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text(response)
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(reply);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send my tickets response", e);
-        }
+        queueSend(reply, "Failed to send my tickets response");
     }
 
     private String formatTicketsResponse(List<TicketService.TicketSummary> tickets) {
@@ -2062,11 +2065,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .chatId(properties.getChannelId())
                 .text(summary)
                 .build();
-        try {
-            execute(toChannel);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send ticket to operator channel", e);
-        }
+        queueSend(toChannel, "Failed to send ticket to operator channel");
     }
 
     private void sendConversationConfirmation(ConversationSession session, String requestNumber) {
@@ -2075,11 +2074,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text("Спасибо! Ваше обращение №" + requestNumber + " отправлено оператору. Мы свяжемся с вами после обработки.")
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(confirmation);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send confirmation", e);
-        }
+        queueSend(confirmation, "Failed to send confirmation");
     }
 
     private void cancelConversation(Message message) {
@@ -2095,11 +2090,7 @@ public class SupportBot extends TelegramLongPollingBot {
                 .text("Текущая заявка отменена.")
                 .replyMarkup(new ReplyKeyboardRemove(true))
                 .build();
-        try {
-            execute(cancelled);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send cancellation notice", e);
-        }
+        queueSend(cancelled, "Failed to send cancellation notice");
     }
 
     private final class ConversationSession {
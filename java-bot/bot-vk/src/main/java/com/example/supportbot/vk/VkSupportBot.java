@@ -13,6 +13,8 @@ import com.example.supportbot.service.ConversationHistoryEntry;
 import com.example.supportbot.service.ConversationProblemTextSupport;
 import com.example.supportbot.service.ConversationTicketCreationCommand;
 import com.example.supportbot.service.FeedbackService;
+import com.example.supportbot.service.OutboundRateLimitedException;
+import com.example.supportbot.service.OutboundSendScheduler;
 import com.example.supportbot.service.BotIngressCoordinationService;
 import com.example.supportbot.service.BotSessionStoreService;
 import com.example.supportbot.service.RuntimeConfigService;
@@ -91,6 +93,7 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
     private static final String UNBLOCK_DIGEST_JOB = "unblock-digest";
     private static final String EXPIRE_SESSIONS_JOB = "expire-silent-question-flow-sessions";
     private static final int SESSION_MUTATION_MAX_RETRIES = 3;
+    private static final int VK_TOO_MANY_REQUESTS = 6;
 
     private final VkBotProperties properties;
     private final BlacklistService blacklistService;
@@ -104,6 +107,7 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
     private final BotIngressCoordinationService ingressCoordinationService;
     private final BotSessionStoreService sessionStoreService;
     private final RuntimeConfigService runtimeConfigService;
+    private final OutboundSendScheduler outboundSendScheduler;
     private final ObjectMapper objectMapper;
     private final Gson gson;
     private final VkApiClient vkClient;
@@ -132,6 +136,7 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
                         BotIngressCoordinationService ingressCoordinationService,
                         BotSessionStoreService sessionStoreService,
                         RuntimeConfigService runtimeConfigService,
+                        OutboundSendScheduler outboundSendScheduler,
                         ObjectMapper objectMapper) {
         this.properties = properties;
         this.blacklistService = blacklistService;
@@ -145,6 +150,7 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
         this.ingressCoordinationService = ingressCoordinationService;
         this.sessionStoreService = sessionStoreService;
         this.runtimeConfigService = runtimeConfigService;
+        this.outboundSendScheduler = outboundSendScheduler;
         this.objectMapper = objectMapper;
         this.gson = new Gson();
         this.vkClient = new VkApiClient(new HttpTransportClient());
@@ -959,27 +965,53 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
                     .message(text)
                     .execute();
             return true;
-        } catch (ApiException | ClientException e) {
+        } catch (ApiException e) {
+            if (Integer.valueOf(VK_TOO_MANY_REQUESTS).equals(e.getCode())) {
+                throw new OutboundRateLimitedException(e.getMessage(), null);
+            }
+            log.error("Failed to send VK message to peer {}", peerId, e);
+            return false;
+        } catch (ClientException e) {
             log.error("Failed to send VK message to peer {}", peerId, e);
             return false;
         }
     }
 
     private void sendText(GroupActor actor, Long peerId, String text) {
+        sendText(actor, peerId, text, OutboundSendScheduler.Priority.INTERACTIVE);
+    }
+
+    /**
+     * Queues the message on the bot's outbound lane so the bot's own sends share one group rate limit;
+     * VK error 6 pauses the lane and retries the send. Operator replies from the panel are limited
+     * separately by the panel, within its own share of the group's limit.
+     */
+    private void sendText(GroupActor actor, Long peerId, String text, OutboundSendScheduler.Priority priority) {
         if (text == null || text.isBlank()) {
             return;
         }
-        try {
-            log.info("Sending VK message to peer {}: {}", peerId, summarizeText(text));
-            vkClient.messages()
-                    .sendDeprecated(actor)
-                    .peerId(peerId)
-                    .randomId(ThreadLocalRandom.current().nextInt())
-                    .message(text)
-                    .execute();
-        } catch (ApiException | ClientException e) {
-            log.error("Failed to send VK message to peer {}", peerId, e);
-        }
+        outboundSendScheduler.send(SESSION_PLATFORM, String.valueOf(getChannel().getId()), String.valueOf(peerId),
+                priority, () -> {
+                    try {
+                        log.info("Sending VK message to peer {}: {}", peerId, summarizeText(text));
+                        vkClient.messages()
+                                .sendDeprecated(actor)
+                                .peerId(peerId)
+                                .randomId(ThreadLocalRandom.current().nextInt())
+                                .message(text)
+                                .execute();
+                        return true;
+                    } catch (ApiException e) {
+                        if (Integer.valueOf(VK_TOO_MANY_REQUESTS).equals(e.getCode())) {
+                            throw new OutboundRateLimitedException(e.getMessage(), null);
+                        }
+                        log.error("Failed to send VK message to peer {}", peerId, e);
+                        return false;
+                    } catch (ClientException e) {
+                        log.error("Failed to send VK message to peer {}", peerId, e);
+                        return false;
+                    }
+                });
     }
 
     @Scheduled(cron = "0 0 * * * *")
@@ -1008,7 +1040,8 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
                 builder.append("\n");
             }
         }
-        sendOperatorMessage(channelId, builder.toString().trim());
+        String digest = builder.toString().trim();
+        sendOperatorMessage(channelId, digest, OutboundSendScheduler.Priority.BULK);
     }
 
     @Scheduled(fixedDelay = 60000L)
@@ -1070,12 +1103,12 @@ public class VkSupportBot implements SmartLifecycle, DisposableBean {
         sendText(actor, channelId, builder.toString());
     }
 
-    private void sendOperatorMessage(Long channelId, String text) {
+    private void sendOperatorMessage(Long channelId, String text, OutboundSendScheduler.Priority priority) {
         if (channelId == null || channelId <= 0 || text == null || text.isBlank()) {
             return;
         }
         GroupActor actor = createActor();
-        sendText(actor, channelId, text);
+        sendText(actor, channelId, text, priority);
     }
 
     private String formatTimestamp(OffsetDateTime value) {
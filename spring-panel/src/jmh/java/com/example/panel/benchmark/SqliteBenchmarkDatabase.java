@@ -0,0 +1,88 @@
+package com.example.panel.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Throw-away SQLite file migrated with the production {@code db/migration/sqlite} chain, so that
+ * JDBC benchmarks run against the same schema and indexes as a SQLite deployment.
+ */
+public final class SqliteBenchmarkDatabase implements AutoCloseable {
+
+    private static final int INSERT_BATCH_SIZE = 5_000;
+
+    private final Path file;
+    private final SingleConnectionDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private SqliteBenchmarkDatabase(Path file, SingleConnectionDataSource dataSource) {
+        this.file = file;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public static SqliteBenchmarkDatabase migrated(String name) throws IOException {
+        Path file = Files.createTempFile("panel-benchmark-" + name + "-", ".db");
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + file.toAbsolutePath(), true);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/sqlite")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .outOfOrder(true)
+                .placeholders(Map.of("autoIncrement", "AUTOINCREMENT"))
+                .load()
+                .migrate();
+        SqliteBenchmarkDatabase database = new SqliteBenchmarkDatabase(file, dataSource);
+        database.jdbcTemplate.execute("PRAGMA journal_mode=WAL");
+        database.jdbcTemplate.execute("PRAGMA synchronous=OFF");
+        return database;
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code rows} rows produced by {@code rowFactory}; a factory returning {@code null} skips the row.
+     */
+    public void insertRows(String sql, int rows, IntFunction<Object[]> rowFactory) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Object[] row = rowFactory.apply(i);
+            if (row != null) {
+                batch.add(row);
+            }
+            if (batch.size() >= INSERT_BATCH_SIZE || (i == rows - 1 && !batch.isEmpty())) {
+                List<Object[]> chunk = List.copyOf(batch);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, chunk));
+                batch.clear();
+            }
+        }
+    }
+
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataSource.destroy();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.panel.benchmark;
+
+import com.example.panel.model.dialog.DialogListItem;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic dialog list fixtures shaped like production rows: a spread of channels, businesses,
+ * locations, statuses and responsibles over the last 60 days.
+ */
+public final class SyntheticDialogs {
+
+    public static final List<String> CHANNELS = List.of("Telegram", "VK", "MAX", "Web form");
+    public static final List<String> BUSINESSES = List.of("Блинбери", "Кофейня", "Пекарня", "Доставка");
+    public static final List<String> CITIES = List.of("Москва", "Санкт-Петербург", "Казань", "Екатеринбург", "Новосибирск");
+    public static final List<String> CATEGORIES = List.of("Оплата", "Доставка", "Качество", "Возврат", "Бонусы");
+    private static final List<String> STATUSES = List.of("pending", "open", "waiting_operator", "resolved", "closed");
+    private static final List<String> PROBLEMS = List.of(
+            "Не пришел заказ", "Списали деньги дважды", "Не начислились бонусы",
+            "Холодный кофе", "Хочу вернуть оплату", "Не работает приложение");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private SyntheticDialogs() {
+    }
+
+    public static List<DialogListItem> dialogs(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Instant now = Instant.now();
+        List<DialogListItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant createdAt = now.minusSeconds(random.nextLong(60L * 24 * 60 * 60));
+            String status = STATUSES.get(random.nextInt(STATUSES.size()));
+            boolean resolved = "resolved".equals(status) || "closed".equals(status);
+            int channelIndex = random.nextInt(CHANNELS.size());
+            int city = random.nextInt(CITIES.size());
+            String responsible = random.nextInt(10) < 7 ? "operator-" + random.nextInt(25) : null;
+            items.add(new DialogListItem(
+                    "T-" + (100_000 + i),
+                    String.valueOf(i + 1),
+                    10_000L + random.nextInt(count + 1),
+                    "client" + i,
+                    "Клиент " + i,
+                    BUSINESSES.get(random.nextInt(BUSINESSES.size())),
+                    (long) channelIndex + 1,
+                    CHANNELS.get(channelIndex),
+                    CITIES.get(city),
+                    "Ресторан " + city + "-" + random.nextInt(12),
+                    PROBLEMS.get(random.nextInt(PROBLEMS.size())),
+                    createdAt.toString(),
+                    status,
+                    random.nextInt(20) == 0,
+                    resolved ? responsible : null,
+                    resolved ? createdAt.plusSeconds(300 + random.nextInt(6 * 60 * 60)).toString() : null,
+                    responsible,
+                    DATE.format(createdAt),
+                    TIME.format(createdAt),
+                    random.nextInt(8) == 0 ? "vip" : null,
+                    random.nextBoolean() ? "client" : "operator",
+                    createdAt.plusSeconds(random.nextInt(3600)).toString(),
+                    resolved ? 0 : random.nextInt(6),
+                    resolved && random.nextBoolean() ? 1 + random.nextInt(5) : null,
+                    CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                    null,
+                    null
+            ));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.panel.service;
+
+import com.example.panel.benchmark.SqliteBenchmarkDatabase;
+import com.example.panel.config.DatabaseMode;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query scoring over a warm retrieval index and a cold index build, which tokenizes the whole corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AiRetrievalBenchmark {
+
+    private static final List<String> SUBJECTS = List.of("заказ", "оплата", "доставка", "бонусы", "возврат", "приложение", "курьер", "промокод");
+    private static final List<String> PROBLEMS = List.of("не пришел", "списали дважды", "не работает", "опаздывает", "не начислились", "отменили");
+    private static final List<String> PLACES = List.of("Блинбери", "Кофейня", "Пекарня", "Доставка");
+
+    @Param({"1000", "20000"})
+    public int memoryRows;
+
+    private SqliteBenchmarkDatabase database;
+    private AiIntentService intentService;
+    private PanelTimestampSqlSupport timestampSqlSupport;
+    private AiRetrievalService warmService;
+    private String[] queries;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = SqliteBenchmarkDatabase.migrated("ai-retrieval");
+        intentService = new AiIntentService(database.jdbcTemplate(), new ObjectMapper());
+        timestampSqlSupport = new PanelTimestampSqlSupport(DatabaseMode.SQLITE);
+        seed();
+        warmService = new AiRetrievalService(database.jdbcTemplate(), intentService, timestampSqlSupport);
+        warmService.synchronizeIndex();
+        SplittableRandom random = new SplittableRandom(7);
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = questionText(random, "#A-" + random.nextInt(memoryRows));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public AiRetrievalService.RetrievalResult retrieveFromWarmIndex() {
+        String query = queries[nextQuery++ & (queries.length - 1)];
+        return warmService.retrieve(null, query, 5);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AiRetrievalService buildIndexFromScratch() {
+        AiRetrievalService service = new AiRetrievalService(database.jdbcTemplate(), intentService, timestampSqlSupport);
+        service.synchronizeIndex();
+        return service;
+    }
+
+    private void seed() {
+        SplittableRandom random = new SplittableRandom(42);
+        database.insertRows("""
+                INSERT INTO ai_agent_solution_memory(
+                    query_key, query_text, solution_text, source, times_confirmed, review_required, status, trust_level,
+                    source_type, safety_level, intent_key, slot_signature, slots_json, scope_business
+                ) VALUES (?, ?, ?, 'operator', ?, 0, 'approved', 'medium', 'operator', 'normal', ?, ?, ?, ?)
+                """,
+                memoryRows,
+                i -> {
+                    String question = questionText(random, "#A-" + i);
+                    AiIntentService.IntentMatch intent = intentService.extract(question);
+                    return new Object[]{
+                            "memory-" + i,
+                            question,
+                            "Проверили " + question.toLowerCase() + ": " + PROBLEMS.get(i % PROBLEMS.size())
+                                    + " исправлено, повторите попытку через " + (5 + i % 30) + " минут.",
+                            random.nextInt(5),
+                            intent.intentKey(),
+                            intent.slotSignature(),
+                            intent.slotsJson(),
+                            PLACES.get(i % PLACES.size())
+                    };
+                });
+        int knowledgeUnits = Math.max(1, memoryRows / 10);
+        database.insertRows("""
+                INSERT INTO ai_agent_knowledge_unit(id, unit_key, title, body_text, intent_key, business, status)
+                VALUES (?, ?, ?, ?, ?, ?, 'active')
+                """,
+                knowledgeUnits,
+                i -> new Object[]{
+                        (long) i + 1,
+                        "unit-" + i,
+                        SUBJECTS.get(i % SUBJECTS.size()),
+                        "Инструкция: если " + SUBJECTS.get(i % SUBJECTS.size()) + " " + PROBLEMS.get(i % PROBLEMS.size())
+                                + ", проверьте статус в разделе " + (i % 12) + " и передайте обращение дежурному.",
+                        intentService.extract(SUBJECTS.get(i % SUBJECTS.size())).intentKey(),
+                        PLACES.get(i % PLACES.size())
+                });
+        database.insertRows("INSERT INTO ai_agent_memory_link(query_key, knowledge_unit_id) VALUES (?, ?)",
+                memoryRows,
+                i -> i % 3 == 0 ? new Object[]{"memory-" + i, (long) (i % knowledgeUnits) + 1} : null);
+        database.analyze();
+    }
+
+    private static String questionText(SplittableRandom random, String reference) {
+        return "Подскажите, " + SUBJECTS.get(random.nextInt(SUBJECTS.size())) + " " + reference + " "
+                + PROBLEMS.get(random.nextInt(PROBLEMS.size())) + " в " + PLACES.get(random.nextInt(PLACES.size()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.panel.service;
+
+import com.example.panel.benchmark.SqliteBenchmarkDatabase;
+import com.example.panel.benchmark.SyntheticDialogs;
+import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.repository.ChannelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard payload assembly over synthetic dialog lists, unfiltered and scoped to a date range and
+ * a subset of restaurants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardAnalyticsBenchmark {
+
+    @Param({"1000", "10000"})
+    public int dialogs;
+
+    private SqliteBenchmarkDatabase database;
+    private Path sharedConfigDir;
+    private DashboardAnalyticsService service;
+    private List<DialogListItem> items;
+    private DashboardAnalyticsService.DashboardFilters unfiltered;
+    private DashboardAnalyticsService.DashboardFilters scoped;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = SqliteBenchmarkDatabase.migrated("dashboard");
+        sharedConfigDir = Files.createTempDirectory("panel-benchmark-shared-config-");
+        ObjectMapper objectMapper = new ObjectMapper();
+        service = new DashboardAnalyticsService(
+                new SharedConfigService(objectMapper, sharedConfigDir.toString()),
+                Mockito.mock(ChannelRepository.class),
+                objectMapper,
+                database.jdbcTemplate()
+        );
+        items = SyntheticDialogs.dialogs(dialogs, 42);
+        unfiltered = new DashboardAnalyticsService.DashboardFilters(null, null, List.of());
+        scoped = new DashboardAnalyticsService.DashboardFilters(
+                LocalDate.now().minusDays(30),
+                LocalDate.now(),
+                List.of(items.get(0).locationName(), items.get(items.size() / 2).locationName())
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        Files.deleteIfExists(sharedConfigDir);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildUnfilteredPayload() {
+        return service.buildDashboardPayload(items, unfiltered);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildScopedPayload() {
+        return service.buildDashboardPayload(items, scoped);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.panel.service;
+
+import com.example.panel.benchmark.SqliteBenchmarkDatabase;
+import com.example.panel.benchmark.SyntheticDialogs;
+import com.example.panel.config.DatabaseMode;
+import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.storage.AttachmentObjectStorageService;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full dialog list read ({@link DialogLookupReadService#loadDialogs}) over a seeded SQLite database,
+ * both from the source tables and from the write-maintained projection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DialogLookupReadBenchmark {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final int OPERATORS = 25;
+    private static final int MESSAGES_PER_TICKET = 3;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tickets;
+
+    @Param({"source", "projection"})
+    public String readModel;
+
+    private SqliteBenchmarkDatabase database;
+    private DialogLookupReadService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = SqliteBenchmarkDatabase.migrated("dialogs");
+        seed(database, tickets);
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        PanelTimestampSqlSupport timestampSqlSupport = new PanelTimestampSqlSupport(DatabaseMode.SQLITE);
+        DialogListProjectionService projectionService = null;
+        if ("projection".equals(readModel)) {
+            projectionService = new DialogListProjectionService(jdbcTemplate, timestampSqlSupport);
+            projectionService.rebuild();
+        }
+        service = new DialogLookupReadService(
+                jdbcTemplate,
+                jdbcTemplate,
+                new PanelUserPhotoService(Mockito.mock(AttachmentObjectStorageService.class)),
+                timestampSqlSupport,
+                projectionService
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<DialogListItem> loadDialogs() {
+        return service.loadDialogs("operator-1");
+    }
+
+    private static void seed(SqliteBenchmarkDatabase database, int tickets) {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.now();
+        long[] createdAt = new long[tickets];
+        for (int i = 0; i < tickets; i++) {
+            createdAt[i] = now.minusSeconds(random.nextLong(90L * 24 * 60 * 60)).getEpochSecond();
+        }
+        List<String> channels = SyntheticDialogs.CHANNELS;
+        database.insertRows("INSERT INTO channels(id, token, channel_name, platform) VALUES (?, ?, ?, ?)",
+                channels.size(),
+                i -> new Object[]{i + 1L, "token-" + i, channels.get(i), channels.get(i).toLowerCase()});
+        database.insertRows("INSERT INTO users(username, password) VALUES (?, ?)",
+                OPERATORS,
+                i -> new Object[]{"operator-" + i, "x"});
+        database.insertRows("""
+                INSERT INTO tickets(user_id, ticket_id, group_msg_id, status, resolved_at, resolved_by, channel_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                tickets,
+                i -> {
+                    boolean resolved = i % 3 == 0;
+                    Instant created = Instant.ofEpochSecond(createdAt[i]);
+                    return new Object[]{
+                            10_000L + i, ticketId(i), (long) i, resolved ? "resolved" : "pending",
+                            resolved ? created.plusSeconds(1_800).toString() : null,
+                            resolved ? "operator-" + (i % OPERATORS) : null,
+                            (long) (i % channels.size()) + 1, created.toString()};
+                });
+        database.insertRows("""
+                INSERT INTO messages(group_msg_id, ticket_id, user_id, username, client_name, business, channel_id, city,
+                                     location_name, problem, created_at, created_date, created_time)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                tickets,
+                i -> {
+                    Instant created = Instant.ofEpochSecond(createdAt[i]);
+                    return new Object[]{
+                            (long) i, ticketId(i), 10_000L + i, "client" + i, "Клиент " + i,
+                            SyntheticDialogs.BUSINESSES.get(i % SyntheticDialogs.BUSINESSES.size()),
+                            (long) (i % channels.size()) + 1,
+                            SyntheticDialogs.CITIES.get(i % SyntheticDialogs.CITIES.size()),
+                            "Ресторан " + (i % 40), "Не пришел заказ", created.toString(),
+                            DATE.format(created), TIME.format(created)};
+                });
+        database.insertRows("""
+                INSERT INTO chat_history(user_id, sender, message, timestamp, ticket_id, message_type, channel_id, tg_message_id)
+                VALUES (?, ?, ?, ?, ?, 'text', ?, ?)
+                """,
+                tickets * MESSAGES_PER_TICKET,
+                row -> {
+                    int i = row / MESSAGES_PER_TICKET;
+                    int offset = row % MESSAGES_PER_TICKET;
+                    return new Object[]{
+                            10_000L + i, offset % 2 == 0 ? "user" : "operator", "Сообщение " + offset,
+                            Instant.ofEpochSecond(createdAt[i] + offset * 120L).toString(), ticketId(i),
+                            (long) (i % channels.size()) + 1, (long) row};
+                });
+        database.insertRows("INSERT INTO ticket_responsibles(ticket_id, responsible, assigned_by, last_read_at) VALUES (?, ?, ?, ?)",
+                tickets,
+                i -> i % 10 < 7
+                        ? new Object[]{ticketId(i), "operator-" + (i % OPERATORS), "operator-0",
+                        Instant.ofEpochSecond(createdAt[i] + 60).toString()}
+                        : null);
+        database.insertRows("INSERT INTO feedbacks(user_id, rating, timestamp, ticket_id, channel_id) VALUES (?, ?, ?, ?, ?)",
+                tickets,
+                i -> i % 6 == 0
+                        ? new Object[]{10_000L + i, 1 + i % 5, Instant.ofEpochSecond(createdAt[i] + 3_600).toString(),
+                        ticketId(i), (long) (i % channels.size()) + 1}
+                        : null);
+        database.insertRows("INSERT INTO ticket_categories(ticket_id, category) VALUES (?, ?)",
+                tickets,
+                i -> i % 2 == 0
+                        ? new Object[]{ticketId(i), SyntheticDialogs.CATEGORIES.get(i % SyntheticDialogs.CATEGORIES.size())}
+                        : null);
+        database.analyze();
+    }
+
+    private static String ticketId(int index) {
+        return "T-" + (1_000_000 + index);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.panel.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of knowledge base articles with a table of contents, callouts, tables and task lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KnowledgeMarkdownRendererBenchmark {
+
+    @Param({"5", "50", "300"})
+    public int sections;
+
+    private KnowledgeMarkdownRenderer renderer;
+    private String markdown;
+
+    @Setup
+    public void setUp() {
+        renderer = new KnowledgeMarkdownRenderer();
+        StringBuilder out = new StringBuilder("# Регламент поддержки\n\n")
+                .append(KnowledgeMarkdownRenderer.TABLE_OF_CONTENTS_TOKEN).append("\n\n");
+        for (int i = 1; i <= sections; i++) {
+            out.append("## Раздел ").append(i).append(": обработка обращений\n\n")
+                    .append("Оператор **обязан** ответить клиенту в течение _15 минут_ и указать номер обращения ")
+                    .append("`T-").append(1000 + i).append("`. Подробности: https://example.com/kb/").append(i).append("\n\n")
+                    .append("> ").append(KnowledgeMarkdownRenderer.calloutToken("yellow_bg", "⚠"))
+                    .append("\n>\n> Не передавайте ~~пароли~~ персональные данные в открытом чате.\n\n")
+                    .append("### Чек-лист\n\n- [x] Проверить заказ\n- [ ] Уточнить адрес\n- [ ] Передать курьеру\n\n")
+                    .append("| Статус | Срок | Ответственный |\n|---|---|---|\n")
+                    .append("| Новый | 15 мин | Дежурный |\n| В работе | 2 ч | Оператор |\n| Эскалация | 30 мин | Старший |\n\n")
+                    .append("```\nSELECT * FROM tickets WHERE ticket_id = 'T-").append(1000 + i).append("';\n```\n\n");
+        }
+        markdown = out.toString();
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(markdown);
+    }
+}
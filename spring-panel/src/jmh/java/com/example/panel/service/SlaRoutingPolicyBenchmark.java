@@ -0,0 +1,85 @@
+package com.example.panel.service;
+
+import com.example.panel.benchmark.SyntheticDialogs;
+import com.example.panel.model.dialog.DialogListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SLA routing evaluation over a dialog list: the per-dialog policy snapshot rendered for every list row
+ * and the governance audit, both with a growing auto-assign rule set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlaRoutingPolicyBenchmark {
+
+    @Param({"10", "100"})
+    public int rules;
+
+    @Param({"1000", "10000"})
+    public int dialogs;
+
+    private SlaRoutingPolicyService service;
+    private List<DialogListItem> items;
+    private Map<String, Object> settings;
+
+    @Setup
+    public void setUp() {
+        service = new SlaRoutingPolicyService(
+                new SlaEscalationCandidateService(),
+                new SlaEscalationAutoAssignService(null),
+                new SlaRoutingRuleAuditService()
+        );
+        items = SyntheticDialogs.dialogs(dialogs, 42);
+        List<Map<String, Object>> ruleList = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            ruleList.add(Map.of(
+                    "rule_id", "rule_" + i,
+                    "match_channel", SyntheticDialogs.CHANNELS.get(i % SyntheticDialogs.CHANNELS.size()).toLowerCase(),
+                    "match_business", SyntheticDialogs.BUSINESSES.get(i % SyntheticDialogs.BUSINESSES.size()),
+                    "match_category", SyntheticDialogs.CATEGORIES.get(i % SyntheticDialogs.CATEGORIES.size()),
+                    "match_unread_min", i % 3,
+                    "assign_to", "operator-" + (i % 25)
+            ));
+        }
+        settings = Map.of("dialog_config", Map.of(
+                "sla_target_minutes", 1440,
+                "sla_critical_minutes", 30,
+                "sla_critical_orchestration_mode", "monitor",
+                "sla_critical_auto_assign_enabled", true,
+                "sla_critical_auto_assign_to", "fallback_duty",
+                "sla_critical_auto_assign_rules", ruleList
+        ));
+    }
+
+    @Benchmark
+    public void policySnapshotForEveryDialog(Blackhole blackhole) {
+        for (DialogListItem item : items) {
+            blackhole.consume(service.buildRoutingPolicySnapshot(item, settings));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> governanceAudit() {
+        return service.buildRoutingGovernanceAudit(items, settings);
+    }
+}
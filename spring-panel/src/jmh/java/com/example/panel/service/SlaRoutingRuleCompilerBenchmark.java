@@ -0,0 +1,99 @@
+package com.example.panel.service;
+
+import com.example.panel.benchmark.SyntheticDialogs;
+import com.example.panel.model.dialog.DialogListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto-assign rule evaluation for every open dialog of an SLA tick: compiling the rules for each
+ * evaluation (the behaviour before rules were compiled once per settings snapshot) against reusing the
+ * cached compilation with its channel index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlaRoutingRuleCompilerBenchmark {
+
+    @Param({"10", "100"})
+    public int rules;
+
+    @Param({"10000"})
+    public int dialogs;
+
+    private List<Map<String, Object>> ruleList;
+    private List<DialogListItem> items;
+    private SlaRoutingRuleCompiler compiler;
+    private Map<String, Object> dialogConfig;
+
+    @Setup
+    public void setUp() {
+        items = SyntheticDialogs.dialogs(dialogs, 42);
+        ruleList = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            ruleList.add(Map.of(
+                    "rule_id", "rule_" + i,
+                    "match_channel", SyntheticDialogs.CHANNELS.get(i % SyntheticDialogs.CHANNELS.size()),
+                    "match_business", SyntheticDialogs.BUSINESSES.get(i % SyntheticDialogs.BUSINESSES.size()),
+                    "match_categories", SyntheticDialogs.CATEGORIES.get(i % SyntheticDialogs.CATEGORIES.size()) + ", vip",
+                    "match_unread_min", i % 3,
+                    "assign_to", "operator-" + (i % 25)
+            ));
+        }
+        dialogConfig = Map.of("sla_critical_auto_assign_rules", ruleList);
+        compiler = new SlaRoutingRuleCompiler();
+    }
+
+    @Benchmark
+    public void compileForEveryDialog(Blackhole blackhole) {
+        for (DialogListItem item : items) {
+            blackhole.consume(match(SlaRoutingRuleCompiler.compile(ruleList, null, null), item));
+        }
+    }
+
+    @Benchmark
+    public void compiledOncePerSnapshot(Blackhole blackhole) {
+        for (DialogListItem item : items) {
+            blackhole.consume(match(compiler.compiled(dialogConfig), item));
+        }
+    }
+
+    private SlaRoutingRuleCompiler.CompiledRule match(SlaRoutingRuleCompiler.CompiledRules compiled, DialogListItem item) {
+        return compiled.bestMatch(
+                lower(item.channelName()),
+                lower(item.business()),
+                lower(item.location()),
+                item.categories() == null ? Set.of() : Set.of(item.categories().toLowerCase(Locale.ROOT)),
+                null,
+                item.unreadCount(),
+                item.rating(),
+                null,
+                null,
+                null
+        );
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -11,6 +11,9 @@ import java.util.Set;
 import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
@@ -19,6 +22,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
+import com.example.panel.support.SchemaCapabilityRegistry;
 
 @Configuration
 public class FlywayConfig {
@@ -53,6 +57,35 @@ public class FlywayConfig {
         };
     }
 
+    /**
+     * Drops cached column sets and compiled SQL after every migration run, so services never build
+     * queries against the pre-migration schema.
+     */
+    @Bean
+    public Callback schemaCapabilityRefreshCallback(SchemaCapabilityRegistry schemaCapabilityRegistry) {
+        return new Callback() {
+            @Override
+            public boolean supports(Event event, Context context) {
+                return event == Event.AFTER_MIGRATE || event == Event.AFTER_MIGRATE_ERROR;
+            }
+
+            @Override
+            public boolean canHandleInTransaction(Event event, Context context) {
+                return true;
+            }
+
+            @Override
+            public void handle(Event event, Context context) {
+                schemaCapabilityRegistry.refresh();
+            }
+
+            @Override
+            public String getCallbackName() {
+                return "schemaCapabilityRefresh";
+            }
+        };
+    }
+
     private String resolveFlywayLocation(Environment environment) {
         DatabaseMode requestedMode = DatabaseMode.from(environment.getProperty("app.datasource.mode"));
         if (requestedMode == DatabaseMode.SQLITE) {
@@ -22,6 +22,9 @@ public class IntegrationRabbitProperties {
     private Integer inboundConcurrency = 2;
     private Integer inboundMaxConcurrency = 8;
     private Integer inboundPrefetch = 25;
+    private Integer inboundPartitions = 0;
+    private Integer inboundBatchSize = 50;
+    private Integer inboundBatchReceiveTimeoutMs = 200;
     private Integer ticketCreatedConcurrency = 1;
     private Integer ticketCreatedMaxConcurrency = 4;
     private Integer ticketCreatedPrefetch = 10;
@@ -146,6 +149,30 @@ public class IntegrationRabbitProperties {
         this.inboundPrefetch = inboundPrefetch;
     }
 
+    public Integer getInboundPartitions() {
+        return inboundPartitions;
+    }
+
+    public void setInboundPartitions(Integer inboundPartitions) {
+        this.inboundPartitions = inboundPartitions;
+    }
+
+    public Integer getInboundBatchSize() {
+        return inboundBatchSize;
+    }
+
+    public void setInboundBatchSize(Integer inboundBatchSize) {
+        this.inboundBatchSize = inboundBatchSize;
+    }
+
+    public Integer getInboundBatchReceiveTimeoutMs() {
+        return inboundBatchReceiveTimeoutMs;
+    }
+
+    public void setInboundBatchReceiveTimeoutMs(Integer inboundBatchReceiveTimeoutMs) {
+        this.inboundBatchReceiveTimeoutMs = inboundBatchReceiveTimeoutMs;
+    }
+
     public Integer getTicketCreatedConcurrency() {
         return ticketCreatedConcurrency;
     }
@@ -177,4 +204,8 @@ public class IntegrationRabbitProperties {
         long normalizedChannelId = channelId != null && channelId > 0 ? channelId : 0L;
         return "integration.outbound.feedback.prompt." + normalizedPlatform + ".channel." + normalizedChannelId;
     }
+
+    public String ticketLifecycleRoutingKey(String eventType) {
+        return "integration.outbound.lifecycle." + eventType;
+    }
 }
@@ -0,0 +1,133 @@
+package com.example.panel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Лимиты исходящих ответов операторов, которые панель отправляет напрямую в API мессенджеров.
+ * Бот расходует свою часть лимита платформы ({@code app.outbound} в java-bot), панель — эту,
+ * поэтому значения по умолчанию вместе с ботовскими не превышают лимит одного бота на платформе.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.operator-replies")
+public class OperatorReplyRateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxRetries = 3;
+    private Duration maxWait = Duration.ofSeconds(10);
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+    private PlatformLimits defaults = new PlatformLimits(5, 1, 3);
+    private Map<String, PlatformLimits> platforms = defaultPlatforms();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getDefaultRetryAfter() {
+        return defaultRetryAfter;
+    }
+
+    public void setDefaultRetryAfter(Duration defaultRetryAfter) {
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    public PlatformLimits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(PlatformLimits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, PlatformLimits> getPlatforms() {
+        return platforms;
+    }
+
+    public void setPlatforms(Map<String, PlatformLimits> platforms) {
+        this.platforms = platforms;
+    }
+
+    public PlatformLimits limitsFor(String platform) {
+        if (platform != null && platforms != null) {
+            PlatformLimits limits = platforms.get(platform.toLowerCase(Locale.ROOT));
+            if (limits != null) {
+                return limits;
+            }
+        }
+        return defaults;
+    }
+
+    private static Map<String, PlatformLimits> defaultPlatforms() {
+        Map<String, PlatformLimits> limits = new LinkedHashMap<>();
+        limits.put("telegram", new PlatformLimits(5, 1, 3));
+        limits.put("vk", new PlatformLimits(3, 1, 3));
+        limits.put("max", new PlatformLimits(5, 1, 3));
+        return limits;
+    }
+
+    public static class PlatformLimits {
+
+        private double globalPerSecond;
+        private double perChatPerSecond;
+        private int perChatBurst;
+
+        public PlatformLimits() {
+            this(5, 1, 3);
+        }
+
+        public PlatformLimits(double globalPerSecond, double perChatPerSecond, int perChatBurst) {
+            this.globalPerSecond = globalPerSecond;
+            this.perChatPerSecond = perChatPerSecond;
+            this.perChatBurst = perChatBurst;
+        }
+
+        public double getGlobalPerSecond() {
+            return globalPerSecond;
+        }
+
+        public void setGlobalPerSecond(double globalPerSecond) {
+            this.globalPerSecond = globalPerSecond;
+        }
+
+        public double getPerChatPerSecond() {
+            return perChatPerSecond;
+        }
+
+        public void setPerChatPerSecond(double perChatPerSecond) {
+            this.perChatPerSecond = perChatPerSecond;
+        }
+
+        public int getPerChatBurst() {
+            return perChatBurst;
+        }
+
+        public void setPerChatBurst(int perChatBurst) {
+            this.perChatBurst = perChatBurst;
+        }
+    }
+}
@@ -99,6 +99,30 @@ public class RabbitIntegrationTransportConfig {
         return factory;
     }
 
+    /**
+     * Фабрика для режима партиционированного потребления ({@code inbound-partitions > 0}): один
+     * потребитель забирает пачку сообщений в порядке очереди, а раскладку по полосам делает
+     * {@link com.example.panel.service.integration.PartitionedInboundClientMessageListener}.
+     */
+    @Bean(name = "partitionedInboundClientMessageListenerContainerFactory")
+    public SimpleRabbitListenerContainerFactory partitionedInboundClientMessageListenerContainerFactory(
+        ConnectionFactory connectionFactory,
+        IntegrationRabbitProperties properties
+    ) {
+        int batchSize = valueOrDefault(properties.getInboundBatchSize(), 50);
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setDefaultRequeueRejected(false);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout((long) valueOrDefault(properties.getInboundBatchReceiveTimeoutMs(), 200));
+        factory.setPrefetchCount(Math.max(valueOrDefault(properties.getInboundPrefetch(), 25), batchSize * 2));
+        return factory;
+    }
+
     @Bean(name = "conversationTicketCreatedListenerContainerFactory")
     public SimpleRabbitListenerContainerFactory conversationTicketCreatedListenerContainerFactory(
         ConnectionFactory connectionFactory,
@@ -1,5 +1,7 @@
 package com.example.panel.config;
 
+import com.example.panel.metrics.InstrumentedTaskScheduler;
+import com.example.panel.metrics.PanelMetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,8 +16,9 @@ public class SchedulingConfiguration {
     private static final Logger log = LoggerFactory.getLogger(SchedulingConfiguration.class);
 
     @Bean
-    public TaskScheduler taskScheduler(@Value("${panel.scheduling.pool-size:4}") int configuredPoolSize) {
-        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    public TaskScheduler taskScheduler(@Value("${panel.scheduling.pool-size:4}") int configuredPoolSize,
+                                       PanelMetricsRegistry metricsRegistry) {
+        ThreadPoolTaskScheduler scheduler = new InstrumentedTaskScheduler(metricsRegistry);
         scheduler.setPoolSize(Math.max(2, configuredPoolSize));
         scheduler.setThreadNamePrefix("panel-scheduler-");
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
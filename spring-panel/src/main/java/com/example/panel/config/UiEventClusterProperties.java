@@ -0,0 +1,54 @@
+package com.example.panel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.ui-events.cluster")
+public class UiEventClusterProperties {
+
+    private String mode = "none";
+    private String channel = "iguana_ui_events";
+    private int dedupWindow = 4096;
+    private int publishQueueCapacity = 1024;
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public int getDedupWindow() {
+        return dedupWindow;
+    }
+
+    public void setDedupWindow(int dedupWindow) {
+        this.dedupWindow = dedupWindow;
+    }
+
+    public int getPublishQueueCapacity() {
+        return publishQueueCapacity;
+    }
+
+    public void setPublishQueueCapacity(int publishQueueCapacity) {
+        this.publishQueueCapacity = publishQueueCapacity;
+    }
+
+    public boolean isRedisMode() {
+        return mode != null && "redis".equalsIgnoreCase(mode.trim());
+    }
+
+    public boolean isPostgresMode() {
+        return mode != null && "postgres".equalsIgnoreCase(mode.trim());
+    }
+}
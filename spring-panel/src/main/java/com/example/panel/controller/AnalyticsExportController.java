@@ -0,0 +1,67 @@
+package com.example.panel.controller;
+
+import com.example.panel.service.StreamingExportService;
+import com.example.panel.service.StreamingExportService.Dataset;
+import com.example.panel.service.StreamingExportService.ExportFilters;
+import com.example.panel.service.StreamingExportService.Format;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/analytics/export")
+public class AnalyticsExportController {
+
+    private final StreamingExportService streamingExportService;
+
+    public AnalyticsExportController(StreamingExportService streamingExportService) {
+        this.streamingExportService = streamingExportService;
+    }
+
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasAuthority('PAGE_ANALYTICS')")
+    public ResponseEntity<?> export(@PathVariable String dataset,
+                                    @RequestParam(value = "format", required = false) String format,
+                                    @RequestParam(value = "from", required = false) String from,
+                                    @RequestParam(value = "to", required = false) String to,
+                                    @RequestParam(value = "channel_id", required = false) List<Long> channelIds) {
+        Optional<Dataset> resolvedDataset = Dataset.fromKey(dataset);
+        if (resolvedDataset.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "unknown export dataset: " + dataset));
+        }
+        Optional<Format> resolvedFormat = Format.fromExtension(format);
+        if (resolvedFormat.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "format must be csv or xlsx"));
+        }
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = StringUtils.hasText(from) ? LocalDate.parse(from.trim()) : null;
+            toDate = StringUtils.hasText(to) ? LocalDate.parse(to.trim()) : null;
+        } catch (DateTimeParseException ex) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "from/to must be ISO dates (yyyy-MM-dd)"));
+        }
+        ExportFilters filters = new ExportFilters(fromDate, toDate,
+                channelIds != null ? channelIds.stream().filter(Objects::nonNull).toList() : List.of());
+        Format exportFormat = resolvedFormat.get();
+        StreamingResponseBody body = outputStream ->
+                streamingExportService.export(resolvedDataset.get(), exportFormat, filters, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header("Content-Disposition", "attachment; filename=" + resolvedDataset.get().key() + "." + exportFormat.extension())
+                .body(body);
+    }
+}
@@ -8,7 +8,7 @@ import com.example.panel.repository.ClientPhoneRepository;
 import com.example.panel.repository.ClientStatusRepository;
 import com.example.panel.service.NotificationService;
 import com.example.panel.service.PanelUserPhotoService;
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
@@ -30,6 +30,7 @@ import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -61,6 +62,9 @@ public class ClientProfileApiController {
     private final NotificationService notificationService;
     private final PanelUserPhotoService panelUserPhotoService;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public ClientProfileApiController(JdbcTemplate jdbcTemplate,
                                       ClientStatusRepository clientStatusRepository,
                                       ClientPhoneRepository clientPhoneRepository,
@@ -457,7 +461,7 @@ public class ClientProfileApiController {
 
     private Set<String> loadTableColumns(JdbcTemplate template, String table) {
         try {
-            return new HashSet<>(JdbcSchemaInspector.loadColumnNames(template, table));
+            return new HashSet<>(SchemaCapabilityRegistry.columns(schemaCapabilities, template, table));
         } catch (DataAccessException ex) {
             log.debug("Failed to read table info for {}: {}", table, ex.getMessage());
             return Set.of();
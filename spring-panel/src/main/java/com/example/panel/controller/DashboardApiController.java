@@ -42,8 +42,14 @@ public class DashboardApiController {
     public Map<String, Object> data(@RequestBody(required = false) DashboardFilterRequest request,
                                     Authentication authentication) {
         String operator = authentication != null ? authentication.getName() : null;
-        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         DashboardAnalyticsService.DashboardFilters filters = normalize(request);
+        if (analyticsService.rollupsReady()) {
+            Map<String, Object> payload = new LinkedHashMap<>(analyticsService.buildDashboardPayload(filters));
+            payload.put("success", true);
+            log.info("Dashboard API payload built for operator {} from rollups", operator);
+            return payload;
+        }
+        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         Map<String, Object> payload = new LinkedHashMap<>(analyticsService.buildDashboardPayload(dialogs, filters));
         payload.put("success", true);
         log.info("Dashboard API payload built for operator {} with {} dialogs", operator, dialogs.size());
@@ -54,11 +60,15 @@ public class DashboardApiController {
     @PreAuthorize("hasAuthority('PAGE_DIALOGS')")
     public Map<String, Object> restaurantOptions(@RequestBody(required = false) DashboardFilterRequest request,
                                                  Authentication authentication) {
-        String operator = authentication != null ? authentication.getName() : null;
-        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         DashboardAnalyticsService.DashboardFilters filters = normalize(request);
         Map<String, Object> payload = new LinkedHashMap<>();
-        payload.put("restaurants", analyticsService.availableRestaurants(dialogs, filters));
+        if (analyticsService.rollupsReady()) {
+            payload.put("restaurants", analyticsService.availableRestaurants(filters));
+        } else {
+            String operator = authentication != null ? authentication.getName() : null;
+            List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
+            payload.put("restaurants", analyticsService.availableRestaurants(dialogs, filters));
+        }
         payload.put("success", true);
         return payload;
     }
@@ -68,10 +78,15 @@ public class DashboardApiController {
     @PreAuthorize("hasAuthority('PAGE_DIALOGS')")
     public Map<String, Object> managerReport(@RequestBody(required = false) DashboardFilterRequest request,
                                              Authentication authentication) {
-        String operator = authentication != null ? authentication.getName() : null;
-        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         DashboardAnalyticsService.DashboardFilters filters = normalize(request, true);
-        Map<String, Object> payload = new LinkedHashMap<>(managerReportService.buildManagerReport(dialogs, filters));
+        Map<String, Object> payload;
+        if (analyticsService.rollupsReady()) {
+            payload = new LinkedHashMap<>(managerReportService.buildManagerReport(filters));
+        } else {
+            String operator = authentication != null ? authentication.getName() : null;
+            List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
+            payload = new LinkedHashMap<>(managerReportService.buildManagerReport(dialogs, filters));
+        }
         payload.put("success", true);
         return payload;
     }
@@ -79,13 +94,18 @@ public class DashboardApiController {
     @PostMapping("/olap-preview")
     @PreAuthorize("hasAuthority('PAGE_DIALOGS')")
     public Map<String, Object> olapPreview(@RequestBody(required = false) OlapFilterRequest request, Authentication authentication) {
-        String operator = authentication != null ? authentication.getName() : null;
-        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         DashboardAnalyticsService.DashboardFilters filters = normalize(request != null ? request.filters() : null);
         ManagerReportService.OlapPreviewRequest olapRequest = (request != null && request.olap() != null)
             ? request.olap()
             : new ManagerReportService.OlapPreviewRequest("location", true, true, true);
-        Map<String, Object> payload = new LinkedHashMap<>(managerReportService.buildOlapPreview(dialogs, filters, olapRequest));
+        Map<String, Object> payload;
+        if (analyticsService.rollupsReady()) {
+            payload = new LinkedHashMap<>(managerReportService.buildOlapPreview(filters, olapRequest));
+        } else {
+            String operator = authentication != null ? authentication.getName() : null;
+            List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
+            payload = new LinkedHashMap<>(managerReportService.buildOlapPreview(dialogs, filters, olapRequest));
+        }
         payload.put("success", true);
         return payload;
     }
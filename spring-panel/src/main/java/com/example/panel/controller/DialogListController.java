@@ -1,11 +1,14 @@
 package com.example.panel.controller;
 
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.service.DialogListReadService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,8 +22,25 @@ public class DialogListController {
     }
 
     @GetMapping
-    public Map<String, Object> list(Authentication authentication) {
+    public Map<String, Object> list(@RequestParam(value = "limit", required = false) Integer limit,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "status", required = false) List<String> statuses,
+                                    @RequestParam(value = "channelId", required = false) Long channelId,
+                                    @RequestParam(value = "responsible", required = false) String responsible,
+                                    @RequestParam(value = "slaState", required = false) String slaState,
+                                    Authentication authentication) {
         String operator = authentication != null ? authentication.getName() : null;
-        return dialogListReadService.loadListPayload(operator);
+        DialogListPageQuery pageQuery = DialogListPageQuery.fromRequest(cursor, limit, statuses, channelId, responsible, slaState);
+        if (pageQuery == null) {
+            return dialogListReadService.loadListPayload(operator);
+        }
+        return dialogListReadService.loadListPagePayload(operator, pageQuery);
+    }
+
+    @GetMapping("/changes")
+    public Map<String, Object> changes(@RequestParam(value = "since", defaultValue = "0") long since,
+                                       Authentication authentication) {
+        String operator = authentication != null ? authentication.getName() : null;
+        return dialogListReadService.loadChangesPayload(operator, since);
     }
 }
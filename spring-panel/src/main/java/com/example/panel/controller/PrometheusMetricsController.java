@@ -0,0 +1,43 @@
+package com.example.panel.controller;
+
+import com.example.panel.metrics.PanelMetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Prometheus scrape endpoint. When {@code panel.metrics.token} is set, the endpoint is open to scrapers
+ * that send it as a bearer token; otherwise {@code SecurityConfig} keeps it behind the panel login.
+ */
+@RestController
+public class PrometheusMetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT =
+            new MediaType("text", "plain", Map.of("version", "0.0.4", "charset", StandardCharsets.UTF_8.name()));
+
+    private final PanelMetricsRegistry registry;
+    private final String expectedToken;
+
+    public PrometheusMetricsController(PanelMetricsRegistry registry,
+                                       @Value("${panel.metrics.token:}") String expectedToken) {
+        this.registry = registry;
+        this.expectedToken = expectedToken;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> scrape(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (StringUtils.hasText(expectedToken) && !("Bearer " + expectedToken).equals(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(registry.scrape());
+    }
+}
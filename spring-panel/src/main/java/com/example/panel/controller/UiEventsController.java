@@ -6,9 +6,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/events")
 public class UiEventsController {
@@ -20,8 +23,10 @@ public class UiEventsController {
     }
 
     @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream(Authentication authentication) {
-        return uiEventStreamService.connect(resolveIdentity(authentication));
+    public SseEmitter stream(Authentication authentication,
+                             @RequestParam(name = "channelId", required = false) List<Long> channelIds,
+                             @RequestParam(name = "ticketId", required = false) List<String> ticketIds) {
+        return uiEventStreamService.connect(resolveIdentity(authentication), channelIds, ticketIds);
     }
 
     private String resolveIdentity(Authentication authentication) {
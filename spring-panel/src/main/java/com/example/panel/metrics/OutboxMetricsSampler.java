@@ -0,0 +1,149 @@
+package com.example.panel.metrics;
+
+import com.example.panel.service.UiEventOutboxWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically samples backlog depth and the age of the oldest undelivered row of the transport,
+ * UI-event and incident-route outboxes, and exposes the last sample as gauges.
+ *
+ * <p>Sampling runs on its own schedule so that a scrape never hits the database.</p>
+ */
+@Component
+public class OutboxMetricsSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxMetricsSampler.class);
+    private static final List<String> PENDING_STATUSES = List.of("queued", "processing", "failed");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UiEventOutboxWatcher uiEventOutboxWatcher;
+    private final Map<String, Double> samples = new ConcurrentHashMap<>();
+
+    public OutboxMetricsSampler(JdbcTemplate jdbcTemplate,
+                                UiEventOutboxWatcher uiEventOutboxWatcher,
+                                PanelMetricsRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.uiEventOutboxWatcher = uiEventOutboxWatcher;
+        for (String outbox : List.of("integration_transport_outbox", "incident_route_delivery_outbox")) {
+            for (String status : PENDING_STATUSES) {
+                registerDepth(registry, outbox, status);
+            }
+            registerAge(registry, outbox);
+        }
+        registerDepth(registry, "ui_event_outbox", "pending");
+        registerAge(registry, "ui_event_outbox");
+    }
+
+    @Scheduled(fixedDelayString = "${panel.metrics.outbox-sample-interval-ms:15000}",
+            initialDelayString = "${panel.metrics.outbox-sample-initial-delay-ms:10000}")
+    public void sample() {
+        Instant now = Instant.now();
+        sampleStatusOutbox("integration_transport_outbox", now);
+        sampleStatusOutbox("incident_route_delivery_outbox", now);
+        sampleUiEventOutbox(now);
+    }
+
+    private void sampleStatusOutbox(String outbox, Instant now) {
+        try {
+            Map<String, Double> depth = new HashMap<>();
+            Instant[] oldest = new Instant[1];
+            jdbcTemplate.query(
+                    "SELECT status, COUNT(*) AS depth, MIN(created_at) AS oldest FROM " + outbox
+                            + " WHERE status IN ('queued', 'processing', 'failed') GROUP BY status",
+                    rs -> {
+                        depth.put(rs.getString("status"), (double) rs.getLong("depth"));
+                        Instant created = toInstant(rs.getObject("oldest"));
+                        if (created != null && (oldest[0] == null || created.isBefore(oldest[0]))) {
+                            oldest[0] = created;
+                        }
+                    });
+            for (String status : PENDING_STATUSES) {
+                samples.put(depthKey(outbox, status), depth.getOrDefault(status, 0d));
+            }
+            samples.put(ageKey(outbox), ageSeconds(oldest[0], now));
+        } catch (DataAccessException ex) {
+            log.debug("Outbox metrics sample for {} failed: {}", outbox, ex.getMessage());
+        }
+    }
+
+    private void sampleUiEventOutbox(Instant now) {
+        try {
+            jdbcTemplate.query(
+                    "SELECT COUNT(*) AS depth, MIN(created_at) AS oldest FROM ui_event_outbox WHERE id > ?",
+                    rs -> {
+                        samples.put(depthKey("ui_event_outbox", "pending"), (double) rs.getLong("depth"));
+                        samples.put(ageKey("ui_event_outbox"), ageSeconds(toInstant(rs.getObject("oldest")), now));
+                    },
+                    uiEventOutboxWatcher.lastProcessedId());
+        } catch (DataAccessException ex) {
+            log.debug("Outbox metrics sample for ui_event_outbox failed: {}", ex.getMessage());
+        }
+    }
+
+    private void registerDepth(PanelMetricsRegistry registry, String outbox, String status) {
+        String key = depthKey(outbox, status);
+        registry.gauge("panel_outbox_depth", "Undelivered outbox rows at the last sample.",
+                () -> samples.getOrDefault(key, Double.NaN), "outbox", outbox, "status", status);
+    }
+
+    private void registerAge(PanelMetricsRegistry registry, String outbox) {
+        String key = ageKey(outbox);
+        registry.gauge("panel_outbox_oldest_age_seconds", "Age of the oldest undelivered outbox row at the last sample.",
+                () -> samples.getOrDefault(key, Double.NaN), "outbox", outbox);
+    }
+
+    private static String depthKey(String outbox, String status) {
+        return outbox + ":" + status;
+    }
+
+    private static String ageKey(String outbox) {
+        return outbox + ":age";
+    }
+
+    private static double ageSeconds(Instant oldest, Instant now) {
+        return oldest == null ? 0d : Math.max(0d, Duration.between(oldest, now).toMillis() / 1000d);
+    }
+
+    static Instant toInstant(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        String raw = value.toString().trim();
+        try {
+            return OffsetDateTime.parse(raw).toInstant();
+        } catch (DateTimeParseException ignored) {
+            // fall through to local timestamp forms written by SQLite defaults
+        }
+        try {
+            return LocalDateTime.parse(raw.replace(' ', 'T')).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+}
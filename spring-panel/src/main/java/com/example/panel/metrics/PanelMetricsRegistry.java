@@ -0,0 +1,140 @@
+package com.example.panel.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Process-wide Micrometer {@link PrometheusMeterRegistry} with the label-pair API the panel's call sites use;
+ * {@link #scrape()} renders the Prometheus text exposition format (version 0.0.4).
+ *
+ * <p>Series are identified by metric name plus label pairs given as alternating name/value strings.
+ * Registration is idempotent: asking for the same series twice returns the same instance, so call
+ * sites may resolve their series lazily on every observation. All series of one metric must use the
+ * same label names.</p>
+ */
+@Component
+public class PanelMetricsRegistry {
+
+    /** Latency buckets, from a fast SQL round trip up to a slow sync job. */
+    static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(30),
+            Duration.ofSeconds(60), Duration.ofSeconds(300)};
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final Map<String, AtomicReference<DoubleSupplier>> gauges = new ConcurrentHashMap<>();
+
+    public Counter counter(String name, String help, String... labels) {
+        return Counter.builder(name).description(help).tags(tags(labels)).register(registry);
+    }
+
+    public Timer histogram(String name, String help, String... labels) {
+        return Timer.builder(name)
+                .description(help)
+                .tags(tags(labels))
+                .serviceLevelObjectives(LATENCY_BUCKETS)
+                .register(registry);
+    }
+
+    /**
+     * Registers (or replaces) a gauge sampled at scrape time. The supplier must be cheap; anything that
+     * touches the database should be sampled on a schedule and cached by the caller.
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        Tags tags = tags(labels);
+        gauges.computeIfAbsent(name + tags, key -> {
+            AtomicReference<DoubleSupplier> holder = new AtomicReference<>();
+            Gauge.builder(name, holder, PanelMetricsRegistry::sample).description(help).tags(tags).register(registry);
+            return holder;
+        }).set(supplier);
+    }
+
+    /**
+     * Sends {@code request} and records its latency in {@code panel_http_client_request_seconds},
+     * labelled by logical client, operation and outcome (status class or exception).
+     */
+    public <T> HttpResponse<T> send(String client,
+                                    String operation,
+                                    HttpClient httpClient,
+                                    HttpRequest request,
+                                    HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        String outcome = "io_error";
+        try {
+            HttpResponse<T> response = httpClient.send(request, bodyHandler);
+            outcome = (response.statusCode() / 100) + "xx";
+            return response;
+        } catch (InterruptedException ex) {
+            outcome = "interrupted";
+            throw ex;
+        } finally {
+            histogram("panel_http_client_request_seconds",
+                    "Latency of outbound HTTP calls made by the panel.",
+                    "client", client, "operation", operation, "outcome", outcome)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Null-safe variant of {@link #send} for services that receive the registry as an optional collaborator.
+     */
+    public static <T> HttpResponse<T> send(@Nullable PanelMetricsRegistry registry,
+                                           String client,
+                                           String operation,
+                                           HttpClient httpClient,
+                                           HttpRequest request,
+                                           HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        if (registry == null) {
+            return httpClient.send(request, bodyHandler);
+        }
+        return registry.send(client, operation, httpClient, request, bodyHandler);
+    }
+
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    private static Tags tags(String... labels) {
+        if (labels == null || labels.length == 0) {
+            return Tags.empty();
+        }
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name/value pairs");
+        }
+        Tags tags = Tags.empty();
+        for (int i = 0; i < labels.length; i += 2) {
+            tags = tags.and(labels[i], labels[i + 1] != null ? labels[i + 1] : "");
+        }
+        return tags;
+    }
+
+    private static double sample(AtomicReference<DoubleSupplier> holder) {
+        DoubleSupplier supplier = holder.get();
+        if (supplier == null) {
+            return Double.NaN;
+        }
+        try {
+            return supplier.getAsDouble();
+        } catch (RuntimeException ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.panel.metrics;
+
+import com.example.panel.service.UiEventStreamService;
+import com.example.panel.service.WorkspaceTelemetryBatchWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registers gauges over live runtime state: SSE connections and send queues of the UI event stream, the workspace
+ * telemetry write buffer and the primary Hikari pool (the same figures {@code HikariPoolPressureReporter} logs under
+ * pressure).
+ */
+@Component
+public class RuntimeMetricsBinder {
+
+    public RuntimeMetricsBinder(PanelMetricsRegistry registry,
+                                UiEventStreamService uiEventStreamService,
+                                WorkspaceTelemetryBatchWriter telemetryWriter,
+                                DataSource dataSource) {
+        registry.gauge("panel_sse_connections", "Open SSE connections of the UI event stream.",
+                uiEventStreamService::connectionCount);
+        registry.gauge("panel_sse_connected_users", "Users with at least one open SSE connection.",
+                uiEventStreamService::connectedUserCount);
+        registry.gauge("panel_sse_queued_events", "UI events waiting in SSE send queues.",
+                uiEventStreamService::queuedEventCount);
+        registry.gauge("panel_sse_max_queue_depth", "Longest SSE send queue of a single connection.",
+                uiEventStreamService::maxQueueDepth);
+        registry.gauge("panel_workspace_telemetry_queued_events", "Workspace telemetry events waiting to be written.",
+                telemetryWriter::queuedEventCount);
+        if (dataSource instanceof HikariDataSource hikari) {
+            registerPoolGauge(registry, hikari, "active", HikariPoolMXBean::getActiveConnections);
+            registerPoolGauge(registry, hikari, "idle", HikariPoolMXBean::getIdleConnections);
+            registerPoolGauge(registry, hikari, "total", HikariPoolMXBean::getTotalConnections);
+            registerPoolGauge(registry, hikari, "waiting", HikariPoolMXBean::getThreadsAwaitingConnection);
+        }
+    }
+
+    private static void registerPoolGauge(PanelMetricsRegistry registry,
+                                          HikariDataSource hikari,
+                                          String state,
+                                          ToIntFunction<HikariPoolMXBean> reader) {
+        registry.gauge("panel_db_pool_connections", "Connections of the primary Hikari pool by state.", () -> {
+            HikariPoolMXBean pool = hikari.isClosed() ? null : hikari.getHikariPoolMXBean();
+            return pool != null ? reader.applyAsInt(pool) : Double.NaN;
+        }, "state", state);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.panel.model.dialog;
+
+import java.util.List;
+
+/**
+ * Dialog list delta since a client-held version. {@code reset} means the client has to reload the full list.
+ */
+public record DialogListChanges(long version,
+                                boolean reset,
+                                List<DialogListItem> upserted,
+                                List<String> removed) {
+
+    public static DialogListChanges reset(long version) {
+        return new DialogListChanges(version, true, List.of(), List.of());
+    }
+}
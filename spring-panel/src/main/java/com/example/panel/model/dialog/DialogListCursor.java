@@ -0,0 +1,37 @@
+package com.example.panel.model.dialog;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the dialog list: the last activity sort key and ticket id of the last row
+ * of the previous page. Serialized as an opaque url-safe token.
+ */
+public record DialogListCursor(String lastActivity, String ticketId) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        String raw = (lastActivity != null ? lastActivity : "") + SEPARATOR + (ticketId != null ? ticketId : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DialogListCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Некорректный курсор списка диалогов");
+        }
+        int separatorIndex = raw.indexOf(SEPARATOR);
+        if (separatorIndex < 0 || separatorIndex == raw.length() - 1) {
+            throw new IllegalArgumentException("Некорректный курсор списка диалогов");
+        }
+        return new DialogListCursor(raw.substring(0, separatorIndex), raw.substring(separatorIndex + 1));
+    }
+}
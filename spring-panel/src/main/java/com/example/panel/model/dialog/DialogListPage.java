@@ -0,0 +1,12 @@
+package com.example.panel.model.dialog;
+
+import java.util.List;
+
+public record DialogListPage(List<DialogListItem> items,
+                             String nextCursor,
+                             boolean hasMore) {
+
+    public static DialogListPage empty() {
+        return new DialogListPage(List.of(), null, false);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.panel.model.dialog;
+
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Paged dialog list request: keyset cursor, bounded page size and the filters that are pushed into SQL.
+ * {@code createdAfter}/{@code createdAtOrBefore} carry the SLA window resolved from the dialog config.
+ */
+public record DialogListPageQuery(String cursor,
+                                  int limit,
+                                  Set<String> statusKeys,
+                                  Long channelId,
+                                  String responsible,
+                                  String slaState,
+                                  Instant createdAfter,
+                                  Instant createdAtOrBefore) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final String RESPONSIBLE_ME = "me";
+    public static final String RESPONSIBLE_UNASSIGNED = "unassigned";
+
+    private static final Set<String> OPEN_STATUS_KEYS = Set.of("new", "auto_processing", "waiting_operator", "waiting_client");
+    private static final Set<String> CLOSED_STATUS_KEYS = Set.of("closed", "auto_closed");
+    private static final Set<String> SLA_STATES = Set.of("normal", "at_risk", "breached", "closed");
+
+    public DialogListPageQuery {
+        limit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        statusKeys = statusKeys != null ? Set.copyOf(statusKeys) : Set.of();
+    }
+
+    public static DialogListPageQuery firstPage() {
+        return new DialogListPageQuery(null, DEFAULT_LIMIT, Set.of(), null, null, null, null, null);
+    }
+
+    /**
+     * Returns {@code null} when none of the paging parameters are present, so callers can keep
+     * serving the legacy full-list payload.
+     */
+    public static DialogListPageQuery fromRequest(String cursor,
+                                                  Integer limit,
+                                                  Collection<String> statuses,
+                                                  Long channelId,
+                                                  String responsible,
+                                                  String slaState) {
+        boolean hasStatuses = statuses != null && statuses.stream().anyMatch(StringUtils::hasText);
+        if (!StringUtils.hasText(cursor) && limit == null && !hasStatuses && channelId == null
+                && !StringUtils.hasText(responsible) && !StringUtils.hasText(slaState)) {
+            return null;
+        }
+        return new DialogListPageQuery(
+                StringUtils.hasText(cursor) ? cursor.trim() : null,
+                limit != null ? limit : DEFAULT_LIMIT,
+                normalizeStatusKeys(statuses),
+                channelId,
+                StringUtils.hasText(responsible) ? responsible.trim() : null,
+                normalizeSlaState(slaState),
+                null,
+                null
+        );
+    }
+
+    public DialogListPageQuery withSlaWindow(Set<String> statusKeys, Instant createdAfter, Instant createdAtOrBefore) {
+        return new DialogListPageQuery(cursor, limit, statusKeys, channelId, responsible, slaState, createdAfter, createdAtOrBefore);
+    }
+
+    public static Set<String> openStatusKeys() {
+        return OPEN_STATUS_KEYS;
+    }
+
+    public static Set<String> closedStatusKeys() {
+        return CLOSED_STATUS_KEYS;
+    }
+
+    private static Set<String> normalizeStatusKeys(Collection<String> statuses) {
+        if (statuses == null) {
+            return Set.of();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String raw : statuses) {
+            if (!StringUtils.hasText(raw)) {
+                continue;
+            }
+            for (String token : raw.split(",")) {
+                String value = token.trim().toLowerCase(Locale.ROOT);
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if ("open".equals(value)) {
+                    normalized.addAll(OPEN_STATUS_KEYS);
+                } else if ("closed".equals(value)) {
+                    normalized.addAll(CLOSED_STATUS_KEYS);
+                } else if (OPEN_STATUS_KEYS.contains(value) || CLOSED_STATUS_KEYS.contains(value)) {
+                    normalized.add(value);
+                } else {
+                    throw new IllegalArgumentException("Неизвестный статус диалога: " + token.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+
+    private static String normalizeSlaState(String slaState) {
+        if (!StringUtils.hasText(slaState)) {
+            return null;
+        }
+        String normalized = slaState.trim().toLowerCase(Locale.ROOT);
+        if (!SLA_STATES.contains(normalized)) {
+            throw new IllegalArgumentException("Неизвестное состояние SLA: " + slaState.trim());
+        }
+        return normalized;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.panel.security;
 import jakarta.servlet.DispatcherType;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -18,6 +19,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableMethodSecurity
@@ -28,22 +30,28 @@ public class SecurityConfig {
                                                    SecurityHeadersFilter securityHeadersFilter,
                                                    ObjectProvider<UserLastActivityFilter> userLastActivityFilter,
                                                    DaoAuthenticationProvider daoAuthenticationProvider,
-                                                   UserDetailsService userDetailsService) throws Exception {
+                                                   UserDetailsService userDetailsService,
+                                                   @Value("${panel.metrics.token:}") String metricsToken) throws Exception {
         http
-                .authorizeHttpRequests(auth -> auth
-                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
-                        .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
-                        .requestMatchers(
-                                "/css/**", "/js/**", "/images/**", "/vendor/**", "/webjars/**",
-                                "/favicon.ico", "/*.svg", "/*.png",
-                                "/login",
-                                "/api/password-reset-requests/public",
-                                "/internal/api/bot/**",
-                                "/webhooks/max/**",
-                                "/error", "/error/**"
-                        ).permitAll()
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    auth
+                            .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                            .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
+                            .requestMatchers(
+                                    "/css/**", "/js/**", "/images/**", "/vendor/**", "/webjars/**",
+                                    "/favicon.ico", "/*.svg", "/*.png",
+                                    "/login",
+                                    "/api/password-reset-requests/public",
+                                    "/internal/api/bot/**",
+                                    "/webhooks/max/**",
+                                    "/error", "/error/**"
+                            ).permitAll();
+                    // Scrapers authenticate with the bearer token; without one /metrics stays behind the panel login.
+                    if (StringUtils.hasText(metricsToken)) {
+                        auth.requestMatchers("/metrics").permitAll();
+                    }
+                    auth.anyRequest().authenticated();
+                })
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/post-login", true)
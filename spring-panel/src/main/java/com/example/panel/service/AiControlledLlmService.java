@@ -1,8 +1,10 @@
 package com.example.panel.service;
 
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -43,6 +45,9 @@ public class AiControlledLlmService {
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
 
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
     public AiControlledLlmService(SharedConfigService sharedConfigService,
                                   AiIntentService aiIntentService,
                                   ObjectMapper objectMapper) {
@@ -491,7 +496,8 @@ public class AiControlledLlmService {
                 .header("Authorization", "Bearer " + apiKey)
                 .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "llm", "chat_completions", httpClient, request,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new IOException("http_" + response.statusCode());
         }
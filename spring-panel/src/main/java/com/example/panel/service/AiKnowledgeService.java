@@ -1,5 +1,6 @@
 package com.example.panel.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -17,6 +18,9 @@ public class AiKnowledgeService {
 
     private final JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private AiRetrievalService aiRetrievalService;
+
     public AiKnowledgeService(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
@@ -148,6 +152,7 @@ public class AiKnowledgeService {
             cleanupOrphanUnits(previousUnitIds);
         } catch (Exception ignored) {
         }
+        invalidateRetrievalIndex();
     }
 
     public void forgetMemory(String queryKey) {
@@ -165,6 +170,13 @@ public class AiKnowledgeService {
             cleanupOrphanUnits(previousUnitIds);
         } catch (Exception ignored) {
         }
+        invalidateRetrievalIndex();
+    }
+
+    private void invalidateRetrievalIndex() {
+        if (aiRetrievalService != null) {
+            aiRetrievalService.invalidateIndex();
+        }
     }
 
     private void cleanupOrphanUnits(List<Long> previousUnitIds) {
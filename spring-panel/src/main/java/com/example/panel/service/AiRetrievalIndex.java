@@ -0,0 +1,224 @@
+package com.example.panel.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory inverted index over the retrieval corpus of {@link AiRetrievalService}: token postings with
+ * term frequencies, document lengths and frequencies, plus intent and slot-signature postings.
+ *
+ * <p>Postings are keyed by document identity, so a reloaded row never aliases its previous version.
+ * Documents are grouped by the database row they were built from (a solution memory key or a
+ * knowledge unit key) together with the row signature they were loaded at, so that the owning service
+ * can replace only the rows whose signature changed.</p>
+ */
+final class AiRetrievalIndex {
+
+    private final Map<String, List<AiRetrievalService.DocumentVector>> memoryDocuments = new HashMap<>();
+    private final Map<String, AiRetrievalService.DocumentVector> knowledgeDocuments = new HashMap<>();
+    private final Map<String, String> memorySignatures = new HashMap<>();
+    private final Map<String, String> knowledgeSignatures = new HashMap<>();
+    private final Map<String, Set<String>> memoryKeysByKnowledgeKey = new HashMap<>();
+
+    private final Map<String, Map<AiRetrievalService.DocumentVector, Integer>> postings = new HashMap<>();
+    private final Map<String, Set<AiRetrievalService.DocumentVector>> intentPostings = new HashMap<>();
+    private final Map<String, Set<AiRetrievalService.DocumentVector>> slotPostings = new HashMap<>();
+    private int documentCount;
+    private long totalDocumentLength;
+
+    synchronized Map<String, String> memorySignatures() {
+        return new HashMap<>(memorySignatures);
+    }
+
+    synchronized Map<String, String> knowledgeSignatures() {
+        return new HashMap<>(knowledgeSignatures);
+    }
+
+    synchronized Set<String> memoryKeysLinkedTo(Collection<String> knowledgeKeys) {
+        Set<String> out = new HashSet<>();
+        for (String knowledgeKey : knowledgeKeys) {
+            out.addAll(memoryKeysByKnowledgeKey.getOrDefault(knowledgeKey, Set.of()));
+        }
+        return out;
+    }
+
+    synchronized int size() {
+        return documentCount;
+    }
+
+    synchronized void replaceMemory(String queryKey, List<AiRetrievalService.DocumentVector> documents, String signature) {
+        removeMemory(queryKey);
+        List<AiRetrievalService.DocumentVector> stored = List.copyOf(documents);
+        memoryDocuments.put(queryKey, stored);
+        memorySignatures.put(queryKey, signature);
+        for (AiRetrievalService.DocumentVector document : stored) {
+            addPostings(document);
+            String knowledgeKey = linkedKnowledgeKey(document);
+            if (knowledgeKey != null) {
+                memoryKeysByKnowledgeKey.computeIfAbsent(knowledgeKey, key -> new HashSet<>()).add(queryKey);
+            }
+        }
+    }
+
+    synchronized void removeMemory(String queryKey) {
+        memorySignatures.remove(queryKey);
+        List<AiRetrievalService.DocumentVector> previous = memoryDocuments.remove(queryKey);
+        if (previous == null) {
+            return;
+        }
+        for (AiRetrievalService.DocumentVector document : previous) {
+            removePostings(document);
+            String knowledgeKey = linkedKnowledgeKey(document);
+            Set<String> linked = knowledgeKey != null ? memoryKeysByKnowledgeKey.get(knowledgeKey) : null;
+            if (linked != null) {
+                linked.remove(queryKey);
+                if (linked.isEmpty()) {
+                    memoryKeysByKnowledgeKey.remove(knowledgeKey);
+                }
+            }
+        }
+    }
+
+    synchronized void replaceKnowledge(String unitKey, AiRetrievalService.DocumentVector document, String signature) {
+        removeKnowledge(unitKey);
+        knowledgeSignatures.put(unitKey, signature);
+        if (document != null) {
+            knowledgeDocuments.put(unitKey, document);
+            addPostings(document);
+        }
+    }
+
+    synchronized void removeKnowledge(String unitKey) {
+        knowledgeSignatures.remove(unitKey);
+        AiRetrievalService.DocumentVector previous = knowledgeDocuments.remove(unitKey);
+        if (previous != null) {
+            removePostings(previous);
+        }
+    }
+
+    synchronized void clear() {
+        memoryDocuments.clear();
+        knowledgeDocuments.clear();
+        memorySignatures.clear();
+        knowledgeSignatures.clear();
+        memoryKeysByKnowledgeKey.clear();
+        postings.clear();
+        intentPostings.clear();
+        slotPostings.clear();
+        documentCount = 0;
+        totalDocumentLength = 0;
+    }
+
+    /**
+     * Documents sharing at least one query token, the intent or the slot signature with the query, ranked
+     * by a cheap match count and capped at {@code maxCandidates}, together with corpus statistics for
+     * BM25 scoring.
+     */
+    synchronized SearchView search(Set<String> queryTokens, String intentKey, String slotSignature, int maxCandidates) {
+        Map<AiRetrievalService.DocumentVector, Integer> matches = new IdentityHashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (String token : queryTokens) {
+            Map<AiRetrievalService.DocumentVector, Integer> tokenPostings = postings.getOrDefault(token, Map.of());
+            documentFrequency.put(token, tokenPostings.size());
+            for (AiRetrievalService.DocumentVector document : tokenPostings.keySet()) {
+                matches.merge(document, 1, Integer::sum);
+            }
+        }
+        if (intentKey != null) {
+            for (AiRetrievalService.DocumentVector document : intentPostings.getOrDefault(intentKey, Set.of())) {
+                matches.merge(document, 1, Integer::sum);
+            }
+        }
+        if (slotSignature != null) {
+            for (AiRetrievalService.DocumentVector document : slotPostings.getOrDefault(slotSignature, Set.of())) {
+                matches.merge(document, 2, Integer::sum);
+            }
+        }
+        List<Map.Entry<AiRetrievalService.DocumentVector, Integer>> ranked = new ArrayList<>(matches.entrySet());
+        if (ranked.size() > maxCandidates) {
+            ranked.sort(Map.Entry.<AiRetrievalService.DocumentVector, Integer>comparingByValue().reversed()
+                    .thenComparing(entry -> entry.getKey().updatedAt(), Comparator.nullsLast(Comparator.<Instant>reverseOrder())));
+            ranked = ranked.subList(0, maxCandidates);
+        }
+        List<AiRetrievalService.DocumentVector> candidates = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> candidates.add(entry.getKey()));
+        double averageDocumentLength = documentCount > 0 ? totalDocumentLength / (double) documentCount : 1d;
+        return new SearchView(candidates, documentFrequency, averageDocumentLength, documentCount);
+    }
+
+    synchronized List<AiRetrievalService.DocumentVector> documents() {
+        List<AiRetrievalService.DocumentVector> out = new ArrayList<>(Math.max(0, documentCount));
+        memoryDocuments.values().forEach(out::addAll);
+        out.addAll(knowledgeDocuments.values());
+        return out;
+    }
+
+    private void addPostings(AiRetrievalService.DocumentVector document) {
+        documentCount++;
+        totalDocumentLength += Math.max(1, document.tokens().size());
+        document.termFrequency().forEach((token, tf) ->
+                postings.computeIfAbsent(token, key -> new IdentityHashMap<>()).put(document, tf));
+        if (document.intentKey() != null) {
+            intentPostings.computeIfAbsent(document.intentKey(), key -> identitySet()).add(document);
+        }
+        if (document.slotSignature() != null) {
+            slotPostings.computeIfAbsent(document.slotSignature(), key -> identitySet()).add(document);
+        }
+    }
+
+    private void removePostings(AiRetrievalService.DocumentVector document) {
+        documentCount--;
+        totalDocumentLength -= Math.max(1, document.tokens().size());
+        for (String token : document.termFrequency().keySet()) {
+            Map<AiRetrievalService.DocumentVector, Integer> tokenPostings = postings.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.remove(document);
+                if (tokenPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        if (document.intentKey() != null) {
+            removeFrom(intentPostings, document.intentKey(), document);
+        }
+        if (document.slotSignature() != null) {
+            removeFrom(slotPostings, document.slotSignature(), document);
+        }
+    }
+
+    private static void removeFrom(Map<String, ? extends Collection<AiRetrievalService.DocumentVector>> index,
+                                   String key,
+                                   AiRetrievalService.DocumentVector document) {
+        Collection<AiRetrievalService.DocumentVector> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(document);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Set<AiRetrievalService.DocumentVector> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static String linkedKnowledgeKey(AiRetrievalService.DocumentVector document) {
+        String canonicalKey = document.canonicalKey();
+        return canonicalKey != null && !canonicalKey.startsWith("memory:") ? canonicalKey : null;
+    }
+
+    record SearchView(List<AiRetrievalService.DocumentVector> documents,
+                      Map<String, Integer> documentFrequency,
+                      double averageDocumentLength,
+                      int corpusSize) {
+    }
+}
@@ -1,11 +1,22 @@
 package com.example.panel.service;
 
 import com.example.panel.support.PanelTimestampSqlSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
@@ -14,31 +25,72 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+/**
+ * Hybrid BM25 + intent/slot retrieval over approved solution memory and active knowledge units.
+ *
+ * <p>The corpus is kept tokenized in an {@link AiRetrievalIndex}. Every database row is tracked by a
+ * cheap signature (change timestamp and link counts); a sync compares signatures and re-tokenizes only
+ * the rows that changed, so query latency does not grow with the amount of stored memory. Syncs run on
+ * a schedule and before the next query once {@link #invalidateIndex()} was called by a write path. When
+ * {@code panel.ai.retrieval-index.snapshot-path} is set, the index is persisted to disk and restored on
+ * startup, after which only rows changed in the meantime are reloaded.</p>
+ */
 @Service
 public class AiRetrievalService {
 
+    private static final Logger log = LoggerFactory.getLogger(AiRetrievalService.class);
+    private static final int MAX_CANDIDATES = 400;
+    private static final int RELOAD_BATCH_SIZE = 200;
+    private static final int SNAPSHOT_FORMAT_VERSION = 1;
+    private static final Duration FULL_RECONCILE_INTERVAL = Duration.ofHours(1);
+    private static final Duration SNAPSHOT_WRITE_INTERVAL = Duration.ofMinutes(1);
     private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{IsAlphabetic}\\p{IsDigit}]+");
     private static final Set<String> STOP = Set.of("и", "в", "на", "не", "что", "как", "для", "или", "по", "из", "к", "у", "о", "об", "the", "a", "an", "to", "of", "in", "on", "for", "and", "or", "is", "are", "be");
 
     private final JdbcTemplate jdbcTemplate;
     private final AiIntentService aiIntentService;
     private final PanelTimestampSqlSupport timestampSqlSupport;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotPath;
+    private final AiRetrievalIndex index = new AiRetrievalIndex();
+    private final Object indexSyncLock = new Object();
+    private volatile boolean indexLoaded;
+    private volatile boolean indexDirty;
+    private Instant lastFullReconcileAt = Instant.EPOCH;
+    private Instant lastSnapshotWriteAt = Instant.EPOCH;
+    private boolean snapshotPending;
 
     public AiRetrievalService(JdbcTemplate jdbcTemplate,
                               AiIntentService aiIntentService,
                               PanelTimestampSqlSupport timestampSqlSupport) {
+        this(jdbcTemplate, aiIntentService, timestampSqlSupport, new ObjectMapper(), "");
+    }
+
+    @Autowired
+    public AiRetrievalService(JdbcTemplate jdbcTemplate,
+                              AiIntentService aiIntentService,
+                              PanelTimestampSqlSupport timestampSqlSupport,
+                              ObjectMapper objectMapper,
+                              @Value("${panel.ai.retrieval-index.snapshot-path:}") String snapshotPath) {
         this.jdbcTemplate = jdbcTemplate;
         this.aiIntentService = aiIntentService;
         this.timestampSqlSupport = timestampSqlSupport;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = StringUtils.hasText(snapshotPath) ? Path.of(snapshotPath.trim()) : null;
     }
 
     public RetrievalResult retrieve(String ticketId, String query, int limit) {
@@ -48,22 +100,22 @@ public class AiRetrievalService {
             return new RetrievalResult(context, List.of(), new ConsistencyCheck(false, false, 0, "empty_query"));
         }
 
-        List<DocumentVector> documents = new ArrayList<>();
-        documents.addAll(loadMemoryDocuments(safeLimit * 16));
-        documents.addAll(loadKnowledgeDocuments(safeLimit * 12));
-        if (documents.isEmpty()) {
+        ensureIndexSynchronized();
+        if (index.size() == 0) {
             return new RetrievalResult(context, List.of(), new ConsistencyCheck(false, false, 0, "no_evidence"));
         }
 
-        Map<String, Integer> documentFrequency = buildDocumentFrequency(documents, context.queryTokens());
-        double averageDocumentLength = documents.stream()
-                .mapToInt(vector -> Math.max(1, vector.tokens().size()))
-                .average()
-                .orElse(1d);
-
+        AiRetrievalIndex.SearchView view = index.search(
+                context.queryTokens(),
+                trim(context.intentMatch().intentKey()),
+                trim(context.intentMatch().slotSignature()),
+                MAX_CANDIDATES
+        );
+        Set<String> queryTrigrams = trigrams(context.normalizedQuery());
         List<Candidate> scored = new ArrayList<>();
-        for (DocumentVector vector : documents) {
-            Candidate candidate = scoreDocument(context, vector, documentFrequency, averageDocumentLength, documents.size());
+        for (DocumentVector vector : view.documents()) {
+            Candidate candidate = scoreDocument(context, vector, queryTrigrams, view.documentFrequency(),
+                    view.averageDocumentLength(), view.corpusSize());
             if (candidate != null) {
                 scored.add(candidate);
             }
@@ -72,7 +124,8 @@ public class AiRetrievalService {
         scored.sort(Comparator
                 .comparingDouble(Candidate::score).reversed()
                 .thenComparing(candidate -> "knowledge".equals(candidate.source()) ? 0 : 1)
-                .thenComparing(Candidate::title, Comparator.nullsLast(String::compareToIgnoreCase)));
+                .thenComparing(Candidate::title, Comparator.nullsLast(String::compareToIgnoreCase))
+                .thenComparing(Candidate::updatedAt, Comparator.nullsLast(Comparator.<String>reverseOrder())));
 
         List<Candidate> limited = scored.size() > safeLimit
                 ? new ArrayList<>(scored.subList(0, safeLimit))
@@ -84,6 +137,199 @@ public class AiRetrievalService {
         return retrieve(ticketId, query, limit).candidates();
     }
 
+    /**
+     * Marks the index stale after a write to solution memory or knowledge units; the next query
+     * synchronizes it before scoring.
+     */
+    public void invalidateIndex() {
+        indexDirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${panel.ai.retrieval-index.sync-interval-ms:5000}",
+            initialDelayString = "${panel.ai.retrieval-index.initial-delay-ms:15000}")
+    public void refreshIndex() {
+        synchronizeIndex();
+    }
+
+    @PostConstruct
+    void restoreSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        try {
+            IndexSnapshot snapshot = objectMapper.readValue(snapshotPath.toFile(), IndexSnapshot.class);
+            if (snapshot == null || snapshot.formatVersion() != SNAPSHOT_FORMAT_VERSION) {
+                return;
+            }
+            Map<String, List<DocumentVector>> memoryDocuments = new HashMap<>();
+            Map<String, DocumentVector> knowledgeDocuments = new HashMap<>();
+            for (SnapshotDocument document : snapshot.documents()) {
+                DocumentVector vector = fromSnapshot(document);
+                if ("knowledge".equals(vector.source())) {
+                    knowledgeDocuments.put(vector.sourceRef(), vector);
+                } else {
+                    memoryDocuments.computeIfAbsent(vector.memoryKey(), key -> new ArrayList<>()).add(vector);
+                }
+            }
+            synchronized (indexSyncLock) {
+                index.clear();
+                snapshot.memorySignatures().forEach((key, signature) ->
+                        index.replaceMemory(key, memoryDocuments.getOrDefault(key, List.of()), signature));
+                snapshot.knowledgeSignatures().forEach((key, signature) ->
+                        index.replaceKnowledge(key, knowledgeDocuments.get(key), signature));
+                Instant now = Instant.now();
+                lastFullReconcileAt = now;
+                lastSnapshotWriteAt = now;
+                indexLoaded = true;
+                indexDirty = true;
+            }
+            log.info("Restored AI retrieval index snapshot with {} documents from {}", index.size(), snapshotPath);
+        } catch (Exception ex) {
+            log.warn("Unable to restore AI retrieval index snapshot from {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushSnapshot() {
+        synchronized (indexSyncLock) {
+            writeSnapshotIfDue(true);
+        }
+    }
+
+    void synchronizeIndex() {
+        synchronized (indexSyncLock) {
+            indexDirty = false;
+            Map<String, String> memorySignatures = loadMemorySignatures();
+            Map<String, String> knowledgeSignatures = loadKnowledgeSignatures();
+            if (memorySignatures == null || knowledgeSignatures == null) {
+                indexLoaded = true;
+                return;
+            }
+            Instant now = Instant.now();
+            boolean fullReconcile = Duration.between(lastFullReconcileAt, now).compareTo(FULL_RECONCILE_INTERVAL) >= 0;
+            Set<String> changedKnowledge = changedKeys(index.knowledgeSignatures(), knowledgeSignatures, fullReconcile);
+            Set<String> changedMemory = changedKeys(index.memorySignatures(), memorySignatures, fullReconcile);
+            changedMemory.addAll(index.memoryKeysLinkedTo(changedKnowledge));
+
+            for (String unitKey : changedKnowledge) {
+                if (!knowledgeSignatures.containsKey(unitKey)) {
+                    index.removeKnowledge(unitKey);
+                }
+            }
+            for (String queryKey : changedMemory) {
+                if (!memorySignatures.containsKey(queryKey)) {
+                    index.removeMemory(queryKey);
+                }
+            }
+            reloadKnowledge(changedKnowledge, knowledgeSignatures);
+            reloadMemory(changedMemory, memorySignatures);
+
+            if (fullReconcile) {
+                lastFullReconcileAt = now;
+            }
+            indexLoaded = true;
+            if (!changedKnowledge.isEmpty() || !changedMemory.isEmpty()) {
+                snapshotPending = true;
+            }
+            writeSnapshotIfDue(false);
+        }
+    }
+
+    private void ensureIndexSynchronized() {
+        if (!indexLoaded || indexDirty) {
+            synchronizeIndex();
+        }
+    }
+
+    private Set<String> changedKeys(Map<String, String> indexed, Map<String, String> current, boolean all) {
+        Set<String> keys = new HashSet<>(indexed.keySet());
+        keys.addAll(current.keySet());
+        if (!all) {
+            keys.removeIf(key -> Objects.equals(indexed.get(key), current.get(key)));
+        }
+        return keys;
+    }
+
+    private void reloadMemory(Collection<String> queryKeys, Map<String, String> signatures) {
+        List<String> present = queryKeys.stream().filter(signatures::containsKey).toList();
+        for (int from = 0; from < present.size(); from += RELOAD_BATCH_SIZE) {
+            List<String> batch = present.subList(from, Math.min(present.size(), from + RELOAD_BATCH_SIZE));
+            Map<String, List<DocumentVector>> documents = loadMemoryDocuments(batch);
+            if (documents == null) {
+                return;
+            }
+            for (String queryKey : batch) {
+                index.replaceMemory(queryKey, documents.getOrDefault(queryKey, List.of()), signatures.get(queryKey));
+            }
+        }
+    }
+
+    private void reloadKnowledge(Collection<String> unitKeys, Map<String, String> signatures) {
+        List<String> present = unitKeys.stream().filter(signatures::containsKey).toList();
+        for (int from = 0; from < present.size(); from += RELOAD_BATCH_SIZE) {
+            List<String> batch = present.subList(from, Math.min(present.size(), from + RELOAD_BATCH_SIZE));
+            Map<String, DocumentVector> documents = loadKnowledgeDocuments(batch);
+            if (documents == null) {
+                return;
+            }
+            for (String unitKey : batch) {
+                index.replaceKnowledge(unitKey, documents.get(unitKey), signatures.get(unitKey));
+            }
+        }
+    }
+
+    private Map<String, String> loadMemorySignatures() {
+        try {
+            return jdbcTemplate.query(
+                    """
+                    SELECT m.query_key,
+                           COALESCE(m.updated_at, m.created_at) AS changed_at,
+                           (SELECT COUNT(*) FROM ai_agent_memory_link ml WHERE ml.query_key = m.query_key) AS link_count,
+                           (SELECT MAX(ml.knowledge_unit_id) FROM ai_agent_memory_link ml WHERE ml.query_key = m.query_key) AS last_unit_id
+                      FROM ai_agent_solution_memory m
+                    """,
+                    rs -> {
+                        Map<String, String> out = new HashMap<>();
+                        while (rs.next()) {
+                            String queryKey = rs.getString("query_key");
+                            if (queryKey != null) {
+                                out.put(queryKey, rs.getString("changed_at") + "|" + rs.getLong("link_count") + "|" + rs.getLong("last_unit_id"));
+                            }
+                        }
+                        return out;
+                    }
+            );
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private Map<String, String> loadKnowledgeSignatures() {
+        try {
+            return jdbcTemplate.query(
+                    """
+                    SELECT ku.unit_key,
+                           ku.id,
+                           COALESCE(ku.updated_at, ku.created_at) AS changed_at,
+                           (SELECT COUNT(*) FROM ai_agent_memory_link ml WHERE ml.knowledge_unit_id = ku.id) AS link_count
+                      FROM ai_agent_knowledge_unit ku
+                    """,
+                    rs -> {
+                        Map<String, String> out = new HashMap<>();
+                        while (rs.next()) {
+                            String unitKey = trim(rs.getString("unit_key"));
+                            if (unitKey != null) {
+                                out.put(unitKey, rs.getLong("id") + "|" + rs.getString("changed_at") + "|" + rs.getLong("link_count"));
+                            }
+                        }
+                        return out;
+                    }
+            );
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
     private RetrievalContext buildContext(String ticketId, String query) {
         String normalizedTicketId = trim(ticketId);
         String normalizedQuery = normalize(query);
@@ -144,10 +390,9 @@ public class AiRetrievalService {
         }
     }
 
-    private List<DocumentVector> loadMemoryDocuments(int limit) {
-        int safeLimit = Math.max(1, Math.min(limit, 400));
+    private Map<String, List<DocumentVector>> loadMemoryDocuments(List<String> queryKeys) {
         try {
-            return jdbcTemplate.query(
+            List<DocumentVector> documents = jdbcTemplate.query(
                     """
                     SELECT m.query_key,
                            m.query_text,
@@ -180,10 +425,8 @@ public class AiRetrievalService {
                      WHERE COALESCE(m.review_required, 0) = 0
                        AND trim(COALESCE(m.solution_text, '')) <> ''
                        AND lower(COALESCE(m.status, 'approved')) = 'approved'
-                     ORDER BY %s,
-                              m.query_key DESC
-                     LIMIT ?
-                    """.formatted(timestampSqlSupport.orderByTimestampDesc("COALESCE(m.updated_at, m.created_at)")),
+                       AND m.query_key IN (%s)
+                    """.formatted(placeholders(queryKeys.size())),
                     (rs, rowNum) -> mapMemoryVector(rs.getString("query_key"),
                             rs.getString("query_text"),
                             rs.getString("solution_text"),
@@ -203,10 +446,17 @@ public class AiRetrievalService {
                             rs.getInt("linked_evidence_count"),
                             rs.getInt("times_confirmed"),
                             rs.getInt("times_corrected")),
-                    safeLimit
-            ).stream().filter(item -> item != null).toList();
+                    queryKeys.toArray()
+            );
+            Map<String, List<DocumentVector>> byQueryKey = new HashMap<>();
+            for (DocumentVector document : documents) {
+                if (document != null && document.memoryKey() != null) {
+                    byQueryKey.computeIfAbsent(document.memoryKey(), key -> new ArrayList<>()).add(document);
+                }
+            }
+            return byQueryKey;
         } catch (Exception ex) {
-            return List.of();
+            return null;
         }
     }
 
@@ -259,10 +509,9 @@ public class AiRetrievalService {
         );
     }
 
-    private List<DocumentVector> loadKnowledgeDocuments(int limit) {
-        int safeLimit = Math.max(1, Math.min(limit, 400));
+    private Map<String, DocumentVector> loadKnowledgeDocuments(List<String> unitKeys) {
         try {
-            return jdbcTemplate.query(
+            List<DocumentVector> documents = jdbcTemplate.query(
                     """
                     SELECT ku.unit_key,
                            ku.title,
@@ -282,10 +531,8 @@ public class AiRetrievalService {
                       FROM ai_agent_knowledge_unit ku
                      WHERE lower(COALESCE(ku.status, 'active')) = 'active'
                        AND trim(COALESCE(ku.body_text, '')) <> ''
-                     ORDER BY %s,
-                              ku.unit_key DESC
-                     LIMIT ?
-                    """.formatted(timestampSqlSupport.orderByTimestampDesc("COALESCE(ku.updated_at, ku.created_at)")),
+                       AND ku.unit_key IN (%s)
+                    """.formatted(placeholders(unitKeys.size())),
                     (rs, rowNum) -> buildVector(
                             "knowledge",
                             firstNonBlank(trim(rs.getString("title")), titleForIntent(rs.getString("intent_key"), "Knowledge")),
@@ -308,13 +555,24 @@ public class AiRetrievalService {
                             0,
                             parseInstant(rs.getString("updated_at"))
                     ),
-                    safeLimit
-            ).stream().filter(item -> item != null).toList();
+                    unitKeys.toArray()
+            );
+            Map<String, DocumentVector> byUnitKey = new LinkedHashMap<>();
+            for (DocumentVector document : documents) {
+                if (document != null && document.sourceRef() != null) {
+                    byUnitKey.put(document.sourceRef(), document);
+                }
+            }
+            return byUnitKey;
         } catch (Exception ex) {
-            return List.of();
+            return null;
         }
     }
 
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
     private DocumentVector buildVector(String source,
                                        String title,
                                        String queryText,
@@ -365,31 +623,67 @@ public class AiRetrievalService {
                 Math.max(0, timesConfirmed),
                 Math.max(0, timesCorrected),
                 updatedAt != null ? updatedAt : Instant.EPOCH,
-                tokens,
-                countTerms(documentText),
+                Collections.unmodifiableSet(tokens),
+                Collections.unmodifiableMap(countTerms(documentText)),
+                trigrams(firstNonBlank(queryText, normalizedBody)),
                 stableHash(normalizedBody)
         );
     }
 
-    private Map<String, Integer> buildDocumentFrequency(List<DocumentVector> documents, Set<String> queryTokens) {
-        Map<String, Integer> frequency = new HashMap<>();
-        if (documents.isEmpty() || queryTokens.isEmpty()) {
-            return frequency;
+    private SnapshotDocument toSnapshot(DocumentVector vector) {
+        return new SnapshotDocument(vector.source(), vector.title(), vector.queryText(), vector.body(), vector.memoryKey(),
+                vector.status(), vector.trustLevel(), vector.sourceType(), vector.safetyLevel(), vector.intentKey(),
+                vector.slotSignature(), vector.scopeChannel(), vector.scopeBusiness(), vector.scopeLocation(),
+                vector.canonicalKey(), vector.sourceRef(), vector.evidenceCount(), vector.timesConfirmed(),
+                vector.timesCorrected(), vector.updatedAt().toEpochMilli(), vector.termFrequency(), vector.answerKey());
+    }
+
+    private DocumentVector fromSnapshot(SnapshotDocument document) {
+        Map<String, Integer> termFrequency = document.termFrequency() != null ? document.termFrequency() : Map.of();
+        return new DocumentVector(document.source(), document.title(), document.queryText(), document.body(),
+                document.memoryKey(), document.status(), document.trustLevel(), document.sourceType(),
+                document.safetyLevel(), document.intentKey(), document.slotSignature(), document.scopeChannel(),
+                document.scopeBusiness(), document.scopeLocation(), document.canonicalKey(), document.sourceRef(),
+                document.evidenceCount(), document.timesConfirmed(), document.timesCorrected(),
+                Instant.ofEpochMilli(document.updatedAtMillis()),
+                Collections.unmodifiableSet(new LinkedHashSet<>(termFrequency.keySet())),
+                Collections.unmodifiableMap(new HashMap<>(termFrequency)),
+                trigrams(firstNonBlank(document.queryText(), document.body())),
+                document.answerKey());
+    }
+
+    private void writeSnapshotIfDue(boolean force) {
+        if (snapshotPath == null || !snapshotPending) {
+            return;
         }
-        for (String token : queryTokens) {
-            int count = 0;
-            for (DocumentVector vector : documents) {
-                if (vector.tokens().contains(token)) {
-                    count++;
-                }
+        Instant now = Instant.now();
+        if (!force && Duration.between(lastSnapshotWriteAt, now).compareTo(SNAPSHOT_WRITE_INTERVAL) < 0) {
+            return;
+        }
+        try {
+            IndexSnapshot snapshot = new IndexSnapshot(
+                    SNAPSHOT_FORMAT_VERSION,
+                    index.documents().stream().map(this::toSnapshot).toList(),
+                    index.memorySignatures(),
+                    index.knowledgeSignatures()
+            );
+            Path target = snapshotPath.toAbsolutePath();
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
             }
-            frequency.put(token, count);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotPending = false;
+            lastSnapshotWriteAt = now;
+        } catch (Exception ex) {
+            log.warn("Unable to write AI retrieval index snapshot to {}: {}", snapshotPath, ex.getMessage());
         }
-        return frequency;
     }
 
     private Candidate scoreDocument(RetrievalContext context,
                                     DocumentVector vector,
+                                    Set<String> queryTrigrams,
                                     Map<String, Integer> documentFrequency,
                                     double averageDocumentLength,
                                     int corpusSize) {
@@ -402,7 +696,7 @@ public class AiRetrievalService {
         double bm25 = bm25Score(context.queryTokens(), vector.termFrequency(), Math.max(1, vector.tokens().size()), averageDocumentLength, documentFrequency, corpusSize);
         double keywordScore = clamp01(1d - Math.exp(-Math.max(0d, bm25)));
         double lexicalScore = overlapScore(context.queryTokens(), vector.tokens());
-        double semanticScore = semanticScore(context, vector, lexicalScore);
+        double semanticScore = semanticScore(context, vector, queryTrigrams, lexicalScore);
         int scopeMatches = countScopeMatches(context, vector);
         double scopeBoost = Math.min(0.18d, scopeMatches * 0.06d);
         double trustBoost = switch (trimOrDefault(vector.trustLevel(), "medium")) {
@@ -459,7 +753,7 @@ public class AiRetrievalService {
         );
     }
 
-    private double semanticScore(RetrievalContext context, DocumentVector vector, double lexicalScore) {
+    private double semanticScore(RetrievalContext context, DocumentVector vector, Set<String> queryTrigrams, double lexicalScore) {
         double score = 0d;
         String requestedIntent = trim(context.intentMatch().intentKey());
         String candidateIntent = trim(vector.intentKey());
@@ -472,7 +766,7 @@ public class AiRetrievalService {
             score += 0.28d;
         }
         score += lexicalScore * 0.20d;
-        score += charTrigramSimilarity(context.normalizedQuery(), normalize(firstNonBlank(vector.queryText(), vector.body()))) * 0.16d;
+        score += trigramSimilarity(queryTrigrams, vector.trigrams()) * 0.16d;
         if (context.intentMatch().schemaValid()) {
             score += 0.05d;
         }
@@ -651,9 +945,7 @@ public class AiRetrievalService {
         return clamp01(overlap / (double) Math.max(1, first.size()));
     }
 
-    private double charTrigramSimilarity(String left, String right) {
-        Set<String> first = trigrams(left);
-        Set<String> second = trigrams(right);
+    private double trigramSimilarity(Set<String> first, Set<String> second) {
         if (first.isEmpty() || second.isEmpty()) {
             return 0d;
         }
@@ -672,11 +964,11 @@ public class AiRetrievalService {
         if (!StringUtils.hasText(normalized) || normalized.length() < 3) {
             return Set.of();
         }
-        Set<String> out = new LinkedHashSet<>();
+        Set<String> out = new HashSet<>();
         for (int i = 0; i <= normalized.length() - 3; i++) {
             out.add(normalized.substring(i, i + 3));
         }
-        return out;
+        return Collections.unmodifiableSet(out);
     }
 
     private Set<String> tokenize(String value) {
@@ -838,28 +1130,59 @@ public class AiRetrievalService {
         }
     }
 
-    private record DocumentVector(String source,
-                                  String title,
-                                  String queryText,
-                                  String body,
-                                  String memoryKey,
-                                  String status,
-                                  String trustLevel,
-                                  String sourceType,
-                                  String safetyLevel,
-                                  String intentKey,
-                                  String slotSignature,
-                                  String scopeChannel,
-                                  String scopeBusiness,
-                                  String scopeLocation,
-                                  String canonicalKey,
-                                  String sourceRef,
-                                  int evidenceCount,
-                                  int timesConfirmed,
-                                  int timesCorrected,
-                                  Instant updatedAt,
-                                  Set<String> tokens,
-                                  Map<String, Integer> termFrequency,
-                                  String answerKey) {
+    record DocumentVector(String source,
+                          String title,
+                          String queryText,
+                          String body,
+                          String memoryKey,
+                          String status,
+                          String trustLevel,
+                          String sourceType,
+                          String safetyLevel,
+                          String intentKey,
+                          String slotSignature,
+                          String scopeChannel,
+                          String scopeBusiness,
+                          String scopeLocation,
+                          String canonicalKey,
+                          String sourceRef,
+                          int evidenceCount,
+                          int timesConfirmed,
+                          int timesCorrected,
+                          Instant updatedAt,
+                          Set<String> tokens,
+                          Map<String, Integer> termFrequency,
+                          Set<String> trigrams,
+                          String answerKey) {
+    }
+
+    record IndexSnapshot(int formatVersion,
+                         List<SnapshotDocument> documents,
+                         Map<String, String> memorySignatures,
+                         Map<String, String> knowledgeSignatures) {
+    }
+
+    record SnapshotDocument(String source,
+                            String title,
+                            String queryText,
+                            String body,
+                            String memoryKey,
+                            String status,
+                            String trustLevel,
+                            String sourceType,
+                            String safetyLevel,
+                            String intentKey,
+                            String slotSignature,
+                            String scopeChannel,
+                            String scopeBusiness,
+                            String scopeLocation,
+                            String canonicalKey,
+                            String sourceRef,
+                            int evidenceCount,
+                            int timesConfirmed,
+                            int timesCorrected,
+                            long updatedAtMillis,
+                            Map<String, Integer> termFrequency,
+                            String answerKey) {
     }
 }
@@ -1,11 +1,12 @@
 package com.example.panel.service;
 
 import com.example.panel.entity.Channel;
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -35,6 +36,9 @@ public class AlertQueueService {
     private final ObjectMapper objectMapper;
     private final ChannelAssignmentRoutingService channelAssignmentRoutingService;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public AlertQueueService(@Qualifier("usersJdbcTemplate") JdbcTemplate usersJdbcTemplate,
                              NotificationService notificationService,
                              ObjectMapper objectMapper,
@@ -252,7 +256,7 @@ public class AlertQueueService {
 
     private Set<String> loadUsersTableColumns() {
         try {
-            return new HashSet<>(JdbcSchemaInspector.loadColumnNames(usersJdbcTemplate, "users"));
+            return new HashSet<>(SchemaCapabilityRegistry.columns(schemaCapabilities, usersJdbcTemplate, "users"));
         } catch (DataAccessException ex) {
             log.warn("Unable to inspect users schema for alert routing: {}", ex.getMessage());
             return Set.of();
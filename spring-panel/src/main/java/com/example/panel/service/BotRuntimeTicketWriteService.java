@@ -9,6 +9,7 @@ import java.util.Locale;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +28,8 @@ public class BotRuntimeTicketWriteService {
     private final UiEventOutboxAppendService uiEventOutboxAppendService;
     private final PendingFeedbackRequestRepository pendingFeedbackRequestRepository;
     private final FeedbackRepository feedbackRepository;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public BotRuntimeTicketWriteService(JdbcTemplate jdbcTemplate,
                                         DialogReplyTargetService dialogReplyTargetService,
@@ -207,6 +210,7 @@ public class BotRuntimeTicketWriteService {
         feedback.setTimestamp(now);
         feedbackRepository.save(feedback);
         uiEventOutboxAppendService.publishFeedbackCreated(ticketId, channelId, rating);
+        refreshDialogProjection(ticketId);
         request.setExpiresAt(now);
         try {
             pendingFeedbackRequestRepository.save(request);
@@ -318,6 +322,12 @@ public class BotRuntimeTicketWriteService {
         dialogResponsibilityService.assignResponsibleIfMissing(ticketId, normalizedOperator);
     }
 
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
+
     private record TicketSnapshot(String ticketId,
                                   String status,
                                   Long userId,
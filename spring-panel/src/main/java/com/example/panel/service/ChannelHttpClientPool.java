@@ -0,0 +1,219 @@
+package com.example.panel.service;
+
+import com.example.panel.metrics.PanelMetricsRegistry;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * Long-lived channel {@link HttpClient}s keyed by the resolved network route.
+ *
+ * <p>The key carries every setting the client is built from (direct, proxy address and credentials,
+ * legacy Telegram mirror, connect timeout), so a changed route never reuses a stale client: it simply maps
+ * to another key. Each channel remembers the route it used last; a client that no channel refers to any
+ * more is dropped and its keep-alive connections close with it.</p>
+ */
+final class ChannelHttpClientPool {
+
+    private final Map<RouteKey, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<Long, RouteKey> channelRoutes = new ConcurrentHashMap<>();
+
+    HttpClient client(Long channelId, RouteKey key, Supplier<HttpClient> factory, PanelMetricsRegistry metricsRegistry) {
+        HttpClient client = clients.computeIfAbsent(key, ignored -> {
+            if (metricsRegistry != null) {
+                metricsRegistry.counter("panel_channel_http_clients_created_total",
+                        "Channel HTTP clients built, by network route.", "route", key.label()).increment();
+                metricsRegistry.gauge("panel_channel_http_clients_pooled",
+                        "Channel HTTP clients currently kept alive.", clients::size);
+                return new RouteMeteredHttpClient(factory.get(), key.label(), metricsRegistry);
+            }
+            return factory.get();
+        });
+        if (channelId != null) {
+            RouteKey previous = channelRoutes.put(channelId, key);
+            if (previous != null && !previous.equals(key)) {
+                releaseIfUnused(previous, metricsRegistry);
+            }
+        }
+        return client;
+    }
+
+    void invalidateChannel(Long channelId, PanelMetricsRegistry metricsRegistry) {
+        if (channelId == null) {
+            return;
+        }
+        RouteKey previous = channelRoutes.remove(channelId);
+        if (previous != null) {
+            releaseIfUnused(previous, metricsRegistry);
+        }
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    private void releaseIfUnused(RouteKey key, PanelMetricsRegistry metricsRegistry) {
+        if (channelRoutes.containsValue(key)) {
+            return;
+        }
+        if (clients.remove(key) != null && metricsRegistry != null) {
+            metricsRegistry.counter("panel_channel_http_clients_evicted_total",
+                    "Channel HTTP clients dropped after their route stopped being used.", "route", key.label()).increment();
+        }
+    }
+
+    record RouteKey(String kind, String host, int port, String username, String password, Duration connectTimeout) {
+
+        static RouteKey direct(Duration connectTimeout) {
+            return new RouteKey("direct", "", 0, "", "", connectTimeout);
+        }
+
+        static RouteKey telegramMirror(Duration connectTimeout) {
+            return new RouteKey("telegram_mirror", "", 0, "", "", connectTimeout);
+        }
+
+        static RouteKey proxy(String host, int port, String username, String password, Duration connectTimeout) {
+            return new RouteKey("proxy", host, port, username, password, connectTimeout);
+        }
+
+        /** Metric label for the route; never includes credentials. */
+        String label() {
+            return "proxy".equals(kind) ? kind + ":" + host + ":" + port : kind;
+        }
+
+        @Override
+        public String toString() {
+            return label() + "|" + connectTimeout;
+        }
+    }
+
+    /**
+     * Delegating client that records the latency of every exchange per route in
+     * {@code panel_channel_http_route_request_seconds}.
+     */
+    private static final class RouteMeteredHttpClient extends HttpClient {
+
+        private final HttpClient delegate;
+        private final String route;
+        private final PanelMetricsRegistry metricsRegistry;
+
+        private RouteMeteredHttpClient(HttpClient delegate, String route, PanelMetricsRegistry metricsRegistry) {
+            this.delegate = delegate;
+            this.route = route;
+            this.metricsRegistry = metricsRegistry;
+        }
+
+        @Override
+        public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+                throws IOException, InterruptedException {
+            long started = System.nanoTime();
+            String outcome = "io_error";
+            try {
+                HttpResponse<T> response = delegate.send(request, responseBodyHandler);
+                outcome = (response.statusCode() / 100) + "xx";
+                return response;
+            } catch (InterruptedException ex) {
+                outcome = "interrupted";
+                throw ex;
+            } finally {
+                observe(outcome, started);
+            }
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                HttpResponse.BodyHandler<T> responseBodyHandler) {
+            long started = System.nanoTime();
+            return delegate.sendAsync(request, responseBodyHandler)
+                    .whenComplete((response, error) -> observe(outcome(response, error), started));
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                HttpResponse.BodyHandler<T> responseBodyHandler,
+                                                                HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+            long started = System.nanoTime();
+            return delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler)
+                    .whenComplete((response, error) -> observe(outcome(response, error), started));
+        }
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return delegate.cookieHandler();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return delegate.connectTimeout();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return delegate.followRedirects();
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return delegate.proxy();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return delegate.sslContext();
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return delegate.sslParameters();
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return delegate.authenticator();
+        }
+
+        @Override
+        public Version version() {
+            return delegate.version();
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return delegate.executor();
+        }
+
+        @Override
+        public WebSocket.Builder newWebSocketBuilder() {
+            return delegate.newWebSocketBuilder();
+        }
+
+        private static String outcome(HttpResponse<?> response, Throwable error) {
+            if (error != null || response == null) {
+                return "io_error";
+            }
+            return (response.statusCode() / 100) + "xx";
+        }
+
+        private void observe(String outcome, long started) {
+            metricsRegistry.histogram("panel_channel_http_route_request_seconds",
+                    "Latency of channel HTTP calls, by network route.",
+                    "route", route, "outcome", outcome)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
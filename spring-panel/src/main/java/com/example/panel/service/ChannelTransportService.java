@@ -271,6 +271,7 @@ public class ChannelTransportService {
         }
         channel.setUpdatedAt(OffsetDateTime.now());
         channelRepository.save(channel);
+        integrationNetworkService.invalidateChannelHttpClient(channel.getId());
         Map<Long, Map<String, Object>> credentials = buildCredentialIndex(loadBotCredentials());
         return ResponseEntity.ok(Map.of("success", true, "channel", toChannelResponse(channel, credentials)));
     }
@@ -281,6 +282,7 @@ public class ChannelTransportService {
             return ResponseEntity.status(404).body(Map.of("success", false, "error", "Канал не найден"));
         }
         channelRepository.delete(channel.get());
+        integrationNetworkService.invalidateChannelHttpClient(channelId);
         return ResponseEntity.ok(Map.of("success", true));
     }
 
@@ -2,10 +2,12 @@ package com.example.panel.service;
 
 import com.example.panel.entity.ClientBlacklist;
 import com.example.panel.repository.ClientBlacklistRepository;
+import com.example.panel.service.integration.TicketLifecycleEventPublisher;
 import jakarta.transaction.Transactional;
 import java.time.OffsetDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -18,6 +20,9 @@ public class ClientBlacklistService {
     private final BlacklistHistoryService blacklistHistoryService;
     private final DialogNotificationService dialogNotificationService;
 
+    @Autowired(required = false)
+    private TicketLifecycleEventPublisher ticketLifecycleEventPublisher;
+
     public ClientBlacklistService(ClientBlacklistRepository repository,
                                   BlacklistHistoryService blacklistHistoryService,
                                   DialogNotificationService dialogNotificationService) {
@@ -62,6 +67,9 @@ public class ClientBlacklistService {
                 now
         );
 
+        if (ticketLifecycleEventPublisher != null) {
+            ticketLifecycleEventPublisher.clientBlacklisted(parseUserId(normalizedUserId));
+        }
         if (notifyClient) {
             notifyClientSafely(normalizedUserId, "Ваш аккаунт временно заблокирован.");
         }
@@ -103,6 +111,9 @@ public class ClientBlacklistService {
                 now
         );
 
+        if (ticketLifecycleEventPublisher != null) {
+            ticketLifecycleEventPublisher.clientUnblocked(parseUserId(normalizedUserId));
+        }
         if (notifyClient) {
             String duration = blacklistHistoryService.calculateDurationFromLastBlock(normalizedUserId, now)
                     .map(blacklistHistoryService::formatDuration)
@@ -3,6 +3,10 @@ package com.example.panel.service;
 import com.example.panel.entity.Channel;
 import com.example.panel.model.dialog.DialogListItem;
 import com.example.panel.repository.ChannelRepository;
+import com.example.panel.service.DashboardRollupService.CategoryRow;
+import com.example.panel.service.DashboardRollupService.HourRow;
+import com.example.panel.service.DashboardRollupService.RollupRow;
+import com.example.panel.service.DashboardRollupService.RollupSet;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
@@ -17,9 +21,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -40,6 +45,9 @@ public class DashboardAnalyticsService {
     private final ObjectMapper objectMapper;
     private final JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private DashboardRollupService rollups;
+
     public DashboardAnalyticsService(SharedConfigService sharedConfigService,
                                      ChannelRepository channelRepository,
                                      ObjectMapper objectMapper,
@@ -54,11 +62,90 @@ public class DashboardAnalyticsService {
 
     public Map<String, Object> buildDashboardPayload(List<DialogListItem> dialogs, DashboardFilters filters) {
         List<DialogListItem> filtered = filterDialogs(dialogs, filters);
-        StatsBlock stats = buildStats(filtered, filters);
+        return buildPayload(DashboardRollupService.aggregate(dialogs), filters,
+                attributeKey -> loadStructuredAttributeChart(filtered, attributeKey));
+    }
+
+    /**
+     * Whether dashboard reads can be served from {@code dashboard_rollups} instead of the full
+     * dialog list.
+     */
+    public boolean rollupsReady() {
+        return rollups != null && rollups.isReady();
+    }
+
+    /**
+     * Same payload as {@link #buildDashboardPayload(List, DashboardFilters)}, read from the rollups:
+     * the current and the previous period are loaded as pre-aggregated rows in one query. Rollups are
+     * only read for a bounded window, see {@link #rollupWindow(DashboardFilters)}.
+     */
+    public Map<String, Object> buildDashboardPayload(DashboardFilters filters) {
+        DashboardFilters safeFilters = filters != null ? filters : new DashboardFilters(null, null, List.of());
+        RollupWindow window = rollupWindow(safeFilters);
+        LocalDate from = window.from();
+        if (safeFilters.startDate() != null && safeFilters.endDate() != null) {
+            from = previousPeriodStart(safeFilters);
+        }
+        RollupSet rollup = rollups.loadRows(from, window.to(), window.includeUndated());
+        return buildPayload(rollup, safeFilters,
+                attributeKey -> loadStructuredAttributeChart(rollup.rows(), safeFilters, window, attributeKey));
+    }
+
+    public List<String> availableRestaurants(DashboardFilters filters) {
+        RollupWindow window = rollupWindow(filters);
+        return availableRestaurantsFromRows(
+                rollups.loadRows(window.from(), window.to(), window.includeUndated()).rows(), filters);
+    }
+
+    /**
+     * Rollup rows of the filtered dialogs, aggregated in memory.
+     */
+    public RollupSet rollupRows(List<DialogListItem> dialogs, DashboardFilters filters) {
+        return filterRollup(DashboardRollupService.aggregate(dialogs), filters);
+    }
+
+    /**
+     * Rollup rows matching the filters, read from {@code dashboard_rollups}.
+     */
+    public RollupSet rollupRows(DashboardFilters filters) {
+        RollupWindow window = rollupWindow(filters);
+        return filterRollup(rollups.loadRows(window.from(), window.to(), window.includeUndated()), filters);
+    }
+
+    /**
+     * Окно чтения rollup-таблиц. Недостающие границы фильтра берутся из первого и последнего дня с
+     * обращениями, так что фильтр без дат по-прежнему охватывает всё время; обращения с неизвестной
+     * датой создания попадают в окно только без дат в фильтре — так же, как при чтении списка диалогов.
+     */
+    RollupWindow rollupWindow(DashboardFilters filters) {
+        DashboardFilters safeFilters = filters != null ? filters : new DashboardFilters(null, null, List.of());
+        boolean includeUndated = safeFilters.startDate() == null && safeFilters.endDate() == null;
+        if (safeFilters.startDate() != null && safeFilters.endDate() != null) {
+            return new RollupWindow(safeFilters.startDate(), safeFilters.endDate(), false);
+        }
+        LocalDate today = LocalDate.now();
+        DashboardRollupService.DayRange range = rollups.loadDayRange()
+                .orElse(new DashboardRollupService.DayRange(today, today));
+        LocalDate from = safeFilters.startDate() != null ? safeFilters.startDate() : range.first();
+        LocalDate to = safeFilters.endDate() != null ? safeFilters.endDate() : range.last();
+        return new RollupWindow(from, to, includeUndated);
+    }
+
+    record RollupWindow(LocalDate from, LocalDate to, boolean includeUndated) {
+    }
+
+    private Map<String, Object> buildPayload(RollupSet rollup,
+                                             DashboardFilters filters,
+                                             Function<String, Map<String, Long>> attributeCharts) {
+        RollupSet filteredRollup = filterRollup(rollup, filters);
+        List<RollupRow> filtered = filteredRollup.rows();
+        StatsBlock stats = new StatsBlock(
+                new StatsBlock.PeriodStats((int) totalTickets(filtered)),
+                buildPreviousStats(rollup.rows(), filters));
         TimeStats timeStats = buildTimeStats(filtered);
-        ActivityStats activityStats = buildActivityStats(filtered);
+        ActivityStats activityStats = buildActivityStats(filteredRollup);
         List<StaffTimeStats> staffTimeStats = buildStaffTimeStats(filtered);
-        ChartsBlock charts = buildCharts(filtered);
+        ChartsBlock charts = buildCharts(filteredRollup, attributeCharts);
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("stats", stats.toMap());
@@ -66,10 +153,23 @@ public class DashboardAnalyticsService {
         payload.put("activity_stats", activityStats.toMap());
         payload.put("staff_time_stats", staffTimeStats.stream().map(StaffTimeStats::toMap).toList());
         payload.put("charts", charts.toMap());
-        payload.put("available_restaurants", availableRestaurants(dialogs, filters));
+        payload.put("available_restaurants", availableRestaurantsFromRows(rollup.rows(), filters));
         return payload;
     }
 
+    private List<String> availableRestaurantsFromRows(List<RollupRow> rows, DashboardFilters filters) {
+        DashboardFilters dateScopedFilters = filters == null
+                ? new DashboardFilters(null, null, List.of())
+                : new DashboardFilters(filters.startDate(), filters.endDate(), List.of());
+        return filterRows(rows, dateScopedFilters).stream()
+                .map(RollupRow::locationName)
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
     public List<String> availableRestaurants(List<DialogListItem> dialogs, DashboardFilters filters) {
         DashboardFilters dateScopedFilters = filters == null
                 ? new DashboardFilters(null, null, List.of())
@@ -88,16 +188,38 @@ public class DashboardAnalyticsService {
             return List.of();
         }
         return dialogs.stream()
-                .filter(dialog -> matchesDate(dialog, filters))
-                .filter(dialog -> matchesRestaurant(dialog, filters))
+                .filter(dialog -> matchesDate(dialogDate(dialog), filters))
+                .filter(dialog -> matchesRestaurant(dialog.locationName(), filters))
+                .toList();
+    }
+
+    private RollupSet filterRollup(RollupSet rollup, DashboardFilters filters) {
+        return new RollupSet(
+                filterRows(rollup.rows(), filters),
+                rollup.hours().stream()
+                        .filter(row -> matchesDate(row.day(), filters))
+                        .filter(row -> matchesRestaurant(row.locationName(), filters))
+                        .toList(),
+                rollup.categories().stream()
+                        .filter(row -> matchesDate(row.day(), filters))
+                        .filter(row -> matchesRestaurant(row.locationName(), filters))
+                        .toList());
+    }
+
+    private List<RollupRow> filterRows(List<RollupRow> rows, DashboardFilters filters) {
+        if (rows == null || rows.isEmpty()) {
+            return List.of();
+        }
+        return rows.stream()
+                .filter(row -> matchesDate(row.day(), filters))
+                .filter(row -> matchesRestaurant(row.locationName(), filters))
                 .toList();
     }
 
-    private boolean matchesDate(DialogListItem dialog, DashboardFilters filters) {
+    private boolean matchesDate(LocalDate date, DashboardFilters filters) {
         if (filters == null || (filters.startDate == null && filters.endDate == null)) {
             return true;
         }
-        LocalDate date = dialogDate(dialog);
         if (date == null) {
             return false;
         }
@@ -107,11 +229,11 @@ public class DashboardAnalyticsService {
         return filters.endDate == null || !date.isAfter(filters.endDate);
     }
 
-    private boolean matchesRestaurant(DialogListItem dialog, DashboardFilters filters) {
+    private boolean matchesRestaurant(String location, DashboardFilters filters) {
         if (filters == null || filters.restaurants == null || filters.restaurants.isEmpty()) {
             return true;
         }
-        String locationName = safeLower(dialog.locationName());
+        String locationName = safeLower(location);
         if (!StringUtils.hasText(locationName)) {
             return false;
         }
@@ -121,89 +243,75 @@ public class DashboardAnalyticsService {
                 .anyMatch(locationName::equalsIgnoreCase);
     }
 
-    private StatsBlock buildStats(List<DialogListItem> dialogs, DashboardFilters filters) {
-        int total = dialogs.size();
-        StatsBlock.PeriodStats current = new StatsBlock.PeriodStats(total);
-        StatsBlock.PeriodStats previous = buildPreviousStats(dialogs, filters);
-        return new StatsBlock(current, previous);
+    private long totalTickets(List<RollupRow> rows) {
+        return rows.stream().mapToLong(RollupRow::tickets).sum();
     }
 
-    private StatsBlock.PeriodStats buildPreviousStats(List<DialogListItem> dialogs, DashboardFilters filters) {
+    private LocalDate previousPeriodStart(DashboardFilters filters) {
+        long days = Math.max(1, filters.endDate.toEpochDay() - filters.startDate.toEpochDay() + 1);
+        return filters.startDate.minusDays(days);
+    }
+
+    private StatsBlock.PeriodStats buildPreviousStats(List<RollupRow> rows, DashboardFilters filters) {
         if (filters == null || filters.startDate == null || filters.endDate == null) {
             return new StatsBlock.PeriodStats(0);
         }
-        LocalDate start = filters.startDate;
-        LocalDate end = filters.endDate;
-        long days = Math.max(1, end.toEpochDay() - start.toEpochDay() + 1);
-        LocalDate prevEnd = start.minusDays(1);
-        LocalDate prevStart = prevEnd.minusDays(days - 1);
-        int previousTotal = (int) dialogs.stream()
-                .filter(dialog -> matchesRestaurant(dialog, filters))
-                .filter(dialog -> {
-                    LocalDate date = dialogDate(dialog);
-                    return date != null && !date.isBefore(prevStart) && !date.isAfter(prevEnd);
-                })
-                .count();
-        return new StatsBlock.PeriodStats(previousTotal);
-    }
-
-    private TimeStats buildTimeStats(List<DialogListItem> dialogs) {
-        List<Integer> durations = extractDurations(dialogs);
-        int resolvedCount = durations.size();
-        int totalMinutes = durations.stream().mapToInt(Integer::intValue).sum();
+        LocalDate prevEnd = filters.startDate.minusDays(1);
+        LocalDate prevStart = previousPeriodStart(filters);
+        long previousTotal = rows.stream()
+                .filter(row -> matchesRestaurant(row.locationName(), filters))
+                .filter(row -> row.day() != null && !row.day().isBefore(prevStart) && !row.day().isAfter(prevEnd))
+                .mapToLong(RollupRow::tickets)
+                .sum();
+        return new StatsBlock.PeriodStats((int) previousTotal);
+    }
+
+    private TimeStats buildTimeStats(List<RollupRow> rows) {
+        int resolvedCount = (int) rows.stream().mapToLong(RollupRow::resolved).sum();
+        int totalMinutes = (int) rows.stream().mapToLong(RollupRow::handlingMinutes).sum();
         int avgMinutes = resolvedCount > 0 ? Math.round((float) totalMinutes / resolvedCount) : 0;
         return new TimeStats(totalMinutes, avgMinutes, resolvedCount);
     }
 
-    private List<StaffTimeStats> buildStaffTimeStats(List<DialogListItem> dialogs) {
-        Map<String, List<Integer>> durationsByStaff = new HashMap<>();
-        for (DialogListItem dialog : dialogs) {
-            String staff = StringUtils.hasText(dialog.responsible()) ? dialog.responsible() : "Не назначен";
-            Integer minutes = extractDurationMinutes(dialog);
-            if (minutes == null) {
+    private List<StaffTimeStats> buildStaffTimeStats(List<RollupRow> rows) {
+        Map<String, long[]> durationsByStaff = new HashMap<>();
+        for (RollupRow row : rows) {
+            if (row.resolved() <= 0) {
                 continue;
             }
-            durationsByStaff.computeIfAbsent(staff, key -> new ArrayList<>()).add(minutes);
+            String staff = StringUtils.hasText(row.responsible()) ? row.responsible() : "Не назначен";
+            long[] totals = durationsByStaff.computeIfAbsent(staff, key -> new long[2]);
+            totals[0] += row.handlingMinutes();
+            totals[1] += row.resolved();
         }
         return durationsByStaff.entrySet().stream()
-                .map(entry -> StaffTimeStats.from(entry.getKey(), entry.getValue()))
+                .map(entry -> StaffTimeStats.from(entry.getKey(), (int) entry.getValue()[0], (int) entry.getValue()[1]))
                 .sorted(Comparator.comparing(StaffTimeStats::totalMinutes).reversed())
                 .toList();
     }
 
-    private ActivityStats buildActivityStats(List<DialogListItem> dialogs) {
-        WorkingHoursSelection workingHours = resolveWorkingHoursSelection(dialogs);
+    private ActivityStats buildActivityStats(RollupSet rollup) {
+        WorkingHoursSelection workingHours = resolveWorkingHoursSelection(rollup.rows());
         int[][] matrix = new int[7][24];
-        Map<LocalDateTime, Integer> byHour = new HashMap<>();
-        int peakCount = 0;
-        int peakDayIndex = 0;
-        int peakHour = 0;
+        Map<LocalDateTime, Long> byHour = new HashMap<>();
         int total = 0;
 
-        for (DialogListItem dialog : dialogs) {
-            LocalDateTime created = parseDateTime(dialog.createdAt(), dialog.createdDate(), dialog.createdTime());
-            if (created == null) {
+        for (HourRow row : rollup.hours()) {
+            if (row.day() == null || row.hour() < 0 || row.hour() > 23) {
                 continue;
             }
-            int dayIndex = created.getDayOfWeek().getValue() - 1;
-            int hour = created.getHour();
-            matrix[dayIndex][hour] += 1;
-            total += 1;
-            LocalDateTime hourSlot = created.withMinute(0).withSecond(0).withNano(0);
-            byHour.merge(hourSlot, 1, Integer::sum);
-
-            int cellCount = matrix[dayIndex][hour];
-            if (cellCount > peakCount) {
-                peakCount = cellCount;
-                peakDayIndex = dayIndex;
-                peakHour = hour;
-            }
+            int dayIndex = row.day().getDayOfWeek().getValue() - 1;
+            matrix[dayIndex][row.hour()] += (int) row.tickets();
+            total += (int) row.tickets();
+            byHour.merge(row.day().atTime(row.hour(), 0), row.tickets(), Long::sum);
         }
 
         int activeHourCount = byHour.size();
         double avgPerActiveHour = activeHourCount > 0 ? (double) total / activeHourCount : 0d;
         int maxCount = 0;
-        List<Map<String, Object>> rows = new ArrayList<>();
+        int peakDayIndex = 0;
+        int peakHour = 0;
+        List<Map<String, Object>> matrixRows = new ArrayList<>();
         for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
             List<Integer> values = new ArrayList<>(24);
             for (int hour = 0; hour < 24; hour++) {
@@ -211,9 +319,11 @@ public class DashboardAnalyticsService {
                 values.add(count);
                 if (count > maxCount) {
                     maxCount = count;
+                    peakDayIndex = dayIndex;
+                    peakHour = hour;
                 }
             }
-            rows.add(Map.of(
+            matrixRows.add(Map.of(
                     "day_index", dayIndex,
                     "day_label", dayLabel(dayIndex),
                     "values", values
@@ -224,9 +334,9 @@ public class DashboardAnalyticsService {
                 avgPerActiveHour,
                 formatHourlyLoad(avgPerActiveHour),
                 activeHourCount,
-                peakCount,
-                peakCount > 0 ? buildPeakLabel(peakDayIndex, peakHour) : "Нет данных",
-                rows,
+                maxCount,
+                maxCount > 0 ? buildPeakLabel(peakDayIndex, peakHour) : "Нет данных",
+                matrixRows,
                 hourLabels(),
                 maxCount,
                 workingHours.startHour(),
@@ -236,14 +346,13 @@ public class DashboardAnalyticsService {
         );
     }
 
-    private WorkingHoursSelection resolveWorkingHoursSelection(List<DialogListItem> dialogs) {
-        if (dialogs == null || dialogs.isEmpty()) {
+    private WorkingHoursSelection resolveWorkingHoursSelection(List<RollupRow> rows) {
+        if (rows == null || rows.isEmpty()) {
             return WorkingHoursSelection.defaultSelection();
         }
-        Map<Long, Long> countsByChannel = dialogs.stream()
-                .map(DialogListItem::channelId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.groupingBy(channelId -> channelId, Collectors.counting()));
+        Map<Long, Long> countsByChannel = rows.stream()
+                .filter(row -> row.channelId() != null)
+                .collect(Collectors.groupingBy(RollupRow::channelId, Collectors.summingLong(RollupRow::tickets)));
         if (countsByChannel.isEmpty()) {
             return WorkingHoursSelection.defaultSelection();
         }
@@ -347,42 +456,52 @@ public class DashboardAnalyticsService {
         return String.format(Locale.ROOT, "%02d:00 - %02d:00", startHour, endHour);
     }
 
-    private ChartsBlock buildCharts(List<DialogListItem> dialogs) {
+    private ChartsBlock buildCharts(RollupSet rollup, Function<String, Map<String, Long>> attributeCharts) {
+        List<RollupRow> rows = rollup.rows();
         LocationCatalog locationCatalog = loadLocationCatalog();
-        Map<String, Long> byChannel = aggregate(dialogs, DialogListItem::channelLabel);
-        Map<String, Long> byBusiness = aggregate(dialogs, dialog -> resolveBusinessLabel(dialog, locationCatalog));
-        Map<String, Long> byStructuredBusiness = loadStructuredAttributeChart(dialogs, "business");
+        Map<String, Long> byChannel = aggregate(rows, row -> StringUtils.hasText(row.channelName()) ? row.channelName() : "Без канала");
+        Map<String, Long> byBusiness = aggregate(rows, row -> resolveBusinessLabel(row, locationCatalog));
+        Map<String, Long> byStructuredBusiness = rows.isEmpty() ? Map.of() : attributeCharts.apply("business");
         if (!byStructuredBusiness.isEmpty()) {
             byBusiness = byStructuredBusiness;
         }
-        Map<String, Long> byNetwork = aggregate(dialogs, dialog -> resolvePartnerType(dialog, locationCatalog));
-        Map<String, Long> byDirection = loadStructuredAttributeChart(dialogs, "direction");
-        Map<String, Long> byBotProduct = loadStructuredAttributeChart(dialogs, "bot_product");
-        Map<String, Long> byCategory = aggregate(dialogs, dialog -> {
-            String categories = dialog.categoriesSafe();
-            if (!StringUtils.hasText(categories) || "—".equals(categories)) {
-                return "Без категории";
-            }
-            if (categories.contains(",")) {
-                return categories.split(",")[0].trim();
-            }
-            return categories;
-        });
+        Map<String, Long> byNetwork = aggregate(rows, row -> resolvePartnerType(row, locationCatalog));
+        Map<String, Long> byDirection = rows.isEmpty() ? Map.of() : attributeCharts.apply("direction");
+        Map<String, Long> byBotProduct = rows.isEmpty() ? Map.of() : attributeCharts.apply("bot_product");
+        Map<String, Long> categoryCounts = new HashMap<>();
+        for (CategoryRow row : rollup.categories()) {
+            String category = StringUtils.hasText(row.category()) ? row.category() : "Без категории";
+            categoryCounts.merge(normalizeLabel(category), row.tickets(), Long::sum);
+        }
+        Map<String, Long> byCategory = sortByValueDesc(categoryCounts);
         if (!byDirection.isEmpty()) {
             byCategory = byDirection;
         }
-        Map<String, Long> byCity = aggregate(dialogs, dialog -> {
-            String city = dialog.city();
-            return StringUtils.hasText(city) ? city : "Без города";
-        });
-        Map<String, Long> byRestaurant = aggregate(dialogs, dialog -> {
-            String location = dialog.locationName();
-            return StringUtils.hasText(location) ? location : "Без ресторана";
-        });
+        Map<String, Long> byCity = aggregate(rows, row -> StringUtils.hasText(row.city()) ? row.city() : "Без города");
+        Map<String, Long> byRestaurant = aggregate(rows, row ->
+                StringUtils.hasText(row.locationName()) ? row.locationName() : "Без ресторана");
 
         return new ChartsBlock(byChannel, byBusiness, byNetwork, byCategory, byBotProduct, byCity, topTen(byRestaurant));
     }
 
+    private Map<String, Long> loadStructuredAttributeChart(List<RollupRow> rows,
+                                                           DashboardFilters filters,
+                                                           RollupWindow window,
+                                                           String attributeKey) {
+        List<String> locations = null;
+        if (filters.restaurants() != null && !filters.restaurants().isEmpty()) {
+            locations = rows.stream()
+                    .map(RollupRow::locationName)
+                    .filter(location -> matchesRestaurant(location, filters))
+                    .distinct()
+                    .toList();
+        }
+        Map<String, Long> counts = new HashMap<>();
+        rollups.loadAttributeCounts(attributeKey, window.from(), window.to(), window.includeUndated(), locations)
+                .forEach((label, total) -> counts.merge(normalizeLabel(label), total, Long::sum));
+        return sortByValueDesc(counts);
+    }
+
     private Map<String, Long> loadStructuredAttributeChart(List<DialogListItem> dialogs, String attributeKey) {
         if (!StringUtils.hasText(attributeKey) || dialogs == null || dialogs.isEmpty()) {
             return Map.of();
@@ -421,11 +540,11 @@ public class DashboardAnalyticsService {
         return sortByValueDesc(counts);
     }
 
-    private Map<String, Long> aggregate(List<DialogListItem> dialogs, java.util.function.Function<DialogListItem, String> extractor) {
+    private Map<String, Long> aggregate(List<RollupRow> rows, Function<RollupRow, String> extractor) {
         Map<String, Long> counts = new HashMap<>();
-        for (DialogListItem dialog : dialogs) {
-            String key = normalizeLabel(extractor.apply(dialog));
-            counts.merge(key, 1L, Long::sum);
+        for (RollupRow row : rows) {
+            String key = normalizeLabel(extractor.apply(row));
+            counts.merge(key, row.tickets(), Long::sum);
         }
         return sortByValueDesc(counts);
     }
@@ -452,19 +571,8 @@ public class DashboardAnalyticsService {
                 ));
     }
 
-    private List<Integer> extractDurations(List<DialogListItem> dialogs) {
-        List<Integer> durations = new ArrayList<>();
-        for (DialogListItem dialog : dialogs) {
-            Integer minutes = extractDurationMinutes(dialog);
-            if (minutes != null) {
-                durations.add(minutes);
-            }
-        }
-        return durations;
-    }
-
-    private Integer extractDurationMinutes(DialogListItem dialog) {
-        LocalDateTime created = parseDateTime(dialog.createdAt(), dialog.createdDate(), dialog.createdTime());
+    static Integer durationMinutes(DialogListItem dialog) {
+        LocalDateTime created = createdDateTime(dialog);
         LocalDateTime resolved = parseDateTime(dialog.resolvedAt(), null, null);
         if (created == null || resolved == null) {
             return null;
@@ -476,12 +584,16 @@ public class DashboardAnalyticsService {
         return (int) minutes;
     }
 
+    static LocalDateTime createdDateTime(DialogListItem dialog) {
+        return parseDateTime(dialog.createdAt(), dialog.createdDate(), dialog.createdTime());
+    }
+
     public LocalDate dialogDate(DialogListItem dialog) {
         LocalDateTime dateTime = parseDateTime(dialog.createdAt(), dialog.createdDate(), null);
         return dateTime != null ? dateTime.toLocalDate() : null;
     }
 
-    private LocalDateTime parseDateTime(String createdAt, String createdDate, String createdTime) {
+    private static LocalDateTime parseDateTime(String createdAt, String createdDate, String createdTime) {
         if (StringUtils.hasText(createdAt)) {
             LocalDateTime parsed = tryParseDateTime(createdAt);
             if (parsed != null) {
@@ -503,7 +615,7 @@ public class DashboardAnalyticsService {
         return null;
     }
 
-    private LocalDateTime tryParseDateTime(String value) {
+    private static LocalDateTime tryParseDateTime(String value) {
         String normalized = value.trim();
         for (DateTimeFormatter formatter : List.of(DATE_TIME_FORMATTER, DATE_TIME_FORMATTER_SHORT)) {
             try {
@@ -524,7 +636,7 @@ public class DashboardAnalyticsService {
         }
     }
 
-    private LocalDate tryParseDate(String value) {
+    private static LocalDate tryParseDate(String value) {
         String normalized = value.trim();
         try {
             return LocalDate.parse(normalized, DATE_FORMATTER);
@@ -628,29 +740,29 @@ public class DashboardAnalyticsService {
         }
     }
 
-    private String resolveBusinessLabel(DialogListItem dialog, LocationCatalog locationCatalog) {
-        LocationProfile profile = resolveLocationProfile(dialog, locationCatalog);
+    private String resolveBusinessLabel(RollupRow row, LocationCatalog locationCatalog) {
+        LocationProfile profile = resolveLocationProfile(row, locationCatalog);
         if (profile != null) {
             return profile.business();
         }
-        return canonicalBusinessLabel(dialog.businessLabel(), locationCatalog);
+        return canonicalBusinessLabel(businessLabel(row), locationCatalog);
     }
 
-    private String resolvePartnerType(DialogListItem dialog, LocationCatalog locationCatalog) {
-        LocationProfile profile = resolveLocationProfile(dialog, locationCatalog);
+    private String resolvePartnerType(RollupRow row, LocationCatalog locationCatalog) {
+        LocationProfile profile = resolveLocationProfile(row, locationCatalog);
         if (profile != null && StringUtils.hasText(profile.partnerType())) {
             return profile.partnerType();
         }
         return UNKNOWN_NETWORK;
     }
 
-    private LocationProfile resolveLocationProfile(DialogListItem dialog, LocationCatalog locationCatalog) {
-        if (dialog == null || locationCatalog == null) {
+    private LocationProfile resolveLocationProfile(RollupRow row, LocationCatalog locationCatalog) {
+        if (row == null || locationCatalog == null) {
             return null;
         }
-        String business = canonicalBusinessLabel(dialog.businessLabel(), locationCatalog);
-        String city = normalizeLookupToken(dialog.city());
-        String location = normalizeLookupToken(dialog.locationName());
+        String business = canonicalBusinessLabel(businessLabel(row), locationCatalog);
+        String city = normalizeLookupToken(row.city());
+        String location = normalizeLookupToken(row.locationName());
         if (!StringUtils.hasText(location)) {
             return null;
         }
@@ -676,6 +788,10 @@ public class DashboardAnalyticsService {
         return locationCatalog.locationProfiles().get(buildLookupKey(location));
     }
 
+    private String businessLabel(RollupRow row) {
+        return StringUtils.hasText(row.business()) ? row.business() : "Без бизнеса";
+    }
+
     private String canonicalBusinessLabel(String rawBusiness, LocationCatalog locationCatalog) {
         String normalized = normalizeLookupToken(rawBusiness);
         if (!StringUtils.hasText(normalized)) {
@@ -824,9 +940,7 @@ public class DashboardAnalyticsService {
             );
         }
 
-        static StaffTimeStats from(String name, List<Integer> durations) {
-            int total = durations.stream().filter(Objects::nonNull).mapToInt(Integer::intValue).sum();
-            int count = (int) durations.stream().filter(Objects::nonNull).count();
+        static StaffTimeStats from(String name, int total, int count) {
             int avg = count > 0 ? Math.round((float) total / count) : 0;
             return new StaffTimeStats(name, total, avg, count);
         }
@@ -0,0 +1,666 @@
+package com.example.panel.service;
+
+import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.support.SchemaCapabilityRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains {@code dashboard_rollups}: ticket counts, summed handling minutes and rating histograms
+ * per day × location × channel × business × city × responsible × status, plus ticket counts per
+ * day × location × creation hour ({@code dashboard_rollup_hours}, for the activity heatmap) and per
+ * day × location × primary category ({@code dashboard_rollup_categories}). Only dimensions the
+ * dashboard filters or groups by are part of a key, so a day holds a bounded number of buckets.
+ *
+ * <p>Every ticket's contribution is kept in {@code dashboard_rollup_tickets}; a refresh subtracts
+ * the previous contribution from its bucket and adds the current one, so buckets can be updated
+ * incrementally. Changed tickets come from the dialog list projection change feed, which already
+ * follows ticket lifecycle, responsibility, feedback and chat history writes. A full backfill runs
+ * in batches when the feed cannot be followed (first start, feed reset) and the rollups are served
+ * only after the first backfill has completed.</p>
+ */
+@Service
+public class DashboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+    private static final String READY_CHECKPOINT_KEY = "dashboard-rollups.ready";
+    private static final String REBUILD_CHECKPOINT_KEY = "dashboard-rollups.rebuild";
+    private static final String VERSION_CHECKPOINT_KEY = "dashboard-rollups.version";
+    private static final Duration SYNC_LEASE_TTL = Duration.ofSeconds(45);
+    private static final int REFRESH_BATCH_SIZE = 200;
+    private static final int REBUILD_BATCHES_PER_PASS = 25;
+    private static final int CHANGE_LIMIT = 1000;
+    private static final String BUCKET_COLUMNS =
+            "bucket_day, location_name, channel_id, business, city, responsible, status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DialogLookupReadService dialogLookupReadService;
+    private final DialogListProjectionService projectionService;
+    private final RuntimeWorkerCheckpointService checkpointService;
+    private final RuntimeCoordinationService runtimeCoordinationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
+    private volatile Boolean available;
+    private volatile boolean ready;
+
+    DashboardRollupService(JdbcTemplate jdbcTemplate,
+                           DialogLookupReadService dialogLookupReadService,
+                           DialogListProjectionService projectionService) {
+        this(jdbcTemplate, dialogLookupReadService, projectionService, new RuntimeWorkerCheckpointService(jdbcTemplate), null, null);
+    }
+
+    @Autowired
+    public DashboardRollupService(JdbcTemplate jdbcTemplate,
+                                  DialogLookupReadService dialogLookupReadService,
+                                  DialogListProjectionService projectionService,
+                                  RuntimeWorkerCheckpointService checkpointService,
+                                  RuntimeCoordinationService runtimeCoordinationService,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialogLookupReadService = dialogLookupReadService;
+        this.projectionService = projectionService;
+        this.checkpointService = checkpointService;
+        this.runtimeCoordinationService = runtimeCoordinationService;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (!isAvailable()) {
+            log.info("Dashboard rollup tables are missing, dashboard reads stay on the dialog list");
+            return;
+        }
+        refreshReady();
+    }
+
+    public boolean isReady() {
+        return ready && isAvailable();
+    }
+
+    /**
+     * First and last day that has tickets in the rollups, empty while there are none. Used to resolve
+     * open date filters, so that a window without bounds still covers all time.
+     */
+    public Optional<DayRange> loadDayRange() {
+        return jdbcTemplate.query("""
+                SELECT MIN(bucket_day) AS first_day, MAX(bucket_day) AS last_day
+                  FROM dashboard_rollups
+                 WHERE bucket_day <> '' AND tickets_count > 0
+                """, rs -> {
+            if (!rs.next() || !StringUtils.hasText(rs.getString("first_day"))) {
+                return Optional.<DayRange>empty();
+            }
+            return Optional.of(new DayRange(LocalDate.parse(rs.getString("first_day")), LocalDate.parse(rs.getString("last_day"))));
+        });
+    }
+
+    /**
+     * Non-empty rollup rows of the given days. Both bounds are required: rollups are only read for a
+     * bounded window, tickets with an unknown creation date are never part of one.
+     */
+    public RollupSet loadRows(LocalDate from, LocalDate to) {
+        return loadRows(from, to, false);
+    }
+
+    /**
+     * Same as {@link #loadRows(LocalDate, LocalDate)}; with {@code includeUndated} the buckets of
+     * tickets with an unknown creation date are added with a {@code null} day, as the dialog list
+     * does when no date filter is set.
+     */
+    public RollupSet loadRows(LocalDate from, LocalDate to, boolean includeUndated) {
+        requireWindow(from, to);
+        Object[] window = {from.toString(), to.toString()};
+        String dayCondition = dayCondition("bucket_day", includeUndated);
+        List<RollupRow> rows = jdbcTemplate.query("""
+                SELECT r.bucket_day, r.location_name, r.channel_id, c.channel_name, r.business, r.city,
+                       r.responsible, r.status,
+                       r.tickets_count, r.resolved_count, r.handling_minutes,
+                       r.rating_1, r.rating_2, r.rating_3, r.rating_4, r.rating_5
+                  FROM dashboard_rollups r
+                  LEFT JOIN channels c ON c.id = r.channel_id
+                 WHERE %s
+                   AND r.tickets_count > 0
+                """.formatted(dayCondition("r.bucket_day", includeUndated)), (rs, rowNum) -> {
+            long channelId = rs.getLong("channel_id");
+            return new RollupRow(
+                    parseDay(rs.getString("bucket_day")),
+                    channelId > 0 ? channelId : null,
+                    rs.getString("channel_name"),
+                    rs.getString("business"),
+                    rs.getString("city"),
+                    rs.getString("location_name"),
+                    rs.getString("responsible"),
+                    rs.getString("status"),
+                    rs.getLong("tickets_count"),
+                    rs.getLong("resolved_count"),
+                    rs.getLong("handling_minutes"),
+                    new long[]{rs.getLong("rating_1"), rs.getLong("rating_2"), rs.getLong("rating_3"),
+                            rs.getLong("rating_4"), rs.getLong("rating_5")}
+            );
+        }, window);
+        List<HourRow> hours = jdbcTemplate.query("""
+                SELECT bucket_day, location_name, bucket_hour, tickets_count
+                  FROM dashboard_rollup_hours
+                 WHERE %s
+                   AND tickets_count > 0
+                """.formatted(dayCondition), (rs, rowNum) -> new HourRow(
+                parseDay(rs.getString("bucket_day")),
+                rs.getString("location_name"),
+                rs.getInt("bucket_hour"),
+                rs.getLong("tickets_count")
+        ), window);
+        List<CategoryRow> categories = jdbcTemplate.query("""
+                SELECT bucket_day, location_name, category, tickets_count
+                  FROM dashboard_rollup_categories
+                 WHERE %s
+                   AND tickets_count > 0
+                """.formatted(dayCondition), (rs, rowNum) -> new CategoryRow(
+                parseDay(rs.getString("bucket_day")),
+                rs.getString("location_name"),
+                rs.getString("category"),
+                rs.getLong("tickets_count")
+        ), window);
+        return new RollupSet(rows, hours, categories);
+    }
+
+    /**
+     * Counts of a dashboard ticket attribute by label for tickets created on the given days, limited
+     * to the given stored location names when {@code locations} is not {@code null}. Both bounds are
+     * required and {@code includeUndated} adds tickets with an unknown creation date, as for
+     * {@link #loadRows(LocalDate, LocalDate, boolean)}.
+     */
+    public Map<String, Long> loadAttributeCounts(String attributeKey,
+                                                 LocalDate from,
+                                                 LocalDate to,
+                                                 boolean includeUndated,
+                                                 Collection<String> locations) {
+        requireWindow(from, to);
+        if (locations != null && locations.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> params = new ArrayList<>();
+        params.add(attributeKey);
+        params.add(from.toString());
+        params.add(to.toString());
+        String locationCondition = "";
+        if (locations != null) {
+            locationCondition = " AND s.location_name IN (" + String.join(", ", Collections.nCopies(locations.size(), "?")) + ")";
+            params.addAll(locations);
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT COALESCE(NULLIF(trim(a.value_label), ''), NULLIF(trim(a.value_text), ''), NULLIF(trim(a.value_id), '')) AS label,
+                       COUNT(*) AS total
+                  FROM ticket_attributes a
+                  JOIN dashboard_rollup_tickets s ON s.ticket_id = a.ticket_id
+                 WHERE a.include_in_dashboard = TRUE
+                   AND a.attribute_key = ?
+                   AND %s%s
+                 GROUP BY COALESCE(NULLIF(trim(a.value_label), ''), NULLIF(trim(a.value_text), ''), NULLIF(trim(a.value_id), ''))
+                """.formatted(dayCondition("s.bucket_day", includeUndated), locationCondition),
+                (RowCallbackHandler) rs -> counts.put(rs.getString("label"), rs.getLong("total")),
+                params.toArray());
+        return counts;
+    }
+
+    /**
+     * Recomputes the contribution of the given tickets; tickets that no longer exist are removed
+     * from their buckets.
+     */
+    public int refreshTickets(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty() || !isAvailable()) {
+            return 0;
+        }
+        List<String> normalized = ticketIds.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        int changed = 0;
+        for (int from = 0; from < normalized.size(); from += REFRESH_BATCH_SIZE) {
+            List<String> batch = normalized.subList(from, Math.min(normalized.size(), from + REFRESH_BATCH_SIZE));
+            try {
+                changed += refreshBatch(batch);
+            } catch (DataAccessException ex) {
+                log.warn("Unable to refresh dashboard rollups for {} tickets: {}",
+                        batch.size(), DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Recomputes the contribution of every ticket and marks the rollups as ready for reads.
+     */
+    public int rebuild() {
+        if (!isAvailable()) {
+            return 0;
+        }
+        checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, "");
+        return rebuildBatches(Integer.MAX_VALUE);
+    }
+
+    @Scheduled(fixedDelayString = "${panel.dashboard.rollups.sync-interval-ms:10000}")
+    void synchronize() {
+        if (!isAvailable()) {
+            return;
+        }
+        // The backfill completes on whichever node holds the lease; every node picks it up here.
+        refreshReady();
+        if (!projectionService.isReady()) {
+            return;
+        }
+        runLeased("dashboard-rollups-sync", () -> {
+            try {
+                long since = checkpointService.readLongCursor(VERSION_CHECKPOINT_KEY).orElse(0L);
+                DialogListProjectionService.ChangeSet changes = projectionService.changesSince(since, CHANGE_LIMIT);
+                if (changes.reset()) {
+                    if (checkpointService.readCursorText(REBUILD_CHECKPOINT_KEY).isEmpty()) {
+                        log.info("Dashboard rollups cannot follow dialog list changes since {}, starting backfill", since);
+                    }
+                    checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, "");
+                } else {
+                    Set<String> changed = new LinkedHashSet<>(changes.upsertedTicketIds());
+                    changed.addAll(changes.removedTicketIds());
+                    refreshTickets(changed);
+                }
+                checkpointService.saveLongCursor(VERSION_CHECKPOINT_KEY, changes.version());
+                rebuildBatches(REBUILD_BATCHES_PER_PASS);
+            } catch (DataAccessException ex) {
+                log.warn("Unable to synchronize dashboard rollups: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        });
+    }
+
+    private int rebuildBatches(int maxBatches) {
+        String cursor = checkpointService.readCursorText(REBUILD_CHECKPOINT_KEY).orElse(null);
+        if (cursor == null) {
+            return 0;
+        }
+        int changed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<String> ticketIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT ticket_id FROM tickets WHERE ticket_id > ? ORDER BY ticket_id LIMIT ?",
+                    String.class,
+                    cursor,
+                    REFRESH_BATCH_SIZE
+            );
+            if (ticketIds.isEmpty()) {
+                changed += refreshTickets(jdbcTemplate.queryForList("""
+                        SELECT s.ticket_id
+                          FROM dashboard_rollup_tickets s
+                         WHERE NOT EXISTS (SELECT 1 FROM tickets t WHERE t.ticket_id = s.ticket_id)
+                        """, String.class));
+                jdbcTemplate.update("DELETE FROM dashboard_rollups WHERE tickets_count <= 0");
+                jdbcTemplate.update("DELETE FROM dashboard_rollup_hours WHERE tickets_count <= 0");
+                jdbcTemplate.update("DELETE FROM dashboard_rollup_categories WHERE tickets_count <= 0");
+                checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, null);
+                checkpointService.saveCursor(READY_CHECKPOINT_KEY, "1");
+                ready = true;
+                log.info("Dashboard rollup backfill completed");
+                return changed;
+            }
+            changed += refreshBatch(ticketIds);
+            cursor = ticketIds.get(ticketIds.size() - 1);
+            checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, cursor);
+        }
+        return changed;
+    }
+
+    private int refreshBatch(List<String> ticketIds) {
+        Map<String, Contribution> current = new HashMap<>();
+        for (DialogListItem item : dialogLookupReadService.loadDialogRowsByTicketIds(ticketIds)) {
+            if (item.ticketId() != null) {
+                current.putIfAbsent(item.ticketId().trim(), contributionOf(item));
+            }
+        }
+        Map<String, Contribution> previous = loadContributions(ticketIds);
+        int[] changed = {0};
+        Runnable apply = () -> {
+            for (String ticketId : ticketIds) {
+                Contribution before = previous.get(ticketId);
+                Contribution after = current.get(ticketId);
+                if (Objects.equals(before, after)) {
+                    continue;
+                }
+                if (before != null) {
+                    addToBucket(before, -1);
+                }
+                if (after != null) {
+                    addToBucket(after, 1);
+                    saveContribution(ticketId, after);
+                } else {
+                    jdbcTemplate.update("DELETE FROM dashboard_rollup_tickets WHERE ticket_id = ?", ticketId);
+                }
+                changed[0]++;
+            }
+        };
+        if (transactionTemplate == null) {
+            apply.run();
+        } else {
+            transactionTemplate.executeWithoutResult(status -> apply.run());
+        }
+        return changed[0];
+    }
+
+    private Map<String, Contribution> loadContributions(List<String> ticketIds) {
+        Map<String, Contribution> contributions = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT ticket_id, " + BUCKET_COLUMNS + ", bucket_hour, category, handling_minutes, rating"
+                        + " FROM dashboard_rollup_tickets WHERE ticket_id IN ("
+                        + String.join(", ", Collections.nCopies(ticketIds.size(), "?")) + ")",
+                (RowCallbackHandler) rs -> contributions.put(rs.getString("ticket_id"), new Contribution(
+                        new Bucket(
+                                rs.getString("bucket_day"),
+                                rs.getString("location_name"),
+                                rs.getLong("channel_id"),
+                                rs.getString("business"),
+                                rs.getString("city"),
+                                rs.getString("responsible"),
+                                rs.getString("status")
+                        ),
+                        rs.getInt("bucket_hour"),
+                        rs.getString("category"),
+                        nullableInt(rs, "handling_minutes"),
+                        nullableInt(rs, "rating")
+                )),
+                ticketIds.toArray()
+        );
+        return contributions;
+    }
+
+    private void addToBucket(Contribution contribution, int sign) {
+        Bucket bucket = contribution.bucket();
+        int rating = contribution.rating() != null ? contribution.rating() : 0;
+        jdbcTemplate.update("""
+                INSERT INTO dashboard_rollups (%s,
+                       tickets_count, resolved_count, handling_minutes,
+                       rating_1, rating_2, rating_3, rating_4, rating_5, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (%s) DO UPDATE
+                   SET tickets_count = dashboard_rollups.tickets_count + excluded.tickets_count,
+                       resolved_count = dashboard_rollups.resolved_count + excluded.resolved_count,
+                       handling_minutes = dashboard_rollups.handling_minutes + excluded.handling_minutes,
+                       rating_1 = dashboard_rollups.rating_1 + excluded.rating_1,
+                       rating_2 = dashboard_rollups.rating_2 + excluded.rating_2,
+                       rating_3 = dashboard_rollups.rating_3 + excluded.rating_3,
+                       rating_4 = dashboard_rollups.rating_4 + excluded.rating_4,
+                       rating_5 = dashboard_rollups.rating_5 + excluded.rating_5,
+                       updated_at = excluded.updated_at
+                """.formatted(BUCKET_COLUMNS, BUCKET_COLUMNS),
+                bucket.day(), bucket.locationName(), bucket.channelId(), bucket.business(), bucket.city(),
+                bucket.responsible(), bucket.status(),
+                sign,
+                contribution.handlingMinutes() != null ? sign : 0,
+                contribution.handlingMinutes() != null ? sign * contribution.handlingMinutes() : 0,
+                rating == 1 ? sign : 0,
+                rating == 2 ? sign : 0,
+                rating == 3 ? sign : 0,
+                rating == 4 ? sign : 0,
+                rating == 5 ? sign : 0);
+        jdbcTemplate.update("""
+                INSERT INTO dashboard_rollup_hours (bucket_day, location_name, bucket_hour, tickets_count, updated_at)
+                VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (bucket_day, location_name, bucket_hour) DO UPDATE
+                   SET tickets_count = dashboard_rollup_hours.tickets_count + excluded.tickets_count,
+                       updated_at = excluded.updated_at
+                """,
+                bucket.day(), bucket.locationName(), contribution.hour(), sign);
+        jdbcTemplate.update("""
+                INSERT INTO dashboard_rollup_categories (bucket_day, location_name, category, tickets_count, updated_at)
+                VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (bucket_day, location_name, category) DO UPDATE
+                   SET tickets_count = dashboard_rollup_categories.tickets_count + excluded.tickets_count,
+                       updated_at = excluded.updated_at
+                """,
+                bucket.day(), bucket.locationName(), contribution.category(), sign);
+    }
+
+    private void saveContribution(String ticketId, Contribution contribution) {
+        Bucket bucket = contribution.bucket();
+        jdbcTemplate.update("""
+                INSERT INTO dashboard_rollup_tickets (ticket_id, %s, bucket_hour, category, handling_minutes, rating, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (ticket_id) DO UPDATE
+                   SET bucket_day = excluded.bucket_day,
+                       location_name = excluded.location_name,
+                       channel_id = excluded.channel_id,
+                       business = excluded.business,
+                       city = excluded.city,
+                       responsible = excluded.responsible,
+                       status = excluded.status,
+                       bucket_hour = excluded.bucket_hour,
+                       category = excluded.category,
+                       handling_minutes = excluded.handling_minutes,
+                       rating = excluded.rating,
+                       updated_at = excluded.updated_at
+                """.formatted(BUCKET_COLUMNS),
+                ticketId, bucket.day(), bucket.locationName(), bucket.channelId(), bucket.business(), bucket.city(),
+                bucket.responsible(), bucket.status(), contribution.hour(), contribution.category(),
+                contribution.handlingMinutes(), contribution.rating());
+    }
+
+    /**
+     * Aggregates dialogs into the same rows {@link #loadRows} returns, for callers that still read
+     * the full dialog list. Tickets with an unknown creation date keep a {@code null} day.
+     */
+    public static RollupSet aggregate(Collection<DialogListItem> dialogs) {
+        if (dialogs == null || dialogs.isEmpty()) {
+            return RollupSet.EMPTY;
+        }
+        Map<List<Object>, RollupRow> rows = new LinkedHashMap<>();
+        Map<List<Object>, Long> hours = new LinkedHashMap<>();
+        Map<List<Object>, Long> categories = new LinkedHashMap<>();
+        for (DialogListItem dialog : dialogs) {
+            Contribution contribution = contributionOf(dialog);
+            Bucket bucket = contribution.bucket();
+            String channelName = dialog.channelName();
+            List<Object> key = List.of(bucket, Objects.toString(channelName, ""));
+            RollupRow row = rows.computeIfAbsent(key, ignored -> new RollupRow(
+                    parseDay(bucket.day()),
+                    bucket.channelId() > 0 ? bucket.channelId() : null,
+                    channelName,
+                    bucket.business(),
+                    bucket.city(),
+                    bucket.locationName(),
+                    bucket.responsible(),
+                    bucket.status(),
+                    0L, 0L, 0L, new long[5]));
+            rows.put(key, row.plus(contribution));
+            hours.merge(List.of(bucket.day(), bucket.locationName(), contribution.hour()), 1L, Long::sum);
+            categories.merge(List.of(bucket.day(), bucket.locationName(), contribution.category()), 1L, Long::sum);
+        }
+        List<HourRow> hourRows = new ArrayList<>();
+        hours.forEach((key, tickets) -> hourRows.add(
+                new HourRow(parseDay((String) key.get(0)), (String) key.get(1), (Integer) key.get(2), tickets)));
+        List<CategoryRow> categoryRows = new ArrayList<>();
+        categories.forEach((key, tickets) -> categoryRows.add(
+                new CategoryRow(parseDay((String) key.get(0)), (String) key.get(1), (String) key.get(2), tickets)));
+        return new RollupSet(new ArrayList<>(rows.values()), hourRows, categoryRows);
+    }
+
+    static Contribution contributionOf(DialogListItem dialog) {
+        LocalDateTime created = DashboardAnalyticsService.createdDateTime(dialog);
+        Integer rating = dialog.rating() != null && dialog.rating() >= 1 && dialog.rating() <= 5 ? dialog.rating() : null;
+        return new Contribution(
+                new Bucket(
+                        created != null ? created.toLocalDate().toString() : "",
+                        trimToEmpty(dialog.locationName()),
+                        dialog.channelId() != null ? dialog.channelId() : 0L,
+                        trimToEmpty(dialog.business()),
+                        trimToEmpty(dialog.city()),
+                        trimToEmpty(dialog.responsible()),
+                        trimToEmpty(dialog.status())
+                ),
+                created != null ? created.getHour() : -1,
+                primaryCategory(dialog.categories()),
+                DashboardAnalyticsService.durationMinutes(dialog),
+                rating
+        );
+    }
+
+    /**
+     * First category of the comma-separated list, empty when the ticket has none.
+     */
+    static String primaryCategory(String categories) {
+        String value = trimToEmpty(categories);
+        if ("—".equals(value)) {
+            return "";
+        }
+        int comma = value.indexOf(',');
+        return comma >= 0 ? value.substring(0, comma).trim() : value;
+    }
+
+    private void refreshReady() {
+        try {
+            ready = checkpointService.readCursorText(READY_CHECKPOINT_KEY).filter("1"::equals).isPresent();
+        } catch (DataAccessException ex) {
+            log.warn("Unable to read dashboard rollup readiness: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+        }
+    }
+
+    private static String dayCondition(String column, boolean includeUndated) {
+        String window = column + " >= ? AND " + column + " <= ?";
+        return includeUndated ? "((" + window + ") OR " + column + " = '')" : window;
+    }
+
+    private static void requireWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dashboard rollups are read for a bounded date window");
+        }
+    }
+
+    private void runLeased(String leaseName, Runnable task) {
+        if (runtimeCoordinationService == null) {
+            task.run();
+            return;
+        }
+        runtimeCoordinationService.runWithLease(leaseName, SYNC_LEASE_TTL, task);
+    }
+
+    private boolean isAvailable() {
+        Boolean cached = available;
+        if (cached == null) {
+            try {
+                cached = SchemaCapabilityRegistry.columns(schemaCapabilities, jdbcTemplate, "dashboard_rollup_tickets").contains("ticket_id");
+            } catch (DataAccessException ex) {
+                log.warn("Unable to inspect dashboard rollup tables: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+                cached = false;
+            }
+            available = cached;
+        }
+        return cached;
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDate parseDay(String day) {
+        return StringUtils.hasText(day) ? LocalDate.parse(day) : null;
+    }
+
+    private static String trimToEmpty(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * First and last day with tickets in the rollups.
+     */
+    public record DayRange(LocalDate first, LocalDate last) {
+    }
+
+    record Bucket(String day,
+                  String locationName,
+                  long channelId,
+                  String business,
+                  String city,
+                  String responsible,
+                  String status) {
+    }
+
+    record Contribution(Bucket bucket, int hour, String category, Integer handlingMinutes, Integer rating) {
+    }
+
+    /**
+     * Rollup rows of one date window: the main buckets with the matching hour and category counts.
+     */
+    public record RollupSet(List<RollupRow> rows, List<HourRow> hours, List<CategoryRow> categories) {
+
+        static final RollupSet EMPTY = new RollupSet(List.of(), List.of(), List.of());
+    }
+
+    /**
+     * One pre-aggregated bucket. {@code day} is {@code null} for tickets without a parsable
+     * creation time; text dimensions are empty rather than {@code null}.
+     */
+    public record RollupRow(LocalDate day,
+                            Long channelId,
+                            String channelName,
+                            String business,
+                            String city,
+                            String locationName,
+                            String responsible,
+                            String status,
+                            long tickets,
+                            long resolved,
+                            long handlingMinutes,
+                            long[] ratings) {
+
+        RollupRow plus(Contribution contribution) {
+            long[] nextRatings = ratings.clone();
+            if (contribution.rating() != null) {
+                nextRatings[contribution.rating() - 1] += 1;
+            }
+            boolean hasDuration = contribution.handlingMinutes() != null;
+            return new RollupRow(day, channelId, channelName, business, city, locationName, responsible, status,
+                    tickets + 1,
+                    resolved + (hasDuration ? 1 : 0),
+                    handlingMinutes + (hasDuration ? contribution.handlingMinutes() : 0),
+                    nextRatings);
+        }
+    }
+
+    /**
+     * Tickets created in one hour of a day; {@code hour} is {@code -1} for an unknown creation time.
+     */
+    public record HourRow(LocalDate day, String locationName, int hour, long tickets) {
+    }
+
+    /**
+     * Tickets by primary category; {@code category} is empty for tickets without one.
+     */
+    public record CategoryRow(LocalDate day, String locationName, String category, long tickets) {
+    }
+}
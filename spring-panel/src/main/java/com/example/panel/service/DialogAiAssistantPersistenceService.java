@@ -3,6 +3,7 @@ package com.example.panel.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -33,6 +34,8 @@ public class DialogAiAssistantPersistenceService {
     private final AiPolicyService aiPolicyService;
     private final AiKnowledgeService aiKnowledgeService;
     private final ObjectMapper objectMapper;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public DialogAiAssistantPersistenceService(JdbcTemplate jdbcTemplate,
                                                SharedConfigService sharedConfigService,
@@ -226,6 +229,9 @@ public class DialogAiAssistantPersistenceService {
                     trim(action),
                     trim(error)
             );
+            if (dialogListProjectionService != null) {
+                dialogListProjectionService.refreshTicket(ticket);
+            }
         } catch (Exception ex) {
             log.debug("Failed to clear ai processing state for {}: {}", ticket, ex.getMessage());
         }
@@ -1,5 +1,6 @@
 package com.example.panel.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +13,8 @@ public class DialogAiAssistantStateService {
 
     private final JdbcTemplate jdbcTemplate;
     private final DialogAiAssistantPersistenceService persistenceService;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public DialogAiAssistantStateService(JdbcTemplate jdbcTemplate,
                                          DialogAiAssistantPersistenceService persistenceService) {
@@ -266,6 +269,13 @@ public class DialogAiAssistantStateService {
                     persistenceService.trim(suggestedReply)
             );
         }
+        refreshDialogProjection(ticket);
+    }
+
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
     }
 
     public record DialogAiControl(boolean aiDisabled,
@@ -2,6 +2,7 @@ package com.example.panel.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -16,9 +17,20 @@ public class DialogAuditService {
     private static final Logger log = LoggerFactory.getLogger(DialogAuditService.class);
 
     private final JdbcTemplate jdbcTemplate;
+    private final WorkspaceTelemetryBatchWriter telemetryWriter;
 
     public DialogAuditService(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, new WorkspaceTelemetryBatchWriter(jdbcTemplate, 1, 0));
+    }
+
+    /**
+     * Аудит действий пишется сразу: его читают лента событий workspace и проверки повторных действий.
+     * Телеметрия workspace уходит в {@link WorkspaceTelemetryBatchWriter} и пишется пачками вне потока запроса.
+     */
+    @Autowired
+    public DialogAuditService(JdbcTemplate jdbcTemplate, WorkspaceTelemetryBatchWriter telemetryWriter) {
         this.jdbcTemplate = jdbcTemplate;
+        this.telemetryWriter = telemetryWriter;
     }
 
     public void logDialogActionAudit(String ticketId, String actor, String action, String result, String detail) {
@@ -80,32 +92,22 @@ public class DialogAuditService {
         if (!StringUtils.hasText(eventType)) {
             return;
         }
-        try {
-            jdbcTemplate.update("""
-                    INSERT INTO workspace_telemetry_audit (
-                        actor, event_type, event_group, ticket_id, reason, error_code, contract_version,
-                        duration_ms, experiment_name, experiment_cohort, operator_segment,
-                        primary_kpis, secondary_kpis, template_id, template_name, created_at
-                    ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
-                    """,
-                    trimOrNull(actor),
-                    trimOrNull(eventType),
-                    trimOrNull(eventGroup),
-                    trimOrNull(ticketId),
-                    trimOrNull(reason),
-                    trimOrNull(errorCode),
-                    trimOrNull(contractVersion),
-                    durationMs,
-                    trimOrNull(experimentName),
-                    trimOrNull(experimentCohort),
-                    trimOrNull(operatorSegment),
-                    joinCsv(primaryKpis),
-                    joinCsv(secondaryKpis),
-                    trimOrNull(templateId),
-                    trimOrNull(templateName));
-        } catch (DataAccessException ex) {
-            log.warn("Unable to persist workspace telemetry event '{}': {}", eventType, DialogDataAccessSupport.summarizeDataAccessException(ex));
-        }
+        telemetryWriter.append(
+                trimOrNull(actor),
+                trimOrNull(eventType),
+                trimOrNull(eventGroup),
+                trimOrNull(ticketId),
+                trimOrNull(reason),
+                trimOrNull(errorCode),
+                trimOrNull(contractVersion),
+                durationMs,
+                trimOrNull(experimentName),
+                trimOrNull(experimentCohort),
+                trimOrNull(operatorSegment),
+                joinCsv(primaryKpis),
+                joinCsv(secondaryKpis),
+                trimOrNull(templateId),
+                trimOrNull(templateName));
     }
 
     private String joinCsv(List<String> values) {
@@ -10,6 +10,7 @@ import com.example.panel.repository.ChatHistoryRepository;
 import com.example.panel.repository.TicketActiveRepository;
 import com.example.panel.repository.TicketRepository;
 import com.example.panel.repository.TicketSpanRepository;
+import com.example.panel.service.integration.TicketLifecycleEventPublisher;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -22,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -49,6 +51,9 @@ public class DialogAutoCloseSchedulerService {
     private final JdbcTemplate jdbcTemplate;
     private final RuntimeCoordinationService runtimeCoordinationService;
 
+    @Autowired(required = false)
+    private TicketLifecycleEventPublisher ticketLifecycleEventPublisher;
+
     public DialogAutoCloseSchedulerService(TicketActiveRepository ticketActiveRepository,
                                            TicketRepository ticketRepository,
                                            TicketSpanRepository ticketSpanRepository,
@@ -147,6 +152,11 @@ public class DialogAutoCloseSchedulerService {
             ticket.getChannel() != null ? ticket.getChannel().getId() : null,
             AUTO_CLOSE_TEXT,
             true);
+        if (ticketLifecycleEventPublisher != null) {
+            ticketLifecycleEventPublisher.ticketClosed(ticket.getTicketId(),
+                ticket.getUserId(),
+                ticket.getChannel() != null ? ticket.getChannel().getId() : null);
+        }
         ensurePendingFeedbackRequest(ticket.getTicketId(), AUTO_CLOSE_RESOLVED_BY, now);
         dialogAutoCloseFollowUpTaskService.createTaskForAutoClosedDialog(ticket.getTicketId());
         return true;
@@ -6,8 +6,10 @@ import com.example.panel.model.dialog.DialogPreviousHistoryPage;
 import com.example.panel.storage.AttachmentService;
 import com.example.panel.storage.AttachmentStorageKeyResolver;
 import com.example.panel.support.PanelTimestampSqlSupport;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -34,6 +36,9 @@ public class DialogConversationReadService {
     private final AttachmentService attachmentService;
     private final PanelTimestampSqlSupport timestampSqlSupport;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public DialogConversationReadService(JdbcTemplate jdbcTemplate,
                                          AttachmentService attachmentService,
                                          PanelTimestampSqlSupport timestampSqlSupport) {
@@ -61,81 +66,226 @@ public class DialogConversationReadService {
                     !attachmentMetadataColumns.isEmpty(),
                     args
             );
-            Map<String, String> previewByMessage = new HashMap<>();
-            for (Map<String, Object> row : rows) {
-                Long tgMessageId = parseLong(row.get("tg_message_id"));
-                if (tgMessageId == null) {
-                    continue;
-                }
-                String key = previewKey(parseLong(row.get("channel_id")), tgMessageId);
-                String preview = buildPreview(row.get("message"), row.get("message_type"));
-                if (StringUtils.hasText(preview)) {
-                    previewByMessage.put(key, preview);
-                }
-            }
+            Map<String, String> previewByMessage = collectReplyPreviews(rows);
+            return mapHistoryRows(ticketId, rows, previewByMessage);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to load chat history for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return List.of();
+        }
+    }
 
-            List<ChatMessageDto> history = new ArrayList<>();
-            for (Map<String, Object> row : rows) {
-                Long replyTo = parseLong(row.get("reply_to_tg_id"));
-                String replyPreview = null;
-                if (replyTo != null) {
-                    String key = previewKey(parseLong(row.get("channel_id")), replyTo);
-                    replyPreview = previewByMessage.get(key);
+    /**
+     * Читает одно окно переписки тикета прямо из SQL: по смещению или по курсору от id сообщения
+     * ({@code afterId} — более новые, {@code beforeId} — более старые) в порядке ленты. Берётся на одну
+     * строку больше лимита, чтобы определить {@code hasMore} без подсчёта всей переписки, а превью
+     * ответов догружаются только для сообщений, на которые ссылается окно.
+     */
+    public HistoryWindow loadHistoryWindow(String ticketId, Long channelId, HistoryWindowQuery query) {
+        if (!StringUtils.hasText(ticketId) || query == null) {
+            return HistoryWindow.empty();
+        }
+        try {
+            Set<String> columns = loadTableColumns("chat_history");
+            Set<String> attachmentMetadataColumns = loadTableColumns("chat_attachment_metadata");
+            List<Object> args = new ArrayList<>();
+            args.add(ticketId);
+            if (channelId != null) {
+                args.add(channelId);
+            }
+            boolean descending = query.beforeId() != null;
+            Long anchorId = descending ? query.beforeId() : query.afterId();
+            String windowCondition = null;
+            if (anchorId != null) {
+                Map<String, Object> anchor = loadHistoryAnchor(ticketId, anchorId);
+                if (anchor == null) {
+                    return HistoryWindow.empty();
                 }
-                String rawAttachment = value(row.get("attachment"));
-                String storageKey = value(row.get("attachment_storage_key"));
-                String attachmentProvider = value(row.get("attachment_storage_provider"));
-                String attachmentStatus = value(row.get("attachment_availability_status"));
-                String legacyAttachmentRef = value(row.get("attachment_legacy_ref"));
-                String attachment = toAttachmentUrl(ticketId, rawAttachment, storageKey, attachmentProvider, attachmentStatus, legacyAttachmentRef);
-                AttachmentMeta attachmentMeta = resolveAttachmentMeta(
-                        ticketId,
-                        rawAttachment,
-                        storageKey,
-                        attachmentProvider,
-                        attachmentStatus,
-                        attachment,
-                        value(row.get("attachment_original_name")),
-                        parseLong(row.get("attachment_size"))
-                );
-                String message = value(row.get("message"));
-                String originalMessage = value(row.get("original_message"));
-                String deletedAt = value(row.get("deleted_at"));
-                history.add(new ChatMessageDto(
-                        value(row.get("sender")),
-                        deletedAt != null ? "" : message,
-                        originalMessage != null ? originalMessage : message,
-                        value(row.get("timestamp")),
-                        value(row.get("message_type")),
-                        attachment,
-                        firstNonBlank(value(row.get("file_name")), attachmentMeta.name()),
-                        attachmentMeta.size(),
-                        attachmentStatus,
-                        attachmentProvider,
-                        buildAttachmentNote(attachmentStatus, attachmentProvider),
-                        parseLong(row.get("tg_message_id")),
-                        replyTo,
-                        replyPreview,
-                        value(row.get("edited_at")),
-                        deletedAt,
-                        value(row.get("forwarded_from"))
-                ));
+                windowCondition = keysetCondition(anchor, !descending, args);
+            }
+            int limit = Math.max(1, query.limit());
+            args.add(limit + 1);
+            args.add(anchorId == null ? Math.max(0, query.offset()) : 0);
+            List<Map<String, Object>> rows = queryHistoryRows(
+                    ticketId,
+                    channelId != null,
+                    columns,
+                    !attachmentMetadataColumns.isEmpty(),
+                    new WindowClause(windowCondition, descending),
+                    args
+            );
+            boolean hasMore = rows.size() > limit;
+            List<Map<String, Object>> windowRows = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+            if (descending) {
+                Collections.reverse(windowRows);
             }
-            return history;
+            Map<String, String> previewByMessage = collectReplyPreviews(windowRows);
+            loadMissingReplyPreviews(ticketId, channelId, windowRows, previewByMessage);
+            Long firstId = windowRows.isEmpty() ? null : parseLong(windowRows.get(0).get("history_id"));
+            Long lastId = windowRows.isEmpty() ? null : parseLong(windowRows.get(windowRows.size() - 1).get("history_id"));
+            return new HistoryWindow(mapHistoryRows(ticketId, windowRows, previewByMessage), firstId, lastId, hasMore);
         } catch (DataAccessException ex) {
-            log.warn("Unable to load chat history for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
-            return List.of();
+            log.warn("Unable to load chat history window for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return HistoryWindow.empty();
         }
     }
 
+    private List<ChatMessageDto> mapHistoryRows(String ticketId,
+                                                List<Map<String, Object>> rows,
+                                                Map<String, String> previewByMessage) {
+        List<ChatMessageDto> history = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Long replyTo = parseLong(row.get("reply_to_tg_id"));
+            String replyPreview = null;
+            if (replyTo != null) {
+                String key = previewKey(parseLong(row.get("channel_id")), replyTo);
+                replyPreview = previewByMessage.get(key);
+            }
+            String rawAttachment = value(row.get("attachment"));
+            String storageKey = value(row.get("attachment_storage_key"));
+            String attachmentProvider = value(row.get("attachment_storage_provider"));
+            String attachmentStatus = value(row.get("attachment_availability_status"));
+            String legacyAttachmentRef = value(row.get("attachment_legacy_ref"));
+            String attachment = toAttachmentUrl(ticketId, rawAttachment, storageKey, attachmentProvider, attachmentStatus, legacyAttachmentRef);
+            AttachmentMeta attachmentMeta = resolveAttachmentMeta(
+                    ticketId,
+                    rawAttachment,
+                    storageKey,
+                    attachmentProvider,
+                    attachmentStatus,
+                    attachment,
+                    value(row.get("attachment_original_name")),
+                    parseLong(row.get("attachment_size"))
+            );
+            String message = value(row.get("message"));
+            String originalMessage = value(row.get("original_message"));
+            String deletedAt = value(row.get("deleted_at"));
+            history.add(new ChatMessageDto(
+                    value(row.get("sender")),
+                    deletedAt != null ? "" : message,
+                    originalMessage != null ? originalMessage : message,
+                    value(row.get("timestamp")),
+                    value(row.get("message_type")),
+                    attachment,
+                    firstNonBlank(value(row.get("file_name")), attachmentMeta.name()),
+                    attachmentMeta.size(),
+                    attachmentStatus,
+                    attachmentProvider,
+                    buildAttachmentNote(attachmentStatus, attachmentProvider),
+                    parseLong(row.get("tg_message_id")),
+                    replyTo,
+                    replyPreview,
+                    value(row.get("edited_at")),
+                    deletedAt,
+                    value(row.get("forwarded_from"))
+            ));
+        }
+        return history;
+    }
+
+    private static Map<String, String> collectReplyPreviews(List<Map<String, Object>> rows) {
+        Map<String, String> previewByMessage = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Long tgMessageId = parseLong(row.get("tg_message_id"));
+            if (tgMessageId == null) {
+                continue;
+            }
+            String key = previewKey(parseLong(row.get("channel_id")), tgMessageId);
+            String preview = buildPreview(row.get("message"), row.get("message_type"));
+            if (StringUtils.hasText(preview)) {
+                previewByMessage.put(key, preview);
+            }
+        }
+        return previewByMessage;
+    }
+
+    private void loadMissingReplyPreviews(String ticketId,
+                                          Long channelId,
+                                          List<Map<String, Object>> rows,
+                                          Map<String, String> previewByMessage) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Map<String, Object> row : rows) {
+            Long replyTo = parseLong(row.get("reply_to_tg_id"));
+            if (replyTo != null && !previewByMessage.containsKey(previewKey(parseLong(row.get("channel_id")), replyTo))) {
+                missing.add(replyTo);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(ticketId);
+        StringBuilder sql = new StringBuilder("""
+                SELECT ch.channel_id, ch.tg_message_id, ch.message, ch.message_type
+                  FROM chat_history ch
+                 WHERE ch.ticket_id = ?
+                """);
+        if (channelId != null) {
+            sql.append(" AND ch.channel_id = ?");
+            args.add(channelId);
+        }
+        sql.append(" AND ch.tg_message_id IN (")
+                .append(String.join(", ", Collections.nCopies(missing.size(), "?")))
+                .append(") ORDER BY ch.id ASC");
+        args.addAll(missing);
+        previewByMessage.putAll(collectReplyPreviews(jdbcTemplate.queryForList(sql.toString(), args.toArray())));
+    }
+
+    private Map<String, Object> loadHistoryAnchor(String ticketId, long historyId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT " + sortableHistoryTimestamp() + " AS sort_ts, COALESCE(ch.tg_message_id, 0) AS sort_tg, ch.id"
+                        + " FROM chat_history ch WHERE ch.id = ? AND ch.ticket_id = ?",
+                historyId,
+                ticketId
+        );
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Условие «строго после/до якоря» в порядке ленты (время, tg_message_id, id). Во внешних БД
+     * строки без времени идут в конце ленты, как в {@code ORDER BY ... NULLS LAST}.
+     */
+    private String keysetCondition(Map<String, Object> anchor, boolean after, List<Object> args) {
+        String timestamp = sortableHistoryTimestamp();
+        String telegramId = "COALESCE(ch.tg_message_id, 0)";
+        String comparison = after ? ">" : "<";
+        String tieBreak = "(" + telegramId + " " + comparison + " ? OR (" + telegramId + " = ? AND ch.id " + comparison + " ?))";
+        Object anchorTimestamp = anchor.get("sort_ts");
+        Object anchorTelegramId = anchor.get("sort_tg");
+        Object anchorId = anchor.get("id");
+        if (anchorTimestamp == null) {
+            args.addAll(List.of(anchorTelegramId, anchorTelegramId, anchorId));
+            return after
+                    ? "ch.timestamp IS NULL AND " + tieBreak
+                    : "(ch.timestamp IS NOT NULL OR " + tieBreak + ")";
+        }
+        args.addAll(List.of(anchorTimestamp, anchorTimestamp, anchorTelegramId, anchorTelegramId, anchorId));
+        String trailingNulls = timestampSqlSupport.isSqliteMode() ? "" : " OR ch.timestamp IS NULL";
+        return after
+                ? "(" + timestamp + " > ? OR (" + timestamp + " = ? AND " + tieBreak + ")" + trailingNulls + ")"
+                : "(" + timestamp + " < ? OR (" + timestamp + " = ? AND " + tieBreak + "))";
+    }
+
+    private String sortableHistoryTimestamp() {
+        return timestampSqlSupport.sortableTimestampExpression("ch.timestamp");
+    }
+
+    private List<Map<String, Object>> queryHistoryRows(String ticketId,
+                                                       boolean filterByChannelId,
+                                                       Set<String> columns,
+                                                       boolean attachmentMetadataAvailable,
+                                                       List<Object> args) {
+        return queryHistoryRows(ticketId, filterByChannelId, columns, attachmentMetadataAvailable, null, args);
+    }
+
     private List<Map<String, Object>> queryHistoryRows(String ticketId,
                                                        boolean filterByChannelId,
                                                        Set<String> columns,
                                                        boolean attachmentMetadataAvailable,
+                                                       WindowClause window,
                                                        List<Object> args) {
         try {
             return jdbcTemplate.queryForList(
-                    buildHistorySql(columns, filterByChannelId, attachmentMetadataAvailable),
+                    buildHistorySql(columns, filterByChannelId, attachmentMetadataAvailable, window),
                     args.toArray()
             );
         } catch (DataAccessException ex) {
@@ -148,7 +298,7 @@ public class DialogConversationReadService {
                     DialogDataAccessSupport.summarizeDataAccessException(ex)
             );
             return jdbcTemplate.queryForList(
-                    buildHistorySql(columns, filterByChannelId, false),
+                    buildHistorySql(columns, filterByChannelId, false, window),
                     args.toArray()
             );
         }
@@ -422,7 +572,8 @@ public class DialogConversationReadService {
 
     private String buildHistorySql(Set<String> columns,
                                    boolean filterByChannelId,
-                                   boolean attachmentMetadataAvailable) {
+                                   boolean attachmentMetadataAvailable,
+                                   WindowClause window) {
         String originalMessageColumn = columns.contains("original_message")
                 ? "original_message"
                 : "NULL AS original_message";
@@ -459,7 +610,7 @@ public class DialogConversationReadService {
                 ? " LEFT JOIN chat_attachment_metadata cam ON cam.chat_history_id = ch.id "
                 : "";
         StringBuilder sql = new StringBuilder("""
-                SELECT ch.sender, ch.message, ch.timestamp, ch.message_type, ch.attachment,
+                SELECT ch.id AS history_id, ch.sender, ch.message, ch.timestamp, ch.message_type, ch.attachment,
                        ch.tg_message_id, ch.reply_to_tg_id, ch.channel_id,
                        %s, %s, %s, %s, %s
                        %s
@@ -478,9 +629,23 @@ public class DialogConversationReadService {
         if (filterByChannelId) {
             sql.append(" AND ch.channel_id = ?");
         }
-        sql.append(" ORDER BY ")
-                .append(timestampSqlSupport.orderByTimestampAsc("ch.timestamp"))
-                .append(", COALESCE(ch.tg_message_id, 0) ASC, ch.id ASC");
+        if (window != null && window.condition() != null) {
+            sql.append(" AND ").append(window.condition());
+        }
+        if (window != null && window.descending()) {
+            sql.append(" ORDER BY ")
+                    .append(timestampSqlSupport.isSqliteMode()
+                            ? sortableHistoryTimestamp() + " DESC"
+                            : "ch.timestamp DESC NULLS FIRST")
+                    .append(", COALESCE(ch.tg_message_id, 0) DESC, ch.id DESC");
+        } else {
+            sql.append(" ORDER BY ")
+                    .append(timestampSqlSupport.orderByTimestampAsc("ch.timestamp"))
+                    .append(", COALESCE(ch.tg_message_id, 0) ASC, ch.id ASC");
+        }
+        if (window != null) {
+            sql.append(" LIMIT ? OFFSET ?");
+        }
         return sql.toString();
     }
 
@@ -561,6 +726,9 @@ public class DialogConversationReadService {
 
     private Set<String> loadTableColumns(String tableName) {
         try {
+            if (schemaCapabilities != null) {
+                return schemaCapabilities.columns(jdbcTemplate, tableName);
+            }
             return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
                 Set<String> columns = new LinkedHashSet<>();
                 var metaData = connection.getMetaData();
@@ -586,4 +754,27 @@ public class DialogConversationReadService {
     }
 
     private record AttachmentMeta(String name, Long size) {}
+
+    private record WindowClause(String condition, boolean descending) {}
+
+    /**
+     * Запрос окна переписки: смещение от начала ленты либо курсор от id сообщения в {@code chat_history}.
+     */
+    public record HistoryWindowQuery(int offset, Long afterId, Long beforeId, int limit) {
+
+        public static HistoryWindowQuery fromOffset(int offset, int limit) {
+            return new HistoryWindowQuery(offset, null, null, limit);
+        }
+
+        public boolean keyset() {
+            return afterId != null || beforeId != null;
+        }
+    }
+
+    public record HistoryWindow(List<ChatMessageDto> items, Long firstId, Long lastId, boolean hasMore) {
+
+        public static HistoryWindow empty() {
+            return new HistoryWindow(List.of(), null, null, false);
+        }
+    }
 }
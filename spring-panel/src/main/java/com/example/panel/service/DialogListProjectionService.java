@@ -0,0 +1,694 @@
+package com.example.panel.service;
+
+import com.example.panel.support.SchemaCapabilityRegistry;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code dialog_list_projection}: one row per ticket with the values the dialog list
+ * otherwise derives from {@code messages}, {@code chat_history}, {@code feedbacks} and
+ * {@code ticket_categories} through correlated subqueries.
+ *
+ * <p>Panel write paths call {@link #refreshTicket(String)}; rows written directly by the bot are
+ * picked up by the id-watermark catch-up over {@code chat_history} and {@code feedbacks}. Cheap
+ * primary-key lookups (ticket status, responsible, AI state, channel, client status) stay joins at
+ * read time so that they never go stale. The list switches to the projection only after the
+ * initial backfill has completed.</p>
+ *
+ * <p>Every refresh stamps the row with a {@code change_version} taken from the ui_event_outbox id
+ * space, and removed tickets leave a tombstone, so clients can ask for the rows changed since the
+ * version they last saw.</p>
+ */
+@Service
+public class DialogListProjectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DialogListProjectionService.class);
+    private static final String TABLE = "dialog_list_projection";
+    private static final String READY_CHECKPOINT_KEY = "dialog-list-projection.ready";
+    private static final String REBUILD_CHECKPOINT_KEY = "dialog-list-projection.rebuild";
+    private static final String CHAT_HISTORY_CHECKPOINT_KEY = "dialog-list-projection.chat-history";
+    private static final String FEEDBACK_CHECKPOINT_KEY = "dialog-list-projection.feedbacks";
+    private static final String UI_EVENT_OUTBOX_CHECKPOINT_KEY = "dialog-list-projection.ui-event-outbox";
+    private static final String TOMBSTONE_HORIZON_CHECKPOINT_KEY = "dialog-list-projection.tombstone-horizon";
+    private static final Duration SYNC_LEASE_TTL = Duration.ofSeconds(45);
+    private static final int REFRESH_BATCH_SIZE = 200;
+    private static final int REBUILD_BATCHES_PER_PASS = 25;
+    private static final int CATCH_UP_LIMIT = 1000;
+    private static final int CONSISTENCY_SAMPLE_SIZE = 200;
+    private static final Duration TOMBSTONE_RETENTION = Duration.ofDays(1);
+    /**
+     * Versions are allocated before the refreshing statement commits, so a reader may observe a
+     * higher version before a lower one becomes visible. Re-reading this window of the version
+     * space (5 seconds) covers that gap and clock skew between nodes; repeated rows are idempotent.
+     */
+    private static final long CHANGE_VERSION_OVERLAP = 5_000L * 1_000_000L;
+    private static final List<String> PROJECTED_COLUMNS = List.of(
+            "ticket_id",
+            "group_msg_id",
+            "user_id",
+            "username",
+            "client_name",
+            "business",
+            "channel_id",
+            "city",
+            "location_name",
+            "problem",
+            "created_at",
+            "created_date",
+            "created_time",
+            "last_sender",
+            "last_sender_time",
+            "last_activity",
+            "categories",
+            "rating",
+            "unread_count"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PanelTimestampSqlSupport timestampSqlSupport;
+    private final RuntimeWorkerCheckpointService checkpointService;
+    private final RuntimeCoordinationService runtimeCoordinationService;
+    private final TransactionTemplate afterCommitTransactionTemplate;
+    private final UiEventOutboxAppendService uiEventOutboxAppendService;
+
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
+    private final AtomicLong lastChatHistoryId = new AtomicLong(0);
+    private final AtomicLong lastFeedbackId = new AtomicLong(0);
+    private final AtomicLong lastUiEventId = new AtomicLong(0);
+    private volatile Boolean available;
+    private volatile Boolean feedbackHasTicketId;
+    private volatile Boolean uiEventOutboxAvailable;
+    private volatile boolean ready;
+
+    DialogListProjectionService(JdbcTemplate jdbcTemplate, PanelTimestampSqlSupport timestampSqlSupport) {
+        this(
+                jdbcTemplate,
+                timestampSqlSupport,
+                new RuntimeWorkerCheckpointService(jdbcTemplate),
+                null,
+                null,
+                new UiEventOutboxAppendService(jdbcTemplate)
+        );
+    }
+
+    @Autowired
+    public DialogListProjectionService(JdbcTemplate jdbcTemplate,
+                                       PanelTimestampSqlSupport timestampSqlSupport,
+                                       RuntimeWorkerCheckpointService checkpointService,
+                                       RuntimeCoordinationService runtimeCoordinationService,
+                                       PlatformTransactionManager transactionManager,
+                                       UiEventOutboxAppendService uiEventOutboxAppendService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.uiEventOutboxAppendService = uiEventOutboxAppendService;
+        this.timestampSqlSupport = timestampSqlSupport;
+        this.checkpointService = checkpointService;
+        this.runtimeCoordinationService = runtimeCoordinationService;
+        if (transactionManager != null) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.afterCommitTransactionTemplate = template;
+        } else {
+            this.afterCommitTransactionTemplate = null;
+        }
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (!isAvailable()) {
+            log.info("Dialog list projection table is missing, list reads stay on source tables");
+            return;
+        }
+        lastChatHistoryId.set(checkpointService.readLongCursorOrInitialize(CHAT_HISTORY_CHECKPOINT_KEY, () -> readMaxId("chat_history")));
+        lastFeedbackId.set(checkpointService.readLongCursorOrInitialize(FEEDBACK_CHECKPOINT_KEY, () -> readMaxId("feedbacks")));
+        if (uiEventOutboxAvailable()) {
+            lastUiEventId.set(checkpointService.readLongCursorOrInitialize(UI_EVENT_OUTBOX_CHECKPOINT_KEY, () -> readMaxId("ui_event_outbox")));
+        }
+        ready = readReadyFlag();
+        log.info("Dialog list projection initialized (ready={}, chatHistoryId={}, feedbackId={}, uiEventId={})",
+                ready, lastChatHistoryId.get(), lastFeedbackId.get(), lastUiEventId.get());
+    }
+
+    public boolean isReady() {
+        return ready && isAvailable();
+    }
+
+    /**
+     * Highest change version of the projection; {@code 0} while the projection is not ready.
+     */
+    public long currentVersion() {
+        if (!isReady()) {
+            return 0L;
+        }
+        Long version = jdbcTemplate.queryForObject("""
+                SELECT MAX(version)
+                  FROM (
+                        SELECT MAX(change_version) AS version FROM dialog_list_projection
+                        UNION ALL
+                        SELECT MAX(change_version) AS version FROM dialog_list_tombstones
+                       ) versions
+                """, Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Ticket ids upserted or removed after {@code since}. Asks the client for a full reload when the
+     * projection is not ready, when tombstones newer than {@code since} may have been purged or when
+     * more than {@code limit} tickets changed.
+     */
+    public ChangeSet changesSince(long since, int limit) {
+        if (!isReady()) {
+            return ChangeSet.reset(0L);
+        }
+        long version = currentVersion();
+        long horizon = checkpointService.readLongCursor(TOMBSTONE_HORIZON_CHECKPOINT_KEY).orElse(0L);
+        if (since <= 0 || since < horizon || since > version + CHANGE_VERSION_OVERLAP) {
+            return ChangeSet.reset(version);
+        }
+        long from = Math.max(0L, since - CHANGE_VERSION_OVERLAP);
+        int safeLimit = Math.max(1, limit);
+        List<String> upserted = jdbcTemplate.queryForList("""
+                SELECT ticket_id
+                  FROM dialog_list_projection
+                 WHERE change_version > ?
+                   AND change_version <= ?
+                 ORDER BY change_version
+                 LIMIT ?
+                """, String.class, from, version, safeLimit + 1);
+        List<String> removed = jdbcTemplate.queryForList("""
+                SELECT ticket_id
+                  FROM dialog_list_tombstones
+                 WHERE change_version > ?
+                   AND change_version <= ?
+                 ORDER BY change_version
+                 LIMIT ?
+                """, String.class, from, version, safeLimit + 1);
+        if (upserted.size() + removed.size() > safeLimit) {
+            return ChangeSet.reset(version);
+        }
+        return new ChangeSet(version, false, upserted, removed);
+    }
+
+    /**
+     * Recomputes the projection row of a ticket. Inside a transaction the refresh is deferred until
+     * commit so that it observes the caller's writes.
+     */
+    public void refreshTicket(String ticketId) {
+        if (!StringUtils.hasText(ticketId) || !isAvailable()) {
+            return;
+        }
+        String normalizedTicketId = ticketId.trim();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshTickets(List.of(normalizedTicketId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (afterCommitTransactionTemplate == null) {
+                    refreshTickets(List.of(normalizedTicketId));
+                    return;
+                }
+                afterCommitTransactionTemplate.executeWithoutResult(status -> refreshTickets(List.of(normalizedTicketId)));
+            }
+        });
+    }
+
+    public int refreshTickets(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty() || !isAvailable()) {
+            return 0;
+        }
+        List<String> normalized = ticketIds.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        int refreshed = 0;
+        for (int from = 0; from < normalized.size(); from += REFRESH_BATCH_SIZE) {
+            List<String> batch = normalized.subList(from, Math.min(normalized.size(), from + REFRESH_BATCH_SIZE));
+            try {
+                refreshed += upsertBatch(batch);
+            } catch (DataAccessException ex) {
+                log.warn("Unable to refresh dialog list projection for {} tickets: {}",
+                        batch.size(), DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        }
+        return refreshed;
+    }
+
+    /**
+     * Recomputes every row from the source tables and marks the projection as ready for reads.
+     */
+    public int rebuild() {
+        if (!isAvailable()) {
+            return 0;
+        }
+        checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, null);
+        return rebuildBatches(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compares a sample of the most recently active rows and all missing tickets with the source
+     * tables, removes rows of deleted tickets and repairs every drifted row it finds.
+     */
+    public ConsistencyReport checkConsistency(int sampleSize) {
+        if (!isAvailable()) {
+            return ConsistencyReport.empty();
+        }
+        int limit = Math.max(1, sampleSize);
+        List<String> missing = jdbcTemplate.queryForList("""
+                SELECT t.ticket_id
+                  FROM tickets t
+                  LEFT JOIN dialog_list_projection p ON p.ticket_id = t.ticket_id
+                 WHERE p.ticket_id IS NULL
+                 LIMIT ?
+                """, String.class, limit);
+        int orphaned = deleteOrphanedRows();
+        List<String> sample = jdbcTemplate.queryForList(
+                "SELECT ticket_id FROM dialog_list_projection ORDER BY " + activityOrderSql("dialog_list_projection")
+                        + ", ticket_id DESC LIMIT ?",
+                String.class,
+                limit
+        );
+        List<String> stale = new ArrayList<>();
+        if (!sample.isEmpty()) {
+            String placeholders = placeholders(sample.size());
+            Map<String, List<String>> expected = loadRowValues(sourceSelectSql("WHERE t.ticket_id IN (" + placeholders + ")"), sample);
+            Map<String, List<String>> actual = loadRowValues(
+                    "SELECT " + String.join(", ", PROJECTED_COLUMNS) + " FROM dialog_list_projection WHERE ticket_id IN (" + placeholders + ")",
+                    sample
+            );
+            for (String ticketId : sample) {
+                if (!Objects.equals(expected.get(ticketId), actual.get(ticketId))) {
+                    stale.add(ticketId);
+                }
+            }
+        }
+        Set<String> repair = new LinkedHashSet<>(missing);
+        repair.addAll(stale);
+        int repaired = refreshTickets(repair);
+        return new ConsistencyReport(sample.size(), missing.size(), stale.size(), orphaned, repaired);
+    }
+
+    @Scheduled(fixedDelayString = "${panel.dialogs.projection.sync-interval-ms:5000}")
+    void synchronize() {
+        if (!isAvailable()) {
+            return;
+        }
+        runLeased("dialog-list-projection-sync", () -> {
+            try {
+                if (!ready) {
+                    ready = readReadyFlag();
+                }
+                if (!ready) {
+                    rebuildBatches(REBUILD_BATCHES_PER_PASS);
+                }
+                catchUpChatHistory();
+                catchUpFeedbacks();
+                catchUpUiEvents();
+            } catch (DataAccessException ex) {
+                log.warn("Unable to synchronize dialog list projection: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${panel.dialogs.projection.consistency-interval-ms:900000}",
+            fixedDelayString = "${panel.dialogs.projection.consistency-interval-ms:900000}"
+    )
+    void verifyConsistency() {
+        if (!isReady()) {
+            return;
+        }
+        runLeased("dialog-list-projection-consistency", () -> {
+            try {
+                ConsistencyReport report = checkConsistency(CONSISTENCY_SAMPLE_SIZE);
+                if (report.hasDrift()) {
+                    log.warn("Dialog list projection drift repaired: {}", report);
+                }
+                purgeTombstones();
+            } catch (DataAccessException ex) {
+                log.warn("Unable to verify dialog list projection: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        });
+    }
+
+    private int rebuildBatches(int maxBatches) {
+        String cursor = checkpointService.readCursorText(REBUILD_CHECKPOINT_KEY).orElse("");
+        int refreshed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<String> ticketIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT ticket_id FROM tickets WHERE ticket_id > ? ORDER BY ticket_id LIMIT ?",
+                    String.class,
+                    cursor,
+                    REFRESH_BATCH_SIZE
+            );
+            if (ticketIds.isEmpty()) {
+                deleteOrphanedRows();
+                checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, null);
+                checkpointService.saveCursor(READY_CHECKPOINT_KEY, "1");
+                ready = true;
+                log.info("Dialog list projection backfill completed");
+                return refreshed;
+            }
+            refreshed += upsertBatch(ticketIds);
+            cursor = ticketIds.get(ticketIds.size() - 1);
+            checkpointService.saveCursor(REBUILD_CHECKPOINT_KEY, cursor);
+        }
+        return refreshed;
+    }
+
+    private void catchUpChatHistory() {
+        long afterId = lastChatHistoryId.get();
+        long maxId = catchUp("SELECT id, ticket_id FROM chat_history WHERE id > ? ORDER BY id LIMIT ?", afterId);
+        if (maxId > afterId) {
+            lastChatHistoryId.set(maxId);
+            checkpointService.saveLongCursor(CHAT_HISTORY_CHECKPOINT_KEY, maxId);
+        }
+    }
+
+    private void catchUpFeedbacks() {
+        if (!feedbackHasTicketId()) {
+            return;
+        }
+        long afterId = lastFeedbackId.get();
+        long maxId = catchUp("SELECT id, ticket_id FROM feedbacks WHERE id > ? ORDER BY id LIMIT ?", afterId);
+        if (maxId > afterId) {
+            lastFeedbackId.set(maxId);
+            checkpointService.saveLongCursor(FEEDBACK_CHECKPOINT_KEY, maxId);
+        }
+    }
+
+    private void catchUpUiEvents() {
+        if (!uiEventOutboxAvailable()) {
+            return;
+        }
+        long afterId = lastUiEventId.get();
+        long maxId = catchUp("SELECT id, ticket_id FROM ui_event_outbox WHERE id > ? ORDER BY id LIMIT ?", afterId);
+        if (maxId > afterId) {
+            lastUiEventId.set(maxId);
+            checkpointService.saveLongCursor(UI_EVENT_OUTBOX_CHECKPOINT_KEY, maxId);
+        }
+    }
+
+    private void purgeTombstones() {
+        long horizon = (System.currentTimeMillis() - TOMBSTONE_RETENTION.toMillis()) * 1_000_000L;
+        jdbcTemplate.update("DELETE FROM dialog_list_tombstones WHERE change_version < ?", horizon);
+        checkpointService.saveLongCursor(TOMBSTONE_HORIZON_CHECKPOINT_KEY, horizon);
+    }
+
+    private long catchUp(String sql, long afterId) {
+        Set<String> ticketIds = new LinkedHashSet<>();
+        AtomicLong maxId = new AtomicLong(afterId);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            maxId.accumulateAndGet(rs.getLong("id"), Math::max);
+            String ticketId = rs.getString("ticket_id");
+            if (StringUtils.hasText(ticketId)) {
+                ticketIds.add(ticketId.trim());
+            }
+        }, afterId, CATCH_UP_LIMIT);
+        refreshTickets(ticketIds);
+        return maxId.get();
+    }
+
+    private int upsertBatch(List<String> ticketIds) {
+        String placeholders = placeholders(ticketIds.size());
+        String assignments = PROJECTED_COLUMNS.stream()
+                .filter(column -> !"ticket_id".equals(column))
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(",\n                       "));
+        String sql = """
+                INSERT INTO dialog_list_projection (%1$s, change_version, refreshed_at)
+                SELECT src.*, ?, CURRENT_TIMESTAMP
+                  FROM (
+                %2$s
+                       ) src
+                 WHERE 1 = 1
+                ON CONFLICT (ticket_id) DO UPDATE
+                   SET %3$s,
+                       change_version = excluded.change_version,
+                       refreshed_at = excluded.refreshed_at
+                """.formatted(
+                String.join(", ", PROJECTED_COLUMNS),
+                sourceSelectSql("WHERE t.ticket_id IN (" + placeholders + ")"),
+                assignments
+        );
+        List<Object> params = new ArrayList<>(ticketIds.size() + 1);
+        params.add(uiEventOutboxAppendService.nextChangeVersion());
+        params.addAll(ticketIds);
+        int upserted = jdbcTemplate.update(sql, params.toArray());
+        jdbcTemplate.update("DELETE FROM dialog_list_tombstones WHERE ticket_id IN (" + placeholders + ")", ticketIds.toArray());
+        removeRows(" AND ticket_id IN (" + placeholders + ")", ticketIds.toArray());
+        return upserted;
+    }
+
+    private int deleteOrphanedRows() {
+        return removeRows("", new Object[0]);
+    }
+
+    /**
+     * Deletes rows of tickets that no longer exist and leaves a tombstone for each of them so that
+     * delta readers learn about the removal.
+     */
+    private int removeRows(String extraCondition, Object[] extraParams) {
+        String orphanCondition = "NOT EXISTS (SELECT 1 FROM tickets t WHERE t.ticket_id = dialog_list_projection.ticket_id)"
+                + extraCondition;
+        List<Object> params = new ArrayList<>(extraParams.length + 1);
+        params.add(uiEventOutboxAppendService.nextChangeVersion());
+        params.addAll(List.of(extraParams));
+        jdbcTemplate.update("""
+                INSERT INTO dialog_list_tombstones (ticket_id, change_version, removed_at)
+                SELECT ticket_id, ?, CURRENT_TIMESTAMP
+                  FROM dialog_list_projection
+                 WHERE %s
+                ON CONFLICT (ticket_id) DO UPDATE
+                   SET change_version = excluded.change_version,
+                       removed_at = excluded.removed_at
+                """.formatted(orphanCondition), params.toArray());
+        return jdbcTemplate.update("DELETE FROM dialog_list_projection WHERE " + orphanCondition, extraParams);
+    }
+
+    /**
+     * Source query of the projection; columns follow {@link #PROJECTED_COLUMNS}. {@code last_activity}
+     * is stored in the same sortable form the dialog list cursor uses.
+     */
+    private String sourceSelectSql(String whereSql) {
+        String latestHistoryOrder = timestampSqlSupport.orderByTimestampDesc("ch.timestamp")
+                + ", COALESCE(ch.tg_message_id, 0) DESC, ch.id DESC";
+        String latestMessageOrder = timestampSqlSupport.orderByTimestampDesc("m2.created_at") + ", m2.group_msg_id DESC";
+        String lastActivity = """
+                COALESCE(
+                    (
+                        SELECT timestamp
+                          FROM chat_history ch
+                         WHERE ch.ticket_id = t.ticket_id
+                         ORDER BY %s
+                         LIMIT 1
+                    ),
+                    COALESCE(m.created_at, t.created_at)
+                )""".formatted(latestHistoryOrder);
+        String unreadBoundary = """
+                COALESCE(tr.last_read_at, (
+                    SELECT MAX(op.timestamp)
+                      FROM chat_history op
+                     WHERE op.ticket_id = t.ticket_id
+                       AND lower(op.sender) IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                ))""";
+        String rating = feedbackHasTicketId()
+                ? """
+                  (
+                      SELECT rating
+                        FROM feedbacks f
+                       WHERE f.ticket_id = t.ticket_id
+                       ORDER BY f.timestamp DESC, f.id DESC
+                       LIMIT 1
+                  )"""
+                : "NULL";
+        return """
+                SELECT t.ticket_id AS ticket_id,
+                       m.group_msg_id AS group_msg_id,
+                       COALESCE(m.user_id, t.user_id) AS user_id,
+                       m.username AS username,
+                       m.client_name AS client_name,
+                       m.business AS business,
+                       COALESCE(m.channel_id, t.channel_id) AS channel_id,
+                       m.city AS city,
+                       m.location_name AS location_name,
+                       m.problem AS problem,
+                       COALESCE(m.created_at, t.created_at) AS created_at,
+                       m.created_date AS created_date,
+                       m.created_time AS created_time,
+                       (
+                           SELECT sender
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                            ORDER BY %1$s
+                            LIMIT 1
+                       ) AS last_sender,
+                       (
+                           SELECT timestamp
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                            ORDER BY %1$s
+                            LIMIT 1
+                       ) AS last_sender_time,
+                       %2$s AS last_activity,
+                       (
+                           SELECT %3$s
+                             FROM ticket_categories tc
+                            WHERE tc.ticket_id = t.ticket_id
+                       ) AS categories,
+                       %4$s AS rating,
+                       (
+                           SELECT COUNT(*)
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                              AND lower(ch.sender) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                              AND (%5$s IS NULL OR ch.timestamp > %5$s)
+                       ) AS unread_count
+                  FROM tickets t
+                  LEFT JOIN messages m ON m.group_msg_id = (
+                      SELECT m2.group_msg_id
+                        FROM messages m2
+                       WHERE m2.ticket_id = t.ticket_id
+                       ORDER BY %6$s
+                       LIMIT 1
+                  )
+                  LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
+                 %7$s""".formatted(
+                latestHistoryOrder,
+                timestampSqlSupport.isSqliteMode() ? timestampSqlSupport.sortableTimestampExpression(lastActivity) : lastActivity,
+                timestampSqlSupport.stringAggregationExpression("tc.category", "', '", "tc.category"),
+                rating,
+                unreadBoundary,
+                latestMessageOrder,
+                whereSql
+        );
+    }
+
+    private Map<String, List<String>> loadRowValues(String sql, List<String> ticketIds) {
+        Map<String, List<String>> rows = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            List<String> values = new ArrayList<>(PROJECTED_COLUMNS.size());
+            for (String column : PROJECTED_COLUMNS) {
+                values.add(rs.getString(column));
+            }
+            rows.put(rs.getString("ticket_id"), values);
+        }, ticketIds.toArray());
+        return rows;
+    }
+
+    private String activityOrderSql(String alias) {
+        return timestampSqlSupport.isSqliteMode()
+                ? alias + ".last_activity DESC"
+                : alias + ".last_activity DESC NULLS LAST";
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void runLeased(String leaseName, Runnable task) {
+        if (runtimeCoordinationService == null) {
+            task.run();
+            return;
+        }
+        runtimeCoordinationService.runWithLease(leaseName, SYNC_LEASE_TTL, task);
+    }
+
+    private boolean readReadyFlag() {
+        return checkpointService.readCursorText(READY_CHECKPOINT_KEY).filter("1"::equals).isPresent();
+    }
+
+    private long readMaxId(String table) {
+        try {
+            Long value = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            return value != null ? value : 0L;
+        } catch (DataAccessException ex) {
+            log.warn("Unable to read max id from {}: {}", table, DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return 0L;
+        }
+    }
+
+    private boolean isAvailable() {
+        Boolean cached = available;
+        if (cached == null) {
+            cached = loadColumns(TABLE).contains("change_version");
+            available = cached;
+        }
+        return cached;
+    }
+
+    private boolean uiEventOutboxAvailable() {
+        Boolean cached = uiEventOutboxAvailable;
+        if (cached == null) {
+            cached = loadColumns("ui_event_outbox").contains("ticket_id");
+            uiEventOutboxAvailable = cached;
+        }
+        return cached;
+    }
+
+    private boolean feedbackHasTicketId() {
+        Boolean cached = feedbackHasTicketId;
+        if (cached == null) {
+            cached = loadColumns("feedbacks").contains("ticket_id");
+            feedbackHasTicketId = cached;
+        }
+        return cached;
+    }
+
+    private Set<String> loadColumns(String tableName) {
+        try {
+            return SchemaCapabilityRegistry.columns(schemaCapabilities, jdbcTemplate, tableName);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to inspect {} columns: {}", tableName, DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return Set.of();
+        }
+    }
+
+    public record ChangeSet(long version, boolean reset, List<String> upsertedTicketIds, List<String> removedTicketIds) {
+
+        static ChangeSet reset(long version) {
+            return new ChangeSet(version, true, List.of(), List.of());
+        }
+    }
+
+    public record ConsistencyReport(int checked, int missing, int stale, int orphaned, int repaired) {
+
+        static ConsistencyReport empty() {
+            return new ConsistencyReport(0, 0, 0, 0, 0);
+        }
+
+        public boolean hasDrift() {
+            return missing > 0 || stale > 0 || orphaned > 0;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.panel.service;
 
+import com.example.panel.model.dialog.DialogListChanges;
 import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.model.dialog.DialogListPage;
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.model.dialog.DialogMyDialogs;
 import com.example.panel.model.dialog.DialogSummary;
 import org.slf4j.Logger;
@@ -9,8 +12,10 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class DialogListReadService {
@@ -19,10 +24,12 @@ public class DialogListReadService {
 
     private static final int DEFAULT_SLA_TARGET_MINUTES = 24 * 60;
     private static final int DEFAULT_SLA_WARNING_MINUTES = 4 * 60;
+    private static final int MAX_CHANGES_PER_RESPONSE = 500;
 
     private final DialogLookupReadService dialogLookupReadService;
     private final SharedConfigService sharedConfigService;
     private final DialogSlaRuntimeService dialogSlaRuntimeService;
+    private volatile CachedSlaConfig cachedSlaConfig;
 
     public DialogListReadService(DialogLookupReadService dialogLookupReadService,
                                  SharedConfigService sharedConfigService,
@@ -33,6 +40,8 @@ public class DialogListReadService {
     }
 
     public Map<String, Object> loadListPayload(String operator) {
+        // Read before the list so that changes racing with this load are replayed by the next delta call.
+        long version = dialogLookupReadService.currentChangeVersion();
         DialogSummary summary = dialogLookupReadService.loadSummary();
         List<DialogListItem> dialogs = dialogLookupReadService.loadDialogs(operator);
         DialogMyDialogs myDialogs = dialogLookupReadService.groupMyActiveDialogs(dialogs, operator);
@@ -46,21 +55,137 @@ public class DialogListReadService {
                 "in_work", myDialogs.inWork()
         ));
         payload.put("sla_orchestration", buildSlaOrchestration(dialogs));
+        payload.put("version", version);
         payload.put("success", true);
 
         log.info("Loaded dialogs list payload: {} dialogs, summary stats loaded", dialogs.size());
         return payload;
     }
 
-    private Map<String, Object> buildSlaOrchestration(List<DialogListItem> dialogs) {
+    public Map<String, Object> loadListPagePayload(String operator, DialogListPageQuery query) {
+        DialogListPageQuery safeQuery = query != null ? query : DialogListPageQuery.firstPage();
+        SlaConfig slaConfig = resolveSlaConfig();
+        long nowMs = System.currentTimeMillis();
+        DialogListPageQuery effectiveQuery = applySlaWindow(safeQuery, slaConfig, nowMs);
+        DialogListPage page = effectiveQuery != null
+                ? dialogLookupReadService.loadDialogPage(operator, effectiveQuery)
+                : DialogListPage.empty();
+        List<DialogListItem> dialogs = page.items();
+        DialogMyDialogs myDialogs = dialogLookupReadService.groupMyActiveDialogs(dialogs, operator);
+
+        Map<String, Object> pageMeta = new LinkedHashMap<>();
+        pageMeta.put("limit", safeQuery.limit());
+        pageMeta.put("cursor", safeQuery.cursor());
+        pageMeta.put("next_cursor", page.nextCursor());
+        pageMeta.put("has_more", page.hasMore());
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("summary", dialogLookupReadService.loadSummary());
+        payload.put("dialogs", dialogs);
+        payload.put("my_dialogs", Map.of(
+                "new", myDialogs.newUnassigned(),
+                "unanswered", myDialogs.unanswered(),
+                "in_work", myDialogs.inWork()
+        ));
+        payload.put("sla_orchestration", buildSlaOrchestration(dialogs, slaConfig, nowMs));
+        payload.put("page", pageMeta);
+        payload.put("success", true);
+        return payload;
+    }
+
+    /**
+     * Delta for clients that already hold the full list at version {@code since}: changed rows and ids
+     * of removed tickets. With {@code reset=true} the client has to reload the full list.
+     * {@code sla_orchestration} carries signals for the changed rows only, plus the thresholds the client
+     * uses to re-derive SLA state of unchanged rows from their {@code created_at}.
+     */
+    public Map<String, Object> loadChangesPayload(String operator, long since) {
+        DialogListChanges changes = dialogLookupReadService.loadDialogChanges(operator, since, MAX_CHANGES_PER_RESPONSE);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("version", changes.version());
+        payload.put("since", since);
+        payload.put("reset", changes.reset());
+        payload.put("upserted", changes.upserted());
+        payload.put("removed", changes.removed());
+        if (!changes.reset()) {
+            payload.put("summary", dialogLookupReadService.loadSummary());
+            payload.put("sla_orchestration", buildSlaOrchestration(changes.upserted()));
+        }
+        payload.put("success", true);
+        return payload;
+    }
+
+    /**
+     * Translates the requested SLA state into a created_at window (and lifecycle status keys) so the
+     * lookup can filter in SQL with the same thresholds {@link DialogSlaRuntimeService#resolveSlaState} uses.
+     * Returns {@code null} when the requested statuses cannot match the SLA state at all.
+     */
+    private DialogListPageQuery applySlaWindow(DialogListPageQuery query, SlaConfig slaConfig, long nowMs) {
+        String slaState = query.slaState();
+        if (slaState == null) {
+            return query;
+        }
+        boolean closedState = "closed".equals(slaState);
+        Set<String> statusKeys = restrictStatusKeys(query.statusKeys(),
+                closedState ? DialogListPageQuery.closedStatusKeys() : DialogListPageQuery.openStatusKeys());
+        if (statusKeys.isEmpty()) {
+            return null;
+        }
+        if (closedState) {
+            return query.withSlaWindow(statusKeys, null, null);
+        }
+        Instant deadlineBoundary = Instant.ofEpochMilli(nowMs - slaConfig.targetMinutes() * 60_000L);
+        Instant warningBoundary = deadlineBoundary.plusMillis(slaConfig.warningMinutes() * 60_000L);
+        return switch (slaState) {
+            case "breached" -> query.withSlaWindow(statusKeys, null, deadlineBoundary);
+            case "at_risk" -> query.withSlaWindow(statusKeys, deadlineBoundary, warningBoundary);
+            default -> query.withSlaWindow(statusKeys, warningBoundary, null);
+        };
+    }
+
+    private Set<String> restrictStatusKeys(Set<String> requested, Set<String> allowed) {
+        if (requested == null || requested.isEmpty()) {
+            return allowed;
+        }
+        Set<String> restricted = new LinkedHashSet<>(requested);
+        restricted.retainAll(allowed);
+        return restricted;
+    }
+
+    private SlaConfig resolveSlaConfig() {
+        long version = sharedConfigService.settingsVersion();
+        CachedSlaConfig cached = cachedSlaConfig;
+        if (version > 0 && cached != null && cached.version() == version) {
+            return cached.config();
+        }
+        SlaConfig config = loadSlaConfig();
+        if (version > 0) {
+            cachedSlaConfig = new CachedSlaConfig(version, config);
+        }
+        return config;
+    }
+
+    private SlaConfig loadSlaConfig() {
         Map<String, Object> settings = sharedConfigService.loadSettings();
         int targetMinutes = dialogSlaRuntimeService.resolveDialogConfigMinutes(settings, "sla_target_minutes", DEFAULT_SLA_TARGET_MINUTES);
         int warningMinutes = Math.min(dialogSlaRuntimeService.resolveDialogConfigMinutes(settings, "sla_warning_minutes", DEFAULT_SLA_WARNING_MINUTES), targetMinutes);
         int criticalMinutes = dialogSlaRuntimeService.resolveDialogConfigMinutes(settings, "sla_critical_minutes", 30);
         boolean escalationEnabled = dialogSlaRuntimeService.resolveDialogConfigBoolean(settings, "sla_critical_escalation_enabled", true);
+        return new SlaConfig(targetMinutes, warningMinutes, criticalMinutes, escalationEnabled);
+    }
+
+    private Map<String, Object> buildSlaOrchestration(List<DialogListItem> dialogs) {
+        return buildSlaOrchestration(dialogs, resolveSlaConfig(), System.currentTimeMillis());
+    }
+
+    private Map<String, Object> buildSlaOrchestration(List<DialogListItem> dialogs, SlaConfig slaConfig, long nowMs) {
+        int targetMinutes = slaConfig.targetMinutes();
+        int warningMinutes = slaConfig.warningMinutes();
+        int criticalMinutes = slaConfig.criticalMinutes();
+        boolean escalationEnabled = slaConfig.escalationEnabled();
 
         Map<String, Object> ticketSignals = new LinkedHashMap<>();
-        long nowMs = System.currentTimeMillis();
         for (DialogListItem dialog : dialogs) {
             String ticketId = dialog.ticketId();
             if (ticketId == null || ticketId.isBlank()) {
@@ -93,4 +218,9 @@ public class DialogListReadService {
         );
     }
 
+    private record SlaConfig(int targetMinutes, int warningMinutes, int criticalMinutes, boolean escalationEnabled) {
+    }
+
+    private record CachedSlaConfig(long version, SlaConfig config) {
+    }
 }
@@ -1,23 +1,32 @@
 package com.example.panel.service;
 
 import com.example.panel.model.dialog.DialogChannelStat;
+import com.example.panel.model.dialog.DialogListChanges;
+import com.example.panel.model.dialog.DialogListCursor;
 import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.model.dialog.DialogListPage;
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.model.dialog.DialogMyDialogs;
 import com.example.panel.model.dialog.DialogSummary;
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import com.example.panel.support.PanelTimestampSqlSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -42,15 +51,33 @@ public class DialogLookupReadService {
     private final JdbcTemplate usersJdbcTemplate;
     private final PanelUserPhotoService panelUserPhotoService;
     private final PanelTimestampSqlSupport timestampSqlSupport;
+    private final DialogListProjectionService projectionService;
+
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
 
     public DialogLookupReadService(JdbcTemplate jdbcTemplate,
                                    @Qualifier("usersJdbcTemplate") JdbcTemplate usersJdbcTemplate,
                                    PanelUserPhotoService panelUserPhotoService,
                                    PanelTimestampSqlSupport timestampSqlSupport) {
+        this(jdbcTemplate, usersJdbcTemplate, panelUserPhotoService, timestampSqlSupport, null);
+    }
+
+    @Autowired
+    public DialogLookupReadService(JdbcTemplate jdbcTemplate,
+                                   @Qualifier("usersJdbcTemplate") JdbcTemplate usersJdbcTemplate,
+                                   PanelUserPhotoService panelUserPhotoService,
+                                   PanelTimestampSqlSupport timestampSqlSupport,
+                                   DialogListProjectionService projectionService) {
         this.jdbcTemplate = jdbcTemplate;
         this.usersJdbcTemplate = usersJdbcTemplate;
         this.panelUserPhotoService = panelUserPhotoService;
         this.timestampSqlSupport = timestampSqlSupport;
+        this.projectionService = projectionService;
+    }
+
+    private boolean projectionReady() {
+        return projectionService != null && projectionService.isReady();
     }
 
     private String latestMessageOrderSql(String alias) {
@@ -99,176 +126,13 @@ public class DialogLookupReadService {
 
     public List<DialogListItem> loadDialogs(String currentOperator) {
         try {
-            Set<String> feedbackColumns = loadTableColumns("feedbacks");
-            boolean feedbackHasTicketId = feedbackColumns.contains("ticket_id");
-            boolean feedbackHasId = feedbackColumns.contains("id");
-            String feedbackOrderBy = feedbackHasTicketId ? "f.timestamp DESC, f.id DESC" : "f.timestamp DESC";
-            String latestMessageOrder = latestMessageOrderSql("m3");
-            String latestMessageSnapshotOrder = latestMessageOrderSql("m2");
-            String latestHistoryOrder = latestChatHistoryOrderSql("ch");
-            String unreadBoundary = unreadBoundarySql("t");
-            String categoriesAggregation = categoryAggregationSql("tc");
-            String lastActivityExpression = """
-                    COALESCE(
-                        (
-                            SELECT timestamp
-                              FROM chat_history ch
-                             WHERE ch.ticket_id = t.ticket_id
-                             ORDER BY %s
-                             LIMIT 1
-                        ),
-                        COALESCE(m.created_at, t.created_at)
-                    )
-                    """.formatted(latestHistoryOrder);
-            String ratingSelect = feedbackHasTicketId
-                    ? """
-                       (
-                           SELECT rating
-                             FROM feedbacks f
-                            WHERE f.ticket_id = m.ticket_id
-                            ORDER BY %s
-                            LIMIT 1
-                       ) AS rating,
-                       """
-                    .formatted(feedbackOrderBy)
-                    : "NULL AS rating,";
-            String sql = """
-                    SELECT t.ticket_id, m.group_msg_id AS request_number,
-                           COALESCE(
-                               m.user_id,
-                               t.user_id,
-                               (
-                                   SELECT m3.user_id
-                                     FROM messages m3
-                                    WHERE m3.ticket_id = t.ticket_id
-                                      AND m3.user_id IS NOT NULL
-                                    ORDER BY %s
-                                    LIMIT 1
-                               )
-                           ) AS user_id,
-                           m.username, m.client_name, m.business,
-                           COALESCE(m.channel_id, t.channel_id) AS channel_id,
-                           c.channel_name AS channel_name,
-                           m.city, m.location_name,
-                           m.problem,
-                           COALESCE(m.created_at, t.created_at) AS created_at,
-                           t.status, t.resolved_by, t.resolved_at,
-                           COALESCE(tas.is_processing, 0) AS ai_processing,
-                           tr.responsible AS responsible,
-                           m.created_date AS created_date,
-                           m.created_time AS created_time,
-                           cs.status AS client_status,
-                           %s
-                           (
-                               SELECT sender
-                                 FROM chat_history ch
-                                WHERE ch.ticket_id = t.ticket_id
-                                ORDER BY %s
-                                LIMIT 1
-                           ) AS last_sender,
-                           (
-                               SELECT timestamp
-                                 FROM chat_history ch
-                                WHERE ch.ticket_id = t.ticket_id
-                                ORDER BY %s
-                                LIMIT 1
-                           ) AS last_sender_time,
-                           (
-                               SELECT %s
-                                 FROM ticket_categories tc
-                                WHERE tc.ticket_id = t.ticket_id
-                           ) AS categories,
-                           CASE
-                               WHEN tr.responsible IS NULL OR trim(tr.responsible) = '' OR lower(COALESCE(tr.responsible, '')) = lower(?) THEN (
-                                   SELECT COUNT(*)
-                                     FROM chat_history ch
-                                    WHERE ch.ticket_id = t.ticket_id
-                                      AND lower(ch.sender) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
-                                      AND (%s IS NULL OR ch.timestamp > %s)
-                               )
-                               ELSE 0
-                           END AS unread_count
-                      FROM tickets t
-                      LEFT JOIN messages m ON m.group_msg_id = (
-                          SELECT m2.group_msg_id
-                            FROM messages m2
-                           WHERE m2.ticket_id = t.ticket_id
-                           ORDER BY %s
-                           LIMIT 1
-                      )
-                      LEFT JOIN channels c ON c.id = COALESCE(m.channel_id, t.channel_id)
-                      LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
-                      LEFT JOIN ticket_ai_agent_state tas ON tas.ticket_id = t.ticket_id
-                      LEFT JOIN client_statuses cs ON cs.user_id = COALESCE(
-                               m.user_id,
-                               t.user_id,
-                               (
-                                   SELECT m3.user_id
-                                     FROM messages m3
-                                    WHERE m3.ticket_id = t.ticket_id
-                                      AND m3.user_id IS NOT NULL
-                                    ORDER BY %s
-                                    LIMIT 1
-                               )
-                           )
-                           AND cs.updated_at = (
-                               SELECT MAX(updated_at) FROM client_statuses WHERE user_id = COALESCE(
-                                   m.user_id,
-                                   t.user_id,
-                                   (
-                                       SELECT m3.user_id
-                                         FROM messages m3
-                                        WHERE m3.ticket_id = t.ticket_id
-                                          AND m3.user_id IS NOT NULL
-                                        ORDER BY %s
-                                        LIMIT 1
-                                   )
-                               )
-                           )
-                      ORDER BY %s,
-                               t.ticket_id DESC
-                    """.formatted(
-                    latestMessageOrder,
-                    ratingSelect,
-                    latestHistoryOrder,
-                    latestHistoryOrder,
-                    categoriesAggregation,
-                    unreadBoundary,
-                    unreadBoundary,
-                    latestMessageSnapshotOrder,
-                    latestMessageOrder,
-                    latestMessageOrder,
-                    timestampSqlSupport.orderByTimestampDesc(lastActivityExpression)
-            );
-            List<DialogListItem> items = jdbcTemplate.query(sql, (rs, rowNum) -> new DialogListItem(
-                    rs.getString("ticket_id"),
-                    rs.getString("request_number"),
-                    rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
-                    rs.getString("username"),
-                    rs.getString("client_name"),
-                    rs.getString("business"),
-                    rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null,
-                    rs.getString("channel_name"),
-                    rs.getString("city"),
-                    rs.getString("location_name"),
-                    rs.getString("problem"),
-                    rs.getString("created_at"),
-                    rs.getString("status"),
-                    rs.getObject("ai_processing") != null && rs.getInt("ai_processing") > 0,
-                    rs.getString("resolved_by"),
-                    rs.getString("resolved_at"),
-                    rs.getString("responsible"),
-                    resolveCreatedDate(rs.getString("created_date"), rs.getString("created_at")),
-                    resolveCreatedTime(rs.getString("created_time"), rs.getString("created_at")),
-                    rs.getString("client_status"),
-                    rs.getString("last_sender"),
-                    rs.getString("last_sender_time"),
-                    rs.getObject("unread_count") != null ? rs.getInt("unread_count") : 0,
-                    rs.getObject("rating") != null ? rs.getInt("rating") : null,
-                    rs.getString("categories"),
-                    null,
-                    null
-            ), currentOperator);
+            String sql = projectionReady()
+                    ? projectionRowsSql(" ORDER BY " + projectionActivityOrderSql() + ", p.ticket_id DESC\n")
+                    : dialogRowsSql("""
+                     ORDER BY %s,
+                              t.ticket_id DESC
+                    """.formatted(timestampSqlSupport.orderByTimestampDesc(lastActivitySql("t", "m"))));
+            List<DialogListItem> items = jdbcTemplate.query(sql, (rs, rowNum) -> mapDialogListItem(rs), currentOperator);
             return assignDailyRequestNumbers(enrichResponsibleProfiles(items));
         } catch (DataAccessException ex) {
             log.warn("Unable to load dialogs, returning empty list: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
@@ -276,6 +140,259 @@ public class DialogLookupReadService {
         }
     }
 
+    public DialogListPage loadDialogPage(String currentOperator, DialogListPageQuery query) {
+        DialogListPageQuery safeQuery = query != null ? query : DialogListPageQuery.firstPage();
+        DialogListCursor cursor = DialogListCursor.decode(safeQuery.cursor());
+        boolean fromProjection = projectionReady();
+        try {
+            List<DialogListCursor> keys = loadDialogPageKeys(currentOperator, safeQuery, cursor, fromProjection);
+            boolean hasMore = keys.size() > safeQuery.limit();
+            List<DialogListCursor> pageKeys = hasMore ? keys.subList(0, safeQuery.limit()) : keys;
+            if (pageKeys.isEmpty()) {
+                return DialogListPage.empty();
+            }
+            List<String> ticketIds = pageKeys.stream().map(DialogListCursor::ticketId).distinct().toList();
+            List<DialogListItem> numbered = loadDialogsByTicketIds(currentOperator, ticketIds, fromProjection);
+            String nextCursor = hasMore ? pageKeys.get(pageKeys.size() - 1).encode() : null;
+            return new DialogListPage(numbered, nextCursor, hasMore);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to load dialogs page, returning empty page: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return DialogListPage.empty();
+        }
+    }
+
+    /**
+     * Version of the dialog list the next {@link #loadDialogChanges} call can start from; {@code 0}
+     * while the list is not served from the projection.
+     */
+    public long currentChangeVersion() {
+        if (!projectionReady()) {
+            return 0L;
+        }
+        try {
+            return projectionService.currentVersion();
+        } catch (DataAccessException ex) {
+            log.warn("Unable to read dialog list version: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return 0L;
+        }
+    }
+
+    public DialogListChanges loadDialogChanges(String currentOperator, long since, int limit) {
+        if (!projectionReady()) {
+            return DialogListChanges.reset(0L);
+        }
+        try {
+            DialogListProjectionService.ChangeSet changes = projectionService.changesSince(since, limit);
+            if (changes.reset()) {
+                return DialogListChanges.reset(changes.version());
+            }
+            List<DialogListItem> upserted = changes.upsertedTicketIds().isEmpty()
+                    ? List.of()
+                    : loadDialogsByTicketIds(currentOperator, changes.upsertedTicketIds(), true);
+            return new DialogListChanges(changes.version(), false, upserted, changes.removedTicketIds());
+        } catch (DataAccessException ex) {
+            log.warn("Unable to load dialog changes, requesting full reload: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return DialogListChanges.reset(0L);
+        }
+    }
+
+    /**
+     * Dialog list rows of the given tickets without operator-specific unread counters; tickets that
+     * no longer exist are simply absent from the result.
+     */
+    public List<DialogListItem> loadDialogsByTicketIds(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return List.of();
+        }
+        return loadDialogsByTicketIds(null, List.copyOf(ticketIds), projectionReady());
+    }
+
+    /**
+     * Like {@link #loadDialogsByTicketIds(Collection)}, but without daily request numbers, which cost a
+     * query per creation day; for background indexes that never show them.
+     */
+    public List<DialogListItem> loadDialogRowsByTicketIds(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return List.of();
+        }
+        return loadDialogRows(null, List.copyOf(ticketIds), projectionReady());
+    }
+
+    private List<DialogListItem> loadDialogsByTicketIds(String currentOperator, List<String> ticketIds, boolean fromProjection) {
+        return assignDailyRequestNumbersByDay(loadDialogRows(currentOperator, ticketIds, fromProjection));
+    }
+
+    private List<DialogListItem> loadDialogRows(String currentOperator, List<String> ticketIds, boolean fromProjection) {
+        String placeholders = ticketIds.stream().map(ticketId -> "?").collect(Collectors.joining(", "));
+        String sql = fromProjection
+                ? projectionRowsSql(" WHERE p.ticket_id IN (" + placeholders + ")\n")
+                : dialogRowsSql(" WHERE t.ticket_id IN (" + placeholders + ")\n");
+        List<Object> params = new ArrayList<>();
+        params.add(currentOperator);
+        params.addAll(ticketIds);
+        List<DialogListItem> rows = jdbcTemplate.query(sql, (rs, rowNum) -> mapDialogListItem(rs), params.toArray());
+
+        Map<String, List<DialogListItem>> rowsByTicketId = rows.stream()
+                .collect(Collectors.groupingBy(DialogListItem::ticketId, LinkedHashMap::new, Collectors.toList()));
+        List<DialogListItem> ordered = new ArrayList<>(rows.size());
+        for (String ticketId : ticketIds) {
+            ordered.addAll(rowsByTicketId.getOrDefault(ticketId, List.of()));
+        }
+        return enrichResponsibleProfiles(ordered);
+    }
+
+    private List<DialogListCursor> loadDialogPageKeys(String currentOperator,
+                                                      DialogListPageQuery query,
+                                                      DialogListCursor cursor,
+                                                      boolean fromProjection) {
+        String lastActivityKey;
+        if (fromProjection) {
+            lastActivityKey = "p.last_activity";
+        } else {
+            String lastActivity = lastActivitySql("t", "m");
+            lastActivityKey = timestampSqlSupport.isSqliteMode()
+                    ? timestampSqlSupport.sortableTimestampExpression(lastActivity)
+                    : lastActivity;
+        }
+        String createdAt = fromProjection ? "p.created_at" : "COALESCE(m.created_at, t.created_at)";
+        boolean needsStatusKey = !query.statusKeys().isEmpty();
+
+        List<String> innerConditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (query.channelId() != null) {
+            innerConditions.add(fromProjection ? "p.channel_id = ?" : "COALESCE(m.channel_id, t.channel_id) = ?");
+            params.add(query.channelId());
+        }
+        String responsible = normalizeIdentity(query.responsible());
+        if (DialogListPageQuery.RESPONSIBLE_UNASSIGNED.equals(responsible)) {
+            innerConditions.add("(tr.responsible IS NULL OR trim(tr.responsible) = '')");
+        } else if (DialogListPageQuery.RESPONSIBLE_ME.equals(responsible)) {
+            innerConditions.add("lower(COALESCE(tr.responsible, '')) = lower(?)");
+            params.add(Objects.requireNonNullElse(currentOperator, ""));
+        } else if (responsible != null) {
+            innerConditions.add("lower(COALESCE(tr.responsible, '')) = ?");
+            params.add(responsible);
+        }
+        if (query.createdAfter() != null) {
+            PanelTimestampSqlSupport.SqlCondition condition = timestampSqlSupport.after(createdAt, query.createdAfter());
+            innerConditions.add(condition.sql());
+            params.addAll(List.of(condition.params()));
+        }
+        if (query.createdAtOrBefore() != null) {
+            PanelTimestampSqlSupport.SqlCondition condition = timestampSqlSupport.atOrBefore(createdAt, query.createdAtOrBefore());
+            innerConditions.add(condition.sql());
+            params.addAll(List.of(condition.params()));
+        }
+
+        List<String> outerConditions = new ArrayList<>();
+        if (needsStatusKey) {
+            String placeholders = query.statusKeys().stream().map(statusKey -> "?").collect(Collectors.joining(", "));
+            outerConditions.add(statusKeySql("page") + " IN (" + placeholders + ")");
+            params.addAll(query.statusKeys());
+        }
+        if (cursor != null) {
+            outerConditions.add("(page.last_activity < ? OR (page.last_activity = ? AND page.ticket_id < ?))");
+            Object cursorActivity = timestampSqlSupport.isSqliteMode()
+                    ? cursor.lastActivity()
+                    : timestampSqlSupport.comparableTimestampParam(cursor.lastActivity());
+            params.add(cursorActivity);
+            params.add(cursorActivity);
+            params.add(cursor.ticketId());
+        }
+        params.add(query.limit() + 1);
+
+        String lastSenderColumn = fromProjection
+                ? "p.last_sender"
+                : """
+                  (
+                      SELECT sender
+                        FROM chat_history ch
+                       WHERE ch.ticket_id = t.ticket_id
+                       ORDER BY %s
+                       LIMIT 1
+                  )""".formatted(latestChatHistoryOrderSql("ch"));
+        String statusColumns = needsStatusKey
+                ? """
+                  t.status, t.resolved_by, tr.responsible,
+                  COALESCE(tas.is_processing, 0) AS ai_processing,
+                  %s AS last_sender,
+                  """.formatted(lastSenderColumn)
+                : "";
+        String fromSql = fromProjection
+                ? """
+                  FROM dialog_list_projection p
+                  JOIN tickets t ON t.ticket_id = p.ticket_id
+                  """
+                : """
+                  FROM tickets t
+                  LEFT JOIN messages m ON m.group_msg_id = (
+                      SELECT m2.group_msg_id
+                        FROM messages m2
+                       WHERE m2.ticket_id = t.ticket_id
+                       ORDER BY %s
+                       LIMIT 1
+                  )
+                  """.formatted(latestMessageOrderSql("m2"));
+        String sql = """
+                SELECT page.ticket_id, page.last_activity
+                  FROM (
+                        SELECT t.ticket_id,
+                               %s
+                               %s AS last_activity
+                          %s
+                          LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
+                          LEFT JOIN ticket_ai_agent_state tas ON tas.ticket_id = t.ticket_id
+                         %s
+                       ) page
+                 %s
+                 ORDER BY page.last_activity DESC, page.ticket_id DESC
+                 LIMIT ?
+                """.formatted(
+                statusColumns,
+                lastActivityKey,
+                fromSql,
+                whereClause(innerConditions),
+                whereClause(outerConditions)
+        );
+        boolean sqliteMode = timestampSqlSupport.isSqliteMode();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            String activity;
+            if (sqliteMode) {
+                activity = rs.getString("last_activity");
+            } else {
+                Timestamp timestamp = rs.getTimestamp("last_activity");
+                activity = timestamp != null ? timestamp.toInstant().toString() : null;
+            }
+            return new DialogListCursor(activity, rs.getString("ticket_id"));
+        }, params.toArray());
+    }
+
+    private String whereClause(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join("\n   AND ", conditions);
+    }
+
+    /**
+     * SQL mirror of {@link DialogListItem#statusKey()} over the page key columns, so that status
+     * filters can be applied before the page limit instead of after loading the full list.
+     */
+    private String statusKeySql(String alias) {
+        String closed = "lower(trim(COALESCE(%1$s.status, ''))) IN ('resolved', 'closed')".formatted(alias);
+        String autoResolved = "(lower(COALESCE(%1$s.resolved_by, '')) LIKE '%%auto%%' OR lower(COALESCE(%1$s.resolved_by, '')) LIKE '%%авто%%' OR COALESCE(%1$s.resolved_by, '') LIKE '%%Авто%%')"
+                .formatted(alias);
+        String autoProcessing = "(%1$s.ai_processing > 0 OR lower(trim(COALESCE(%1$s.responsible, ''))) = 'ai_agent')".formatted(alias);
+        String lastSender = "lower(COALESCE(%1$s.last_sender, ''))".formatted(alias);
+        String operatorReplied = "(%1$s LIKE '%%support%%' OR %1$s LIKE '%%operator%%' OR %1$s LIKE '%%admin%%' OR %1$s LIKE '%%system%%')"
+                .formatted(lastSender);
+        return """
+                (CASE
+                     WHEN %s THEN CASE WHEN %s THEN 'auto_closed' ELSE 'closed' END
+                     WHEN %s THEN 'auto_processing'
+                     WHEN %s THEN 'waiting_client'
+                     WHEN trim(COALESCE(%s.responsible, '')) = '' THEN 'new'
+                     ELSE 'waiting_operator'
+                 END)""".formatted(closed, autoResolved, autoProcessing, operatorReplied, alias);
+    }
+
     public DialogMyDialogs loadMyActiveDialogs(String currentOperator) {
         return groupMyActiveDialogs(loadDialogs(currentOperator), currentOperator);
     }
@@ -311,95 +428,151 @@ public class DialogLookupReadService {
 
     public Optional<DialogListItem> findDialog(String ticketId, String operator) {
         try {
-            Set<String> feedbackColumns = loadTableColumns("feedbacks");
-            boolean feedbackHasTicketId = feedbackColumns.contains("ticket_id");
-            boolean feedbackHasId = feedbackColumns.contains("id");
-            String feedbackOrderBy = feedbackHasTicketId ? "f.timestamp DESC, f.id DESC" : "f.timestamp DESC";
-            String latestMessageOrder = latestMessageOrderSql("m3");
-            String latestMessageSnapshotOrder = latestMessageOrderSql("m2");
-            String latestHistoryOrder = latestChatHistoryOrderSql("ch");
-            String unreadBoundary = unreadBoundarySql("t");
-            String categoriesAggregation = categoryAggregationSql("tc");
-            String ratingSelect = feedbackHasTicketId
-                    ? """
+            List<DialogListItem> items = List.of();
+            if (projectionReady()) {
+                items = jdbcTemplate.query(projectionRowsSql(" WHERE p.ticket_id = ?\n"), (rs, rowNum) -> mapDialogListItem(rs), operator, ticketId);
+            }
+            if (items.isEmpty()) {
+                items = jdbcTemplate.query(dialogRowsSql(" WHERE t.ticket_id = ?\n"), (rs, rowNum) -> mapDialogListItem(rs), operator, ticketId);
+                if (!items.isEmpty() && projectionReady()) {
+                    projectionService.refreshTicket(ticketId);
+                }
+            }
+            List<DialogListItem> enriched = enrichResponsibleProfiles(items);
+            return enriched.isEmpty() ? Optional.empty() : Optional.of(assignDailyRequestNumber(enriched.get(0)));
+        } catch (DataAccessException ex) {
+            log.warn("Unable to load dialog {} details: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
+            return Optional.empty();
+        }
+    }
+
+    private String lastActivitySql(String ticketAlias, String messageAlias) {
+        return """
+                COALESCE(
+                    (
+                        SELECT timestamp
+                          FROM chat_history ch
+                         WHERE ch.ticket_id = %s.ticket_id
+                         ORDER BY %s
+                         LIMIT 1
+                    ),
+                    COALESCE(%s.created_at, %s.created_at)
+                )
+                """.formatted(ticketAlias, latestChatHistoryOrderSql("ch"), messageAlias, ticketAlias);
+    }
+
+    /**
+     * Builds the per-ticket dialog row projection. The first bind parameter is always the current
+     * operator (used by the unread counter); {@code tailSql} supplies the WHERE/ORDER BY clause.
+     * The projection itself depends only on the schema, so it is built once per schema version.
+     */
+    private String dialogRowsSql(String tailSql) {
+        return SchemaCapabilityRegistry.compiled(schemaCapabilities, "DialogLookupReadService.dialogRows",
+                this::dialogRowsProjectionSql) + tailSql;
+    }
+
+    private String dialogRowsProjectionSql() {
+        Set<String> feedbackColumns = loadTableColumns("feedbacks");
+        boolean feedbackHasTicketId = feedbackColumns.contains("ticket_id");
+        String feedbackOrderBy = feedbackHasTicketId ? "f.timestamp DESC, f.id DESC" : "f.timestamp DESC";
+        String latestMessageOrder = latestMessageOrderSql("m3");
+        String latestMessageSnapshotOrder = latestMessageOrderSql("m2");
+        String latestHistoryOrder = latestChatHistoryOrderSql("ch");
+        String unreadBoundary = unreadBoundarySql("t");
+        String categoriesAggregation = categoryAggregationSql("tc");
+        String ratingSelect = feedbackHasTicketId
+                ? """
+                   (
+                       SELECT rating
+                         FROM feedbacks f
+                        WHERE f.ticket_id = m.ticket_id
+                        ORDER BY %s
+                        LIMIT 1
+                   ) AS rating,
+                   """
+                .formatted(feedbackOrderBy)
+                : "NULL AS rating,";
+        return """
+                SELECT t.ticket_id, m.group_msg_id AS request_number,
+                       COALESCE(
+                           m.user_id,
+                           t.user_id,
+                           (
+                               SELECT m3.user_id
+                                 FROM messages m3
+                                WHERE m3.ticket_id = t.ticket_id
+                                  AND m3.user_id IS NOT NULL
+                                ORDER BY %s
+                                LIMIT 1
+                           )
+                       ) AS user_id,
+                       m.username, m.client_name, m.business,
+                       COALESCE(m.channel_id, t.channel_id) AS channel_id,
+                       c.channel_name AS channel_name,
+                       m.city, m.location_name,
+                       m.problem,
+                       COALESCE(m.created_at, t.created_at) AS created_at,
+                       t.status, t.resolved_by, t.resolved_at,
+                       COALESCE(tas.is_processing, 0) AS ai_processing,
+                       tr.responsible AS responsible,
+                       m.created_date AS created_date,
+                       m.created_time AS created_time,
+                       cs.status AS client_status,
+                       %s
                        (
-                           SELECT rating
-                             FROM feedbacks f
-                            WHERE f.ticket_id = m.ticket_id
+                           SELECT sender
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
                             ORDER BY %s
                             LIMIT 1
-                       ) AS rating,
-                       """
-                    .formatted(feedbackOrderBy)
-                    : "NULL AS rating,";
-            String sql = """
-                    SELECT t.ticket_id, m.group_msg_id AS request_number,
-                           COALESCE(
-                               m.user_id,
-                               t.user_id,
-                               (
-                                   SELECT m3.user_id
-                                     FROM messages m3
-                                    WHERE m3.ticket_id = t.ticket_id
-                                      AND m3.user_id IS NOT NULL
-                                    ORDER BY %s
-                                    LIMIT 1
-                               )
-                           ) AS user_id,
-                           m.username, m.client_name, m.business,
-                           COALESCE(m.channel_id, t.channel_id) AS channel_id,
-                           c.channel_name AS channel_name,
-                           m.city, m.location_name,
-                           m.problem,
-                           COALESCE(m.created_at, t.created_at) AS created_at,
-                           t.status, t.resolved_by, t.resolved_at,
-                           COALESCE(tas.is_processing, 0) AS ai_processing,
-                           tr.responsible AS responsible,
-                           m.created_date AS created_date,
-                           m.created_time AS created_time,
-                           cs.status AS client_status,
-                           %s
-                           (
-                               SELECT sender
+                       ) AS last_sender,
+                       (
+                           SELECT timestamp
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                            ORDER BY %s
+                            LIMIT 1
+                       ) AS last_sender_time,
+                       (
+                           SELECT %s
+                             FROM ticket_categories tc
+                            WHERE tc.ticket_id = t.ticket_id
+                       ) AS categories,
+                       CASE
+                           WHEN tr.responsible IS NULL OR trim(tr.responsible) = '' OR lower(COALESCE(tr.responsible, '')) = lower(?) THEN (
+                               SELECT COUNT(*)
                                  FROM chat_history ch
                                 WHERE ch.ticket_id = t.ticket_id
-                                ORDER BY %s
-                                LIMIT 1
-                           ) AS last_sender,
+                                  AND lower(ch.sender) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                                  AND (%s IS NULL OR ch.timestamp > %s)
+                           )
+                           ELSE 0
+                       END AS unread_count
+                  FROM tickets t
+                  LEFT JOIN messages m ON m.group_msg_id = (
+                      SELECT m2.group_msg_id
+                        FROM messages m2
+                       WHERE m2.ticket_id = t.ticket_id
+                       ORDER BY %s
+                       LIMIT 1
+                  )
+                  LEFT JOIN channels c ON c.id = COALESCE(m.channel_id, t.channel_id)
+                  LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
+                  LEFT JOIN ticket_ai_agent_state tas ON tas.ticket_id = t.ticket_id
+                  LEFT JOIN client_statuses cs ON cs.user_id = COALESCE(
+                           m.user_id,
+                           t.user_id,
                            (
-                               SELECT timestamp
-                                 FROM chat_history ch
-                                WHERE ch.ticket_id = t.ticket_id
+                               SELECT m3.user_id
+                                 FROM messages m3
+                                WHERE m3.ticket_id = t.ticket_id
+                                  AND m3.user_id IS NOT NULL
                                 ORDER BY %s
                                 LIMIT 1
-                           ) AS last_sender_time,
-                           (
-                               SELECT %s
-                                 FROM ticket_categories tc
-                                WHERE tc.ticket_id = t.ticket_id
-                           ) AS categories,
-                           CASE
-                               WHEN tr.responsible IS NULL OR trim(tr.responsible) = '' OR lower(COALESCE(tr.responsible, '')) = lower(?) THEN (
-                                   SELECT COUNT(*)
-                                     FROM chat_history ch
-                                    WHERE ch.ticket_id = t.ticket_id
-                                      AND lower(ch.sender) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
-                                      AND (%s IS NULL OR ch.timestamp > %s)
-                               )
-                               ELSE 0
-                           END AS unread_count
-                      FROM tickets t
-                      LEFT JOIN messages m ON m.group_msg_id = (
-                          SELECT m2.group_msg_id
-                            FROM messages m2
-                           WHERE m2.ticket_id = t.ticket_id
-                           ORDER BY %s
-                           LIMIT 1
-                      )
-                      LEFT JOIN channels c ON c.id = COALESCE(m.channel_id, t.channel_id)
-                      LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
-                      LEFT JOIN ticket_ai_agent_state tas ON tas.ticket_id = t.ticket_id
-                      LEFT JOIN client_statuses cs ON cs.user_id = COALESCE(
+                           )
+                       )
+                       AND cs.updated_at = (
+                           SELECT MAX(updated_at) FROM client_statuses WHERE user_id = COALESCE(
                                m.user_id,
                                t.user_id,
                                (
@@ -411,68 +584,88 @@ public class DialogLookupReadService {
                                     LIMIT 1
                                )
                            )
-                           AND cs.updated_at = (
-                               SELECT MAX(updated_at) FROM client_statuses WHERE user_id = COALESCE(
-                                   m.user_id,
-                                   t.user_id,
-                                   (
-                                       SELECT m3.user_id
-                                         FROM messages m3
-                                        WHERE m3.ticket_id = t.ticket_id
-                                          AND m3.user_id IS NOT NULL
-                                        ORDER BY %s
-                                        LIMIT 1
-                                   )
-                               )
-                           )
-                     WHERE t.ticket_id = ?
-                    """.formatted(
-                    latestMessageOrder,
-                    ratingSelect,
-                    latestHistoryOrder,
-                    latestHistoryOrder,
-                    categoriesAggregation,
-                    unreadBoundary,
-                    unreadBoundary,
-                    latestMessageSnapshotOrder,
-                    latestMessageOrder,
-                    latestMessageOrder
-            );
-            List<DialogListItem> items = jdbcTemplate.query(sql, (rs, rowNum) -> new DialogListItem(
-                    rs.getString("ticket_id"),
-                    rs.getString("request_number"),
-                    rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
-                    rs.getString("username"),
-                    rs.getString("client_name"),
-                    rs.getString("business"),
-                    rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null,
-                    rs.getString("channel_name"),
-                    rs.getString("city"),
-                    rs.getString("location_name"),
-                    rs.getString("problem"),
-                    rs.getString("created_at"),
-                    rs.getString("status"),
-                    rs.getObject("ai_processing") != null && rs.getInt("ai_processing") > 0,
-                    rs.getString("resolved_by"),
-                    rs.getString("resolved_at"),
-                    rs.getString("responsible"),
-                    resolveCreatedDate(rs.getString("created_date"), rs.getString("created_at")),
-                    resolveCreatedTime(rs.getString("created_time"), rs.getString("created_at")),
-                    rs.getString("client_status"),
-                    rs.getString("last_sender"),
-                    rs.getString("last_sender_time"),
-                    rs.getObject("unread_count") != null ? rs.getInt("unread_count") : 0,
-                    rs.getObject("rating") != null ? rs.getInt("rating") : null,
-                    rs.getString("categories"),
-                    null,
-                    null
-            ), operator, ticketId);
-            List<DialogListItem> enriched = enrichResponsibleProfiles(items);
-            return enriched.isEmpty() ? Optional.empty() : Optional.of(assignDailyRequestNumber(enriched.get(0)));
-        } catch (DataAccessException ex) {
-            log.warn("Unable to load dialog {} details: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
-            return Optional.empty();
-        }
+                       )
+                """.formatted(
+                latestMessageOrder,
+                ratingSelect,
+                latestHistoryOrder,
+                latestHistoryOrder,
+                categoriesAggregation,
+                unreadBoundary,
+                unreadBoundary,
+                latestMessageSnapshotOrder,
+                latestMessageOrder,
+                latestMessageOrder
+        );
+    }
+
+    /**
+     * Same row shape as {@link #dialogRowsSql(String)}, read from {@code dialog_list_projection}.
+     * Ticket state, responsible, AI state, channel and client status are primary-key joins; unread
+     * counters are stored per ticket and only gated by the current operator here.
+     */
+    private String projectionRowsSql(String tailSql) {
+        return """
+                SELECT p.ticket_id, p.group_msg_id AS request_number,
+                       p.user_id, p.username, p.client_name, p.business,
+                       p.channel_id, c.channel_name AS channel_name,
+                       p.city, p.location_name, p.problem, p.created_at,
+                       t.status, t.resolved_by, t.resolved_at,
+                       COALESCE(tas.is_processing, 0) AS ai_processing,
+                       tr.responsible AS responsible,
+                       p.created_date, p.created_time,
+                       cs.status AS client_status,
+                       p.rating, p.last_sender, p.last_sender_time, p.categories,
+                       CASE
+                           WHEN tr.responsible IS NULL OR trim(tr.responsible) = '' OR lower(COALESCE(tr.responsible, '')) = lower(?)
+                               THEN p.unread_count
+                           ELSE 0
+                       END AS unread_count
+                  FROM dialog_list_projection p
+                  JOIN tickets t ON t.ticket_id = p.ticket_id
+                  LEFT JOIN channels c ON c.id = p.channel_id
+                  LEFT JOIN ticket_responsibles tr ON tr.ticket_id = p.ticket_id
+                  LEFT JOIN ticket_ai_agent_state tas ON tas.ticket_id = p.ticket_id
+                  LEFT JOIN client_statuses cs ON cs.user_id = p.user_id AND cs.updated_at IS NOT NULL
+                %s""".formatted(tailSql);
+    }
+
+    private String projectionActivityOrderSql() {
+        return timestampSqlSupport.isSqliteMode()
+                ? "p.last_activity DESC"
+                : "p.last_activity DESC NULLS LAST";
+    }
+
+    private DialogListItem mapDialogListItem(ResultSet rs) throws SQLException {
+        return new DialogListItem(
+                rs.getString("ticket_id"),
+                rs.getString("request_number"),
+                rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
+                rs.getString("username"),
+                rs.getString("client_name"),
+                rs.getString("business"),
+                rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null,
+                rs.getString("channel_name"),
+                rs.getString("city"),
+                rs.getString("location_name"),
+                rs.getString("problem"),
+                rs.getString("created_at"),
+                rs.getString("status"),
+                rs.getObject("ai_processing") != null && rs.getInt("ai_processing") > 0,
+                rs.getString("resolved_by"),
+                rs.getString("resolved_at"),
+                rs.getString("responsible"),
+                resolveCreatedDate(rs.getString("created_date"), rs.getString("created_at")),
+                resolveCreatedTime(rs.getString("created_time"), rs.getString("created_at")),
+                rs.getString("client_status"),
+                rs.getString("last_sender"),
+                rs.getString("last_sender_time"),
+                rs.getObject("unread_count") != null ? rs.getInt("unread_count") : 0,
+                rs.getObject("rating") != null ? rs.getInt("rating") : null,
+                rs.getString("categories"),
+                null,
+                null
+        );
     }
 
     private List<DialogListItem> enrichResponsibleProfiles(List<DialogListItem> items) {
@@ -550,6 +743,51 @@ public class DialogLookupReadService {
         return numbered;
     }
 
+    /**
+     * Same numbers as {@link #assignDailyRequestNumber}, but with one query per distinct creation day
+     * instead of one {@code COUNT(*)} per row: the day's tickets are read in numbering order and each
+     * item takes its position.
+     */
+    private List<DialogListItem> assignDailyRequestNumbersByDay(List<DialogListItem> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        Map<String, RequestNumberSeed> seedByDay = new LinkedHashMap<>();
+        for (DialogListItem item : items) {
+            RequestNumberSeed seed = buildRequestNumberSeed(item);
+            if (seed != null && trimToNull(item.ticketId()) != null) {
+                seedByDay.putIfAbsent(seed.isoDate(), seed);
+            }
+        }
+        String createdAtExpr = comparableTicketCreatedAtSql("t");
+        String sql = """
+                SELECT t.ticket_id
+                  FROM tickets t
+                 WHERE %2$s = ?
+                 ORDER BY %1$s, t.ticket_id
+                """.formatted(createdAtExpr, timestampSqlSupport.dateBucketExpression(createdAtExpr));
+        Map<String, Integer> sequenceByTicketId = new HashMap<>();
+        for (String isoDate : seedByDay.keySet()) {
+            List<String> dayTicketIds = jdbcTemplate.queryForList(sql, String.class, isoDate);
+            for (int index = 0; index < dayTicketIds.size(); index++) {
+                sequenceByTicketId.put(isoDate + "|" + dayTicketIds.get(index), index + 1);
+            }
+        }
+        List<DialogListItem> numbered = new ArrayList<>(items.size());
+        for (DialogListItem item : items) {
+            RequestNumberSeed seed = buildRequestNumberSeed(item);
+            String ticketId = trimToNull(item.ticketId());
+            Integer sequence = seed != null && ticketId != null ? sequenceByTicketId.get(seed.isoDate() + "|" + ticketId) : null;
+            if (sequence != null) {
+                numbered.add(item.withRequestNumber(formatRequestNumber(seed.displayDate(), sequence)));
+            } else {
+                // The ticket's stored creation day differs from its list date: count it individually.
+                numbered.add(assignDailyRequestNumber(item));
+            }
+        }
+        return numbered;
+    }
+
     private DialogListItem assignDailyRequestNumber(DialogListItem item) {
         if (item == null) {
             return null;
@@ -758,7 +996,7 @@ public class DialogLookupReadService {
 
     private Set<String> loadUsersTableColumns() {
         try {
-            return JdbcSchemaInspector.loadColumnNames(usersJdbcTemplate, "users");
+            return SchemaCapabilityRegistry.columns(schemaCapabilities, usersJdbcTemplate, "users");
         } catch (DataAccessException ex) {
             log.warn("Unable to inspect users table columns: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
             return Set.of();
@@ -767,7 +1005,7 @@ public class DialogLookupReadService {
 
     private Set<String> loadTableColumns(String tableName) {
         try {
-            return JdbcSchemaInspector.loadColumnNames(jdbcTemplate, tableName);
+            return SchemaCapabilityRegistry.columns(schemaCapabilities, jdbcTemplate, tableName);
         } catch (DataAccessException ex) {
             log.warn("Unable to inspect {} columns: {}", tableName, DialogDataAccessSupport.summarizeDataAccessException(ex));
             return Set.of();
@@ -3,9 +3,10 @@ package com.example.panel.service;
 import com.example.panel.config.PanelDatabaseRuntimeMode;
 import com.example.panel.model.dialog.DialogOperatorOption;
 import com.example.panel.model.dialog.DialogParticipantDto;
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DuplicateKeyException;
@@ -33,6 +34,9 @@ public class DialogParticipantService {
     private final JdbcTemplate usersJdbcTemplate;
     private final PanelDatabaseRuntimeMode databaseRuntimeMode;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public DialogParticipantService(JdbcTemplate jdbcTemplate,
                                     @Qualifier("usersJdbcTemplate") JdbcTemplate usersJdbcTemplate,
                                     PanelDatabaseRuntimeMode databaseRuntimeMode) {
@@ -269,7 +273,7 @@ public class DialogParticipantService {
 
     private Set<String> loadUserColumns() {
         try {
-            return JdbcSchemaInspector.loadColumnNames(usersJdbcTemplate, "users").stream()
+            return SchemaCapabilityRegistry.columns(schemaCapabilities, usersJdbcTemplate, "users").stream()
                     .collect(Collectors.toCollection(LinkedHashSet::new));
         } catch (DataAccessException ex) {
             log.warn("Unable to inspect users schema: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
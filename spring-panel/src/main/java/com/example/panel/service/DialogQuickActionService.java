@@ -273,7 +273,7 @@ public class DialogQuickActionService {
                     notificationService.buildDialogUrl(ticketId),
                     operator
             );
-            publishDialogsChanged(ticketId, "dialog_resolved");
+            publishDialogsChanged(ticketId, null, "dialog_resolved");
         }
         return result;
     }
@@ -289,7 +289,7 @@ public class DialogQuickActionService {
                     notificationService.buildDialogUrl(ticketId),
                     operator
             );
-            publishDialogsChanged(ticketId, "dialog_reopened");
+            publishDialogsChanged(ticketId, null, "dialog_reopened");
         }
         return result;
     }
@@ -309,7 +309,7 @@ public class DialogQuickActionService {
                 notificationService.buildDialogUrl(ticketId),
                 operator
         );
-        publishDialogsChanged(ticketId, "dialog_categories_updated");
+        publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_categories_updated");
         return new DialogCategoryUpdateResult(true, normalizedCategories);
     }
 
@@ -349,7 +349,7 @@ public class DialogQuickActionService {
                 notificationService.buildDialogUrl(ticketId),
                 operator
         );
-        publishDialogsChanged(ticketId, "dialog_marked_spam");
+        publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_marked_spam");
         return new DialogSpamResult(true, true, null, userId, categories);
     }
 
@@ -400,7 +400,7 @@ public class DialogQuickActionService {
                 notificationService.buildDialogUrl(ticketId),
                 operator
         );
-        publishDialogsChanged(ticketId, "dialog_taken");
+        publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_taken");
         return new DialogTakeResult(true, true, responsible != null && !responsible.isBlank() ? responsible : operator, null);
     }
 
@@ -431,7 +431,7 @@ public class DialogQuickActionService {
                     notificationService.buildDialogUrl(ticketId),
                     operator
             );
-            publishDialogsChanged(ticketId, "dialog_participant_added");
+            publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_participant_added");
         }
         return new DialogParticipantMutationResult(true, changed, null, participants);
     }
@@ -454,7 +454,7 @@ public class DialogQuickActionService {
                     notificationService.buildDialogUrl(ticketId),
                     operator
             );
-            publishDialogsChanged(ticketId, "dialog_participant_removed");
+            publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_participant_removed");
         }
         return new DialogParticipantMutationResult(true, changed, null, participants);
     }
@@ -487,7 +487,7 @@ public class DialogQuickActionService {
                 notificationService.buildDialogUrl(ticketId),
                 operator
         );
-        publishDialogsChanged(ticketId, "dialog_reassigned");
+        publishDialogsChanged(ticketId, dialog.get().channelId(), "dialog_reassigned");
         return new DialogReassignResult(
                 true,
                 null,
@@ -517,11 +517,11 @@ public class DialogQuickActionService {
         uiEventStreamService.publishDialogHistoryChanged(ticketId, null, reason);
     }
 
-    private void publishDialogsChanged(String ticketId, String reason) {
+    private void publishDialogsChanged(String ticketId, Long channelId, String reason) {
         if (uiEventStreamService == null) {
             return;
         }
-        uiEventStreamService.publishDialogsChanged(reason, ticketId);
+        uiEventStreamService.publishDialogsChanged(reason, ticketId, channelId);
     }
 
     private static final class CachedMultipartFile implements MultipartFile {
@@ -67,7 +67,7 @@ public class DialogRealtimeEventService {
             String text = "Новое обращение (" + channelLabel + "): " + trimPreview(previewText);
             notificationService.notifyAllOperators(text, notificationService.buildDialogUrl(normalizedTicketId), null);
         }
-        uiEventStreamService.publishDialogsChanged("ticket_created", normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged("ticket_created", normalizedTicketId, channelId);
     }
 
     public void handleIncomingClientMessage(String ticketId,
@@ -89,7 +89,7 @@ public class DialogRealtimeEventService {
             }
             notificationService.notifyAllOperators(text, notificationService.buildDialogUrl(normalizedTicketId), null);
         }
-        uiEventStreamService.publishDialogsChanged("incoming_client_message", normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged("incoming_client_message", normalizedTicketId, channelId);
         uiEventStreamService.publishDialogHistoryChanged(normalizedTicketId, channelId, "incoming_client_message");
         dialogAiAssistantService.processIncomingClientMessage(normalizedTicketId, message, messageType, attachment);
     }
@@ -99,7 +99,7 @@ public class DialogRealtimeEventService {
         if (normalizedTicketId == null) {
             return;
         }
-        uiEventStreamService.publishDialogsChanged("client_message_edited", normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged("client_message_edited", normalizedTicketId, channelId);
         uiEventStreamService.publishDialogHistoryChanged(normalizedTicketId, channelId, "client_message_edited");
     }
 
@@ -108,7 +108,7 @@ public class DialogRealtimeEventService {
         if (normalizedTicketId == null) {
             return;
         }
-        uiEventStreamService.publishDialogsChanged("operator_message_edited", normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged("operator_message_edited", normalizedTicketId, channelId);
         uiEventStreamService.publishDialogHistoryChanged(normalizedTicketId, channelId, "operator_message_edited");
     }
 
@@ -144,7 +144,7 @@ public class DialogRealtimeEventService {
         if (channel != null) {
             dialogNotificationService.notifySupportChat(channel, message);
         }
-        uiEventStreamService.publishDialogsChanged("dialog_auto_closed", normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged("dialog_auto_closed", normalizedTicketId, channelId);
     }
 
     public void handleTicketClosed(String ticketId, Long channelId) {
@@ -160,7 +160,7 @@ public class DialogRealtimeEventService {
         if (normalizedTicketId == null) {
             return;
         }
-        uiEventStreamService.publishDialogsChanged(reason, normalizedTicketId);
+        uiEventStreamService.publishDialogsChanged(reason, normalizedTicketId, channelId);
         uiEventStreamService.publishDialogHistoryChanged(normalizedTicketId, channelId, reason);
     }
 
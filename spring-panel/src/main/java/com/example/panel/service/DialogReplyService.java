@@ -1,6 +1,7 @@
 package com.example.panel.service;
 
 import com.example.panel.entity.Channel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,6 +15,8 @@ public class DialogReplyService {
     private final DialogReplyTargetService dialogReplyTargetService;
     private final DialogReplyTransportService dialogReplyTransportService;
     private final DialogResponsibilityService dialogResponsibilityService;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public DialogReplyService(DialogReplyTargetService dialogReplyTargetService,
                               DialogReplyTransportService dialogReplyTransportService,
@@ -57,6 +60,7 @@ public class DialogReplyService {
             );
             dialogReplyTargetService.touchTicketActivity(ticketId, operator);
             String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+            refreshDialogProjection(ticketId);
             return DialogReplyResult.success(timestamp, localTelegramMessageId, responsible);
         }
         if (!StringUtils.hasText(channel.getToken())) {
@@ -80,6 +84,7 @@ public class DialogReplyService {
         );
         dialogReplyTargetService.touchTicketActivity(ticketId, operator);
         String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+        refreshDialogProjection(ticketId);
         return DialogReplyResult.success(timestamp, transportResult.telegramMessageId(), responsible);
     }
 
@@ -102,6 +107,7 @@ public class DialogReplyService {
                 return DialogReplyResult.error("Сообщение оператора не найдено.");
             }
             String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+            refreshDialogProjection(ticketId);
             return DialogReplyResult.success(OffsetDateTime.now().toString(), telegramMessageId, responsible);
         }
         if (!StringUtils.hasText(channel.getToken())) {
@@ -116,6 +122,7 @@ public class DialogReplyService {
             return DialogReplyResult.error("Сообщение оператора не найдено.");
         }
         String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+        refreshDialogProjection(ticketId);
         return DialogReplyResult.success(OffsetDateTime.now().toString(), telegramMessageId, responsible);
     }
 
@@ -138,6 +145,7 @@ public class DialogReplyService {
                 return DialogReplyResult.error("Сообщение оператора не найдено.");
             }
             String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+            refreshDialogProjection(ticketId);
             return DialogReplyResult.success(OffsetDateTime.now().toString(), telegramMessageId, responsible);
         }
         if (!StringUtils.hasText(channel.getToken())) {
@@ -152,6 +160,7 @@ public class DialogReplyService {
             return DialogReplyResult.error("Сообщение оператора не найдено.");
         }
         String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+        refreshDialogProjection(ticketId);
         return DialogReplyResult.success(OffsetDateTime.now().toString(), telegramMessageId, responsible);
     }
 
@@ -207,9 +216,16 @@ public class DialogReplyService {
         );
         dialogReplyTargetService.touchTicketActivity(ticketId, operator);
         String responsible = dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
+        refreshDialogProjection(ticketId);
         return DialogMediaReplyResult.success(timestamp, transportResult.telegramMessageId(), storedName, messageType, caption, responsible);
     }
 
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
+
     public record DialogReplyResult(boolean success,
                                     String error,
                                     String timestamp,
@@ -1,12 +1,15 @@
 package com.example.panel.service;
 
+import com.example.panel.config.OperatorReplyRateLimitProperties;
 import com.example.panel.entity.Channel;
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.example.panel.repository.ChannelRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -51,17 +54,33 @@ public class DialogReplyTransportService {
     private static final int RESPONSE_BODY_LOG_LIMIT = 1000;
     private static final String MULTIPART_BOUNDARY = "----BENDER-DIALOGS-BOUNDARY";
     private static final String TELEGRAM_MEDIA_METHOD = "sendDocument";
+    private static final String RATE_LIMITED_ERROR = "Слишком много сообщений в канал, повторите попытку через несколько секунд.";
+    private static final int VK_TOO_MANY_REQUESTS_ERROR = 6;
 
     private final ChannelRepository channelRepository;
     private final IntegrationNetworkService integrationNetworkService;
     private final ObjectMapper objectMapper;
+    private final OperatorReplyRateLimiter rateLimiter;
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
 
     public DialogReplyTransportService(ChannelRepository channelRepository,
                                        IntegrationNetworkService integrationNetworkService,
                                        ObjectMapper objectMapper) {
+        this(channelRepository, integrationNetworkService, objectMapper,
+                new OperatorReplyRateLimiter(new OperatorReplyRateLimitProperties()));
+    }
+
+    @Autowired
+    public DialogReplyTransportService(ChannelRepository channelRepository,
+                                       IntegrationNetworkService integrationNetworkService,
+                                       ObjectMapper objectMapper,
+                                       OperatorReplyRateLimiter rateLimiter) {
         this.channelRepository = channelRepository;
         this.integrationNetworkService = integrationNetworkService;
         this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
     }
 
     public Optional<Channel> loadChannel(Long channelId) {
@@ -100,7 +119,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
                     .build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = sendLimited(channel, userId, "telegram", "editMessageText", client, request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() / 100 != 2) {
                 return "Ошибка редактирования сообщения в Telegram.";
             }
@@ -125,7 +144,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
                     .build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = sendLimited(channel, userId, "telegram", "deleteMessage", client, request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() / 100 != 2) {
                 return "Ошибка удаления сообщения в Telegram.";
             }
@@ -173,8 +192,10 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
                     .build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = sendLimited(channel, userId, "telegram", "sendMessage", client, request, HttpResponse.BodyHandlers.ofString());
             return resolveTelegramTransportResult(response, "Ошибка отправки сообщения в Telegram.");
+        } catch (OperatorReplyRateLimiter.OperatorReplyRateLimitedException ex) {
+            return DialogReplyTransportResult.error(RATE_LIMITED_ERROR);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             return DialogReplyTransportResult.error("Не удалось отправить сообщение в Telegram.");
@@ -198,7 +219,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "application/x-www-form-urlencoded")
                     .POST(HttpRequest.BodyPublishers.ofString(query, StandardCharsets.UTF_8))
                     .build();
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> response = sendLimited(channel, userId, "vk", "messages.send", HTTP_CLIENT, request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             return response.statusCode() / 100 == 2 && !response.body().contains("\"error\"");
         } catch (Exception ex) {
             return false;
@@ -216,7 +237,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("text", text)), StandardCharsets.UTF_8))
                     .build();
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> response = sendLimited(channel, userId, "max", "messages", HTTP_CLIENT, request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             return response.statusCode() / 100 == 2;
         } catch (Exception ex) {
             return false;
@@ -256,6 +277,8 @@ public class DialogReplyTransportService {
                     contentType,
                     fileSize
             );
+        } catch (OperatorReplyRateLimiter.OperatorReplyRateLimitedException ex) {
+            return DialogReplyTransportResult.error(RATE_LIMITED_ERROR);
         } catch (HttpTimeoutException ex) {
             logTelegramMediaException(TELEGRAM_MEDIA_METHOD, userId, resolvedOriginalName, sanitizedFilename, contentType, fileSize, ex);
             return DialogReplyTransportResult.error("Не удалось отправить файл в Telegram: превышено время ожидания загрузки.");
@@ -302,7 +325,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "multipart/form-data; boundary=" + MULTIPART_BOUNDARY)
                     .POST(HttpRequest.BodyPublishers.ofFile(multipartFile))
                     .build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = sendLimited(channel, userId, "telegram", "sendDocument", client, request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() / 100 != 2 || isTelegramApiFailure(response.body())) {
                 logTelegramMediaApiError(method, response.statusCode(), userId, originalName, sanitizedFilename, contentType, fileSize, response.body());
             }
@@ -349,7 +372,7 @@ public class DialogReplyTransportService {
                 "payload", uploadedPayload
         )));
         try {
-            return sendMaxMediaMessage(channel.getToken(), userId, requestBody);
+            return sendMaxMediaMessage(channel, userId, requestBody);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             return "Не удалось отправить файл в MAX.";
@@ -366,7 +389,7 @@ public class DialogReplyTransportService {
                         .header("Authorization", token)
                         .POST(HttpRequest.BodyPublishers.noBody())
                         .build();
-                HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                HttpResponse<String> response = send("max", "uploads", HTTP_CLIENT, request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
                 if (response.statusCode() / 100 != 2) {
                     continue;
                 }
@@ -393,7 +416,7 @@ public class DialogReplyTransportService {
                     .header("Content-Type", "multipart/form-data; boundary=" + MULTIPART_BOUNDARY)
                     .POST(HttpRequest.BodyPublishers.ofFile(multipartFile))
                     .build();
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> response = send("max", "uploadBinary", HTTP_CLIENT, request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             if (response.statusCode() / 100 != 2) {
                 return null;
             }
@@ -405,6 +428,60 @@ public class DialogReplyTransportService {
         }
     }
 
+    private <T> HttpResponse<T> send(String client,
+                                     String operation,
+                                     HttpClient httpClient,
+                                     HttpRequest request,
+                                     HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        return PanelMetricsRegistry.send(metricsRegistry, client, operation, httpClient, request, bodyHandler);
+    }
+
+    /**
+     * Отправляет сообщение в чат в пределах лимитов канала: ответ платформы о превышении лимита
+     * ставит канал на паузу на {@code retry_after} и запрос повторяется.
+     */
+    private HttpResponse<String> sendLimited(Channel channel,
+                                             Long chatId,
+                                             String client,
+                                             String operation,
+                                             HttpClient httpClient,
+                                             HttpRequest request,
+                                             HttpResponse.BodyHandler<String> bodyHandler) throws IOException, InterruptedException {
+        return rateLimiter.execute(client, channel.getId(), chatId,
+                () -> send(client, operation, httpClient, request, bodyHandler),
+                response -> resolveRetryAfter(client, response));
+    }
+
+    private Duration resolveRetryAfter(String platform, HttpResponse<String> response) {
+        if (response == null) {
+            return null;
+        }
+        JsonNode root = readJsonTree(response.body());
+        if ("vk".equals(platform)) {
+            return root != null && root.path("error").path("error_code").asInt() == VK_TOO_MANY_REQUESTS_ERROR
+                    ? Duration.ZERO
+                    : null;
+        }
+        boolean limited = response.statusCode() == 429
+                || (root != null && root.path("error_code").asInt() == 429);
+        if (!limited) {
+            return null;
+        }
+        long retryAfterSeconds = root != null ? root.path("parameters").path("retry_after").asLong(0L) : 0L;
+        return Duration.ofSeconds(Math.max(0L, retryAfterSeconds));
+    }
+
+    private JsonNode readJsonTree(String body) {
+        if (!StringUtils.hasText(body)) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
     private String buildTelegramMethodUrl(Channel channel, String methodName) {
         return resolveTelegramBotApiPrefix(channel) + channel.getToken() + "/" + methodName;
     }
@@ -542,7 +619,7 @@ public class DialogReplyTransportService {
         return normalized.isEmpty() ? null : normalized;
     }
 
-    private String sendMaxMediaMessage(String token,
+    private String sendMaxMediaMessage(Channel channel,
                                        Long userId,
                                        Map<String, Object> requestBody) throws IOException, InterruptedException {
         String fallbackError = "MAX media send failed.";
@@ -551,11 +628,11 @@ public class DialogReplyTransportService {
             for (int attempt = 0; attempt < MAX_ATTACHMENT_READY_RETRY_ATTEMPTS; attempt++) {
                 HttpRequest request = HttpRequest.newBuilder()
                         .uri(URI.create(apiRoot + "/messages?user_id=" + userId))
-                        .header("Authorization", token)
+                        .header("Authorization", channel.getToken())
                         .header("Content-Type", "application/json")
                         .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody), StandardCharsets.UTF_8))
                         .build();
-                HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                HttpResponse<String> response = sendLimited(channel, userId, "max", "messagesMedia", HTTP_CLIENT, request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
                 if (response.statusCode() / 100 == 2) {
                     return null;
                 }
@@ -2,6 +2,7 @@ package com.example.panel.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,8 @@ public class DialogResponsibilityService {
     private static final String AI_AGENT_USERNAME = "ai_agent";
 
     private final JdbcTemplate jdbcTemplate;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public DialogResponsibilityService(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
@@ -39,6 +42,7 @@ public class DialogResponsibilityService {
                             + "SELECT 1 FROM ticket_responsibles WHERE ticket_id = ?)",
                     ticketId, normalizedUsername, actor != null ? actor : normalizedUsername, ticketId
             );
+            refreshDialogProjection(ticketId);
         } catch (DataAccessException ex) {
             log.warn("Unable to assign responsible for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
         }
@@ -61,6 +65,7 @@ public class DialogResponsibilityService {
                     ticketId,
                     operator
             );
+            refreshDialogProjection(ticketId);
         } catch (DataAccessException ex) {
             log.warn("Unable to mark dialog {} as read for {}: {}", ticketId, operator, DialogDataAccessSupport.summarizeDataAccessException(ex));
         }
@@ -84,6 +89,7 @@ public class DialogResponsibilityService {
                         newResponsible, actor, ticketId
                 );
             }
+            refreshDialogProjection(ticketId);
         } catch (DataAccessException ex) {
             log.warn("Unable to update responsible for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
         }
@@ -108,4 +114,10 @@ public class DialogResponsibilityService {
     private String trimToNull(String value) {
         return StringUtils.hasText(value) ? value.trim() : null;
     }
+
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
 }
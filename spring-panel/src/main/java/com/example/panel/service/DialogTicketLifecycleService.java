@@ -1,7 +1,9 @@
 package com.example.panel.service;
 
+import com.example.panel.service.integration.TicketLifecycleEventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,10 @@ public class DialogTicketLifecycleService {
     private static final Logger log = LoggerFactory.getLogger(DialogTicketLifecycleService.class);
 
     private final JdbcTemplate jdbcTemplate;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
+    @Autowired(required = false)
+    private TicketLifecycleEventPublisher ticketLifecycleEventPublisher;
     private final DialogResponsibilityService dialogResponsibilityService;
 
     public DialogTicketLifecycleService(JdbcTemplate jdbcTemplate,
@@ -40,6 +46,7 @@ public class DialogTicketLifecycleService {
                         category
                 );
             }
+            refreshDialogProjection(ticketId);
         } catch (DataAccessException ex) {
             log.warn("Unable to set categories for ticket {}: {}", ticketId, DialogDataAccessSupport.summarizeDataAccessException(ex));
         }
@@ -82,6 +89,9 @@ public class DialogTicketLifecycleService {
                 clearTicketActivity(ticketId);
                 setTicketCategories(ticketId, normalizedCategories);
                 ensurePendingFeedbackRequest(ticketId, resolvedBy);
+                if (ticketLifecycleEventPublisher != null) {
+                    ticketLifecycleEventPublisher.ticketClosed(ticketId);
+                }
             }
             return new DialogResolveResult(updated > 0, true, null);
         } catch (DataAccessException ex) {
@@ -123,6 +133,10 @@ public class DialogTicketLifecycleService {
                 if (StringUtils.hasText(operator)) {
                     dialogResponsibilityService.assignResponsibleIfMissing(ticketId, operator);
                 }
+                refreshDialogProjection(ticketId);
+                if (ticketLifecycleEventPublisher != null) {
+                    ticketLifecycleEventPublisher.ticketReopened(ticketId);
+                }
             }
             return new DialogResolveResult(updated > 0, true, null);
         } catch (DataAccessException ex) {
@@ -256,6 +270,12 @@ public class DialogTicketLifecycleService {
         return StringUtils.hasText(value) ? value.trim() : null;
     }
 
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
+
     private record TicketOwner(long userId, long channelId) {
     }
 }
@@ -15,12 +15,48 @@ public class DialogWorkspaceHistorySliceService {
         List<ChatMessageDto> pagedHistory = safeHistory.subList(safeCursor, endExclusive);
         boolean hasMore = endExclusive < safeHistory.size();
         Integer nextCursor = hasMore ? endExclusive : null;
-        return new HistorySlice(safeCursor, pagedHistory, nextCursor, hasMore);
+        return new HistorySlice(safeCursor, pagedHistory, nextCursor, hasMore, null, null, null);
+    }
+
+    /**
+     * Собирает срез из окна, прочитанного SQL-ом. В режиме смещения {@code nextCursor} остаётся числом,
+     * в режиме курсора — {@code after:<id>}; {@code previousCursor} ведёт к более старым сообщениям.
+     * {@code hasMore} относится к запрошенному направлению.
+     */
+    public HistorySlice fromWindow(DialogConversationReadService.HistoryWindowQuery query,
+                                   DialogConversationReadService.HistoryWindow window) {
+        List<ChatMessageDto> items = window.items();
+        boolean olderRequested = query.beforeId() != null;
+        Object nextCursor;
+        String previousCursor;
+        int safeCursor = query.keyset() ? 0 : Math.max(query.offset(), 0);
+        if (!query.keyset()) {
+            nextCursor = window.hasMore() ? safeCursor + items.size() : null;
+            previousCursor = safeCursor > 0 ? cursorBefore(window.firstId()) : null;
+        } else if (olderRequested) {
+            nextCursor = cursorAfter(window.lastId());
+            previousCursor = window.hasMore() ? cursorBefore(window.firstId()) : null;
+        } else {
+            nextCursor = window.hasMore() ? cursorAfter(window.lastId()) : null;
+            previousCursor = cursorBefore(window.firstId());
+        }
+        return new HistorySlice(safeCursor, items, nextCursor, window.hasMore(), previousCursor, window.firstId(), window.lastId());
+    }
+
+    private static String cursorAfter(Long id) {
+        return id != null ? "after:" + id : null;
+    }
+
+    private static String cursorBefore(Long id) {
+        return id != null ? "before:" + id : null;
     }
 
     public record HistorySlice(int safeCursor,
                                List<ChatMessageDto> pagedHistory,
-                               Integer nextCursor,
-                               boolean hasMore) {
+                               Object nextCursor,
+                               boolean hasMore,
+                               String previousCursor,
+                               Long firstId,
+                               Long lastId) {
     }
 }
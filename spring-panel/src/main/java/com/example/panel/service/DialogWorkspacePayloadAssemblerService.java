@@ -15,7 +15,7 @@ public class DialogWorkspacePayloadAssemblerService {
                                                      int resolvedLimit,
                                                      int safeCursor,
                                                      List<ChatMessageDto> pagedHistory,
-                                                     Integer nextCursor,
+                                                     Object nextCursor,
                                                      boolean hasMore,
                                                      Map<String, Object> workspaceClient,
                                                      List<Map<String, Object>> clientHistory,
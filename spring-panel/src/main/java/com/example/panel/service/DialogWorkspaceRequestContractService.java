@@ -74,6 +74,37 @@ public class DialogWorkspaceRequestContractService {
         return Math.min(limit, MAX_WORKSPACE_LIMIT);
     }
 
+    /**
+     * Курсор ленты workspace: число — смещение от начала (прежний контракт), {@code after:<id>} и
+     * {@code before:<id>} — окно новее или старше сообщения с указанным id.
+     */
+    public DialogConversationReadService.HistoryWindowQuery resolveWorkspaceHistoryWindow(String cursor, int limit) {
+        if (cursor != null) {
+            String normalized = cursor.trim().toLowerCase();
+            Long afterId = parseCursorId(normalized, "after:");
+            if (afterId != null) {
+                return new DialogConversationReadService.HistoryWindowQuery(0, afterId, null, limit);
+            }
+            Long beforeId = parseCursorId(normalized, "before:");
+            if (beforeId != null) {
+                return new DialogConversationReadService.HistoryWindowQuery(0, null, beforeId, limit);
+            }
+        }
+        return DialogConversationReadService.HistoryWindowQuery.fromOffset(resolveWorkspaceCursor(cursor), limit);
+    }
+
+    private Long parseCursorId(String cursor, String prefix) {
+        if (!cursor.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(cursor.substring(prefix.length()).trim());
+            return id > 0 ? id : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
     public int resolveWorkspaceCursor(String cursor) {
         if (cursor == null || cursor.isBlank()) {
             return 0;
@@ -0,0 +1,176 @@
+package com.example.panel.service;
+
+import com.example.panel.metrics.PanelMetricsRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Параллельная загрузка независимых секций workspace диалога.
+ *
+ * <p>Секции запускаются на ограниченном пуле и ждутся не дольше
+ * {@code panel.dialog.workspace.section-timeout-ms} от момента запуска. Упавшая или не успевшая
+ * секция заменяется запасным значением, а её состояние попадает в {@link Assembly#health()}, чтобы
+ * клиент видел частичный payload, а не ошибку всего workspace. При переполнении очереди секция
+ * выполняется в потоке запроса. {@code section-threads=0} возвращает последовательную загрузку.</p>
+ */
+@Service
+public class DialogWorkspaceSectionLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DialogWorkspaceSectionLoader.class);
+
+    private final ThreadPoolExecutor threadPool;
+    private final Executor executor;
+    private final long sectionTimeoutNanos;
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
+    public DialogWorkspaceSectionLoader(@Value("${panel.dialog.workspace.section-threads:8}") int threads,
+                                        @Value("${panel.dialog.workspace.section-queue:64}") int queueCapacity,
+                                        @Value("${panel.dialog.workspace.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.sectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, sectionTimeoutMs));
+        if (threads <= 0) {
+            this.threadPool = null;
+            this.executor = Runnable::run;
+            return;
+        }
+        this.threadPool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                namedThreadFactory("dialog-workspace-section"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.threadPool.allowCoreThreadTimeOut(true);
+        this.executor = new DelegatingSecurityContextExecutor(threadPool);
+    }
+
+    public Assembly start() {
+        return new Assembly();
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        if (threadPool != null) {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private void record(String section, String outcome, long elapsedNanos) {
+        if (metricsRegistry != null) {
+            metricsRegistry.histogram("panel_dialog_workspace_section_seconds",
+                            "Load time of dialog workspace sections.", "section", section, "outcome", outcome)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.setName(prefix + "-" + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    /**
+     * Одна сборка workspace: запущенные секции и итоговое состояние каждой из них.
+     */
+    public final class Assembly {
+
+        private final Map<String, Object> health = new LinkedHashMap<>();
+        private boolean degraded;
+
+        private Assembly() {
+        }
+
+        public <T> Section<T> fork(String name, Supplier<T> loader) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(loader, executor);
+            return new Section<>(name, future, startedAt);
+        }
+
+        /**
+         * Отмечает секцию, которую клиент не запросил в {@code include}, и возвращает запасное значение.
+         */
+        public <T> T skip(String name, T fallback) {
+            health.put(name, Map.of("status", "skipped"));
+            return fallback;
+        }
+
+        public <T> T join(Section<T> section, T fallback) {
+            long waitNanos = section.startedAt + sectionTimeoutNanos - System.nanoTime();
+            String status;
+            T value;
+            try {
+                value = section.future.get(Math.max(0L, waitNanos), TimeUnit.NANOSECONDS);
+                status = "ok";
+            } catch (TimeoutException ex) {
+                log.warn("Dialog workspace section '{}' did not finish in {} ms, serving fallback",
+                        section.name, TimeUnit.NANOSECONDS.toMillis(sectionTimeoutNanos));
+                value = fallback;
+                status = "timeout";
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Dialog workspace section '{}' failed: {}", section.name, cause.getMessage(), cause);
+                value = fallback;
+                status = "error";
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                value = fallback;
+                status = "interrupted";
+            }
+            long elapsedNanos = System.nanoTime() - section.startedAt;
+            record(section.name, status, elapsedNanos);
+            Map<String, Object> sectionHealth = new LinkedHashMap<>();
+            sectionHealth.put("status", status);
+            sectionHealth.put("elapsed_ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            health.put(section.name, sectionHealth);
+            if (!"ok".equals(status)) {
+                degraded = true;
+            }
+            return value;
+        }
+
+        public Map<String, Object> health() {
+            return health;
+        }
+
+        public boolean degraded() {
+            return degraded;
+        }
+    }
+
+    public static final class Section<T> {
+
+        private final String name;
+        private final CompletableFuture<T> future;
+        private final long startedAt;
+
+        private Section(String name, CompletableFuture<T> future, long startedAt) {
+            this.name = name;
+            this.future = future;
+            this.startedAt = startedAt;
+        }
+    }
+}
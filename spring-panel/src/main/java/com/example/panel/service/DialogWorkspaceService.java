@@ -1,6 +1,5 @@
 package com.example.panel.service;
 
-import com.example.panel.model.dialog.ChatMessageDto;
 import com.example.panel.model.dialog.DialogDetails;
 import com.example.panel.model.dialog.DialogListItem;
 import org.springframework.http.HttpStatus;
@@ -8,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +16,15 @@ import java.util.Set;
 @Service
 public class DialogWorkspaceService {
 
+    private static final Map<String, Object> UNAVAILABLE_PERMISSIONS = Map.of(
+            "can_reply", false,
+            "can_assign", false,
+            "can_close", false,
+            "can_snooze", false,
+            "can_bulk", false,
+            "unavailable", true
+    );
+
     private final DialogDetailsReadService dialogDetailsReadService;
     private final SharedConfigService sharedConfigService;
     private final DialogAuthorizationService dialogAuthorizationService;
@@ -34,6 +43,7 @@ public class DialogWorkspaceService {
     private final DialogWorkspaceRolloutGovernanceConfigService dialogWorkspaceRolloutGovernanceConfigService;
     private final DialogWorkspaceWorkflowSnapshotService dialogWorkspaceWorkflowSnapshotService;
     private final IncidentService incidentService;
+    private final DialogWorkspaceSectionLoader dialogWorkspaceSectionLoader;
 
     public DialogWorkspaceService(DialogDetailsReadService dialogDetailsReadService,
                                   SharedConfigService sharedConfigService,
@@ -52,7 +62,8 @@ public class DialogWorkspaceService {
                                   DialogWorkspaceExternalKpiService dialogWorkspaceExternalKpiService,
                                   DialogWorkspaceRolloutGovernanceConfigService dialogWorkspaceRolloutGovernanceConfigService,
                                   DialogWorkspaceWorkflowSnapshotService dialogWorkspaceWorkflowSnapshotService,
-                                  IncidentService incidentService) {
+                                  IncidentService incidentService,
+                                  DialogWorkspaceSectionLoader dialogWorkspaceSectionLoader) {
         this.dialogDetailsReadService = dialogDetailsReadService;
         this.sharedConfigService = sharedConfigService;
         this.dialogAuthorizationService = dialogAuthorizationService;
@@ -71,6 +82,7 @@ public class DialogWorkspaceService {
         this.dialogWorkspaceRolloutGovernanceConfigService = dialogWorkspaceRolloutGovernanceConfigService;
         this.dialogWorkspaceWorkflowSnapshotService = dialogWorkspaceWorkflowSnapshotService;
         this.incidentService = incidentService;
+        this.dialogWorkspaceSectionLoader = dialogWorkspaceSectionLoader;
     }
 
     public ResponseEntity<?> workspace(String ticketId,
@@ -91,19 +103,53 @@ public class DialogWorkspaceService {
         DialogListItem summary = dialogDetails.summary();
         Set<String> includeSections = dialogWorkspaceRequestContractService.resolveWorkspaceInclude(include);
         int resolvedLimit = dialogWorkspaceRequestContractService.resolveWorkspaceLimit(limit);
-        int resolvedCursor = dialogWorkspaceRequestContractService.resolveWorkspaceCursor(cursor);
-        List<ChatMessageDto> history = dialogConversationReadService.loadHistory(ticketId, channelId);
-        DialogWorkspaceHistorySliceService.HistorySlice historySlice =
-                dialogWorkspaceHistorySliceService.slice(history, resolvedCursor, resolvedLimit);
-
+        DialogConversationReadService.HistoryWindowQuery historyQuery =
+                dialogWorkspaceRequestContractService.resolveWorkspaceHistoryWindow(cursor, resolvedLimit);
         Map<String, Object> settings = sharedConfigService.loadSettings();
-        DialogWorkspaceSlaViewService.SlaView slaView = dialogWorkspaceSlaViewService.build(summary, settings);
         int workspaceHistoryLimit = dialogWorkspaceRequestContractService.resolveDialogConfigRangeMinutes(settings, "workspace_context_history_limit", 5, 1, 20);
         int workspaceRelatedEventsLimit = dialogWorkspaceRequestContractService.resolveDialogConfigRangeMinutes(settings, "workspace_context_related_events_limit", 5, 1, 20);
-        List<Map<String, Object>> clientHistory = dialogClientContextReadService.loadClientDialogHistory(summary.userId(), ticketId, workspaceHistoryLimit);
-        List<Map<String, Object>> relatedEvents = dialogClientContextReadService.loadRelatedEvents(ticketId, workspaceRelatedEventsLimit);
-        List<Map<String, Object>> incidents = incidentService.listIncidentSummariesForTicket(ticketId);
-        Map<String, Object> profileEnrichment = dialogClientContextReadService.loadClientProfileEnrichment(summary.userId());
+        boolean contextIncluded = includeSections.contains("context");
+        boolean permissionsIncluded = includeSections.contains("permissions");
+
+        DialogWorkspaceSectionLoader.Assembly assembly = dialogWorkspaceSectionLoader.start();
+        DialogWorkspaceSectionLoader.Section<DialogConversationReadService.HistoryWindow> historySection =
+                assembly.fork("history", () -> dialogConversationReadService.loadHistoryWindow(ticketId, channelId, historyQuery));
+        DialogWorkspaceSectionLoader.Section<List<Map<String, Object>>> clientHistorySection = contextIncluded
+                ? assembly.fork("client_history", () -> dialogClientContextReadService.loadClientDialogHistory(summary.userId(), ticketId, workspaceHistoryLimit))
+                : null;
+        DialogWorkspaceSectionLoader.Section<List<Map<String, Object>>> relatedEventsSection = contextIncluded
+                ? assembly.fork("related_events", () -> dialogClientContextReadService.loadRelatedEvents(ticketId, workspaceRelatedEventsLimit))
+                : null;
+        DialogWorkspaceSectionLoader.Section<List<Map<String, Object>>> incidentsSection = contextIncluded
+                ? assembly.fork("incidents", () -> incidentService.listIncidentSummariesForTicket(ticketId))
+                : null;
+        DialogWorkspaceSectionLoader.Section<Map<String, Object>> profileEnrichmentSection = contextIncluded
+                ? assembly.fork("profile_enrichment", () -> dialogClientContextReadService.loadClientProfileEnrichment(summary.userId()))
+                : null;
+        DialogWorkspaceSectionLoader.Section<Map<String, Object>> rolloutSection =
+                assembly.fork("rollout", () -> buildWorkspaceRolloutMeta(settings));
+        DialogWorkspaceSectionLoader.Section<Map<String, Object>> navigationSection =
+                assembly.fork("navigation", () -> dialogWorkspaceNavigationService.buildNavigationMeta(settings, operator, ticketId));
+        DialogWorkspaceSectionLoader.Section<Map<String, Object>> permissionsSection = permissionsIncluded
+                ? assembly.fork("permissions", () -> dialogAuthorizationService.resolveWorkspacePermissions(authentication))
+                : null;
+
+        DialogWorkspaceSlaViewService.SlaView slaView = dialogWorkspaceSlaViewService.build(summary, settings);
+        DialogWorkspaceHistorySliceService.HistorySlice historySlice = dialogWorkspaceHistorySliceService.fromWindow(
+                historyQuery,
+                assembly.join(historySection, DialogConversationReadService.HistoryWindow.empty()));
+        List<Map<String, Object>> clientHistory = contextIncluded
+                ? assembly.join(clientHistorySection, List.of())
+                : assembly.skip("client_history", List.of());
+        List<Map<String, Object>> relatedEvents = contextIncluded
+                ? assembly.join(relatedEventsSection, List.of())
+                : assembly.skip("related_events", List.of());
+        List<Map<String, Object>> incidents = contextIncluded
+                ? assembly.join(incidentsSection, List.of())
+                : assembly.skip("incidents", List.of());
+        Map<String, Object> profileEnrichment = contextIncluded
+                ? assembly.join(profileEnrichmentSection, Map.of())
+                : assembly.skip("profile_enrichment", Map.of());
         DialogWorkspaceClientContextAssemblerService.WorkspaceClientContextBundle clientContextBundle =
                 dialogWorkspaceClientContextAssemblerService.assemble(
                         settings,
@@ -114,25 +160,21 @@ public class DialogWorkspaceService {
                 profileEnrichment
                 );
 
-        Map<String, Object> workspaceRollout = buildWorkspaceRolloutMeta(settings);
-        Map<String, Object> workspaceNavigation = dialogWorkspaceNavigationService.buildNavigationMeta(settings, operator, ticketId);
-        Map<String, Object> workspacePermissions = includeSections.contains("permissions")
-                ? dialogAuthorizationService.resolveWorkspacePermissions(authentication)
-                : Map.of(
-                "can_reply", false,
-                "can_assign", false,
-                "can_close", false,
-                "can_snooze", false,
-                "can_bulk", false,
-                "unavailable", true
-        );
+        Map<String, Object> workspaceRollout = assembly.join(rolloutSection, null);
+        if (workspaceRollout == null) {
+            workspaceRollout = new LinkedHashMap<>(dialogWorkspaceRolloutService.resolveRolloutMeta(settings));
+        }
+        Map<String, Object> workspaceNavigation = assembly.join(navigationSection, Map.of());
+        Map<String, Object> workspacePermissions = permissionsIncluded
+                ? assembly.join(permissionsSection, UNAVAILABLE_PERMISSIONS)
+                : assembly.skip("permissions", UNAVAILABLE_PERMISSIONS);
         Map<String, Object> workflowSnapshot = dialogWorkspaceWorkflowSnapshotService.buildWorkflowSnapshot(
                 ticketId,
                 operator,
                 summary,
                 workspacePermissions
         );
-        Map<String, Object> workspaceComposer = dialogWorkspaceParityService.buildComposerMeta(summary, history, workspacePermissions);
+        Map<String, Object> workspaceComposer = dialogWorkspaceParityService.buildComposerMeta(summary, historySlice.pagedHistory(), workspacePermissions);
         Map<String, Object> workspaceParity = dialogWorkspaceParityService.buildParityMeta(
                 includeSections,
                 clientContextBundle.workspaceClient(),
@@ -181,14 +223,33 @@ public class DialogWorkspaceService {
                 workspaceParity
         );
         payload.put("conversation", summary);
+        attachHistoryWindow(payload, historySlice);
+        attachSectionHealth(payload, assembly);
         return ResponseEntity.ok(payload);
     }
 
+    @SuppressWarnings("unchecked")
+    private void attachHistoryWindow(Map<String, Object> payload, DialogWorkspaceHistorySliceService.HistorySlice historySlice) {
+        if (payload.get("messages") instanceof Map<?, ?> messages && !messages.containsKey("unavailable")) {
+            ((Map<String, Object>) messages).put("previous_cursor", historySlice.previousCursor());
+            ((Map<String, Object>) messages).put("first_id", historySlice.firstId());
+            ((Map<String, Object>) messages).put("last_id", historySlice.lastId());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void attachSectionHealth(Map<String, Object> payload, DialogWorkspaceSectionLoader.Assembly assembly) {
+        if (payload.get("meta") instanceof Map<?, ?> meta) {
+            ((Map<String, Object>) meta).put("sections", assembly.health());
+            ((Map<String, Object>) meta).put("degraded", assembly.degraded());
+        }
+    }
+
     private Map<String, Object> buildWorkspaceRolloutMeta(Map<String, Object> settings) {
-        Map<String, Object> rollout = new java.util.LinkedHashMap<>(dialogWorkspaceRolloutService.resolveRolloutMeta(settings));
+        Map<String, Object> rollout = new LinkedHashMap<>(dialogWorkspaceRolloutService.resolveRolloutMeta(settings));
         rollout.put("external_kpi_signal", dialogWorkspaceExternalKpiService.buildExternalKpiSignal());
         DialogWorkspaceRolloutGovernanceConfig governanceConfig = dialogWorkspaceRolloutGovernanceConfigService.loadConfig();
-        Map<String, Object> governance = new java.util.LinkedHashMap<>();
+        Map<String, Object> governance = new LinkedHashMap<>();
         governance.put("packet_required", governanceConfig.packetRequired());
         governance.put("owner_signoff_required", governanceConfig.ownerSignoffRequired());
         governance.put("review_cadence_days", governanceConfig.reviewCadenceDays());
@@ -0,0 +1,126 @@
+package com.example.panel.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сроки первой реакции оператора по обращениям ({@code ticket_first_response_deadlines}).
+ *
+ * <p>Строка появляется с первым сообщением клиента и закрывается ({@code settled_at}) первым ответом
+ * оператора, отправленным уведомлением о просрочке или закрытием обращения. Срок считается от
+ * {@code first_client_message_at} с текущим {@code sla_target_minutes}, поэтому изменение настройки
+ * действует и на уже ожидающие обращения. Проверка просрочки читает только открытые строки с наступившим
+ * сроком по частичному индексу и не сканирует {@code tickets} и {@code chat_history}.</p>
+ */
+final class FirstResponseDeadlineTracker {
+
+    /**
+     * Отправители, чьё сообщение считается первой реакцией; остальные отправители считаются клиентом.
+     */
+    static final Set<String> RESPONDER_SENDERS = Set.of("operator", "support", "admin", "system", "ai_agent");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    FirstResponseDeadlineTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static boolean isResponder(String normalizedSender) {
+        return RESPONDER_SENDERS.contains(normalizedSender);
+    }
+
+    /**
+     * Заводит срок по первому сообщению клиента; повторные сообщения и обращения, где оператор уже
+     * ответил, срок не меняют.
+     */
+    void recordClientMessage(String ticketId, Long channelId, Instant messageAt) {
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO ticket_first_response_deadlines(ticket_id, channel_id, first_client_message_at, settled_at)
+                VALUES (?, ?, ?, NULL)
+                ON CONFLICT (ticket_id) DO NOTHING
+                """,
+                ticketId, channelId, messageAt.toEpochMilli());
+        if (inserted > 0 && hasResponderMessage(ticketId)) {
+            // Ответ оператора был записан раньше, чем появилась строка срока (например, до миграции).
+            settle(ticketId, Instant.now());
+        }
+    }
+
+    void recordFirstResponse(String ticketId, Long channelId, Instant respondedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO ticket_first_response_deadlines(ticket_id, channel_id, first_client_message_at, settled_at)
+                VALUES (?, ?, NULL, ?)
+                ON CONFLICT (ticket_id) DO UPDATE
+                   SET settled_at = COALESCE(ticket_first_response_deadlines.settled_at, excluded.settled_at)
+                """,
+                ticketId, channelId, respondedAt.toEpochMilli());
+    }
+
+    /**
+     * Используется при первичном заполнении: вставляет строку как есть, не трогая уже существующую.
+     */
+    void recordBackfilled(String ticketId, Long channelId, Instant firstClientMessageAt, Instant settledAt) {
+        jdbcTemplate.update("""
+                INSERT INTO ticket_first_response_deadlines(ticket_id, channel_id, first_client_message_at, settled_at)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (ticket_id) DO NOTHING
+                """,
+                ticketId,
+                channelId,
+                firstClientMessageAt.toEpochMilli(),
+                settledAt != null ? settledAt.toEpochMilli() : null);
+    }
+
+    void settle(String ticketId, Instant settledAt) {
+        jdbcTemplate.update("""
+                UPDATE ticket_first_response_deadlines
+                   SET settled_at = ?
+                 WHERE ticket_id = ?
+                   AND settled_at IS NULL
+                """,
+                settledAt.toEpochMilli(), ticketId);
+    }
+
+    /**
+     * Открытые сроки, у которых первое сообщение клиента не позже {@code firstClientMessageBefore}.
+     */
+    List<DueDeadline> findDue(Instant firstClientMessageBefore) {
+        return jdbcTemplate.query("""
+                SELECT d.ticket_id,
+                       COALESCE(t.channel_id, d.channel_id) AS channel_id,
+                       d.first_client_message_at,
+                       t.status
+                  FROM ticket_first_response_deadlines d
+                  JOIN tickets t ON t.ticket_id = d.ticket_id
+                 WHERE d.settled_at IS NULL
+                   AND d.first_client_message_at <= ?
+                 ORDER BY d.first_client_message_at
+                """,
+                (rs, rowNum) -> new DueDeadline(
+                        rs.getString("ticket_id"),
+                        rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null,
+                        Instant.ofEpochMilli(rs.getLong("first_client_message_at")),
+                        rs.getString("status")
+                ),
+                firstClientMessageBefore.toEpochMilli());
+    }
+
+    private boolean hasResponderMessage(String ticketId) {
+        List<Integer> rows = jdbcTemplate.query("""
+                SELECT 1
+                  FROM chat_history
+                 WHERE ticket_id = ?
+                   AND lower(COALESCE(sender, '')) IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                 LIMIT 1
+                """,
+                (rs, rowNum) -> rs.getInt(1),
+                ticketId);
+        return !rows.isEmpty();
+    }
+
+    record DueDeadline(String ticketId, Long channelId, Instant firstClientMessageAt, String status) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.panel.service;
 
 import com.example.panel.entity.IikoApiMonitor;
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.example.panel.repository.MonitoringCheckHistoryRepository;
 import com.example.panel.repository.IikoApiMonitorRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -11,6 +12,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -58,6 +60,9 @@ public class IikoApiMonitoringService {
     private final MonitoringCheckHistoryRepository historyRepository;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
     private final ExecutorService refreshExecutor;
     private final AtomicBoolean refreshRunning = new AtomicBoolean(false);
     private final AtomicBoolean refreshPending = new AtomicBoolean(false);
@@ -484,7 +489,8 @@ public class IikoApiMonitoringService {
         if (StringUtils.hasText(bearerToken)) {
             builder.header("Authorization", "Bearer " + bearerToken.trim());
         }
-        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "iiko", endpointPath, httpClient, builder.build(),
+            HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
         JsonNode json = parseJson(response.body());
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new MonitorRequestException(
@@ -6,6 +6,7 @@ import com.example.panel.repository.IncidentRouteRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -20,7 +21,10 @@ import java.util.Objects;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -38,6 +42,17 @@ public class IncidentRouteDeliveryOutboxService {
     private final IncidentRouteRepository incidentRouteRepository;
     private final RuntimeCoordinationService runtimeCoordinationService;
     private final IncidentRouteDeliveryService incidentRouteDeliveryService;
+    private OutboxWakeup wakeup;
+
+    @Autowired(required = false)
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired(required = false)
+    private TaskScheduler taskScheduler;
+
+    // Matches the shortest retry backoff, so failed deliveries are not held back by the push mode.
+    @Value("${panel.incidents.route-delivery.fallback-interval-ms:10000}")
+    private long fallbackIntervalMs = 10000L;
 
     public IncidentRouteDeliveryOutboxService(JdbcTemplate jdbcTemplate,
                                               ObjectMapper objectMapper,
@@ -132,13 +147,25 @@ public class IncidentRouteDeliveryOutboxService {
         return queued;
     }
 
+    @PostConstruct
+    void initializeWakeup() {
+        wakeup = new OutboxWakeup(notificationListener, taskScheduler, fallbackIntervalMs,
+            this::dispatchScheduled, "panel_incident_route_delivery_outbox");
+    }
+
     @Scheduled(fixedDelayString = "${panel.incidents.route-delivery.dispatch-interval-ms:3000}")
     public void dispatchScheduled() {
-        runtimeCoordinationService.runWithLease(
+        Runnable dispatch = () -> runtimeCoordinationService.runWithLease(
             "incident-route-delivery-dispatch",
             DISPATCH_LEASE_TTL,
             this::dispatchBatch
         );
+        OutboxWakeup current = wakeup;
+        if (current == null) {
+            dispatch.run();
+            return;
+        }
+        current.runIfDue(dispatch);
     }
 
     void dispatchBatch() {
@@ -154,6 +181,9 @@ public class IncidentRouteDeliveryOutboxService {
             (rs, rowNum) -> rs.getString("event_id"),
             BATCH_SIZE
         );
+        if (eventIds.size() >= BATCH_SIZE && wakeup != null) {
+            wakeup.signal();
+        }
         for (String eventId : eventIds) {
             if (!claim(eventId)) {
                 continue;
@@ -1,6 +1,7 @@
 package com.example.panel.service;
 
 import com.example.panel.entity.Channel;
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.Authenticator;
 import java.net.InetSocketAddress;
@@ -21,6 +22,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -33,6 +35,10 @@ public class IntegrationNetworkService {
     private final SharedConfigService sharedConfigService;
     private final ObjectMapper objectMapper;
     private final Map<String, Long> routeUnavailableUntil = new ConcurrentHashMap<>();
+    private final ChannelHttpClientPool httpClientPool = new ChannelHttpClientPool();
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
 
     public IntegrationNetworkService(SharedConfigService sharedConfigService, ObjectMapper objectMapper) {
         this.sharedConfigService = sharedConfigService;
@@ -107,17 +113,22 @@ public class IntegrationNetworkService {
         return env;
     }
 
+    /**
+     * Returns the pooled client for the channel's current route. Clients are shared by every channel on
+     * the same route and kept alive between calls; see {@link ChannelHttpClientPool}.
+     */
     public HttpClient createChannelHttpClient(Channel channel, Duration timeout) {
+        Duration connectTimeout = timeout != null ? timeout : Duration.ofSeconds(10);
+        Long channelId = channel != null ? channel.getId() : null;
         RouteSettings route = resolveBotRoute(channel);
-        HttpClient.Builder builder = HttpClient.newBuilder()
-            .connectTimeout(timeout != null ? timeout : Duration.ofSeconds(10));
-
-        String legacyTelegramMirrorBaseUrl = resolveTelegramLegacyBotApiBaseUrl(channel);
+        String legacyTelegramMirrorBaseUrl = isTelegramChannel(channel) && !hasText(readTelegramBotApiBaseUrl(channel))
+            ? resolveTelegramLegacyBotApiBaseUrl(route)
+            : "";
         if (hasText(legacyTelegramMirrorBaseUrl)) {
             log.info("Bypassing proxy route for Telegram channel {} and using legacy Bot API mirror {}",
-                channel != null ? channel.getId() : null,
+                channelId,
                 legacyTelegramMirrorBaseUrl);
-            return builder.build();
+            return pooledClient(channelId, ChannelHttpClientPool.RouteKey.telegramMirror(connectTimeout), null);
         }
 
         if ("proxy".equals(route.mode()) && route.proxySettings() != null && route.proxySettings().isConfigured()) {
@@ -125,8 +136,30 @@ public class IntegrationNetworkService {
             if (!proxy.isSupportedScheme()) {
                 log.warn("Unsupported proxy scheme '{}' for HttpClient route {}:{}; using direct client",
                     proxy.scheme(), proxy.host(), proxy.port());
-                return builder.build();
+                return pooledClient(channelId, ChannelHttpClientPool.RouteKey.direct(connectTimeout), null);
             }
+            ChannelHttpClientPool.RouteKey key = ChannelHttpClientPool.RouteKey.proxy(
+                proxy.host(), proxy.port(), stringValue(proxy.username()), stringValue(proxy.password()), connectTimeout);
+            return pooledClient(channelId, key, proxy);
+        }
+        return pooledClient(channelId, ChannelHttpClientPool.RouteKey.direct(connectTimeout), null);
+    }
+
+    /**
+     * Releases the client the channel used last; call after the channel's delivery or platform settings
+     * change or the channel is removed.
+     */
+    public void invalidateChannelHttpClient(Long channelId) {
+        httpClientPool.invalidateChannel(channelId, metricsRegistry);
+    }
+
+    private HttpClient pooledClient(Long channelId, ChannelHttpClientPool.RouteKey key, ProxySettings proxy) {
+        return httpClientPool.client(channelId, key, () -> buildHttpClient(key.connectTimeout(), proxy), metricsRegistry);
+    }
+
+    private HttpClient buildHttpClient(Duration connectTimeout, ProxySettings proxy) {
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(connectTimeout);
+        if (proxy != null) {
             builder.proxy(ProxySelector.of(new InetSocketAddress(proxy.host(), proxy.port())));
             if (hasText(proxy.username())) {
                 builder.authenticator(new Authenticator() {
@@ -140,7 +173,6 @@ public class IntegrationNetworkService {
                 });
             }
         }
-
         return builder.build();
     }
 
@@ -2,6 +2,7 @@ package com.example.panel.service;
 
 import com.example.panel.entity.KnowledgeArticle;
 import com.example.panel.entity.KnowledgeArticleFile;
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.example.panel.model.knowledge.KnowledgeBaseNotionConfigForm;
 import com.example.panel.model.knowledge.KnowledgeNotionImportPreview;
 import com.example.panel.model.knowledge.KnowledgeNotionImportPreviewItem;
@@ -13,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -74,6 +76,9 @@ public class KnowledgeBaseNotionService {
     private final AttachmentService attachmentService;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
     private final AtomicReference<KnowledgeNotionSyncStatus> syncStatus = new AtomicReference<>(KnowledgeNotionSyncStatus.idle());
 
     public KnowledgeBaseNotionService(SharedConfigService sharedConfigService,
@@ -474,7 +479,8 @@ public class KnowledgeBaseNotionService {
                     .timeout(Duration.ofSeconds(30))
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
                     .build();
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "notion", mode, httpClient, request,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
                 JsonNode body = readJson(response.body());
                 if (response.statusCode() >= 400) {
                     return new ApiResult(false, mode, body, extractApiError(body, "Не удалось выполнить запрос к Notion."));
@@ -503,7 +509,8 @@ public class KnowledgeBaseNotionService {
                 .timeout(Duration.ofSeconds(30))
                 .GET()
                 .build();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "notion", mode, httpClient, request,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             JsonNode body = readJson(response.body());
             if (response.statusCode() >= 400) {
                 return new ApiResult(false, mode, body, extractApiError(body, "Не удалось получить данные из Notion."));
@@ -821,7 +828,8 @@ public class KnowledgeBaseNotionService {
                     .timeout(Duration.ofSeconds(30))
                     .GET()
                     .build();
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "notion", mode, httpClient, request,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
                 JsonNode body = readJson(response.body());
                 if (response.statusCode() >= 400) {
                     return new ApiResult(false, mode, body, extractApiError(body, "Не удалось получить данные из Notion."));
@@ -902,7 +910,8 @@ public class KnowledgeBaseNotionService {
             .timeout(Duration.ofSeconds(60))
             .GET()
             .build();
-        HttpResponse<java.io.InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<java.io.InputStream> response = PanelMetricsRegistry.send(metricsRegistry, "notion", "attachment", httpClient, request,
+            HttpResponse.BodyHandlers.ofInputStream());
         if (response.statusCode() >= 400) {
             log.warn("Notion attachment download failed for {} with status {}", attachment.url(), response.statusCode());
             return null;
@@ -3,6 +3,9 @@ package com.example.panel.service;
 import com.example.panel.model.dialog.DialogListItem;
 import com.example.panel.repository.TaskHistoryRepository;
 import com.example.panel.repository.TaskRepository;
+import com.example.panel.service.DashboardRollupService.CategoryRow;
+import com.example.panel.service.DashboardRollupService.RollupRow;
+import com.example.panel.service.DashboardRollupService.RollupSet;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -39,21 +42,43 @@ public class ManagerReportService {
 
     public Map<String, Object> buildManagerReport(List<DialogListItem> dialogs,
                                                   DashboardAnalyticsService.DashboardFilters filters) {
-        List<DialogListItem> filtered = dashboardAnalyticsService.filterDialogs(dialogs, filters);
+        return buildManagerReport(dashboardAnalyticsService.rollupRows(dialogs, filters).rows());
+    }
+
+    /**
+     * Manager report read from the dashboard rollups; use only when
+     * {@link DashboardAnalyticsService#rollupsReady()}.
+     */
+    public Map<String, Object> buildManagerReport(DashboardAnalyticsService.DashboardFilters filters) {
+        return buildManagerReport(dashboardAnalyticsService.rollupRows(filters).rows());
+    }
+
+    public Map<String, Object> buildOlapPreview(List<DialogListItem> dialogs,
+                                                 DashboardAnalyticsService.DashboardFilters filters,
+                                                 OlapPreviewRequest request) {
+        return buildOlapPreviewFromRows(dashboardAnalyticsService.rollupRows(dialogs, filters), filters, request);
+    }
+
+    public Map<String, Object> buildOlapPreview(DashboardAnalyticsService.DashboardFilters filters,
+                                                 OlapPreviewRequest request) {
+        return buildOlapPreviewFromRows(dashboardAnalyticsService.rollupRows(filters), filters, request);
+    }
+
+    private Map<String, Object> buildManagerReport(List<RollupRow> rows) {
         List<Binding> bindings = loadBindings();
 
         Map<String, ManagerAgg> managers = new HashMap<>();
-        for (DialogListItem dialog : filtered) {
-            String location = normalize(dialog.locationName());
+        for (RollupRow row : rows) {
+            String location = normalize(row.locationName());
             if (!StringUtils.hasText(location)) {
                 continue;
             }
-            Binding binding = findBinding(bindings, location, dashboardAnalyticsService.dialogDate(dialog));
+            Binding binding = findBinding(bindings, location, row.day());
             String manager = binding != null ? binding.manager : "Не назначен";
             String supervisor = binding != null ? binding.supervisor : "Не назначен";
             ManagerAgg agg = managers.computeIfAbsent(manager, key -> new ManagerAgg(manager, supervisor));
-            agg.total += 1;
-            agg.locations.merge(location, 1L, Long::sum);
+            agg.total += (int) row.tickets();
+            agg.locations.merge(location, row.tickets(), Long::sum);
         }
 
         List<Map<String, Object>> managerRows = managers.values().stream()
@@ -73,17 +98,21 @@ public class ManagerReportService {
         );
     }
 
-    public Map<String, Object> buildOlapPreview(List<DialogListItem> dialogs,
+    private Map<String, Object> buildOlapPreviewFromRows(RollupSet rollup,
                                                  DashboardAnalyticsService.DashboardFilters filters,
                                                  OlapPreviewRequest request) {
-        List<DialogListItem> filtered = dashboardAnalyticsService.filterDialogs(dialogs, filters);
         String dimension = StringUtils.hasText(request.dimension()) ? request.dimension() : "location";
+        long appeals = rollup.rows().stream().mapToLong(RollupRow::tickets).sum();
 
         Map<String, MetricAgg> grouped = new LinkedHashMap<>();
-        if (request.includeAppeals()) {
-            for (DialogListItem dialog : filtered) {
-                String key = resolveDimension(dimension, dialog);
-                grouped.computeIfAbsent(key, k -> new MetricAgg()).appeals += 1;
+        if (request.includeAppeals() && "category".equalsIgnoreCase(dimension)) {
+            for (CategoryRow row : rollup.categories()) {
+                grouped.computeIfAbsent(normalize(row.category()), k -> new MetricAgg()).appeals += (int) row.tickets();
+            }
+        } else if (request.includeAppeals()) {
+            for (RollupRow row : rollup.rows()) {
+                String key = resolveDimension(dimension, row);
+                grouped.computeIfAbsent(key, k -> new MetricAgg()).appeals += (int) row.tickets();
             }
         }
 
@@ -108,7 +137,7 @@ public class ManagerReportService {
         }
 
         return Map.of("rows", rows, "totals", Map.of(
-            "appeals", filtered.size(),
+            "appeals", appeals,
             "tasks", tasks,
             "system_changes", systemChanges
         ));
@@ -168,12 +197,11 @@ public class ManagerReportService {
         }
     }
 
-    private String resolveDimension(String dimension, DialogListItem dialog) {
+    private String resolveDimension(String dimension, RollupRow row) {
         return switch (dimension.toLowerCase(Locale.ROOT)) {
-            case "city" -> normalize(dialog.city());
-            case "category" -> normalize(dialog.categories());
-            case "responsible" -> normalize(dialog.responsible());
-            default -> normalize(dialog.locationName());
+            case "city" -> normalize(row.city());
+            case "responsible" -> normalize(row.responsible());
+            default -> normalize(row.locationName());
         };
     }
 
@@ -1,5 +1,6 @@
 package com.example.panel.service;
 
+import com.example.panel.metrics.PanelMetricsRegistry;
 import com.example.panel.service.NetBoxSyncSettingsService.NetBoxSyncSettings;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -33,6 +35,9 @@ public class NetBoxApiService {
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
 
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
     public NetBoxApiService(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
         this.httpClient = HttpClient.newBuilder()
@@ -67,7 +72,8 @@ public class NetBoxApiService {
         URI uri = canonicalizeUri(settings.baseUrl(), resolveUri(settings.baseUrl(), absoluteOrRelativeUrl));
         HttpRequest request = baseRequest(settings, uri).GET().build();
         try {
-            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> response = PanelMetricsRegistry.send(metricsRegistry, "netbox", "download_file", httpClient, request,
+                    HttpResponse.BodyHandlers.ofByteArray());
             ensureSuccess(response.statusCode(), uri.toString(), response.body() == null ? "" : new String(response.body(), StandardCharsets.UTF_8));
             String contentType = firstHeader(response, "Content-Type");
             String filename = extractFilename(uri.getPath(), fallbackFilename);
@@ -107,7 +113,8 @@ public class NetBoxApiService {
         URI uri = canonicalizeUri(settings.baseUrl(), resolveUri(settings.baseUrl(), pathOrUrl));
         HttpRequest request = baseRequest(settings, uri).GET().build();
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> response = PanelMetricsRegistry.send(metricsRegistry, "netbox", "fetch", httpClient, request,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             ensureSuccess(response.statusCode(), uri.toString(), response.body());
             return objectMapper.readValue(response.body(), MAP_TYPE);
         } catch (IOException ex) {
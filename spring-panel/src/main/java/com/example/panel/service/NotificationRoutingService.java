@@ -1,6 +1,6 @@
 package com.example.panel.service;
 
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -40,6 +41,9 @@ public class NotificationRoutingService {
     private final JdbcTemplate jdbcTemplate;
     private final JdbcTemplate usersJdbcTemplate;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public NotificationRoutingService(SharedConfigService sharedConfigService,
                                       NotificationService notificationService,
                                       JdbcTemplate jdbcTemplate,
@@ -263,7 +267,7 @@ public class NotificationRoutingService {
 
     private Set<String> loadUsersTableColumns(JdbcTemplate source) {
         try {
-            return new HashSet<>(JdbcSchemaInspector.loadColumnNames(source, "users"));
+            return new HashSet<>(SchemaCapabilityRegistry.columns(schemaCapabilities, source, "users"));
         } catch (DataAccessException ex) {
             return Set.of();
         }
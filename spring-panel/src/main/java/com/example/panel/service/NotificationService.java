@@ -4,7 +4,8 @@ import com.example.panel.entity.Notification;
 import com.example.panel.model.notification.NotificationDto;
 import com.example.panel.model.notification.NotificationSummary;
 import com.example.panel.repository.NotificationRepository;
-import com.example.panel.support.JdbcSchemaInspector;
+import com.example.panel.support.SchemaCapabilityRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -56,6 +57,9 @@ public class NotificationService {
     private final JdbcTemplate usersJdbcTemplate;
     private final UiEventStreamService uiEventStreamService;
 
+    @Autowired(required = false)
+    private SchemaCapabilityRegistry schemaCapabilities;
+
     public NotificationService(NotificationRepository notificationRepository,
                                JdbcTemplate jdbcTemplate,
                                @Qualifier("usersJdbcTemplate") JdbcTemplate usersJdbcTemplate,
@@ -225,7 +229,7 @@ public class NotificationService {
 
     private Set<String> loadUsersTableColumns(JdbcTemplate source) {
         try {
-            return new HashSet<>(JdbcSchemaInspector.loadColumnNames(source, "users"));
+            return new HashSet<>(SchemaCapabilityRegistry.columns(schemaCapabilities, source, "users"));
         } catch (Exception ex) {
             return Set.of();
         }
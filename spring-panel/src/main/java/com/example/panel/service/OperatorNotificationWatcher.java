@@ -6,18 +6,24 @@ import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.sql.Connection;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +39,7 @@ public class OperatorNotificationWatcher {
     private static final DateTimeFormatter LOCAL_TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String CHAT_HISTORY_CHECKPOINT_KEY = "operator-notification-watch.chat-history";
     private static final String FEEDBACK_CHECKPOINT_KEY = "operator-notification-watch.feedbacks";
+    private static final String FIRST_RESPONSE_BACKFILL_KEY = "operator-notification-watch.first-response-backfill";
 
     private final JdbcTemplate jdbcTemplate;
     private final NotificationService notificationService;
@@ -44,8 +51,16 @@ public class OperatorNotificationWatcher {
     private final RuntimeCoordinationService runtimeCoordinationService;
     private final RuntimeWorkerCheckpointService checkpointService;
     private final UiEventStreamService uiEventStreamService;
+    private final FirstResponseDeadlineTracker firstResponseDeadlines;
     @Autowired
     private DialogNotificationService dialogNotificationService;
+    @Autowired(required = false)
+    private PostgresNotificationListener notificationListener;
+    @Autowired(required = false)
+    private TaskScheduler taskScheduler;
+    @Value("${panel.notifications.fallback-interval-ms:60000}")
+    private long fallbackIntervalMs = 60000L;
+    private OutboxWakeup wakeup;
 
     private final AtomicLong lastChatHistoryId = new AtomicLong(0);
     private final AtomicLong lastFeedbackId = new AtomicLong(0);
@@ -92,6 +107,7 @@ public class OperatorNotificationWatcher {
         this.runtimeCoordinationService = runtimeCoordinationService;
         this.checkpointService = checkpointService;
         this.uiEventStreamService = uiEventStreamService;
+        this.firstResponseDeadlines = new FirstResponseDeadlineTracker(jdbcTemplate);
     }
 
     @PostConstruct
@@ -100,15 +116,42 @@ public class OperatorNotificationWatcher {
         lastFeedbackId.set(checkpointService.readLongCursorOrInitialize(FEEDBACK_CHECKPOINT_KEY, () -> readMaxId("feedbacks")));
         log.info("Operator notification watcher initialized (chatHistoryId={}, feedbackId={})",
                 lastChatHistoryId.get(), lastFeedbackId.get());
+        backfillFirstResponseDeadlines();
+        wakeup = new OutboxWakeup(notificationListener, taskScheduler, fallbackIntervalMs,
+                this::watchInserted, "panel_chat_history", "panel_feedbacks");
     }
 
+    /**
+     * The id-watermark scans of {@code chat_history} and {@code feedbacks} run when PostgreSQL notifies
+     * about inserts (see {@link OutboxWakeup}); the overdue first-response check is time-based and runs on
+     * every tick.
+     */
     @Scheduled(fixedDelayString = "${panel.notifications.watch-interval-ms:12000}")
     void watch() {
-        Runnable task = () -> {
+        runLeased(() -> {
+            scanInserted();
+            watchFirstResponseOverdue();
+        });
+    }
+
+    private void watchInserted() {
+        runLeased(this::scanInserted);
+    }
+
+    private void scanInserted() {
+        Runnable scans = () -> {
             watchChatHistoryMessages();
             watchFeedbacks();
-            watchFirstResponseOverdue();
         };
+        OutboxWakeup current = wakeup;
+        if (current == null) {
+            scans.run();
+            return;
+        }
+        current.runIfDue(scans);
+    }
+
+    private void runLeased(Runnable task) {
         if (runtimeCoordinationService == null) {
             task.run();
             return;
@@ -118,14 +161,16 @@ public class OperatorNotificationWatcher {
 
     private void watchChatHistoryMessages() {
         long afterId = lastChatHistoryId.get();
-        jdbcTemplate.query(
+        // Applied once the scan's result set is closed: SQLite cannot write while another connection reads.
+        List<Runnable> deadlineUpdates = new ArrayList<>();
+        Long scannedUpTo = jdbcTemplate.query(
                 """
                 SELECT id, ticket_id, sender, message, message_type, attachment, channel_id, timestamp
                   FROM chat_history
                  WHERE id > ?
                  ORDER BY id ASC
                 """,
-                (org.springframework.jdbc.core.ResultSetExtractor<Void>) rs -> {
+                (org.springframework.jdbc.core.ResultSetExtractor<Long>) rs -> {
                     long maxSeen = afterId;
                     while (rs.next()) {
                         long id = rs.getLong("id");
@@ -144,6 +189,7 @@ public class OperatorNotificationWatcher {
                         if (!StringUtils.hasText(ticketId)) {
                             continue;
                         }
+                        deadlineUpdates.add(() -> trackFirstResponseDeadline(ticketId, channelId, sender, timestampRaw));
                         if (isInactivityAutoCloseEvent(sender, messageType, message)) {
                             String text = "Диалог " + ticketId + " автоматически закрыт из-за отсутствия активности.";
                             Set<String> recipients = notificationService.findDialogRecipients(ticketId);
@@ -153,7 +199,7 @@ public class OperatorNotificationWatcher {
                                 notificationService.notifyUsers(recipients, text, notificationService.buildDialogUrl(ticketId));
                             }
                             notifySupportChat(channel, text);
-                            publishDialogsChanged("dialog_auto_closed", ticketId);
+                            publishDialogsChanged("dialog_auto_closed", ticketId, channelId);
                             continue;
                         }
                         if (!shouldReplayAsLiveMessage(timestampRaw)) {
@@ -165,14 +211,15 @@ public class OperatorNotificationWatcher {
                         notifyIncomingClientMessage(ticketId, channel, message);
                         dialogAiAssistantService.processIncomingClientMessage(ticketId, message, messageType, attachment);
                     }
-                    if (maxSeen > afterId) {
-                        lastChatHistoryId.set(maxSeen);
-                        checkpointService.saveLongCursor(CHAT_HISTORY_CHECKPOINT_KEY, maxSeen);
-                    }
-                    return null;
+                    return maxSeen;
                 },
                 afterId
         );
+        deadlineUpdates.forEach(Runnable::run);
+        if (scannedUpTo != null && scannedUpTo > afterId) {
+            lastChatHistoryId.set(scannedUpTo);
+            checkpointService.saveLongCursor(CHAT_HISTORY_CHECKPOINT_KEY, scannedUpTo);
+        }
     }
 
     private void notifyIncomingClientMessage(String ticketId, Channel channel, String message) {
@@ -182,7 +229,7 @@ public class OperatorNotificationWatcher {
         boolean handledByQueue = channel != null
                 && alertQueueService.notifyIncomingClientMessage(channel, ticketId, message);
         if (handledByQueue) {
-            publishDialogsChanged("incoming_client_message", ticketId);
+            publishDialogsChanged("incoming_client_message", ticketId, channel.getId());
             publishDialogHistoryChanged(ticketId, channel.getId(), "incoming_client_message");
             return;
         }
@@ -195,7 +242,7 @@ public class OperatorNotificationWatcher {
                 notificationService.buildDialogUrl(ticketId),
                 null
         );
-        publishDialogsChanged("incoming_client_message", ticketId);
+        publishDialogsChanged("incoming_client_message", ticketId, channel == null ? null : channel.getId());
         publishDialogHistoryChanged(ticketId, channel == null ? null : channel.getId(), "incoming_client_message");
     }
 
@@ -240,7 +287,7 @@ public class OperatorNotificationWatcher {
                                 notificationService.buildDialogUrl(ticketId),
                                 null
                         );
-                        publishDialogsChanged("dialog_feedback_created", ticketId);
+                        publishDialogsChanged("dialog_feedback_created", ticketId, null);
                     }
                     if (maxSeen > afterId) {
                         lastFeedbackId.set(maxSeen);
@@ -252,92 +299,129 @@ public class OperatorNotificationWatcher {
         );
     }
 
-    private void watchFirstResponseOverdue() {
-        int targetMinutes = resolveFirstResponseTargetMinutes();
-        jdbcTemplate.query(
-                """
-                SELECT t.ticket_id,
-                       t.channel_id,
-                       COALESCE(
-                           (
-                               SELECT MIN(ch.timestamp)
-                                 FROM chat_history ch
-                                WHERE ch.ticket_id = t.ticket_id
-                                  AND lower(COALESCE(ch.sender, '')) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
-                           ),
-                           t.created_at
-                       ) AS first_client_at
-                  FROM tickets t
-                 WHERE COALESCE(lower(t.status), 'open') NOT IN ('resolved', 'closed')
-                   AND EXISTS (
-                       SELECT 1
-                         FROM chat_history ch
-                        WHERE ch.ticket_id = t.ticket_id
-                          AND lower(COALESCE(ch.sender, '')) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
-                   )
-                   AND NOT EXISTS (
-                       SELECT 1
-                         FROM chat_history ch
-                        WHERE ch.ticket_id = t.ticket_id
-                          AND lower(COALESCE(ch.sender, '')) IN ('operator', 'support', 'admin', 'system', 'ai_agent')
-                   )
-                 ORDER BY t.ticket_id DESC
-                """,
-                (org.springframework.jdbc.core.ResultSetExtractor<Void>) rs -> {
-                    while (rs.next()) {
-                        String ticketId = trimToNull(rs.getString("ticket_id"));
-                        Long channelId = rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null;
-                        String firstClientAtRaw = trimToNull(rs.getString("first_client_at"));
-                        if (!StringUtils.hasText(ticketId) || channelId == null || !StringUtils.hasText(firstClientAtRaw)) {
-                            continue;
-                        }
-                        if (dialogAuditService.hasSuccessfulDialogAction(ticketId, "first_response_overdue_notification")) {
-                            continue;
-                        }
-                        OffsetDateTime firstClientAt = parseTimestamp(firstClientAtRaw);
-                        if (firstClientAt == null) {
-                            continue;
-                        }
-                        long overdueMinutes = java.time.Duration.between(firstClientAt, OffsetDateTime.now(ZoneOffset.UTC)).toMinutes();
-                        if (overdueMinutes < targetMinutes) {
-                            continue;
-                        }
-                        Channel channel = channelRepository.findById(channelId).orElse(null);
-                        if (channel == null) {
-                            continue;
-                        }
-                        String notificationText = buildFirstResponseOverdueText(channel, ticketId, overdueMinutes);
-                        boolean notified = notifySupportChat(channel, notificationText);
-                        if (alertQueueService.notifyFirstResponseOverdue(channel, ticketId, overdueMinutes)) {
-                            notified = true;
-                        }
-                        String auditDetail = "channel=" + channelId + ", overdue_minutes=" + overdueMinutes + ", threshold_minutes=" + targetMinutes;
-                        if (!notified) {
-                            Set<String> fallbackRecipients = notificationService.findAllOperatorRecipients();
-                            if (!fallbackRecipients.isEmpty()) {
-                                notificationService.notifyUsers(
-                                        fallbackRecipients,
-                                        notificationText,
-                                        notificationService.buildDialogUrl(ticketId)
-                                );
-                                notified = true;
-                                auditDetail += ", route=fallback_all_operators";
+    private void trackFirstResponseDeadline(String ticketId, Long channelId, String sender, String timestampRaw) {
+        if (FirstResponseDeadlineTracker.isResponder(sender)) {
+            firstResponseDeadlines.recordFirstResponse(ticketId, channelId, Instant.now());
+            return;
+        }
+        OffsetDateTime messageAt = parseTimestamp(timestampRaw);
+        firstResponseDeadlines.recordClientMessage(ticketId, channelId, messageAt != null ? messageAt.toInstant() : Instant.now());
+    }
+
+    /**
+     * One-time fill of {@code ticket_first_response_deadlines} for dialogs that were already waiting for a
+     * first response before the table existed; afterwards the table is maintained by the chat history scan.
+     */
+    private void backfillFirstResponseDeadlines() {
+        if (checkpointService.readLongCursor(FIRST_RESPONSE_BACKFILL_KEY).isPresent()) {
+            return;
+        }
+        try {
+            List<WaitingDialog> waiting = new ArrayList<>();
+            jdbcTemplate.query(
+                    """
+                    SELECT t.ticket_id,
+                           t.channel_id,
+                           COALESCE(
+                               (
+                                   SELECT MIN(ch.timestamp)
+                                     FROM chat_history ch
+                                    WHERE ch.ticket_id = t.ticket_id
+                                      AND lower(COALESCE(ch.sender, '')) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                               ),
+                               t.created_at
+                           ) AS first_client_at
+                      FROM tickets t
+                     WHERE COALESCE(lower(t.status), 'open') NOT IN ('resolved', 'closed')
+                       AND EXISTS (
+                           SELECT 1
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                              AND lower(COALESCE(ch.sender, '')) NOT IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                       )
+                       AND NOT EXISTS (
+                           SELECT 1
+                             FROM chat_history ch
+                            WHERE ch.ticket_id = t.ticket_id
+                              AND lower(COALESCE(ch.sender, '')) IN ('operator', 'support', 'admin', 'system', 'ai_agent')
+                       )
+                    """,
+                    (org.springframework.jdbc.core.ResultSetExtractor<Void>) rs -> {
+                        while (rs.next()) {
+                            String ticketId = trimToNull(rs.getString("ticket_id"));
+                            Long channelId = rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null;
+                            OffsetDateTime firstClientAt = parseTimestamp(trimToNull(rs.getString("first_client_at")));
+                            if (!StringUtils.hasText(ticketId) || firstClientAt == null) {
+                                continue;
                             }
+                            waiting.add(new WaitingDialog(ticketId, channelId, firstClientAt.toInstant()));
                         }
-                        if (notified) {
-                            dialogAuditService.logDialogActionAudit(
-                                    ticketId,
-                                    "notification_watcher",
-                                    "first_response_overdue_notification",
-                                    "success",
-                                    auditDetail
-                            );
-                            publishDialogsChanged("first_response_overdue", ticketId);
-                        }
+                        return null;
                     }
-                    return null;
+            );
+            for (WaitingDialog dialog : waiting) {
+                boolean alreadyNotified = dialogAuditService.hasSuccessfulDialogAction(dialog.ticketId(), "first_response_overdue_notification");
+                firstResponseDeadlines.recordBackfilled(dialog.ticketId(), dialog.channelId(), dialog.firstClientAt(),
+                        alreadyNotified ? Instant.now() : null);
+            }
+            checkpointService.saveLongCursor(FIRST_RESPONSE_BACKFILL_KEY, 1L);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to backfill first response deadlines, will retry on next start: {}", ex.getMessage());
+        }
+    }
+
+    private void watchFirstResponseOverdue() {
+        int targetMinutes = resolveFirstResponseTargetMinutes();
+        Instant now = Instant.now();
+        for (FirstResponseDeadlineTracker.DueDeadline deadline : firstResponseDeadlines.findDue(now.minus(Duration.ofMinutes(targetMinutes)))) {
+            String ticketId = trimToNull(deadline.ticketId());
+            if (!StringUtils.hasText(ticketId)) {
+                continue;
+            }
+            String status = normalizeSender(deadline.status());
+            if ("resolved".equals(status) || "closed".equals(status)) {
+                firstResponseDeadlines.settle(ticketId, now);
+                continue;
+            }
+            Long channelId = deadline.channelId();
+            if (channelId == null) {
+                continue;
+            }
+            long overdueMinutes = Duration.between(deadline.firstClientMessageAt(), now).toMinutes();
+            Channel channel = channelRepository.findById(channelId).orElse(null);
+            if (channel == null) {
+                continue;
+            }
+            String notificationText = buildFirstResponseOverdueText(channel, ticketId, overdueMinutes);
+            boolean notified = notifySupportChat(channel, notificationText);
+            if (alertQueueService.notifyFirstResponseOverdue(channel, ticketId, overdueMinutes)) {
+                notified = true;
+            }
+            String auditDetail = "channel=" + channelId + ", overdue_minutes=" + overdueMinutes + ", threshold_minutes=" + targetMinutes;
+            if (!notified) {
+                Set<String> fallbackRecipients = notificationService.findAllOperatorRecipients();
+                if (!fallbackRecipients.isEmpty()) {
+                    notificationService.notifyUsers(
+                            fallbackRecipients,
+                            notificationText,
+                            notificationService.buildDialogUrl(ticketId)
+                    );
+                    notified = true;
+                    auditDetail += ", route=fallback_all_operators";
                 }
-        );
+            }
+            if (notified) {
+                firstResponseDeadlines.settle(ticketId, now);
+                dialogAuditService.logDialogActionAudit(
+                        ticketId,
+                        "notification_watcher",
+                        "first_response_overdue_notification",
+                        "success",
+                        auditDetail
+                );
+                publishDialogsChanged("first_response_overdue", ticketId, channelId);
+            }
+        }
     }
 
     private int resolveFirstResponseTargetMinutes() {
@@ -516,11 +600,11 @@ public class OperatorNotificationWatcher {
         return "Первая реакция просрочена (" + channelLabel + ") в обращении " + ticketId + "." + overdueLabel;
     }
 
-    private void publishDialogsChanged(String reason, String ticketId) {
+    private void publishDialogsChanged(String reason, String ticketId, Long channelId) {
         if (uiEventStreamService == null) {
             return;
         }
-        uiEventStreamService.publishDialogsChanged(reason, ticketId);
+        uiEventStreamService.publishDialogsChanged(reason, ticketId, channelId);
     }
 
     private void publishDialogHistoryChanged(String ticketId, Long channelId, String reason) {
@@ -529,4 +613,7 @@ public class OperatorNotificationWatcher {
         }
         uiEventStreamService.publishDialogHistoryChanged(ticketId, channelId, reason);
     }
+
+    private record WaitingDialog(String ticketId, Long channelId, Instant firstClientAt) {
+    }
 }
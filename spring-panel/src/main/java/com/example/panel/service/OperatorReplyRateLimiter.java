@@ -0,0 +1,203 @@
+package com.example.panel.service;
+
+import com.example.panel.config.OperatorReplyRateLimitProperties;
+import com.example.panel.config.OperatorReplyRateLimitProperties.PlatformLimits;
+import com.example.panel.metrics.PanelMetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ограничитель частоты ответов операторов, которые панель отправляет напрямую в API мессенджеров.
+ *
+ * <p>На каждый канал (платформа + id канала) заводится общий token bucket и по bucket'у на чат.
+ * Если платформа ответила лимитом (Telegram 429 с {@code retry_after}, VK error 6, MAX 429), канал
+ * ставится на паузу на запрошенное время и отправка повторяется не более {@code maxRetries} раз.
+ * Поток запроса оператора ждёт не дольше {@code maxWait}; дальше ответ возвращается с ошибкой.
+ * Лимиты считаются на узел панели.</p>
+ */
+@Service
+public class OperatorReplyRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(OperatorReplyRateLimiter.class);
+    private static final int MAX_CHAT_BUCKETS = 10_000;
+
+    @FunctionalInterface
+    public interface PlatformCall<T> {
+        T call() throws IOException, InterruptedException;
+    }
+
+    private final OperatorReplyRateLimitProperties properties;
+    private final Map<String, ChannelLane> lanes = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
+    public OperatorReplyRateLimiter(OperatorReplyRateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Выполняет вызов платформы в пределах лимитов канала. {@code retryAfterOf} возвращает паузу,
+     * если ответ означает превышение лимита, и {@code null} в остальных случаях. После исчерпания
+     * повторов возвращается последний ответ платформы, чтобы вызывающий показал её ошибку.
+     *
+     * @throws OperatorReplyRateLimitedException если разрешение на отправку не получено за {@code maxWait}
+     */
+    public <T> T execute(String platform,
+                         Long channelId,
+                         Object chatId,
+                         PlatformCall<T> call,
+                         Function<T, Duration> retryAfterOf) throws IOException, InterruptedException {
+        if (!properties.isEnabled()) {
+            return call.call();
+        }
+        String normalizedPlatform = platform != null ? platform.toLowerCase(Locale.ROOT) : "telegram";
+        ChannelLane lane = lanes.computeIfAbsent(normalizedPlatform + ":" + channelId,
+                key -> new ChannelLane(properties.limitsFor(normalizedPlatform)));
+        String chatKey = String.valueOf(chatId);
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        for (int attempt = 0; ; attempt++) {
+            if (!lane.acquire(chatKey, deadline)) {
+                countLimited(normalizedPlatform, "wait_exceeded");
+                throw new OperatorReplyRateLimitedException(
+                        "Outbound rate limit wait exceeded for " + normalizedPlatform + " channel " + channelId);
+            }
+            T result = call.call();
+            Duration retryAfter = retryAfterOf.apply(result);
+            if (retryAfter == null) {
+                return result;
+            }
+            if (retryAfter.isNegative() || retryAfter.isZero()) {
+                retryAfter = properties.getDefaultRetryAfter();
+            }
+            long resumeAt = lane.pause(retryAfter);
+            countLimited(normalizedPlatform, "retry_after");
+            if (attempt >= properties.getMaxRetries() || resumeAt - deadline > 0) {
+                log.warn("Operator reply on {} channel {} rate limited after {} attempts", normalizedPlatform, channelId, attempt + 1);
+                return result;
+            }
+            log.warn("Operator reply on {} channel {} rate limited, retrying in {} ms",
+                    normalizedPlatform, channelId, retryAfter.toMillis());
+        }
+    }
+
+    private void countLimited(String platform, String reason) {
+        if (metricsRegistry != null) {
+            metricsRegistry.counter("panel_operator_reply_rate_limited_total",
+                    "Operator replies delayed or failed by the outbound rate limit",
+                    "platform", platform, "reason", reason).increment();
+        }
+    }
+
+    public static class OperatorReplyRateLimitedException extends IOException {
+        public OperatorReplyRateLimitedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class ChannelLane {
+
+        private final PlatformLimits limits;
+        private final TokenBucket global;
+        private final Map<String, TokenBucket> chats = new HashMap<>();
+        private long pausedUntil;
+
+        private ChannelLane(PlatformLimits limits) {
+            long now = System.nanoTime();
+            this.limits = limits;
+            this.global = new TokenBucket(limits.getGlobalPerSecond(), limits.getGlobalPerSecond(), now);
+            this.pausedUntil = now;
+        }
+
+        private boolean acquire(String chatKey, long deadline) throws InterruptedException {
+            while (true) {
+                long waitNanos;
+                synchronized (this) {
+                    long now = System.nanoTime();
+                    TokenBucket chat = chatBucket(chatKey, now);
+                    waitNanos = Math.max(pausedUntil - now,
+                            Math.max(global.nanosUntilToken(now), chat.nanosUntilToken(now)));
+                    if (waitNanos <= 0) {
+                        global.take(now);
+                        chat.take(now);
+                        return true;
+                    }
+                    if (now + waitNanos - deadline > 0) {
+                        return false;
+                    }
+                }
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        private synchronized long pause(Duration retryAfter) {
+            long resumeAt = System.nanoTime() + retryAfter.toNanos();
+            if (resumeAt - pausedUntil > 0) {
+                pausedUntil = resumeAt;
+            }
+            return pausedUntil;
+        }
+
+        private TokenBucket chatBucket(String chatKey, long now) {
+            if (chats.size() >= MAX_CHAT_BUCKETS) {
+                chats.values().removeIf(bucket -> bucket.isFull(now));
+            }
+            return chats.computeIfAbsent(chatKey,
+                    ignored -> new TokenBucket(limits.getPerChatPerSecond(), limits.getPerChatBurst(), now));
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedAt;
+
+        private TokenBucket(double perSecond, double capacity, long now) {
+            this.tokensPerNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1d, capacity);
+            this.tokens = this.capacity;
+            this.updatedAt = now;
+        }
+
+        private long nanosUntilToken(long now) {
+            if (tokensPerNano <= 0) {
+                return 0L;
+            }
+            refill(now);
+            return tokens >= 1d ? 0L : (long) Math.ceil((1d - tokens) / tokensPerNano);
+        }
+
+        private void take(long now) {
+            if (tokensPerNano <= 0) {
+                return;
+            }
+            refill(now);
+            tokens -= 1d;
+        }
+
+        private boolean isFull(long now) {
+            refill(now);
+            return tokensPerNano <= 0 || tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now - updatedAt > 0) {
+                tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.panel.service;
+
+import com.example.panel.model.dialog.DialogListItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Live per-responsible workload: open, unanswered and SLA-critical ticket counts, split by channel.
+ * The index keeps one entry per open assigned ticket and follows the dialog list projection change
+ * feed, which already records every assignment and lifecycle change; a periodic reconcile rebuilds
+ * it from the dialog list. A lookup touches only the operator's own counters instead of running a
+ * dialog list query.
+ */
+@Service
+public class OperatorWorkloadIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(OperatorWorkloadIndexService.class);
+    private static final int CHANGE_LIMIT = 1000;
+    private static final SlaEscalationCandidateService TIMESTAMPS = new SlaEscalationCandidateService();
+
+    private final DialogLookupReadService dialogLookupReadService;
+    private final DialogListProjectionService projectionService;
+    private final Map<String, TicketLoad> tickets = new HashMap<>();
+    private final Map<String, Map<Long, ChannelCounters>> operators = new HashMap<>();
+
+    private volatile long version;
+    private volatile boolean ready;
+
+    @Autowired
+    public OperatorWorkloadIndexService(DialogLookupReadService dialogLookupReadService,
+                                        DialogListProjectionService projectionService) {
+        this.dialogLookupReadService = dialogLookupReadService;
+        this.projectionService = projectionService;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Workload of the operator; open tickets created at or before {@code criticalCreatedBefore}
+     * count as critical. Operator names are matched case-insensitively.
+     */
+    public synchronized OperatorWorkload workload(String operator, Instant criticalCreatedBefore) {
+        Map<Long, ChannelCounters> channels = operators.get(operatorKey(operator));
+        if (channels == null) {
+            return OperatorWorkload.EMPTY;
+        }
+        long cutoff = criticalCreatedBefore != null ? criticalCreatedBefore.toEpochMilli() : Long.MIN_VALUE;
+        long open = 0;
+        long unanswered = 0;
+        long critical = 0;
+        Map<Long, ChannelWorkload> byChannel = new LinkedHashMap<>();
+        for (Map.Entry<Long, ChannelCounters> entry : channels.entrySet()) {
+            ChannelWorkload channel = entry.getValue().snapshot(cutoff);
+            byChannel.put(entry.getKey(), channel);
+            open += channel.open();
+            unanswered += channel.unanswered();
+            critical += channel.critical();
+        }
+        return new OperatorWorkload(open, unanswered, critical, byChannel);
+    }
+
+    public long openCount(String operator) {
+        return workload(operator, null).open();
+    }
+
+    /**
+     * Replaces the index contents with the given dialogs.
+     */
+    public void reconcile(Collection<DialogListItem> dialogs) {
+        Map<String, TicketLoad> loads = new HashMap<>();
+        if (dialogs != null) {
+            for (DialogListItem dialog : dialogs) {
+                TicketLoad load = TicketLoad.of(dialog);
+                if (load != null) {
+                    loads.put(load.ticketId(), load);
+                }
+            }
+        }
+        synchronized (this) {
+            tickets.clear();
+            operators.clear();
+            loads.values().forEach(this::add);
+            ready = true;
+        }
+    }
+
+    /**
+     * Re-reads the given tickets without daily request numbers, which the index does not use;
+     * tickets no longer in the dialog list leave the index.
+     */
+    public void refreshTickets(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return;
+        }
+        Set<String> pending = new HashSet<>(ticketIds);
+        List<DialogListItem> dialogs = dialogLookupReadService.loadDialogRowsByTicketIds(pending);
+        synchronized (this) {
+            for (DialogListItem dialog : dialogs) {
+                if (dialog.ticketId() == null || !pending.remove(dialog.ticketId())) {
+                    continue;
+                }
+                remove(dialog.ticketId());
+                TicketLoad load = TicketLoad.of(dialog);
+                if (load != null) {
+                    add(load);
+                }
+            }
+            pending.forEach(this::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${panel.sla-escalation.workload-sync-interval-ms:10000}")
+    void synchronize() {
+        try {
+            if (!ready) {
+                reconcile();
+                return;
+            }
+            if (projectionService == null || !projectionService.isReady()) {
+                return;
+            }
+            DialogListProjectionService.ChangeSet changes = projectionService.changesSince(version, CHANGE_LIMIT);
+            if (changes.reset()) {
+                reconcile();
+                return;
+            }
+            Set<String> changed = new HashSet<>(changes.upsertedTicketIds());
+            changed.addAll(changes.removedTicketIds());
+            refreshTickets(changed);
+            version = changes.version();
+        } catch (DataAccessException ex) {
+            log.warn("Unable to synchronize operator workload index: {}", DialogDataAccessSupport.summarizeDataAccessException(ex));
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${panel.sla-escalation.workload-reconcile-interval-ms:600000}",
+            fixedDelayString = "${panel.sla-escalation.workload-reconcile-interval-ms:600000}"
+    )
+    void reconcile() {
+        long nextVersion = projectionService != null && projectionService.isReady() ? projectionService.currentVersion() : 0L;
+        reconcile(dialogLookupReadService.loadDialogs(null));
+        version = nextVersion;
+        log.debug("Operator workload index reconciled: {} assigned open tickets", tickets.size());
+    }
+
+    private void add(TicketLoad load) {
+        tickets.put(load.ticketId(), load);
+        operators.computeIfAbsent(load.operator(), key -> new HashMap<>())
+                .computeIfAbsent(load.channelId(), key -> new ChannelCounters())
+                .apply(load, 1);
+    }
+
+    private void remove(String ticketId) {
+        TicketLoad load = tickets.remove(ticketId);
+        if (load == null) {
+            return;
+        }
+        Map<Long, ChannelCounters> channels = operators.get(load.operator());
+        ChannelCounters counters = channels != null ? channels.get(load.channelId()) : null;
+        if (counters == null) {
+            return;
+        }
+        counters.apply(load, -1);
+        if (counters.open <= 0) {
+            channels.remove(load.channelId());
+            if (channels.isEmpty()) {
+                operators.remove(load.operator());
+            }
+        }
+    }
+
+    private static String operatorKey(String operator) {
+        return operator == null ? "" : operator.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record TicketLoad(String ticketId, String operator, long channelId, boolean unanswered, Long createdAtMs) {
+
+        static TicketLoad of(DialogListItem dialog) {
+            if (dialog == null || !StringUtils.hasText(dialog.ticketId()) || !StringUtils.hasText(dialog.rawResponsible())) {
+                return null;
+            }
+            String statusKey = dialog.statusKey();
+            if (!"open".equals(TIMESTAMPS.normalizeLifecycleState(statusKey))) {
+                return null;
+            }
+            Instant created = TIMESTAMPS.parseInstant(dialog.createdAt());
+            return new TicketLoad(
+                    dialog.ticketId(),
+                    operatorKey(dialog.rawResponsible()),
+                    dialog.channelId() != null ? dialog.channelId() : 0L,
+                    "new".equals(statusKey) || "waiting_operator".equals(statusKey),
+                    created != null ? created.toEpochMilli() : null
+            );
+        }
+    }
+
+    private static final class ChannelCounters {
+
+        private long open;
+        private long unanswered;
+        private final NavigableMap<Long, Integer> openByCreatedAt = new TreeMap<>();
+
+        void apply(TicketLoad load, int sign) {
+            open += sign;
+            if (load.unanswered()) {
+                unanswered += sign;
+            }
+            if (load.createdAtMs() != null) {
+                openByCreatedAt.merge(load.createdAtMs(), sign, (left, right) -> left + right == 0 ? null : left + right);
+            }
+        }
+
+        ChannelWorkload snapshot(long criticalCutoffMs) {
+            long critical = 0;
+            if (criticalCutoffMs != Long.MIN_VALUE) {
+                for (int count : openByCreatedAt.headMap(criticalCutoffMs, true).values()) {
+                    critical += count;
+                }
+            }
+            return new ChannelWorkload(open, unanswered, critical);
+        }
+    }
+
+    public record ChannelWorkload(long open, long unanswered, long critical) {
+    }
+
+    public record OperatorWorkload(long open, long unanswered, long critical, Map<Long, ChannelWorkload> byChannel) {
+
+        static final OperatorWorkload EMPTY = new OperatorWorkload(0, 0, 0, Map.of());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.panel.service;
+
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Решает, нужен ли очередной проход фонового обработчика, таблицы которого сигнализируют о вставках
+ * через NOTIFY.
+ *
+ * <p>Пока {@link PostgresNotificationListener} активен, плановый тик выполняет проход только после
+ * уведомления или раз в {@code fallbackMs} как страховку от потерянных уведомлений; уведомление к тому же
+ * сразу ставит внеочередной проход в планировщик. Без слушателя каждый тик выполняется, как раньше.
+ * Проходы одного обработчика не пересекаются: тик, пришедший во время прохода, откладывается до
+ * следующего.</p>
+ */
+final class OutboxWakeup {
+
+    private final PostgresNotificationListener notificationListener;
+    private final TaskScheduler taskScheduler;
+    private final Runnable task;
+    private final long fallbackNanos;
+    private final AtomicBoolean signalled = new AtomicBoolean(true);
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+    private volatile long lastRunAt = System.nanoTime();
+
+    OutboxWakeup(PostgresNotificationListener notificationListener,
+                 TaskScheduler taskScheduler,
+                 long fallbackMs,
+                 Runnable task,
+                 String... channels) {
+        this.notificationListener = notificationListener;
+        this.taskScheduler = taskScheduler;
+        this.task = task;
+        this.fallbackNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, fallbackMs));
+        if (notificationListener != null) {
+            for (String channel : channels) {
+                notificationListener.subscribe(channel, ignored -> wake());
+            }
+        }
+    }
+
+    /**
+     * Выполняет {@code pass}, если он нужен; возвращает {@code false}, если проход пропущен.
+     */
+    boolean runIfDue(Runnable pass) {
+        if (!running.compareAndSet(false, true)) {
+            signalled.set(true);
+            return false;
+        }
+        try {
+            if (!isDue()) {
+                return false;
+            }
+            lastRunAt = System.nanoTime();
+            try {
+                pass.run();
+            } catch (RuntimeException ex) {
+                signalled.set(true);
+                throw ex;
+            }
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Помечает, что в таблице может остаться работа, чтобы следующий тик не пропускался.
+     */
+    void signal() {
+        signalled.set(true);
+    }
+
+    private boolean isDue() {
+        boolean wasSignalled = signalled.getAndSet(false);
+        if (notificationListener == null || !notificationListener.isActive()) {
+            return true;
+        }
+        return wasSignalled || System.nanoTime() - lastRunAt >= fallbackNanos;
+    }
+
+    private void wake() {
+        signalled.set(true);
+        if (taskScheduler == null || !wakeQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskScheduler.schedule(() -> {
+                wakeQueued.set(false);
+                task.run();
+            }, Instant.now());
+        } catch (RuntimeException ex) {
+            // The scheduler is shutting down; the signal is picked up by the next regular tick.
+            wakeQueued.set(false);
+        }
+    }
+}
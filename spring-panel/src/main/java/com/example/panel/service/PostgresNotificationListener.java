@@ -0,0 +1,181 @@
+package com.example.panel.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Общее соединение PostgreSQL LISTEN/NOTIFY узла панели.
+ *
+ * <p>Подписчики регистрируют канал и обработчик; поток слушателя держит одно соединение, выполняет
+ * {@code LISTEN} для новых каналов и передаёт payload уведомлений обработчикам. Обработчики вызываются в
+ * потоке слушателя и должны только передавать работу дальше. На других СУБД и при
+ * {@code panel.pg-notify.enabled=false} слушатель не запускается, и {@link #isActive()} остаётся ложным:
+ * фоновые обработчики тогда опрашивают таблицы с прежними интервалами.</p>
+ *
+ * <p>Соединение живёт всё время работы узла, поэтому для пула Hikari оно открывается напрямую через
+ * драйвер и не занимает постоянный слот пула.</p>
+ */
+@Service
+public class PostgresNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotificationListener.class);
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 5000L;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final Set<String> listeningChannels = ConcurrentHashMap.newKeySet();
+    private volatile boolean active;
+    private volatile boolean running = true;
+    private Thread listener;
+
+    public PostgresNotificationListener(DataSource dataSource,
+                                        @Value("${panel.pg-notify.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    /**
+     * {@code true}, пока соединение установлено и слушает каналы; уведомления, отправленные без
+     * слушателя, теряются, поэтому потребители в это время должны опрашивать таблицы сами.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Подписывает обработчик на канал. Кроме payload уведомлений обработчик получает {@code null} каждый раз,
+     * когда канал начинает прослушиваться (первый {@code LISTEN} и каждое переподключение): уведомления,
+     * отправленные до этого, потеряны, и подписчик должен сам проверить таблицы.
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        if (!enabled || channel == null || channel.isBlank() || handler == null) {
+            return;
+        }
+        handlers.computeIfAbsent(channel.trim(), key -> new CopyOnWriteArrayList<>()).add(handler);
+        startIfNeeded();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        active = false;
+        Thread current;
+        synchronized (this) {
+            current = listener;
+        }
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private synchronized void startIfNeeded() {
+        if (listener != null || !running) {
+            return;
+        }
+        listener = new Thread(this::listen, "panel-pg-notify");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openListenConnection(dataSource);
+                 Statement statement = connection.createStatement()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("LISTEN/NOTIFY wakeups are disabled: the datasource is not PostgreSQL");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listeningChannels.clear();
+                while (running) {
+                    List<String> started = new ArrayList<>();
+                    for (String channel : handlers.keySet()) {
+                        if (listeningChannels.add(channel)) {
+                            statement.execute("LISTEN \"" + channel.replace("\"", "") + "\"");
+                            started.add(channel);
+                        }
+                    }
+                    active = true;
+                    for (String channel : started) {
+                        dispatch(channel, null);
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                active = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("PostgreSQL notification listener failed, reconnecting in {} ms: {}", RECONNECT_DELAY_MS, ex.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        active = false;
+    }
+
+    static Connection openListenConnection(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            if (StringUtils.hasText(hikari.getJdbcUrl())) {
+                Properties properties = new Properties();
+                properties.putAll(hikari.getDataSourceProperties());
+                if (hikari.getUsername() != null) {
+                    properties.setProperty("user", hikari.getUsername());
+                }
+                if (hikari.getPassword() != null) {
+                    properties.setProperty("password", hikari.getPassword());
+                }
+                return DriverManager.getConnection(hikari.getJdbcUrl(), properties);
+            }
+        }
+        return dataSource.getConnection();
+    }
+
+    private void dispatch(String channel, String payload) {
+        List<Consumer<String>> channelHandlers = handlers.get(channel);
+        if (channelHandlers == null) {
+            return;
+        }
+        for (Consumer<String> handler : channelHandlers) {
+            try {
+                handler.accept(payload);
+            } catch (RuntimeException ex) {
+                log.warn("PostgreSQL notification handler for {} failed: {}", channel, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.panel.service;
+
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Рассылка UI-событий через PostgreSQL LISTEN/NOTIFY на общем соединении {@link PostgresNotificationListener}.
+ * События, опубликованные, пока слушатель переподключается, до этого узла не доходят.
+ */
+final class PostgresUiEventClusterTransport implements UiEventClusterTransport {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    PostgresUiEventClusterTransport(PostgresNotificationListener notificationListener,
+                                    JdbcTemplate jdbcTemplate,
+                                    String channel,
+                                    Consumer<String> receiver) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        notificationListener.subscribe(channel, receiver);
+    }
+
+    @Override
+    public void send(String message) {
+        // NOTIFY issued inside a transaction is delivered only after commit.
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, message);
+    }
+
+    @Override
+    public void close() {
+        // The shared listener connection is closed by PostgresNotificationListener itself.
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.panel.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Рассылка UI-событий через Redis pub/sub на том же Redis, что использует {@link RuntimeCoordinationService}.
+ */
+final class RedisUiEventClusterTransport implements UiEventClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisUiEventClusterTransport.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String channel;
+    private final RedisMessageListenerContainer container;
+
+    RedisUiEventClusterTransport(StringRedisTemplate stringRedisTemplate, String channel, Consumer<String> receiver) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.channel = channel;
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(stringRedisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener((message, pattern) ->
+                receiver.accept(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void send(String message) {
+        stringRedisTemplate.convertAndSend(channel, message);
+    }
+
+    @Override
+    public void close() {
+        try {
+            container.destroy();
+        } catch (Exception ex) {
+            log.debug("Unable to stop Redis UI event listener: {}", ex.getMessage());
+        }
+    }
+}
@@ -9,22 +9,39 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Reads and writes the JSON files of the shared config directory.
+ *
+ * <p>Parsed files are kept as immutable snapshots and re-read only when the file's modification time or
+ * size changes, or after a write through this service. Every new snapshot of {@code settings.json} gets
+ * a new {@link #settingsVersion() version}, so derived objects can be memoized per version. Callers
+ * that only read settings should prefer {@link #settingsSnapshot()}; {@link #loadSettings()} returns a
+ * mutable deep copy for callers that edit and save settings.</p>
+ */
 @Service
 public class SharedConfigService {
 
     private static final Logger log = LoggerFactory.getLogger(SharedConfigService.class);
+    private static final String SETTINGS_FILE = "settings.json";
 
     private final ObjectMapper objectMapper;
     private final Path sharedConfigDir;
+    private final Map<String, CachedFile> cache = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong(0);
 
     public SharedConfigService(ObjectMapper objectMapper,
                                @Value("${shared-config.dir:../config/shared}") String sharedDir) {
@@ -33,11 +50,33 @@ public class SharedConfigService {
     }
 
     public Map<String, Object> loadSettings() {
-        return readAsMap("settings.json");
+        return mutableCopy(settingsSnapshot().settings());
+    }
+
+    /**
+     * Immutable view of {@code settings.json} shared between callers; nested maps and lists are
+     * unmodifiable as well.
+     */
+    public SettingsSnapshot settingsSnapshot() {
+        CachedFile cached = cachedFile(SETTINGS_FILE);
+        if (cached == null) {
+            return SettingsSnapshot.EMPTY;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> settings = (Map<String, Object>) cached.value();
+        return new SettingsSnapshot(cached.version(), settings);
+    }
+
+    /**
+     * Version of the current {@code settings.json} snapshot; changes whenever the file is re-read or
+     * saved. {@code 0} means that no settings file exists.
+     */
+    public long settingsVersion() {
+        return settingsSnapshot().version();
     }
 
     public void saveSettings(Map<String, Object> settings) {
-        writeMap("settings.json", settings);
+        writeMap(SETTINGS_FILE, settings);
     }
 
     public JsonNode loadOrgStructure() {
@@ -114,30 +153,95 @@ public class SharedConfigService {
         );
     }
 
-    private Map<String, Object> readAsMap(String fileName) {
+    private JsonNode readAsTree(String fileName) {
+        CachedFile cached = cachedFile(fileName);
+        return cached != null ? ((JsonNode) cached.value()).deepCopy() : null;
+    }
+
+    /**
+     * Returns the parsed snapshot of the file, re-reading it when its modification time or size
+     * differs from the cached entry. Files that cannot be parsed are not cached so that the next call
+     * retries.
+     */
+    private CachedFile cachedFile(String fileName) {
         Path file = sharedConfigDir.resolve(fileName);
-        if (!Files.isRegularFile(file)) {
-            return Collections.emptyMap();
-        }
+        BasicFileAttributes attributes;
         try {
-            return objectMapper.readValue(file.toFile(), LinkedHashMap.class);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
         } catch (IOException ex) {
-            log.warn("Failed to read shared config {}: {}", file, ex.getMessage());
-            return Collections.emptyMap();
+            cache.remove(fileName);
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            cache.remove(fileName);
+            return null;
+        }
+        CachedFile cached = cache.get(fileName);
+        if (cached != null && cached.matches(attributes)) {
+            return cached;
+        }
+        synchronized (cache) {
+            cached = cache.get(fileName);
+            if (cached != null && cached.matches(attributes)) {
+                return cached;
+            }
+            try {
+                JsonNode tree = objectMapper.readTree(file.toFile());
+                Object value = SETTINGS_FILE.equals(fileName) ? immutableSettings(tree) : tree;
+                CachedFile loaded = new CachedFile(attributes.lastModifiedTime(), attributes.size(), versionSequence.incrementAndGet(), value);
+                cache.put(fileName, loaded);
+                return loaded;
+            } catch (IOException ex) {
+                log.warn("Failed to read shared config {}: {}", file, ex.getMessage());
+                cache.remove(fileName);
+                return null;
+            }
         }
     }
 
-    private JsonNode readAsTree(String fileName) {
-        Path file = sharedConfigDir.resolve(fileName);
-        if (!Files.isRegularFile(file)) {
-            return null;
+    private Map<String, Object> immutableSettings(JsonNode tree) {
+        if (tree == null || !tree.isObject()) {
+            return Map.of();
         }
-        try {
-            return objectMapper.readTree(file.toFile());
-        } catch (IOException ex) {
-            log.warn("Failed to read shared config {}: {}", file, ex.getMessage());
-            return null;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parsed = objectMapper.convertValue(tree, LinkedHashMap.class);
+        return immutableMap(parsed);
+    }
+
+    private static Map<String, Object> immutableMap(Map<?, ?> source) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        source.forEach((key, value) -> copy.put(String.valueOf(key), immutableValue(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Object immutableValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return immutableMap(map);
         }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(immutableValue(item)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private static Map<String, Object> mutableCopy(Map<?, ?> source) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        source.forEach((key, value) -> copy.put(String.valueOf(key), mutableValue(value)));
+        return copy;
+    }
+
+    private static Object mutableValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return mutableCopy(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(mutableValue(item)));
+            return copy;
+        }
+        return value;
     }
 
     private <T> List<T> readAsList(String fileName, TypeReference<List<T>> typeReference) {
@@ -154,22 +258,35 @@ public class SharedConfigService {
     }
 
     private void writeMap(String fileName, Map<String, Object> payload) {
-        Path file = sharedConfigDir.resolve(fileName);
-        try {
-            Files.createDirectories(file.getParent());
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), payload);
-        } catch (IOException ex) {
-            throw new IllegalStateException("Failed to write shared config " + file, ex);
-        }
+        writeJson(fileName, payload);
     }
 
     private void writeJson(String fileName, Object payload) {
         Path file = sharedConfigDir.resolve(fileName);
-        try {
-            Files.createDirectories(file.getParent());
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), payload);
-        } catch (IOException ex) {
-            throw new IllegalStateException("Failed to write shared config " + file, ex);
+        synchronized (cache) {
+            // Dropped before and after the write: the next read re-parses even when the rewrite keeps
+            // the same size within the file system's timestamp granularity.
+            cache.remove(fileName);
+            try {
+                Files.createDirectories(file.getParent());
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), payload);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to write shared config " + file, ex);
+            } finally {
+                cache.remove(fileName);
+            }
+        }
+    }
+
+    private record CachedFile(FileTime lastModifiedTime, long size, long version, Object value) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return lastModifiedTime.equals(attributes.lastModifiedTime()) && size == attributes.size();
         }
     }
+
+    public record SettingsSnapshot(long version, Map<String, Object> settings) {
+
+        static final SettingsSnapshot EMPTY = new SettingsSnapshot(0L, Map.of());
+    }
 }
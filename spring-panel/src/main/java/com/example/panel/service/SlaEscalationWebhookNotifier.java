@@ -94,7 +94,7 @@ public class SlaEscalationWebhookNotifier {
     }
 
     private void notifyCriticalUnassignedDialogsInternal() {
-        Map<String, Object> settings = sharedConfigService.loadSettings();
+        Map<String, Object> settings = sharedConfigService.settingsSnapshot().settings();
         Map<String, Object> dialogConfig = extractMap(settings.get("dialog_config"));
         if (!resolveBoolean(dialogConfig, "sla_critical_escalation_enabled", true)) {
             return;
@@ -0,0 +1,531 @@
+package com.example.panel.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles {@code sla_critical_auto_assign_rules} and the operator skill/queue maps of the dialog config
+ * into an immutable decision structure. Match values are normalized once, rules are pre-sorted by the
+ * winner order (specificity, then priority, then config order) and indexed by channel, so a candidate is
+ * checked only against the rules of its channel plus the channel-agnostic ones and the first match wins.
+ *
+ * <p>The last compilation is reused while the dialog config carries the same rule, skill and queue
+ * objects, which holds for every evaluation against one {@link SharedConfigService#settingsSnapshot()
+ * settings snapshot}.</p>
+ */
+final class SlaRoutingRuleCompiler {
+
+    private volatile CacheEntry cached;
+
+    CompiledRules compiled(Map<String, Object> dialogConfig) {
+        Object rawRules = dialogConfig.get("sla_critical_auto_assign_rules");
+        Object rawSkills = dialogConfig.get("sla_critical_operator_skills");
+        Object rawQueues = dialogConfig.get("sla_critical_operator_queues");
+        CacheEntry entry = cached;
+        if (entry != null && entry.rawRules() == rawRules && entry.rawSkills() == rawSkills && entry.rawQueues() == rawQueues) {
+            return entry.rules();
+        }
+        CompiledRules rules = compile(rawRules, rawSkills, rawQueues);
+        cached = new CacheEntry(rawRules, rawSkills, rawQueues, rules);
+        return rules;
+    }
+
+    static CompiledRules compile(Object rawRules, Object rawSkills, Object rawQueues) {
+        Map<String, String> interned = new HashMap<>();
+        List<CompiledRule> rules = parseRules(rawRules, interned);
+        List<CompiledRule> ranked = new ArrayList<>(rules);
+        ranked.sort(Comparator.comparingInt(CompiledRule::specificity).reversed()
+                .thenComparing(Comparator.comparingInt(CompiledRule::priority).reversed())
+                .thenComparingInt(CompiledRule::order));
+
+        List<CompiledRule> anyChannel = new ArrayList<>();
+        Map<String, List<CompiledRule>> channelBuckets = new LinkedHashMap<>();
+        for (CompiledRule rule : rules) {
+            for (String channel : rule.channels()) {
+                channelBuckets.putIfAbsent(channel, new ArrayList<>());
+            }
+        }
+        for (CompiledRule rule : ranked) {
+            if (rule.channels().isEmpty()) {
+                anyChannel.add(rule);
+                channelBuckets.values().forEach(bucket -> bucket.add(rule));
+                continue;
+            }
+            rule.channels().forEach(channel -> channelBuckets.get(channel).add(rule));
+        }
+        Map<String, CompiledRule[]> byChannel = new HashMap<>();
+        channelBuckets.forEach((channel, bucket) -> byChannel.put(channel, bucket.toArray(CompiledRule[]::new)));
+
+        return new CompiledRules(
+                List.copyOf(rules),
+                Map.copyOf(byChannel),
+                anyChannel.toArray(CompiledRule[]::new),
+                parseOperatorSkills(rawSkills, interned),
+                parseOperatorSkills(rawQueues, interned)
+        );
+    }
+
+    private static List<CompiledRule> parseRules(Object rawRules, Map<String, String> interned) {
+        if (!(rawRules instanceof List<?> list) || list.isEmpty()) {
+            return List.of();
+        }
+        List<CompiledRule> rules = new ArrayList<>();
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> ruleMap)) {
+                continue;
+            }
+            String assignee = trimToNull(String.valueOf(ruleMap.get("assign_to")));
+            List<String> assigneePool = parseAssigneePool(ruleMap.get("assign_to_pool"));
+            if (assignee == null && assigneePool.isEmpty()) {
+                continue;
+            }
+            Set<String> channels = parseRuleMatchValues(ruleMap.get("match_channel"), ruleMap.get("match_channels"), interned);
+            Set<String> businesses = parseRuleMatchValues(ruleMap.get("match_business"), ruleMap.get("match_businesses"), interned);
+            Set<String> locations = parseRuleMatchValues(ruleMap.get("match_location"), ruleMap.get("match_locations"), interned);
+            Set<String> clientStatuses = parseRuleMatchValues(ruleMap.get("match_client_status"), ruleMap.get("match_client_statuses"), interned);
+            Set<String> categories = parseRuleCategories(ruleMap.get("match_category"), ruleMap.get("match_categories"), interned);
+            Set<String> excludedCategories = parseRuleCategories(ruleMap.get("exclude_category"), ruleMap.get("exclude_categories"), interned);
+            SlaRoutingRuleTypes.CategoryMatchMode categoryMatchMode = parseCategoryMatchMode(ruleMap.get("match_categories_mode"));
+            Boolean matchHasCategories = parseOptionalBoolean(ruleMap.get("match_has_categories"));
+            Integer unreadMin = parseOptionalNonNegativeInt(ruleMap.get("match_unread_min"));
+            Integer unreadMax = parseOptionalNonNegativeInt(ruleMap.get("match_unread_max"));
+            Integer ratingMin = parseOptionalNonNegativeInt(ruleMap.get("match_rating_min"));
+            Integer ratingMax = parseOptionalNonNegativeInt(ruleMap.get("match_rating_max"));
+            Long minutesLeftLte = parseOptionalLong(ruleMap.get("match_minutes_left_lte"));
+            Long minutesLeftGte = parseOptionalLong(ruleMap.get("match_minutes_left_gte"));
+            Set<String> slaStates = parseRuleSlaStates(ruleMap.get("match_sla_state"), ruleMap.get("match_sla_states"));
+            Set<String> requestPrefixes = parseRuleRequestPrefixes(ruleMap.get("match_request_prefix"), ruleMap.get("match_request_prefixes"));
+            Set<String> excludeRequestPrefixes = parseRuleRequestPrefixes(ruleMap.get("exclude_request_prefix"), ruleMap.get("exclude_request_prefixes"));
+            Set<String> requiredAssigneeSkills = parseRuleMatchValues(ruleMap.get("required_assignee_skill"), ruleMap.get("required_assignee_skills"), interned);
+            Set<String> requiredAssigneeQueues = parseRuleMatchValues(ruleMap.get("required_assignee_queue"), ruleMap.get("required_assignee_queues"), interned);
+            int priority = parsePriority(ruleMap.get("priority"));
+            if (channels.isEmpty() && businesses.isEmpty() && locations.isEmpty() && clientStatuses.isEmpty()
+                    && categories.isEmpty() && excludedCategories.isEmpty() && matchHasCategories == null
+                    && unreadMin == null && unreadMax == null && ratingMin == null && ratingMax == null
+                    && minutesLeftLte == null && minutesLeftGte == null && slaStates.isEmpty()
+                    && requestPrefixes.isEmpty() && excludeRequestPrefixes.isEmpty()) {
+                continue;
+            }
+            String routeName = trimToNull(String.valueOf(ruleMap.get("rule_id")));
+            if (routeName == null) {
+                routeName = trimToNull(String.valueOf(ruleMap.get("name")));
+            }
+            SlaRoutingRuleTypes.PoolAssignStrategy poolStrategy = parsePoolAssignStrategy(ruleMap.get("assign_to_pool_strategy"));
+            int specificity = count(channels, businesses, locations, clientStatuses, categories, excludedCategories,
+                    slaStates, requestPrefixes, excludeRequestPrefixes)
+                    + count(matchHasCategories, unreadMin, unreadMax, ratingMin, ratingMax, minutesLeftLte, minutesLeftGte);
+            rules.add(new CompiledRule(
+                    rules.size(),
+                    specificity,
+                    Set.copyOf(channels),
+                    Set.copyOf(businesses),
+                    Set.copyOf(locations),
+                    Set.copyOf(clientStatuses),
+                    categories.toArray(String[]::new),
+                    excludedCategories.toArray(String[]::new),
+                    categoryMatchMode,
+                    matchHasCategories,
+                    unreadMin,
+                    unreadMax,
+                    ratingMin,
+                    ratingMax,
+                    minutesLeftLte,
+                    minutesLeftGte,
+                    Set.copyOf(slaStates),
+                    requestPrefixes.toArray(String[]::new),
+                    excludeRequestPrefixes.toArray(String[]::new),
+                    Set.copyOf(requiredAssigneeSkills),
+                    Set.copyOf(requiredAssigneeQueues),
+                    priority,
+                    assignee,
+                    List.copyOf(assigneePool),
+                    poolStrategy,
+                    resolveRoute(routeName, assignee, assigneePool, poolStrategy)
+            ));
+        }
+        return rules;
+    }
+
+    private static int count(Set<?>... sets) {
+        int score = 0;
+        for (Set<?> set : sets) {
+            if (!set.isEmpty()) score++;
+        }
+        return score;
+    }
+
+    private static int count(Object... values) {
+        int score = 0;
+        for (Object value : values) {
+            if (value != null) score++;
+        }
+        return score;
+    }
+
+    private static String resolveRoute(String routeName,
+                                       String assignee,
+                                       List<String> assigneePool,
+                                       SlaRoutingRuleTypes.PoolAssignStrategy poolStrategy) {
+        if (routeName != null) return routeName;
+        if (assignee != null) return "rule:" + assignee;
+        if (!assigneePool.isEmpty()) return "rule_pool:" + assigneePool.get(0) + ":" + poolStrategy.name().toLowerCase();
+        return "rule:unknown";
+    }
+
+    private static Map<String, Set<String>> parseOperatorSkills(Object rawValue, Map<String, String> interned) {
+        if (!(rawValue instanceof Map<?, ?> rawMap) || rawMap.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Set<String>> normalized = new LinkedHashMap<>();
+        rawMap.forEach((operatorKey, skillsRaw) -> {
+            String operator = trimToNull(String.valueOf(operatorKey));
+            if (operator == null) {
+                return;
+            }
+            Set<String> skills = parseRuleMatchValues(null, skillsRaw, interned);
+            if (!skills.isEmpty()) {
+                normalized.put(operator.toLowerCase(), Set.copyOf(skills));
+            }
+        });
+        return Map.copyOf(normalized);
+    }
+
+    private static Set<String> parseRuleRequestPrefixes(Object rawSingle, Object rawMultiple) {
+        Set<String> values = new LinkedHashSet<>();
+        addRequestPrefix(values, rawSingle);
+        if (rawMultiple instanceof List<?> list) {
+            for (Object value : list) {
+                addRequestPrefix(values, value);
+            }
+        } else if (rawMultiple instanceof String text) {
+            for (String chunk : text.split("[,;\\n]")) {
+                addRequestPrefix(values, chunk);
+            }
+        }
+        return values;
+    }
+
+    private static void addRequestPrefix(Set<String> values, Object rawValue) {
+        String normalized = trimToNull(String.valueOf(rawValue));
+        if (normalized != null) {
+            values.add(normalized.toLowerCase());
+        }
+    }
+
+    private static Set<String> parseRuleMatchValues(Object rawSingle, Object rawMultiple, Map<String, String> interned) {
+        Set<String> values = new LinkedHashSet<>();
+        addMatchValue(values, rawSingle, interned);
+        if (rawMultiple instanceof List<?> list) {
+            for (Object value : list) {
+                addMatchValue(values, value, interned);
+            }
+        } else if (rawMultiple instanceof String text) {
+            for (String chunk : text.split("[,\n]")) {
+                addMatchValue(values, chunk, interned);
+            }
+        }
+        return values;
+    }
+
+    private static void addMatchValue(Set<String> values, Object rawValue, Map<String, String> interned) {
+        String normalized = normalizeMatchValue(rawValue);
+        if (normalized != null) {
+            values.add(interned.computeIfAbsent(normalized, key -> key));
+        }
+    }
+
+    private static Set<String> parseRuleCategories(Object singleCategory, Object rawCategories, Map<String, String> interned) {
+        Set<String> categories = new LinkedHashSet<>();
+        String single = normalizeMatchValue(singleCategory);
+        if (single != null) categories.add(single);
+        categories.addAll(parseCandidateCategories(rawCategories));
+        Set<String> result = new LinkedHashSet<>();
+        categories.forEach(category -> result.add(interned.computeIfAbsent(category, key -> key)));
+        return result;
+    }
+
+    private static SlaRoutingRuleTypes.CategoryMatchMode parseCategoryMatchMode(Object rawMode) {
+        String mode = rawMode == null ? null : trimToNull(String.valueOf(rawMode));
+        if (mode == null) {
+            return SlaRoutingRuleTypes.CategoryMatchMode.ANY;
+        }
+        return switch (mode.trim().toLowerCase()) {
+            case "all", "every", "all_of" -> SlaRoutingRuleTypes.CategoryMatchMode.ALL;
+            default -> SlaRoutingRuleTypes.CategoryMatchMode.ANY;
+        };
+    }
+
+    private static Set<String> parseRuleSlaStates(Object rawState, Object rawStates) {
+        Set<String> values = new LinkedHashSet<>();
+        addSlaState(values, normalizeSlaState(rawState));
+        if (rawStates instanceof List<?> list) {
+            for (Object value : list) {
+                addSlaState(values, normalizeSlaState(value));
+            }
+        } else if (rawStates instanceof String text) {
+            for (String chunk : text.split("[,\n]")) {
+                addSlaState(values, normalizeSlaState(chunk));
+            }
+        }
+        return values;
+    }
+
+    private static void addSlaState(Set<String> values, String state) {
+        if (state != null) {
+            values.add(state);
+        }
+    }
+
+    private static SlaRoutingRuleTypes.PoolAssignStrategy parsePoolAssignStrategy(Object rawValue) {
+        String raw = trimToNull(String.valueOf(rawValue));
+        if (raw == null) {
+            return SlaRoutingRuleTypes.PoolAssignStrategy.HASH_BY_TICKET;
+        }
+        return switch (raw.trim().toLowerCase()) {
+            case "round_robin", "rr" -> SlaRoutingRuleTypes.PoolAssignStrategy.ROUND_ROBIN;
+            case "least_loaded", "least_load", "load" -> SlaRoutingRuleTypes.PoolAssignStrategy.LEAST_LOADED;
+            default -> SlaRoutingRuleTypes.PoolAssignStrategy.HASH_BY_TICKET;
+        };
+    }
+
+    private static int parsePriority(Object rawValue) {
+        if (rawValue == null) return 0;
+        if (rawValue instanceof Number number) return Math.max(Math.min(number.intValue(), 100), -100);
+        try {
+            int parsed = Integer.parseInt(String.valueOf(rawValue).trim());
+            return Math.max(Math.min(parsed, 100), -100);
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private static List<String> parseAssigneePool(Object rawPool) {
+        if (!(rawPool instanceof List<?> list) || list.isEmpty()) return List.of();
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Object item : list) {
+            String normalized = trimToNull(String.valueOf(item));
+            if (normalized == null || !seen.add(normalized)) continue;
+            result.add(normalized);
+        }
+        return result;
+    }
+
+    private static Boolean parseOptionalBoolean(Object rawValue) {
+        if (rawValue instanceof Boolean bool) return bool;
+        if (rawValue instanceof Number number) return number.intValue() != 0;
+        String raw = trimToNull(String.valueOf(rawValue));
+        if (raw == null) return null;
+        String normalized = raw.toLowerCase();
+        if ("true".equals(normalized) || "1".equals(normalized) || "yes".equals(normalized)) return true;
+        if ("false".equals(normalized) || "0".equals(normalized) || "no".equals(normalized)) return false;
+        return null;
+    }
+
+    private static Set<String> parseCandidateCategories(Object rawCategories) {
+        Set<String> categories = new HashSet<>();
+        if (rawCategories == null) return categories;
+        if (rawCategories instanceof List<?> list) {
+            for (Object item : list) {
+                String normalized = normalizeMatchValue(item);
+                if (normalized != null) categories.add(normalized);
+            }
+            return categories;
+        }
+        String raw = trimToNull(String.valueOf(rawCategories));
+        if (raw == null) return categories;
+        for (String chunk : raw.split("[,;\\n]")) {
+            String normalized = normalizeMatchValue(chunk);
+            if (normalized != null) categories.add(normalized);
+        }
+        return categories;
+    }
+
+    private static String normalizeSlaState(Object value) {
+        String normalized = trimToNull(String.valueOf(value));
+        if (normalized == null) {
+            return null;
+        }
+        return switch (normalized.toLowerCase()) {
+            case "breached", "overdue", "expired" -> "breached";
+            case "at_risk", "risk", "warning" -> "at_risk";
+            case "normal", "ok" -> "normal";
+            case "closed" -> "closed";
+            default -> null;
+        };
+    }
+
+    private static Integer parseOptionalNonNegativeInt(Object rawValue) {
+        if (rawValue == null) return null;
+        if (rawValue instanceof Number number) return number.intValue() < 0 ? null : number.intValue();
+        try {
+            int parsed = Integer.parseInt(String.valueOf(rawValue).trim());
+            return parsed < 0 ? null : parsed;
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private static Long parseOptionalLong(Object rawValue) {
+        if (rawValue == null) return null;
+        if (rawValue instanceof Number number) return number.longValue();
+        try {
+            return Long.parseLong(String.valueOf(rawValue).trim());
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private static String normalizeMatchValue(Object value) {
+        String normalized = trimToNull(String.valueOf(value));
+        return normalized == null ? null : normalized.toLowerCase();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() || "null".equalsIgnoreCase(trimmed) ? null : trimmed;
+    }
+
+    private record CacheEntry(Object rawRules, Object rawSkills, Object rawQueues, CompiledRules rules) {
+    }
+
+    /**
+     * Compiled rule set. {@link #rules()} keeps the config order; the channel buckets hold the rules in
+     * winner order.
+     */
+    record CompiledRules(List<CompiledRule> rules,
+                         Map<String, CompiledRule[]> byChannel,
+                         CompiledRule[] anyChannel,
+                         Map<String, Set<String>> operatorSkills,
+                         Map<String, Set<String>> operatorQueues) {
+
+        boolean isEmpty() {
+            return rules.isEmpty();
+        }
+
+        /**
+         * The most specific matching rule, then the one with the highest priority, then the first in
+         * config order; {@code null} when no rule matches. Candidate values must be normalized the same
+         * way as rule values (trimmed, lower case).
+         */
+        CompiledRule bestMatch(String candidateChannel,
+                               String candidateBusiness,
+                               String candidateLocation,
+                               Set<String> candidateCategories,
+                               String candidateClientStatus,
+                               Integer candidateUnreadCount,
+                               Integer candidateRating,
+                               Long candidateMinutesLeft,
+                               String candidateSlaState,
+                               String candidateRequestNumber) {
+            CompiledRule[] ranked = candidateChannel != null ? byChannel.getOrDefault(candidateChannel, anyChannel) : anyChannel;
+            if (ranked.length == 0) {
+                return null;
+            }
+            String requestValue = candidateRequestNumber == null ? null : candidateRequestNumber.toLowerCase();
+            boolean hasCategories = candidateCategories != null && !candidateCategories.isEmpty();
+            for (CompiledRule rule : ranked) {
+                if (rule.matches(candidateBusiness, candidateLocation, candidateCategories, hasCategories,
+                        candidateClientStatus, candidateUnreadCount, candidateRating, candidateMinutesLeft,
+                        candidateSlaState, requestValue)) {
+                    return rule;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One compiled auto-assign rule. The channel condition is resolved by the index in
+     * {@link CompiledRules}, so {@link #matches} checks the remaining dimensions only.
+     */
+    record CompiledRule(int order,
+                        int specificity,
+                        Set<String> channels,
+                        Set<String> businesses,
+                        Set<String> locations,
+                        Set<String> clientStatuses,
+                        String[] categories,
+                        String[] excludedCategories,
+                        SlaRoutingRuleTypes.CategoryMatchMode categoryMatchMode,
+                        Boolean matchHasCategories,
+                        Integer unreadMin,
+                        Integer unreadMax,
+                        Integer ratingMin,
+                        Integer ratingMax,
+                        Long minutesLeftLte,
+                        Long minutesLeftGte,
+                        Set<String> slaStates,
+                        String[] requestPrefixes,
+                        String[] excludeRequestPrefixes,
+                        Set<String> requiredAssigneeSkills,
+                        Set<String> requiredAssigneeQueues,
+                        int priority,
+                        String assignee,
+                        List<String> assigneePool,
+                        SlaRoutingRuleTypes.PoolAssignStrategy poolAssignStrategy,
+                        String route) {
+
+        private boolean matches(String candidateBusiness,
+                                String candidateLocation,
+                                Set<String> candidateCategories,
+                                boolean hasCategories,
+                                String candidateClientStatus,
+                                Integer candidateUnreadCount,
+                                Integer candidateRating,
+                                Long candidateMinutesLeft,
+                                String candidateSlaState,
+                                String requestValue) {
+            if (!businesses.isEmpty() && (candidateBusiness == null || !businesses.contains(candidateBusiness))) return false;
+            if (!locations.isEmpty() && (candidateLocation == null || !locations.contains(candidateLocation))) return false;
+            if (!clientStatuses.isEmpty() && (candidateClientStatus == null || !clientStatuses.contains(candidateClientStatus))) return false;
+            if (categories.length > 0) {
+                if (!hasCategories) return false;
+                if (categoryMatchMode == SlaRoutingRuleTypes.CategoryMatchMode.ALL
+                        ? !containsAll(candidateCategories, categories)
+                        : !containsAny(candidateCategories, categories)) return false;
+            }
+            if (excludedCategories.length > 0 && hasCategories && containsAny(candidateCategories, excludedCategories)) return false;
+            if (matchHasCategories != null && matchHasCategories != hasCategories) return false;
+            if (unreadMin != null && (candidateUnreadCount == null || candidateUnreadCount < unreadMin)) return false;
+            if (unreadMax != null && (candidateUnreadCount == null || candidateUnreadCount > unreadMax)) return false;
+            if (ratingMin != null && (candidateRating == null || candidateRating < ratingMin)) return false;
+            if (ratingMax != null && (candidateRating == null || candidateRating > ratingMax)) return false;
+            if (minutesLeftLte != null && (candidateMinutesLeft == null || candidateMinutesLeft > minutesLeftLte)) return false;
+            if (minutesLeftGte != null && (candidateMinutesLeft == null || candidateMinutesLeft < minutesLeftGte)) return false;
+            if (!slaStates.isEmpty() && (candidateSlaState == null || !slaStates.contains(candidateSlaState))) return false;
+            if (requestPrefixes.length > 0 && (requestValue == null || !startsWithAny(requestValue, requestPrefixes))) return false;
+            if (excludeRequestPrefixes.length > 0 && requestValue != null && startsWithAny(requestValue, excludeRequestPrefixes)) return false;
+            return true;
+        }
+
+        private static boolean containsAny(Set<String> values, String[] expected) {
+            for (String value : expected) {
+                if (values.contains(value)) return true;
+            }
+            return false;
+        }
+
+        private static boolean containsAll(Set<String> values, String[] expected) {
+            for (String value : expected) {
+                if (!values.contains(value)) return false;
+            }
+            return true;
+        }
+
+        private static boolean startsWithAny(String value, String[] prefixes) {
+            for (String prefix : prefixes) {
+                if (value.startsWith(prefix)) return true;
+            }
+            return false;
+        }
+    }
+}
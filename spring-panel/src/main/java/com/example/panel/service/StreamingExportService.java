@@ -0,0 +1,286 @@
+package com.example.panel.service;
+
+import com.example.panel.support.CsvExportWriter;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import com.example.panel.support.PanelTimestampSqlSupport.SqlCondition;
+import com.example.panel.support.TabularExportWriter;
+import com.example.panel.support.XlsxStreamingWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Streams dialogs, chat history, feedback, SLA events and workspace telemetry as CSV or XLSX.
+ * Rows are read through a forward-only cursor with a bounded fetch size and written to the
+ * output stream one at a time, so heap use stays flat regardless of the exported period; the
+ * pooled connection is held only while the query itself runs.
+ */
+@Service
+public class StreamingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingExportService.class);
+    private static final String TICKET_CHANNEL_SQL =
+            "(SELECT MAX(t.channel_id) FROM tickets t WHERE t.ticket_id = %s.ticket_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PanelTimestampSqlSupport timestampSqlSupport;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    StreamingExportService(JdbcTemplate jdbcTemplate, PanelTimestampSqlSupport timestampSqlSupport) {
+        this(jdbcTemplate, timestampSqlSupport, null, 500);
+    }
+
+    @Autowired
+    public StreamingExportService(JdbcTemplate jdbcTemplate,
+                                  PanelTimestampSqlSupport timestampSqlSupport,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${panel.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timestampSqlSupport = timestampSqlSupport;
+        this.fetchSize = Math.max(1, fetchSize);
+        if (transactionManager != null) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            this.transactionTemplate = template;
+        } else {
+            this.transactionTemplate = null;
+        }
+    }
+
+    /**
+     * Writes the dataset rows matching the filters, preceded by a header row, and returns the
+     * number of data rows written.
+     */
+    public long export(Dataset dataset, Format format, ExportFilters filters, OutputStream outputStream) throws IOException {
+        ExportQuery query = buildQuery(dataset, filters != null ? filters : ExportFilters.none());
+        long[] rows = {0};
+        try (TabularExportWriter writer = format.open(outputStream)) {
+            writer.writeRow(query.headers());
+            Runnable stream = () -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        query.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(isMySql(connection.getMetaData().getDatabaseProductName()) ? Integer.MIN_VALUE : fetchSize);
+                for (int index = 0; index < query.params().size(); index++) {
+                    statement.setObject(index + 1, query.params().get(index));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.writeRow(readRow(rs));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            });
+            // PostgreSQL only honours the fetch size inside a transaction; SQLite streams either way.
+            if (transactionTemplate != null && !timestampSqlSupport.isSqliteMode()) {
+                transactionTemplate.executeWithoutResult(status -> stream.run());
+            } else {
+                stream.run();
+            }
+        } catch (UncheckedIOException ex) {
+            log.info("Export of {} stopped after {} rows: {}", dataset.key(), rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        log.info("Exported {} {} rows as {}", rows[0], dataset.key(), format.extension());
+        return rows[0];
+    }
+
+    ExportQuery buildQuery(Dataset dataset, ExportFilters filters) {
+        return switch (dataset) {
+            case DIALOGS -> {
+                String channel = "COALESCE(t.channel_id, m.channel_id)";
+                yield query(List.of("ticket_id", "created_at", "status", "channel", "business", "city", "location",
+                                "client_name", "username", "problem", "responsible", "resolved_at", "resolved_by"),
+                        """
+                        SELECT t.ticket_id, m.created_at, t.status, c.channel_name, m.business, m.city, m.location_name,
+                               m.client_name, m.username, m.problem, tr.responsible, t.resolved_at, t.resolved_by
+                          FROM tickets t
+                          LEFT JOIN messages m ON m.ticket_id = t.ticket_id
+                          LEFT JOIN channels c ON c.id = %s
+                          LEFT JOIN ticket_responsibles tr ON tr.ticket_id = t.ticket_id
+                         WHERE 1 = 1""".formatted(channel),
+                        "m.created_at", channel, filters,
+                        " ORDER BY " + timestampSqlSupport.orderByTimestampAsc("m.created_at") + ", t.ticket_id");
+            }
+            case CHAT_HISTORY -> query(List.of("id", "ticket_id", "channel", "user_id", "sender", "message_type",
+                            "message", "attachment", "timestamp", "edited_at", "deleted_at"),
+                    """
+                    SELECT h.id, h.ticket_id, c.channel_name, h.user_id, h.sender, h.message_type,
+                           h.message, h.attachment, h.timestamp, h.edited_at, h.deleted_at
+                      FROM chat_history h
+                      LEFT JOIN channels c ON c.id = h.channel_id
+                     WHERE 1 = 1""",
+                    "h.timestamp", "h.channel_id", filters, " ORDER BY h.id");
+            case FEEDBACK -> query(List.of("id", "ticket_id", "channel", "user_id", "rating", "timestamp"),
+                    """
+                    SELECT f.id, f.ticket_id, c.channel_name, f.user_id, f.rating, f.timestamp
+                      FROM feedbacks f
+                      LEFT JOIN channels c ON c.id = f.channel_id
+                     WHERE 1 = 1""",
+                    "f.timestamp", "f.channel_id", filters, " ORDER BY f.id");
+            case SLA_EVENTS -> {
+                String channel = TICKET_CHANNEL_SQL.formatted("a");
+                yield query(List.of("id", "ticket_id", "channel", "actor", "action", "result", "detail", "created_at"),
+                        """
+                        SELECT a.id, a.ticket_id, c.channel_name, a.actor, a.action, a.result, a.detail, a.created_at
+                          FROM dialog_action_audit a
+                          LEFT JOIN channels c ON c.id = %s
+                         WHERE a.action LIKE 'sla%%'""".formatted(channel),
+                        "a.created_at", channel, filters, " ORDER BY a.id");
+            }
+            case TELEMETRY -> {
+                String channel = TICKET_CHANNEL_SQL.formatted("w");
+                yield query(List.of("id", "created_at", "actor", "event_type", "event_group", "ticket_id", "channel",
+                                "reason", "error_code", "duration_ms", "experiment_name", "experiment_cohort",
+                                "operator_segment", "template_id"),
+                        """
+                        SELECT w.id, w.created_at, w.actor, w.event_type, w.event_group, w.ticket_id, c.channel_name,
+                               w.reason, w.error_code, w.duration_ms, w.experiment_name, w.experiment_cohort,
+                               w.operator_segment, w.template_id
+                          FROM workspace_telemetry_audit w
+                          LEFT JOIN channels c ON c.id = %s
+                         WHERE 1 = 1""".formatted(channel),
+                        "w.created_at", channel, filters, " ORDER BY w.id");
+            }
+        };
+    }
+
+    private ExportQuery query(List<String> headers,
+                              String select,
+                              String timestampColumn,
+                              String channelColumn,
+                              ExportFilters filters,
+                              String orderBy) {
+        StringBuilder sql = new StringBuilder(select);
+        List<Object> params = new ArrayList<>();
+        if (filters.from() != null) {
+            append(sql, params, timestampSqlSupport.atOrAfter(timestampColumn, filters.from().atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        if (filters.to() != null) {
+            append(sql, params, timestampSqlSupport.before(timestampColumn, filters.to().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        if (!filters.channelIds().isEmpty()) {
+            sql.append(" AND ").append(channelColumn).append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(filters.channelIds().size(), "?")))
+                    .append(')');
+            params.addAll(filters.channelIds());
+        }
+        sql.append(orderBy);
+        return new ExportQuery(headers, sql.toString(), params);
+    }
+
+    private static void append(StringBuilder sql, List<Object> params, SqlCondition condition) {
+        sql.append(" AND ").append(condition.sql());
+        params.addAll(Arrays.asList(condition.params()));
+    }
+
+    private static List<Object> readRow(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<Object> values = new ArrayList<>(metaData.getColumnCount());
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            Object value = rs.getObject(column);
+            values.add(value instanceof Number || value == null ? value : String.valueOf(value));
+        }
+        return values;
+    }
+
+    private static boolean isMySql(String productName) {
+        return productName != null && productName.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    public enum Dataset {
+        DIALOGS("dialogs"),
+        CHAT_HISTORY("chat-history"),
+        FEEDBACK("feedback"),
+        SLA_EVENTS("sla-events"),
+        TELEMETRY("telemetry");
+
+        private final String key;
+
+        Dataset(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public static Optional<Dataset> fromKey(String raw) {
+            return Arrays.stream(values())
+                    .filter(dataset -> dataset.key.equalsIgnoreCase(raw != null ? raw.trim() : ""))
+                    .findFirst();
+        }
+    }
+
+    public enum Format {
+        CSV("csv", "text/csv; charset=UTF-8"),
+        XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        TabularExportWriter open(OutputStream outputStream) {
+            return this == XLSX ? new XlsxStreamingWriter(outputStream) : new CsvExportWriter(outputStream);
+        }
+
+        public static Optional<Format> fromExtension(String raw) {
+            if (raw == null || raw.isBlank()) {
+                return Optional.of(CSV);
+            }
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(raw.trim()))
+                    .findFirst();
+        }
+    }
+
+    public record ExportFilters(LocalDate from, LocalDate to, List<Long> channelIds) {
+
+        public ExportFilters {
+            channelIds = channelIds != null ? List.copyOf(channelIds) : List.of();
+        }
+
+        static ExportFilters none() {
+            return new ExportFilters(null, null, List.of());
+        }
+    }
+
+    record ExportQuery(List<String> headers, String sql, List<Object> params) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.panel.service;
+
+import com.example.panel.config.UiEventClusterProperties;
+import com.example.panel.metrics.PanelMetricsRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Шина UI-событий между узлами панели.
+ *
+ * <p>Каждое событие, которое узел отдаёт своим SSE-подключениям, дополнительно публикуется в Redis pub/sub
+ * ({@code app.ui-events.cluster.mode=redis}) или PostgreSQL NOTIFY ({@code postgres}), и остальные узлы
+ * раздают его своим подключениям. Собственные события узел отбрасывает по идентификатору узла, повторы
+ * отсекаются по идентификатору события в окне из {@code dedup-window} последних событий. В режиме
+ * {@code none} шина ничего не отправляет, и события остаются на узле, где возникли.</p>
+ *
+ * <p>Публикация не ждёт Redis или PostgreSQL: событие кладётся в ограниченную очередь
+ * ({@code publish-queue-capacity}), которую разбирает один поток отправки, так что порядок событий узла
+ * сохраняется. Когда очередь заполнена (транспорт недоступен или медленный), событие отбрасывается и
+ * учитывается в {@code panel_ui_event_cluster_dropped_total}; остальные узлы догонят состояние при
+ * следующем событии или переподключении браузера.</p>
+ */
+@Service
+public class UiEventClusterBus {
+
+    private static final Logger log = LoggerFactory.getLogger(UiEventClusterBus.class);
+
+    private final UiEventClusterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<StringRedisTemplate> stringRedisTemplate;
+    private final ObjectProvider<PostgresNotificationListener> notificationListener;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Consumer<Event>> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, Boolean> recentEventIds;
+    private volatile UiEventClusterTransport transport;
+    private volatile ExecutorService sender;
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
+    public UiEventClusterBus(UiEventClusterProperties properties,
+                             ObjectMapper objectMapper,
+                             ObjectProvider<StringRedisTemplate> stringRedisTemplate,
+                             ObjectProvider<PostgresNotificationListener> notificationListener,
+                             ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.notificationListener = notificationListener;
+        this.jdbcTemplate = jdbcTemplate;
+        int window = Math.max(16, properties.getDedupWindow());
+        this.recentEventIds = new LinkedHashMap<>(window * 2, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > window;
+            }
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        String channel = channelName();
+        try {
+            if (properties.isRedisMode()) {
+                attach(new RedisUiEventClusterTransport(stringRedisTemplate.getObject(), channel, this::receive));
+            } else if (properties.isPostgresMode()) {
+                attach(new PostgresUiEventClusterTransport(notificationListener.getObject(), jdbcTemplate.getObject(), channel, this::receive));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("UI event cluster bus ({}) is unavailable, events stay on this node: {}", properties.getMode(), ex.getMessage());
+            transport = null;
+        }
+    }
+
+    void attach(UiEventClusterTransport newTransport) {
+        if (sender == null) {
+            sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, properties.getPublishQueueCapacity())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "ui-event-cluster-publish");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        transport = newTransport;
+    }
+
+    @PreDestroy
+    void stop() {
+        UiEventClusterTransport current = transport;
+        transport = null;
+        ExecutorService currentSender = sender;
+        sender = null;
+        if (currentSender != null) {
+            currentSender.shutdownNow();
+        }
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return transport != null;
+    }
+
+    public void subscribe(Consumer<Event> subscriber) {
+        if (subscriber != null) {
+            subscribers.add(subscriber);
+        }
+    }
+
+    /**
+     * Ставит событие, уже доставленное локальным подключениям, в очередь отправки на остальные узлы.
+     * Не блокируется: при заполненной очереди событие отбрасывается.
+     *
+     * @param users адресаты события; пустой список означает всех операторов
+     */
+    public void publish(String name, String ticketId, Long channelId, Collection<String> users, Map<String, Object> payload) {
+        UiEventClusterTransport current = transport;
+        ExecutorService currentSender = sender;
+        if (current == null || currentSender == null) {
+            return;
+        }
+        Event event = new Event(nodeId + ":" + sequence.incrementAndGet(), nodeId, name, ticketId, channelId,
+                users == null ? List.of() : List.copyOf(users), payload);
+        remember(event.id());
+        try {
+            currentSender.execute(() -> send(current, event));
+        } catch (RejectedExecutionException ex) {
+            count("panel_ui_event_cluster_dropped_total",
+                    "UI events not sent to other panel nodes because the publish queue was full.");
+        }
+    }
+
+    private void send(UiEventClusterTransport current, Event event) {
+        try {
+            current.send(objectMapper.writeValueAsString(event));
+            count("panel_ui_event_cluster_published_total", "UI events sent to other panel nodes.");
+        } catch (JsonProcessingException | RuntimeException ex) {
+            count("panel_ui_event_cluster_publish_failures_total", "UI events that could not be sent to other panel nodes.");
+            log.warn("Failed to publish UI event {} to the cluster bus: {}", event.name(), ex.getMessage());
+        }
+    }
+
+    void receive(String message) {
+        if (message == null) {
+            return;
+        }
+        Event event;
+        try {
+            event = objectMapper.readValue(message, Event.class);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.debug("Ignoring malformed UI cluster event: {}", ex.getMessage());
+            return;
+        }
+        if (event == null || !StringUtils.hasText(event.id()) || nodeId.equals(event.origin())) {
+            return;
+        }
+        if (!remember(event.id())) {
+            count("panel_ui_event_cluster_duplicates_total", "UI events from other nodes dropped as duplicates.");
+            return;
+        }
+        count("panel_ui_event_cluster_received_total", "UI events received from other panel nodes.");
+        for (Consumer<Event> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("UI cluster event {} subscriber failed: {}", event.name(), ex.getMessage());
+            }
+        }
+    }
+
+    private boolean remember(String eventId) {
+        synchronized (recentEventIds) {
+            return recentEventIds.put(eventId, Boolean.TRUE) == null;
+        }
+    }
+
+    private String channelName() {
+        String configured = StringUtils.hasText(properties.getChannel()) ? properties.getChannel().trim() : "iguana_ui_events";
+        // Used as a LISTEN identifier in PostgreSQL mode, so only plain identifier characters are kept.
+        return configured.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+    }
+
+    private void count(String name, String help) {
+        if (metricsRegistry != null) {
+            metricsRegistry.counter(name, help, "mode", String.valueOf(properties.getMode())).increment();
+        }
+    }
+
+    public record Event(String id,
+                        String origin,
+                        String name,
+                        String ticketId,
+                        Long channelId,
+                        List<String> users,
+                        Map<String, Object> payload) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.panel.service;
+
+/**
+ * Канал доставки UI-событий между узлами панели.
+ */
+interface UiEventClusterTransport {
+
+    void send(String message);
+
+    void close();
+}
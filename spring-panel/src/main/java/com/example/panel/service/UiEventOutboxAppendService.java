@@ -68,6 +68,14 @@ public class UiEventOutboxAppendService {
         );
     }
 
+    /**
+     * Allocates an id from the outbox id space without appending an event, so that dialog list change
+     * versions and outbox events share one ordering.
+     */
+    public long nextChangeVersion() {
+        return nextEventId();
+    }
+
     private synchronized long nextEventId() {
         long nowMillis = System.currentTimeMillis();
         int nextCounter = counter.updateAndGet(current -> current >= MAX_COUNTER_VALUE ? 0 : current + 1);
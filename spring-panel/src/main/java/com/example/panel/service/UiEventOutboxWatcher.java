@@ -1,7 +1,10 @@
 package com.example.panel.service;
 
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -15,12 +18,23 @@ import java.util.concurrent.atomic.AtomicLong;
 public class UiEventOutboxWatcher {
 
     private static final String CHECKPOINT_KEY = "ui-event-outbox-watch";
+    private static final String NOTIFY_CHANNEL = "panel_ui_event_outbox";
 
     private final JdbcTemplate jdbcTemplate;
     private final DialogRealtimeEventService dialogRealtimeEventService;
     private final RuntimeCoordinationService runtimeCoordinationService;
     private final RuntimeWorkerCheckpointService checkpointService;
     private final AtomicLong lastProcessedId = new AtomicLong(0L);
+    private OutboxWakeup wakeup;
+
+    @Autowired(required = false)
+    private PostgresNotificationListener notificationListener;
+
+    @Autowired(required = false)
+    private TaskScheduler taskScheduler;
+
+    @Value("${panel.ui-event-outbox.fallback-interval-ms:30000}")
+    private long fallbackIntervalMs = 30000L;
 
     public UiEventOutboxWatcher(JdbcTemplate jdbcTemplate,
                                 DialogRealtimeEventService dialogRealtimeEventService,
@@ -35,12 +49,31 @@ public class UiEventOutboxWatcher {
     @PostConstruct
     void initialize() {
         lastProcessedId.set(checkpointService.readLongCursorOrInitialize(CHECKPOINT_KEY, this::readMaxId));
+        wakeup = new OutboxWakeup(notificationListener, taskScheduler, fallbackIntervalMs, this::watch, NOTIFY_CHANNEL);
+    }
+
+    public long lastProcessedId() {
+        return lastProcessedId.get();
     }
 
+    /**
+     * On PostgreSQL inserts into {@code ui_event_outbox} notify the watcher, so the scan runs right after
+     * a write and otherwise only every {@code fallback-interval-ms}.
+     */
     @Scheduled(fixedDelayString = "${panel.ui-event-outbox.watch-interval-ms:1000}")
     void watch() {
+        OutboxWakeup current = wakeup;
+        if (current == null) {
+            scan();
+            return;
+        }
+        current.runIfDue(this::scan);
+    }
+
+    private void scan() {
         runtimeCoordinationService.runWithLease("ui-event-outbox-watch", Duration.ofSeconds(30), () -> {
-            long afterId = lastProcessedId.get();
+            // Another node may have held the lease since this one last ran, so resume from the shared cursor.
+            long afterId = Math.max(lastProcessedId.get(), checkpointService.readLongCursor(CHECKPOINT_KEY).orElse(0L));
             jdbcTemplate.query("""
                 SELECT id, event_type, ticket_id, channel_id, message_text, message_type, attachment, rating
                   FROM ui_event_outbox
@@ -1,5 +1,12 @@
 package com.example.panel.service;
 
+import com.example.panel.metrics.PanelMetricsRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -8,125 +15,343 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Рассылка UI-событий панели по SSE-подключениям операторов.
+ *
+ * <p>Публикация только кладёт событие в ограниченную очередь каждого подходящего подключения, а отправку
+ * в браузер выполняет небольшой пул писателей ({@code panel.ui-events.writer-threads}), поэтому медленный
+ * клиент не задерживает поток запроса, планировщик или слушатель RabbitMQ. Пока событие ждёт в очереди,
+ * повторы с тем же именем, тикетом и каналом схлопываются в одно с последним payload. Подключение, чья
+ * очередь переполнилась ({@code panel.ui-events.queue-capacity}), закрывается: браузер переподключится
+ * и перечитает состояние. Подключение может подписаться на отдельные каналы и тикеты; без фильтра оно
+ * получает все события. {@code writer-threads=0} отправляет события в потоке публикации.</p>
+ *
+ * <p>Запись в сокет блокирующая, и пока она идёт, писатель занят. Проверка на heartbeat закрывает
+ * подключение, чья отправка длится дольше {@code panel.ui-events.send-timeout-ms}, и прерывает поток
+ * писателя; если контейнер не прерывает запись, поток освобождается только по его таймауту записи. Поэтому
+ * {@code writer-threads} должно быть больше числа одновременно «зависших» браузеров, которое готовы
+ * пережить без задержек для остальных операторов.</p>
+ *
+ * <p>Если включена {@link UiEventClusterBus}, события, кроме служебных {@code connected} и {@code ping},
+ * уходят и на остальные узлы панели через очередь отправки шины (публикация её не ждёт), а события других
+ * узлов раздаются локальным подключениям.</p>
+ */
 @Service
 public class UiEventStreamService {
 
+    private static final Logger log = LoggerFactory.getLogger(UiEventStreamService.class);
     private static final long EMITTER_TIMEOUT_MS = 0L;
+    private static final int TICKET_CHANNEL_CACHE_SIZE = 4096;
 
-    private final ConcurrentHashMap<String, CopyOnWriteArraySet<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CopyOnWriteArraySet<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final ExecutorService writerPool;
+    private final Executor writer;
+    private final int queueCapacity;
+    private final long sendTimeoutNanos;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Map<String, Long> ticketChannels = new LinkedHashMap<>(TICKET_CHANNEL_CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > TICKET_CHANNEL_CACHE_SIZE;
+        }
+    };
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
+    @Autowired(required = false)
+    private UiEventClusterBus clusterBus;
+
+    /**
+     * @param writerThreads потоки отправки; каждый браузер с остановившимся сокетом может занять один из них
+     *                      до {@code sendTimeoutMs} (и до таймаута записи контейнера, если запись не прерывается)
+     */
+    @Autowired
+    public UiEventStreamService(@Value("${panel.ui-events.writer-threads:2}") int writerThreads,
+                                @Value("${panel.ui-events.queue-capacity:256}") int queueCapacity,
+                                @Value("${panel.ui-events.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this(writerThreads, queueCapacity, sendTimeoutMs, () -> new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    UiEventStreamService(int writerThreads, int queueCapacity, Supplier<SseEmitter> emitterFactory) {
+        this(writerThreads, queueCapacity, 10_000L, emitterFactory);
+    }
+
+    UiEventStreamService(int writerThreads, int queueCapacity, long sendTimeoutMs, Supplier<SseEmitter> emitterFactory) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, sendTimeoutMs));
+        this.emitterFactory = emitterFactory;
+        if (writerThreads <= 0) {
+            this.writerPool = null;
+            this.writer = Runnable::run;
+        } else {
+            this.writerPool = Executors.newFixedThreadPool(writerThreads, namedThreadFactory("ui-events-writer"));
+            this.writer = writerPool;
+        }
+    }
+
+    @PostConstruct
+    void subscribeToCluster() {
+        if (clusterBus != null) {
+            clusterBus.subscribe(this::deliverClusterEvent);
+        }
+    }
 
     public SseEmitter connect(String userIdentity) {
+        return connect(userIdentity, Set.of(), Set.of());
+    }
+
+    /**
+     * Открывает подключение, получающее только события указанных каналов и тикетов (и события без
+     * привязки к ним). Пустые фильтры означают подписку на всё.
+     */
+    public SseEmitter connect(String userIdentity, Collection<Long> channelIds, Collection<String> ticketIds) {
         String identity = normalizeIdentity(userIdentity);
-        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
-        emittersByUser.computeIfAbsent(identity, key -> new CopyOnWriteArraySet<>()).add(emitter);
-        emitter.onCompletion(() -> unregister(identity, emitter));
-        emitter.onTimeout(() -> unregister(identity, emitter));
-        emitter.onError(error -> unregister(identity, emitter));
-        sendToEmitter(identity, emitter, "connected", Map.of(
+        SseEmitter emitter = emitterFactory.get();
+        Connection connection = new Connection(identity, emitter,
+                channelIds == null ? Set.of() : channelIds.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableSet()),
+                ticketIds == null ? Set.of() : ticketIds.stream()
+                        .filter(StringUtils::hasText)
+                        .map(String::trim)
+                        .collect(Collectors.toUnmodifiableSet()));
+        connectionsByUser.computeIfAbsent(identity, key -> new CopyOnWriteArraySet<>()).add(connection);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+        connection.enqueue("connected", Map.of(
                 "connected", true,
                 "emittedAt", nowUtc()
-        ));
+        ), null, null);
         return emitter;
     }
 
+    public int connectionCount() {
+        int count = 0;
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            count += connections.size();
+        }
+        return count;
+    }
+
+    public int connectedUserCount() {
+        return connectionsByUser.size();
+    }
+
+    /**
+     * Суммарное число событий, ожидающих отправки во всех подключениях.
+     */
+    public int queuedEventCount() {
+        int queued = 0;
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                queued += connection.depth();
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Глубина самой длинной очереди подключения.
+     */
+    public int maxQueueDepth() {
+        int max = 0;
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                max = Math.max(max, connection.depth());
+            }
+        }
+        return max;
+    }
+
     public void publishDialogsChanged(String reason, String ticketId) {
-        publishToAll("dialogs_changed", basePayload(reason, ticketId, null));
+        publishDialogsChanged(reason, ticketId, null);
+    }
+
+    /**
+     * Публикует {@code dialogs_changed} для канала тикета. Если канал не передан, берётся последний канал,
+     * с которым тикет встречался в событиях этого узла; неизвестный канал не отсекается фильтром
+     * подключения, и такое событие получают все подключения с фильтром по каналам.
+     */
+    public void publishDialogsChanged(String reason, String ticketId, Long channelId) {
+        Long resolvedChannelId = channelId != null ? channelId : knownChannel(ticketId);
+        publishToAll("dialogs_changed", basePayload(reason, ticketId, resolvedChannelId), ticketId, resolvedChannelId);
     }
 
     public void publishDialogHistoryChanged(String ticketId, Long channelId, String reason) {
-        publishToAll("dialog_history_changed", basePayload(reason, ticketId, channelId));
+        publishToAll("dialog_history_changed", basePayload(reason, ticketId, channelId), ticketId, channelId);
     }
 
     public void publishNotificationsChanged(String userIdentity, String reason) {
         if (!StringUtils.hasText(userIdentity)) {
             return;
         }
-        publishToUser(userIdentity, "notifications_changed", basePayload(reason, null, null));
+        publishToUsers(List.of(userIdentity), "notifications_changed", basePayload(reason, null, null));
     }
 
     public void publishNotificationsChanged(Set<String> userIdentities, String reason) {
         if (userIdentities == null || userIdentities.isEmpty()) {
             return;
         }
-        Map<String, Object> payload = basePayload(reason, null, null);
-        for (String identity : userIdentities) {
-            publishToUser(identity, "notifications_changed", payload);
-        }
+        publishToUsers(userIdentities, "notifications_changed", basePayload(reason, null, null));
     }
 
     public void publishSidebarUnblockChanged(String reason) {
-        publishToAll("sidebar_unblock_changed", basePayload(reason, null, null));
+        publishToAll("sidebar_unblock_changed", basePayload(reason, null, null), null, null);
     }
 
     public void publishSidebarBotsChanged(String reason, Long channelId) {
-        publishToAll("sidebar_bots_changed", basePayload(reason, null, channelId));
+        publishToAll("sidebar_bots_changed", basePayload(reason, null, channelId), null, channelId);
     }
 
     @Scheduled(fixedDelayString = "${panel.ui-events.heartbeat-ms:25000}")
     void sendHeartbeat() {
         Map<String, Object> payload = Map.of("emittedAt", nowUtc());
-        emittersByUser.forEach((identity, emitters) -> {
-            if (emitters == null || emitters.isEmpty()) {
-                return;
-            }
-            for (SseEmitter emitter : emitters) {
-                sendToEmitter(identity, emitter, "ping", payload);
+        long now = System.nanoTime();
+        connectionsByUser.forEach((identity, connections) -> {
+            for (Connection connection : connections) {
+                if (connection.abortStalledSend(now)) {
+                    continue;
+                }
+                // A connection with pending events will write soon anyway; the ping would only add load.
+                if (connection.depth() == 0) {
+                    connection.enqueue("ping", payload, null, null);
+                }
             }
         });
     }
 
-    private void publishToAll(String eventName, Map<String, Object> payload) {
-        emittersByUser.forEach((identity, emitters) -> {
-            if (emitters == null || emitters.isEmpty()) {
-                return;
-            }
-            for (SseEmitter emitter : emitters) {
-                sendToEmitter(identity, emitter, eventName, payload);
+    @PreDestroy
+    void shutdownWriters() {
+        if (writerPool != null) {
+            writerPool.shutdownNow();
+        }
+    }
+
+    private void publishToAll(String eventName, Map<String, Object> payload, String ticketId, Long channelId) {
+        String normalizedTicketId = StringUtils.hasText(ticketId) ? ticketId.trim() : null;
+        rememberChannel(normalizedTicketId, channelId);
+        deliverToAll(eventName, payload, normalizedTicketId, channelId);
+        if (clusterBus != null) {
+            clusterBus.publish(eventName, normalizedTicketId, channelId, List.of(), payload);
+        }
+    }
+
+    private void publishToUsers(Collection<String> userIdentities, String eventName, Map<String, Object> payload) {
+        List<String> identities = userIdentities.stream()
+                .map(this::normalizeIdentity)
+                .distinct()
+                .toList();
+        for (String identity : identities) {
+            deliverToUser(identity, eventName, payload);
+        }
+        if (clusterBus != null) {
+            clusterBus.publish(eventName, null, null, identities, payload);
+        }
+    }
+
+    private void deliverClusterEvent(UiEventClusterBus.Event event) {
+        if (!StringUtils.hasText(event.name())) {
+            return;
+        }
+        Map<String, Object> payload = event.payload() != null ? event.payload() : Map.of();
+        if (event.users() == null || event.users().isEmpty()) {
+            String ticketId = StringUtils.hasText(event.ticketId()) ? event.ticketId().trim() : null;
+            rememberChannel(ticketId, event.channelId());
+            deliverToAll(event.name(), payload, ticketId, event.channelId());
+            return;
+        }
+        for (String identity : event.users()) {
+            deliverToUser(identity, event.name(), payload);
+        }
+    }
+
+    private void deliverToAll(String eventName, Map<String, Object> payload, String normalizedTicketId, Long channelId) {
+        connectionsByUser.forEach((identity, connections) -> {
+            for (Connection connection : connections) {
+                if (connection.accepts(normalizedTicketId, channelId)) {
+                    connection.enqueue(eventName, payload, normalizedTicketId, channelId);
+                }
             }
         });
     }
 
-    private void publishToUser(String userIdentity, String eventName, Map<String, Object> payload) {
-        String identity = normalizeIdentity(userIdentity);
-        Set<SseEmitter> emitters = emittersByUser.get(identity);
-        if (emitters == null || emitters.isEmpty()) {
+    private void deliverToUser(String userIdentity, String eventName, Map<String, Object> payload) {
+        Set<Connection> connections = connectionsByUser.get(normalizeIdentity(userIdentity));
+        if (connections == null) {
             return;
         }
-        for (SseEmitter emitter : emitters) {
-            sendToEmitter(identity, emitter, eventName, payload);
+        for (Connection connection : connections) {
+            connection.enqueue(eventName, payload, null, null);
         }
     }
 
-    private void sendToEmitter(String identity, SseEmitter emitter, String eventName, Map<String, Object> payload) {
-        try {
-            emitter.send(SseEmitter.event()
-                    .name(eventName)
-                    .data(payload));
-        } catch (IOException | IllegalStateException ex) {
-            unregister(identity, emitter);
-            try {
-                emitter.complete();
-            } catch (RuntimeException ignored) {
-                // emitter is already closed
-            }
+    private void rememberChannel(String ticketId, Long channelId) {
+        if (ticketId == null || channelId == null) {
+            return;
+        }
+        synchronized (ticketChannels) {
+            ticketChannels.put(ticketId, channelId);
         }
     }
 
-    private void unregister(String userIdentity, SseEmitter emitter) {
-        String identity = normalizeIdentity(userIdentity);
-        CopyOnWriteArraySet<SseEmitter> emitters = emittersByUser.get(identity);
-        if (emitters == null) {
+    private Long knownChannel(String ticketId) {
+        if (!StringUtils.hasText(ticketId)) {
+            return null;
+        }
+        synchronized (ticketChannels) {
+            return ticketChannels.get(ticketId.trim());
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connection.closed = true;
+        CopyOnWriteArraySet<Connection> connections = connectionsByUser.get(connection.identity);
+        if (connections == null) {
             return;
         }
-        emitters.remove(emitter);
-        if (emitters.isEmpty()) {
-            emittersByUser.remove(identity, emitters);
+        connections.remove(connection);
+        if (connections.isEmpty()) {
+            connectionsByUser.remove(connection.identity, connections);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        unregister(connection);
+        completeQuietly(connection.emitter);
+    }
+
+    private static void completeQuietly(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // emitter is already closed
+        }
+    }
+
+    private void count(String name, String help, String eventName) {
+        if (metricsRegistry != null) {
+            metricsRegistry.counter(name, help, "event", eventName).increment();
         }
     }
 
@@ -152,4 +377,162 @@ public class UiEventStreamService {
     private String nowUtc() {
         return OffsetDateTime.now(ZoneOffset.UTC).toString();
     }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.setName(prefix + "-" + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    /**
+     * Одно SSE-подключение: фильтр подписки и очередь ещё не отправленных событий. Очередь разбирает не
+     * больше одного писателя одновременно, так что порядок событий сохраняется.
+     */
+    private final class Connection {
+
+        private final String identity;
+        private final SseEmitter emitter;
+        private final Set<Long> channelIds;
+        private final Set<String> ticketIds;
+        private final LinkedHashMap<String, PendingEvent> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private volatile boolean closed;
+        private Thread sendingThread;
+        private long sendStartedAt;
+
+        private Connection(String identity, SseEmitter emitter, Set<Long> channelIds, Set<String> ticketIds) {
+            this.identity = identity;
+            this.emitter = emitter;
+            this.channelIds = channelIds;
+            this.ticketIds = ticketIds;
+        }
+
+        private boolean accepts(String ticketId, Long channelId) {
+            if (channelIds.isEmpty() && ticketIds.isEmpty()) {
+                return true;
+            }
+            if (ticketId == null && channelId == null) {
+                return true;
+            }
+            if (ticketId != null && ticketIds.contains(ticketId)) {
+                return true;
+            }
+            if (channelId != null && channelIds.contains(channelId)) {
+                return true;
+            }
+            // Ticket events published without a channel cannot be ruled out by a channel filter.
+            return channelId == null && !channelIds.isEmpty();
+        }
+
+        private synchronized int depth() {
+            return pending.size();
+        }
+
+        private void enqueue(String eventName, Map<String, Object> payload, String ticketId, Long channelId) {
+            if (closed) {
+                return;
+            }
+            String key = eventName + '|' + (ticketId != null ? ticketId : "") + '|' + (channelId != null ? channelId : "");
+            boolean overflow = false;
+            boolean coalesced = false;
+            boolean schedule = false;
+            synchronized (this) {
+                if (pending.containsKey(key)) {
+                    pending.put(key, new PendingEvent(eventName, payload));
+                    coalesced = true;
+                } else if (pending.size() >= queueCapacity) {
+                    overflow = true;
+                } else {
+                    pending.put(key, new PendingEvent(eventName, payload));
+                    if (!draining) {
+                        draining = true;
+                        schedule = true;
+                    }
+                }
+            }
+            if (overflow) {
+                count("panel_sse_slow_consumers_disconnected_total",
+                        "SSE connections closed because their send queue overflowed.", eventName);
+                log.debug("Closing SSE connection of {}: {} events are waiting", identity, queueCapacity);
+                disconnect(this);
+                return;
+            }
+            if (coalesced) {
+                count("panel_sse_events_coalesced_total",
+                        "UI events merged into an event already waiting in an SSE queue.", eventName);
+            }
+            if (!schedule) {
+                return;
+            }
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                disconnect(this);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                PendingEvent event;
+                synchronized (this) {
+                    Iterator<PendingEvent> iterator = pending.values().iterator();
+                    if (closed || !iterator.hasNext()) {
+                        pending.clear();
+                        draining = false;
+                        if (closed) {
+                            // Completing waits for the emitter's write lock, so an aborted send is completed here.
+                            completeQuietly(emitter);
+                        }
+                        return;
+                    }
+                    event = iterator.next();
+                    iterator.remove();
+                }
+                synchronized (this) {
+                    sendingThread = Thread.currentThread();
+                    sendStartedAt = System.nanoTime();
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name(event.name())
+                            .data(event.payload()));
+                } catch (IOException | IllegalStateException ex) {
+                    disconnect(this);
+                } finally {
+                    synchronized (this) {
+                        sendingThread = null;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Закрывает подключение, если текущая отправка идёт дольше {@code send-timeout-ms}, и прерывает
+         * занятый ею поток писателя, чтобы он вернулся к остальным подключениям. Сам emitter завершает
+         * поток писателя, когда отправка вернётся: {@code complete()} ждёт ту же блокировку, что и запись.
+         */
+        private boolean abortStalledSend(long now) {
+            synchronized (this) {
+                if (sendingThread == null || now - sendStartedAt < sendTimeoutNanos) {
+                    return false;
+                }
+                if (writerPool != null) {
+                    sendingThread.interrupt();
+                }
+            }
+            unregister(this);
+            count("panel_sse_stalled_sends_aborted_total",
+                    "SSE connections closed because a send to the browser did not finish in time.", "send");
+            log.debug("Closing SSE connection of {}: a send has been blocked for over {} ms",
+                    identity, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            return true;
+        }
+    }
+
+    private record PendingEvent(String name, Map<String, Object> payload) {
+    }
 }
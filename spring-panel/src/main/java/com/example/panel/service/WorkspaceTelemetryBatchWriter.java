@@ -0,0 +1,160 @@
+package com.example.panel.service;
+
+import com.example.panel.metrics.PanelMetricsRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Буфер записи телеметрии workspace ({@code workspace_telemetry_audit}).
+ *
+ * <p>События складываются в ограниченную неблокирующую очередь и пишутся многострочными
+ * {@code INSERT ... VALUES (...), (...)} отдельным потоком: по заполнении пачки ({@code batch-size}),
+ * раз в {@code flush-interval-ms} и при остановке приложения, так что поток запроса соединение пула не
+ * берёт. Когда очередь заполнена, новые события отбрасываются и считаются в
+ * {@code panel_workspace_telemetry_dropped_total}. {@code created_at} проставляется базой в момент записи
+ * пачки. При {@code queue-capacity=0} события пишутся синхронно.</p>
+ */
+@Service
+public class WorkspaceTelemetryBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceTelemetryBatchWriter.class);
+    private static final String INSERT_PREFIX = """
+            INSERT INTO workspace_telemetry_audit (
+                actor, event_type, event_group, ticket_id, reason, error_code, contract_version,
+                duration_ms, experiment_name, experiment_cohort, operator_segment,
+                primary_kpis, secondary_kpis, template_id, template_name, created_at
+            ) VALUES
+            """;
+    static final int COLUMN_COUNT = 15;
+    private static final String ROW_PLACEHOLDERS =
+            "(" + String.join(", ", Collections.nCopies(COLUMN_COUNT, "?")) + ", CURRENT_TIMESTAMP)";
+    // Keeps a multi-row statement under SQLite's bound-parameter limit.
+    private static final int MAX_ROWS_PER_STATEMENT = 900 / COLUMN_COUNT;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final ConcurrentLinkedQueue<Object[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "panel-telemetry-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired(required = false)
+    private PanelMetricsRegistry metricsRegistry;
+
+    public WorkspaceTelemetryBatchWriter(JdbcTemplate jdbcTemplate,
+                                         @Value("${panel.workspace-telemetry.batch-size:200}") int batchSize,
+                                         @Value("${panel.workspace-telemetry.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.queueCapacity = Math.max(0, queueCapacity);
+    }
+
+    public int queuedEventCount() {
+        return queued.get();
+    }
+
+    /**
+     * @param values значения колонок в порядке {@code INSERT}, без {@code created_at}
+     */
+    void append(Object... values) {
+        if (values.length != COLUMN_COUNT) {
+            throw new IllegalArgumentException("Expected " + COLUMN_COUNT + " workspace telemetry values");
+        }
+        if (queueCapacity == 0) {
+            write(Collections.singletonList(values));
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            count("panel_workspace_telemetry_dropped_total", "Workspace telemetry events dropped because the write buffer was full.", 1);
+            return;
+        }
+        queue.add(values);
+        if (queued.get() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${panel.workspace-telemetry.flush-interval-ms:1000}")
+    public void flush() {
+        if (queued.get() == 0) {
+            return;
+        }
+        synchronized (flushLock) {
+            List<Object[]> rows = new ArrayList<>();
+            Object[] row;
+            while ((row = queue.poll()) != null) {
+                queued.decrementAndGet();
+                rows.add(row);
+            }
+            write(rows);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdownNow();
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException ex) {
+            flushScheduled.set(false);
+        }
+    }
+
+    private void write(List<Object[]> rows) {
+        int rowsPerStatement = Math.min(batchSize, MAX_ROWS_PER_STATEMENT);
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + rowsPerStatement));
+            List<Object> args = new ArrayList<>(chunk.size() * COLUMN_COUNT);
+            for (Object[] values : chunk) {
+                Collections.addAll(args, values);
+            }
+            try {
+                jdbcTemplate.update(INSERT_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS)),
+                        args.toArray());
+            } catch (DataAccessException ex) {
+                count("panel_workspace_telemetry_failed_total", "Workspace telemetry events that could not be written.", chunk.size());
+                log.warn("Unable to persist {} workspace telemetry events: {}", chunk.size(), DialogDataAccessSupport.summarizeDataAccessException(ex));
+            }
+        }
+    }
+
+    private void count(String name, String help, int amount) {
+        if (metricsRegistry != null) {
+            metricsRegistry.counter(name, help).increment(amount);
+        }
+    }
+}
@@ -14,12 +14,14 @@ import com.example.panel.repository.TicketActiveRepository;
 import com.example.panel.repository.TicketRepository;
 import com.example.panel.repository.TicketSpanRepository;
 import com.example.panel.service.ChatAttachmentMetadataService;
+import com.example.panel.service.DialogListProjectionService;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +41,8 @@ public class ConversationTicketCreationIngestionService {
     private final ChatHistoryRepository chatHistoryRepository;
     private final ChatAttachmentMetadataService chatAttachmentMetadataService;
     private final JdbcTemplate jdbcTemplate;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public ConversationTicketCreationIngestionService(IntegrationInboundEventInboxService inboxService,
                                                       ChannelRepository channelRepository,
@@ -116,6 +120,7 @@ public class ConversationTicketCreationIngestionService {
 
         replaceTicketAttributes(event.ticketId(), event.attributes(), occurredAt);
         storeConversationHistory(event, channel, occurredAt);
+        refreshDialogProjection(event.ticketId());
     }
 
     private Message buildRootMessage(ConversationTicketCreatedEvent event,
@@ -287,4 +292,10 @@ public class ConversationTicketCreationIngestionService {
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
+
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
 }
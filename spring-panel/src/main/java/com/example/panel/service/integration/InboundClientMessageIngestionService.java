@@ -11,7 +11,11 @@ import com.example.panel.repository.MessageRepository;
 import com.example.panel.repository.TicketActiveRepository;
 import com.example.panel.repository.TicketRepository;
 import com.example.panel.service.ChatAttachmentMetadataService;
+import com.example.panel.service.DialogListProjectionService;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -26,6 +30,8 @@ public class InboundClientMessageIngestionService {
     private final MessageRepository messageRepository;
     private final TicketActiveRepository ticketActiveRepository;
     private final ChatAttachmentMetadataService chatAttachmentMetadataService;
+    @Autowired(required = false)
+    private DialogListProjectionService dialogListProjectionService;
 
     public InboundClientMessageIngestionService(IntegrationInboundEventInboxService inboxService,
                                                 ChannelRepository channelRepository,
@@ -69,6 +75,47 @@ public class InboundClientMessageIngestionService {
         }
     }
 
+    /**
+     * Принимает пачку событий одной полосы в одной транзакции, сохраняя порядок внутри пачки.
+     * При ошибке любого события все захваченные записи inbox помечаются {@code failed}, транзакция
+     * откатывается, и вызывающий может повторить события поштучно через {@link #ingest}.
+     */
+    @Transactional
+    public void ingestBatch(List<InboundDelivery> deliveries) {
+        List<InboundClientMessageEvent> claimed = new ArrayList<>(deliveries.size());
+        for (InboundDelivery delivery : deliveries) {
+            InboundClientMessageEvent event = delivery.event();
+            if (event == null || !StringUtils.hasText(event.eventId())) {
+                continue;
+            }
+            if (inboxService.beginProcessing(
+                event.eventId(),
+                event.eventKind(),
+                event.platform(),
+                event.channelId(),
+                event.ticketId(),
+                delivery.routingKey(),
+                event,
+                event.occurredAt()
+            )) {
+                claimed.add(event);
+            }
+        }
+        try {
+            for (InboundClientMessageEvent event : claimed) {
+                processEvent(event);
+            }
+        } catch (RuntimeException ex) {
+            for (InboundClientMessageEvent event : claimed) {
+                inboxService.markFailed(event.eventId(), ex);
+            }
+            throw ex;
+        }
+        for (InboundClientMessageEvent event : claimed) {
+            inboxService.markProcessed(event.eventId());
+        }
+    }
+
     private void processEvent(InboundClientMessageEvent event) {
         Channel channel = channelRepository.findById(event.channelId())
             .orElseThrow(() -> new IllegalStateException("Inbound event channel not found: " + event.channelId()));
@@ -110,6 +157,7 @@ public class InboundClientMessageIngestionService {
 
         messageRepository.findFirstByTicketId(event.ticketId()).ifPresent(message -> syncClientProfile(message, event, occurredAt));
         upsertTicketActivity(event, occurredAt);
+        refreshDialogProjection(event.ticketId());
     }
 
     private void syncClientProfile(Message message, InboundClientMessageEvent event, OffsetDateTime occurredAt) {
@@ -152,4 +200,13 @@ public class InboundClientMessageIngestionService {
             return null;
         }
     }
+
+    private void refreshDialogProjection(String ticketId) {
+        if (dialogListProjectionService != null) {
+            dialogListProjectionService.refreshTicket(ticketId);
+        }
+    }
+
+    public record InboundDelivery(InboundClientMessageEvent event, String routingKey) {
+    }
 }
@@ -18,7 +18,8 @@ public class InboundClientMessageListener {
 
     @RabbitListener(
         queues = "${app.integration.rabbitmq.inbound-queue}",
-        containerFactory = "inboundClientMessageListenerContainerFactory"
+        containerFactory = "inboundClientMessageListenerContainerFactory",
+        autoStartup = "#{${app.integration.rabbitmq.inbound-partitions:0} <= 0}"
     )
     public void onInboundClientMessage(InboundClientMessageEvent event,
                                        @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
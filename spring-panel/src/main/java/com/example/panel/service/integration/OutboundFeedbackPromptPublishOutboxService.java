@@ -51,6 +51,31 @@ public class OutboundFeedbackPromptPublishOutboxService {
         if (event == null || !StringUtils.hasText(event.eventId()) || !StringUtils.hasText(routingKey)) {
             throw new IllegalArgumentException("Outbound feedback prompt outbox requires event id and routing key.");
         }
+        insert(event.eventId(), "panel.outbound.feedback", event.eventType(), routingKey, toJson(event.eventId(), event),
+            event.channelId(), event.userId(), event.ticketId(), event.requestId());
+    }
+
+    /**
+     * Queues a ticket lifecycle event; it is published by the same dispatcher as feedback prompts.
+     */
+    public void enqueue(TicketLifecycleEvent event,
+                        String routingKey) {
+        if (event == null || !StringUtils.hasText(event.eventId()) || !StringUtils.hasText(routingKey)) {
+            throw new IllegalArgumentException("Ticket lifecycle outbox requires event id and routing key.");
+        }
+        insert(event.eventId(), "panel.outbound.lifecycle", event.eventType(), routingKey, toJson(event.eventId(), event),
+            event.channelId(), event.userId(), event.ticketId(), null);
+    }
+
+    private void insert(String eventId,
+                        String transportSource,
+                        String eventType,
+                        String routingKey,
+                        String payloadJson,
+                        Long channelId,
+                        Long userId,
+                        String ticketId,
+                        Long requestId) {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         jdbcTemplate.update("""
                 INSERT INTO integration_transport_outbox (
@@ -71,16 +96,16 @@ public class OutboundFeedbackPromptPublishOutboxService {
                     updated_at
                 ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """,
-            event.eventId(),
-            "panel.outbound.feedback",
-            normalize(event.eventType()),
+            eventId,
+            transportSource,
+            normalize(eventType),
             rabbitProperties.getOutboundExchange(),
             routingKey.trim(),
-            toJson(event),
-            event.channelId(),
-            event.userId(),
-            normalize(event.ticketId()),
-            event.requestId(),
+            payloadJson,
+            channelId,
+            userId,
+            normalize(ticketId),
+            requestId,
             "queued",
             0,
             timestamp(now),
@@ -195,7 +220,10 @@ public class OutboundFeedbackPromptPublishOutboxService {
     }
 
     private void publish(OutboxEntry entry) throws Exception {
-        OutboundFeedbackPromptEvent event = objectMapper.readValue(entry.payloadJson(), OutboundFeedbackPromptEvent.class);
+        boolean lifecycle = TicketLifecycleEvent.EVENT_TYPES.contains(entry.eventKind());
+        Object event = lifecycle
+            ? objectMapper.readValue(entry.payloadJson(), TicketLifecycleEvent.class)
+            : objectMapper.readValue(entry.payloadJson(), OutboundFeedbackPromptEvent.class);
         CorrelationData correlationData = new CorrelationData(entry.eventId());
         rabbitTemplate.convertAndSend(
             entry.exchangeName(),
@@ -209,11 +237,16 @@ public class OutboundFeedbackPromptPublishOutboxService {
             },
             correlationData
         );
-        awaitBrokerConfirm(correlationData);
-        log.info("Published feedback prompt outbox event {} for request {}", entry.eventId(), entry.requestId());
+        // A lifecycle event nobody is bound to (no bot instance running) has nothing to invalidate.
+        awaitBrokerConfirm(correlationData, !lifecycle);
+        if (lifecycle) {
+            log.debug("Published {} outbox event {} for ticket {}", entry.eventKind(), entry.eventId(), entry.ticketId());
+        } else {
+            log.info("Published feedback prompt outbox event {} for request {}", entry.eventId(), entry.requestId());
+        }
     }
 
-    private void awaitBrokerConfirm(CorrelationData correlationData) throws Exception {
+    private void awaitBrokerConfirm(CorrelationData correlationData, boolean requireRoute) throws Exception {
         CorrelationData.Confirm confirm;
         try {
             confirm = correlationData.getFuture().get(15, TimeUnit.SECONDS);
@@ -221,7 +254,7 @@ public class OutboundFeedbackPromptPublishOutboxService {
             Thread.currentThread().interrupt();
             throw ex;
         }
-        if (correlationData.getReturned() != null) {
+        if (requireRoute && correlationData.getReturned() != null) {
             throw new IllegalStateException("RabbitMQ returned publish for event " + correlationData.getId());
         }
         if (confirm == null || !confirm.isAck()) {
@@ -266,14 +299,14 @@ public class OutboundFeedbackPromptPublishOutboxService {
             timestamp(now),
             entry.eventId()
         );
-        log.warn("Failed to publish feedback prompt outbox event {}: {}", entry.eventId(), exception.getMessage());
+        log.warn("Failed to publish {} outbox event {}: {}", entry.eventKind(), entry.eventId(), exception.getMessage());
     }
 
-    private String toJson(OutboundFeedbackPromptEvent event) {
+    private String toJson(String eventId, Object event) {
         try {
             return objectMapper.writeValueAsString(event);
         } catch (JsonProcessingException ex) {
-            throw new IllegalStateException("Unable to serialize feedback prompt outbox event " + event.eventId(), ex);
+            throw new IllegalStateException("Unable to serialize outbox event " + eventId, ex);
         }
     }
 
@@ -0,0 +1,145 @@
+package com.example.panel.service.integration;
+
+import com.example.panel.config.IntegrationRabbitProperties;
+import com.example.panel.service.integration.InboundClientMessageIngestionService.InboundDelivery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Партиционированное потребление входящих сообщений клиентов.
+ *
+ * <p>Один потребитель забирает пачку из очереди в порядке поступления, раскладывает события по
+ * {@code inbound-partitions} полосам по хэшу тикета и обрабатывает полосы параллельно: каждая
+ * полоса пишет свою часть пачки одной транзакцией через
+ * {@link InboundClientMessageIngestionService#ingestBatch}. Сообщения одного тикета всегда попадают
+ * в одну полосу и применяются по очереди, поэтому {@code chat_history} и {@code ticket_active}
+ * обновляются в порядке отправки, а разные тикеты не ждут друг друга.</p>
+ *
+ * <p>Если транзакция полосы упала, события полосы повторяются поштучно; событие, которое не удалось
+ * принять и так, перекладывается в DLQ входящей очереди, не задерживая остальную пачку.</p>
+ */
+@Component
+@ConditionalOnExpression(
+    "'${app.integration.transport.mode:jdbc}' == 'rabbitmq' and ${app.integration.rabbitmq.inbound-partitions:0} > 0"
+)
+public class PartitionedInboundClientMessageListener {
+
+    static final String ERROR_HEADER = "x-panel-ingest-error";
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedInboundClientMessageListener.class);
+
+    private final InboundClientMessageIngestionService ingestionService;
+    private final RabbitTemplate rabbitTemplate;
+    private final IntegrationRabbitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final int partitions;
+    private final ExecutorService laneExecutor;
+
+    public PartitionedInboundClientMessageListener(InboundClientMessageIngestionService ingestionService,
+                                                   RabbitTemplate rabbitTemplate,
+                                                   IntegrationRabbitProperties properties,
+                                                   ObjectMapper objectMapper) {
+        this.ingestionService = ingestionService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.partitions = Math.max(1, Objects.requireNonNullElse(properties.getInboundPartitions(), 1));
+        this.laneExecutor = Executors.newFixedThreadPool(partitions, laneThreadFactory());
+    }
+
+    @RabbitListener(
+        queues = "${app.integration.rabbitmq.inbound-queue}",
+        containerFactory = "partitionedInboundClientMessageListenerContainerFactory"
+    )
+    public void onInboundClientMessages(List<Message> messages) {
+        List<List<LaneItem>> lanes = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (Message message : messages) {
+            InboundClientMessageEvent event;
+            try {
+                event = objectMapper.readValue(message.getBody(), InboundClientMessageEvent.class);
+            } catch (IOException ex) {
+                deadLetter(message, ex);
+                continue;
+            }
+            String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+            lanes.get(laneOf(event, partitions)).add(new LaneItem(message, new InboundDelivery(event, routingKey)));
+        }
+        List<CompletableFuture<Void>> running = new ArrayList<>(partitions);
+        for (List<LaneItem> lane : lanes) {
+            if (!lane.isEmpty()) {
+                running.add(CompletableFuture.runAsync(() -> processLane(lane), laneExecutor));
+            }
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+    }
+
+    void processLane(List<LaneItem> lane) {
+        try {
+            ingestionService.ingestBatch(lane.stream().map(LaneItem::delivery).toList());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Inbound lane batch of {} events failed, retrying one by one: {}", lane.size(), ex.getMessage());
+        }
+        for (LaneItem item : lane) {
+            try {
+                ingestionService.ingest(item.delivery().event(), item.delivery().routingKey());
+            } catch (RuntimeException ex) {
+                deadLetter(item.message(), ex);
+            }
+        }
+    }
+
+    static int laneOf(InboundClientMessageEvent event, int partitions) {
+        String key = StringUtils.hasText(event.ticketId())
+            ? event.ticketId()
+            : event.userId() != null ? String.valueOf(event.userId()) : String.valueOf(event.eventId());
+        return Math.floorMod(key.hashCode(), partitions);
+    }
+
+    private void deadLetter(Message message, Exception cause) {
+        log.warn("Moving inbound message to {}: {}", properties.getInboundDlq(), cause.getMessage());
+        message.getMessageProperties().setHeader(ERROR_HEADER, String.valueOf(cause.getMessage()));
+        rabbitTemplate.send(properties.getInboundDlx(), properties.getInboundDlq(), message);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        laneExecutor.shutdown();
+        if (!laneExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            laneExecutor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory laneThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "inbound-lane-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    record LaneItem(Message message, InboundDelivery delivery) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.panel.service.integration;
+
+import java.util.Set;
+
+/**
+ * Ticket and client state changes made in the panel that bot instances need to see at once,
+ * for example to drop cached panel lookups of the user.
+ */
+public record TicketLifecycleEvent(String eventId,
+                                   String eventType,
+                                   Long channelId,
+                                   Long userId,
+                                   String ticketId) {
+
+    public static final String TICKET_CLOSED = "ticket.closed";
+    public static final String TICKET_REOPENED = "ticket.reopened";
+    public static final String CLIENT_BLACKLISTED = "client.blacklisted";
+    public static final String CLIENT_UNBLOCKED = "client.unblocked";
+
+    static final Set<String> EVENT_TYPES = Set.of(TICKET_CLOSED, TICKET_REOPENED, CLIENT_BLACKLISTED, CLIENT_UNBLOCKED);
+}
@@ -0,0 +1,97 @@
+package com.example.panel.service.integration;
+
+import com.example.panel.config.IntegrationRabbitProperties;
+import com.example.panel.config.PanelIntegrationTransportMode;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Queues {@link TicketLifecycleEvent}s in the integration outbox. Only RabbitMQ transport mode has
+ * bot-side caches to invalidate, so in other modes nothing is published. A failure to queue an
+ * event is logged and never fails the change itself: the bot caches expire on their own.
+ */
+@Service
+public class TicketLifecycleEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketLifecycleEventPublisher.class);
+
+    private final OutboundFeedbackPromptPublishOutboxService outboxService;
+    private final IntegrationRabbitProperties rabbitProperties;
+    private final PanelIntegrationTransportMode integrationTransportMode;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketLifecycleEventPublisher(OutboundFeedbackPromptPublishOutboxService outboxService,
+                                         IntegrationRabbitProperties rabbitProperties,
+                                         PanelIntegrationTransportMode integrationTransportMode,
+                                         JdbcTemplate jdbcTemplate) {
+        this.outboxService = outboxService;
+        this.rabbitProperties = rabbitProperties;
+        this.integrationTransportMode = integrationTransportMode;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ticketClosed(String ticketId) {
+        publishForTicket(TicketLifecycleEvent.TICKET_CLOSED, ticketId);
+    }
+
+    public void ticketClosed(String ticketId, Long userId, Long channelId) {
+        publish(TicketLifecycleEvent.TICKET_CLOSED, ticketId, userId, channelId);
+    }
+
+    public void ticketReopened(String ticketId) {
+        publishForTicket(TicketLifecycleEvent.TICKET_REOPENED, ticketId);
+    }
+
+    public void clientBlacklisted(Long userId) {
+        publish(TicketLifecycleEvent.CLIENT_BLACKLISTED, null, userId, null);
+    }
+
+    public void clientUnblocked(Long userId) {
+        publish(TicketLifecycleEvent.CLIENT_UNBLOCKED, null, userId, null);
+    }
+
+    private void publishForTicket(String eventType, String ticketId) {
+        if (!integrationTransportMode.isRabbitMqMode() || !StringUtils.hasText(ticketId)) {
+            return;
+        }
+        try {
+            List<Long[]> owners = jdbcTemplate.query(
+                "SELECT user_id, channel_id FROM tickets WHERE ticket_id = ?",
+                (rs, rowNum) -> new Long[]{
+                    rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
+                    rs.getObject("channel_id") != null ? rs.getLong("channel_id") : null
+                },
+                ticketId.trim()
+            );
+            Long[] owner = owners.isEmpty() ? new Long[2] : owners.get(0);
+            publish(eventType, ticketId, owner[0], owner[1]);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to resolve owner of ticket {} for {} event: {}", ticketId, eventType, ex.getMessage());
+        }
+    }
+
+    private void publish(String eventType, String ticketId, Long userId, Long channelId) {
+        if (!integrationTransportMode.isRabbitMqMode() || (userId == null && !StringUtils.hasText(ticketId))) {
+            return;
+        }
+        String eventId = UUID.randomUUID().toString();
+        TicketLifecycleEvent event = new TicketLifecycleEvent(
+            eventId,
+            eventType,
+            channelId,
+            userId,
+            StringUtils.hasText(ticketId) ? ticketId.trim() : null
+        );
+        try {
+            outboxService.enqueue(event, rabbitProperties.ticketLifecycleRoutingKey(eventType));
+        } catch (DataAccessException ex) {
+            log.warn("Unable to queue {} event {} for ticket {}: {}", eventType, eventId, ticketId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.panel.support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * UTF-8 CSV with every cell quoted, the same quoting the AI ops CSV export uses.
+ */
+public class CsvExportWriter implements TabularExportWriter {
+
+    private final BufferedWriter writer;
+
+    public CsvExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(index);
+            String text = value != null ? String.valueOf(value) : "";
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -126,6 +126,35 @@ public class PanelTimestampSqlSupport {
         );
     }
 
+    public SqlCondition after(String expression, Instant boundary) {
+        return compareWith(expression, ">", boundary);
+    }
+
+    public SqlCondition atOrBefore(String expression, Instant boundary) {
+        return compareWith(expression, "<=", boundary);
+    }
+
+    public SqlCondition atOrAfter(String expression, Instant boundary) {
+        return compareWith(expression, ">=", boundary);
+    }
+
+    public SqlCondition before(String expression, Instant boundary) {
+        return compareWith(expression, "<", boundary);
+    }
+
+    private SqlCondition compareWith(String expression, String operator, Instant boundary) {
+        if (isSqliteMode()) {
+            return new SqlCondition(
+                    comparableTimestampExpression(expression) + " " + operator + " datetime(?)",
+                    new Object[]{normalizeComparableTimestamp(boundary.toString())}
+            );
+        }
+        return new SqlCondition(
+                expression + " " + operator + " ?",
+                new Object[]{Timestamp.from(boundary)}
+        );
+    }
+
     private Duration safeLookback(Duration lookback) {
         return lookback == null || lookback.isNegative() ? Duration.ZERO : lookback;
     }
@@ -0,0 +1,143 @@
+package com.example.panel.support;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-memory cache of table columns per datasource and of SQL variants derived from them.
+ *
+ * <p>Column sets are read through {@link JdbcSchemaInspector} once and served from memory until the
+ * schema changes: every Flyway migration run calls {@link #refresh()}, which bumps
+ * {@link #schemaVersion()} and drops both column sets and compiled SQL. Missing tables are not cached,
+ * so tables created at runtime become visible on the next lookup.</p>
+ */
+@Component
+public class SchemaCapabilityRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaCapabilityRegistry.class);
+
+    private final Map<DataSource, Map<String, Set<String>>> columnsByDataSource = new ConcurrentHashMap<>();
+    private final Map<String, Compiled> compiled = new ConcurrentHashMap<>();
+    private final AtomicLong schemaVersion = new AtomicLong();
+
+    /**
+     * Resolved lazily: the primary {@link JdbcTemplate} waits for Flyway, and Flyway needs this registry
+     * for its refresh callback.
+     */
+    @Autowired(required = false)
+    private ObjectProvider<JdbcTemplate> jdbcTemplates;
+
+    @Value("${panel.schema.warmup-tables:tickets,messages,chat_history,chat_attachment_metadata,feedbacks,ticket_categories}")
+    private String warmupTables;
+
+    public Set<String> columns(JdbcTemplate template, String tableName) {
+        if (template == null || !StringUtils.hasText(tableName)) {
+            return Set.of();
+        }
+        DataSource dataSource = template.getDataSource();
+        if (dataSource == null) {
+            return JdbcSchemaInspector.loadColumnNames(template, tableName);
+        }
+        String key = tableName.trim().toLowerCase(Locale.ROOT);
+        Map<String, Set<String>> tables = columnsByDataSource.computeIfAbsent(dataSource, ignored -> new ConcurrentHashMap<>());
+        Set<String> cached = tables.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long version = schemaVersion.get();
+        Set<String> columns = Collections.unmodifiableSet(new LinkedHashSet<>(JdbcSchemaInspector.loadColumnNames(template, tableName)));
+        if (!columns.isEmpty() && version == schemaVersion.get()) {
+            tables.put(key, columns);
+        }
+        return columns;
+    }
+
+    public boolean hasColumn(JdbcTemplate template, String tableName, String columnName) {
+        return columnName != null && columns(template, tableName).contains(columnName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the value built by {@code builder} for the current schema version, building it at most
+     * once per version. Intended for SQL text that depends on which columns exist.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T compiled(String key, Supplier<T> builder) {
+        long version = schemaVersion.get();
+        Compiled entry = compiled.get(key);
+        if (entry != null && entry.version == version) {
+            return (T) entry.value;
+        }
+        T value = builder.get();
+        if (value != null && version == schemaVersion.get()) {
+            compiled.put(key, new Compiled(version, value));
+        }
+        return value;
+    }
+
+    public long schemaVersion() {
+        return schemaVersion.get();
+    }
+
+    public void refresh() {
+        schemaVersion.incrementAndGet();
+        columnsByDataSource.clear();
+        compiled.clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        JdbcTemplate jdbcTemplate = jdbcTemplates != null ? jdbcTemplates.getIfAvailable() : null;
+        if (jdbcTemplate == null || !StringUtils.hasText(warmupTables)) {
+            return;
+        }
+        for (String table : warmupTables.split(",")) {
+            if (!StringUtils.hasText(table)) {
+                continue;
+            }
+            try {
+                columns(jdbcTemplate, table.trim());
+            } catch (DataAccessException ex) {
+                log.debug("Schema warm-up skipped {}: {}", table, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Null-safe lookup for services that receive the registry as an optional collaborator.
+     */
+    public static Set<String> columns(@Nullable SchemaCapabilityRegistry registry, JdbcTemplate template, String tableName) {
+        if (registry == null) {
+            return JdbcSchemaInspector.loadColumnNames(template, tableName);
+        }
+        return registry.columns(template, tableName);
+    }
+
+    /**
+     * Null-safe variant of {@link #compiled(String, Supplier)}; without a registry the value is built every time.
+     */
+    public static <T> T compiled(@Nullable SchemaCapabilityRegistry registry, String key, Supplier<T> builder) {
+        return registry == null ? builder.get() : registry.compiled(key, builder);
+    }
+
+    private record Compiled(long version, Object value) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.panel.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Row-at-a-time writer of an export document. Rows are written straight to the underlying stream,
+ * so memory use does not depend on the number of rows. {@link #close()} completes the document
+ * and flushes it, but leaves the underlying stream open.
+ */
+public interface TabularExportWriter extends Closeable {
+
+    void writeRow(List<?> values) throws IOException;
+}
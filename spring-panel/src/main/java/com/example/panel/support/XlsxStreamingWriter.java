@@ -0,0 +1,178 @@
+package com.example.panel.support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal SpreadsheetML (XLSX) writer that streams worksheet rows into the zip entry as they
+ * arrive. Strings are written as inline strings, so no shared-string table has to be kept in
+ * memory; a new worksheet is started once a sheet reaches the Excel row limit. The workbook parts
+ * that list the sheets are written on {@link #close()}.
+ */
+public class XlsxStreamingWriter implements TabularExportWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxRowsPerSheet;
+    private int sheetCount;
+    private int rowsInSheet;
+
+    public XlsxStreamingWriter(OutputStream outputStream) {
+        this(outputStream, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxStreamingWriter(OutputStream outputStream, int maxRowsPerSheet) {
+        this.zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        this.maxRowsPerSheet = Math.max(1, maxRowsPerSheet);
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        if (sheetCount == 0 || rowsInSheet >= maxRowsPerSheet) {
+            startSheet();
+        }
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value instanceof Number number && !(value instanceof Double d && (d.isNaN() || d.isInfinite()))) {
+                writer.write("<c><v>");
+                writer.write(number.toString());
+                writer.write("</v></c>");
+            } else if (value == null) {
+                writer.write("<c/>");
+            } else {
+                String text = String.valueOf(value);
+                if (text.length() > MAX_CELL_LENGTH) {
+                    text = text.substring(0, MAX_CELL_LENGTH);
+                }
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(text);
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>\n");
+        rowsInSheet++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sheetCount == 0) {
+            startSheet();
+        }
+        endSheet();
+        writeEntry("[Content_Types].xml", contentTypes());
+        writeEntry("_rels/.rels", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+                <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>
+                </Relationships>
+                """);
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        if (sheetCount > 0) {
+            endSheet();
+        }
+        sheetCount++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+                """);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private String contentTypes() {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">
+                <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>
+                <Default Extension="xml" ContentType="application/xml"/>
+                <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>
+                """);
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>\n");
+        }
+        return xml.append("</Types>\n").toString();
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships"><sheets>
+                """);
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            xml.append("<sheet name=\"Sheet").append(sheet).append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet).append("\"/>\n");
+        }
+        return xml.append("</sheets></workbook>\n").toString();
+    }
+
+    private String workbookRelationships() {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+                """);
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            xml.append("<Relationship Id=\"rId").append(sheet)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .append(sheet).append(".xml\"/>\n");
+        }
+        return xml.append("</Relationships>\n").toString();
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int index = 0; index < text.length(); index++) {
+            char ch = text.charAt(index);
+            switch (ch) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    if (Character.isHighSurrogate(ch) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
+                        writer.write(ch);
+                        writer.write(text.charAt(++index));
+                    } else if (isXmlChar(ch)) {
+                        writer.write(ch);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isXmlChar(char ch) {
+        if (Character.isSurrogate(ch)) {
+            return false;
+        }
+        return ch == '\t' || ch == '\n' || ch == '\r' || (ch >= 0x20 && ch != 0xFFFE && ch != 0xFFFF);
+    }
+}
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS dialog_list_projection (
+    ticket_id VARCHAR(255) PRIMARY KEY,
+    group_msg_id BIGINT,
+    user_id BIGINT,
+    username VARCHAR(255),
+    client_name TEXT,
+    business TEXT,
+    channel_id BIGINT,
+    city TEXT,
+    location_name TEXT,
+    problem TEXT,
+    created_at TIMESTAMPTZ,
+    created_date TEXT,
+    created_time TEXT,
+    last_sender TEXT,
+    last_sender_time TIMESTAMPTZ,
+    last_activity TIMESTAMPTZ,
+    categories TEXT,
+    rating INTEGER,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    refreshed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_activity
+    ON dialog_list_projection(last_activity DESC NULLS LAST, ticket_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_channel
+    ON dialog_list_projection(channel_id, last_activity DESC NULLS LAST);
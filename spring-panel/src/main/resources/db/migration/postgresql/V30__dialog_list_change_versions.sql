@@ -0,0 +1,13 @@
+ALTER TABLE dialog_list_projection ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_change_version
+    ON dialog_list_projection(change_version);
+
+CREATE TABLE IF NOT EXISTS dialog_list_tombstones (
+    ticket_id VARCHAR(255) PRIMARY KEY,
+    change_version BIGINT NOT NULL,
+    removed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_tombstones_change_version
+    ON dialog_list_tombstones(change_version);
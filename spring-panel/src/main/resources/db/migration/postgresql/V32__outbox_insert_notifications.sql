@@ -0,0 +1,29 @@
+-- Wake background watchers through LISTEN/NOTIFY instead of waiting for the next poll.
+-- Statement-level triggers send one empty notification per inserting statement; PostgreSQL
+-- delivers it after commit and folds duplicates raised in the same transaction.
+CREATE OR REPLACE FUNCTION panel_notify_insert() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify(TG_ARGV[0], '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_ui_event_outbox_notify ON ui_event_outbox;
+CREATE TRIGGER trg_ui_event_outbox_notify
+    AFTER INSERT ON ui_event_outbox
+    FOR EACH STATEMENT EXECUTE FUNCTION panel_notify_insert('panel_ui_event_outbox');
+
+DROP TRIGGER IF EXISTS trg_chat_history_notify ON chat_history;
+CREATE TRIGGER trg_chat_history_notify
+    AFTER INSERT ON chat_history
+    FOR EACH STATEMENT EXECUTE FUNCTION panel_notify_insert('panel_chat_history');
+
+DROP TRIGGER IF EXISTS trg_feedbacks_notify ON feedbacks;
+CREATE TRIGGER trg_feedbacks_notify
+    AFTER INSERT ON feedbacks
+    FOR EACH STATEMENT EXECUTE FUNCTION panel_notify_insert('panel_feedbacks');
+
+DROP TRIGGER IF EXISTS trg_incident_route_delivery_outbox_notify ON incident_route_delivery_outbox;
+CREATE TRIGGER trg_incident_route_delivery_outbox_notify
+    AFTER INSERT ON incident_route_delivery_outbox
+    FOR EACH STATEMENT EXECUTE FUNCTION panel_notify_insert('panel_incident_route_delivery_outbox');
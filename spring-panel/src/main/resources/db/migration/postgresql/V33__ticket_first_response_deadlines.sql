@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS ticket_first_response_deadlines (
+    ticket_id VARCHAR(255) PRIMARY KEY,
+    channel_id BIGINT,
+    first_client_message_at BIGINT,
+    settled_at BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_first_response_deadlines_pending
+    ON ticket_first_response_deadlines(first_client_message_at)
+    WHERE settled_at IS NULL;
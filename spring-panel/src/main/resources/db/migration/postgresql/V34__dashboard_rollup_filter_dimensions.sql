@@ -0,0 +1,65 @@
+-- Buckets are keyed on the dimensions the dashboard filters and groups by. The hour of creation
+-- and the primary category get their own small rollups. Contributions are recomputed by the
+-- rollup backfill, which the checkpoint reset below starts again.
+DROP TABLE IF EXISTS dashboard_rollups;
+DROP TABLE IF EXISTS dashboard_rollup_tickets;
+
+CREATE TABLE IF NOT EXISTS dashboard_rollups (
+    bucket_day VARCHAR(10) NOT NULL DEFAULT '',
+    location_name TEXT NOT NULL DEFAULT '',
+    channel_id BIGINT NOT NULL DEFAULT 0,
+    business TEXT NOT NULL DEFAULT '',
+    city TEXT NOT NULL DEFAULT '',
+    responsible TEXT NOT NULL DEFAULT '',
+    status TEXT NOT NULL DEFAULT '',
+    tickets_count BIGINT NOT NULL DEFAULT 0,
+    resolved_count BIGINT NOT NULL DEFAULT 0,
+    handling_minutes BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (bucket_day, location_name, channel_id, business, city, responsible, status)
+);
+
+CREATE TABLE IF NOT EXISTS dashboard_rollup_hours (
+    bucket_day VARCHAR(10) NOT NULL DEFAULT '',
+    location_name TEXT NOT NULL DEFAULT '',
+    bucket_hour SMALLINT NOT NULL DEFAULT -1,
+    tickets_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (bucket_day, location_name, bucket_hour)
+);
+
+CREATE TABLE IF NOT EXISTS dashboard_rollup_categories (
+    bucket_day VARCHAR(10) NOT NULL DEFAULT '',
+    location_name TEXT NOT NULL DEFAULT '',
+    category TEXT NOT NULL DEFAULT '',
+    tickets_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (bucket_day, location_name, category)
+);
+
+CREATE TABLE IF NOT EXISTS dashboard_rollup_tickets (
+    ticket_id VARCHAR(255) PRIMARY KEY,
+    bucket_day VARCHAR(10) NOT NULL DEFAULT '',
+    bucket_hour SMALLINT NOT NULL DEFAULT -1,
+    location_name TEXT NOT NULL DEFAULT '',
+    channel_id BIGINT NOT NULL DEFAULT 0,
+    business TEXT NOT NULL DEFAULT '',
+    city TEXT NOT NULL DEFAULT '',
+    responsible TEXT NOT NULL DEFAULT '',
+    status TEXT NOT NULL DEFAULT '',
+    category TEXT NOT NULL DEFAULT '',
+    handling_minutes INTEGER,
+    rating INTEGER,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_rollup_tickets_day
+    ON dashboard_rollup_tickets(bucket_day, location_name);
+
+DELETE FROM runtime_worker_checkpoints
+ WHERE worker_key IN ('dashboard-rollups.ready', 'dashboard-rollups.rebuild', 'dashboard-rollups.version');
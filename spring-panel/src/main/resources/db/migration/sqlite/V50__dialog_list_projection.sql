@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS dialog_list_projection (
+    ticket_id TEXT PRIMARY KEY,
+    group_msg_id INTEGER,
+    user_id INTEGER,
+    username TEXT,
+    client_name TEXT,
+    business TEXT,
+    channel_id INTEGER,
+    city TEXT,
+    location_name TEXT,
+    problem TEXT,
+    created_at TEXT,
+    created_date TEXT,
+    created_time TEXT,
+    last_sender TEXT,
+    last_sender_time TEXT,
+    last_activity TEXT,
+    categories TEXT,
+    rating INTEGER,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    refreshed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_activity
+    ON dialog_list_projection(last_activity DESC, ticket_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_channel
+    ON dialog_list_projection(channel_id, last_activity DESC);
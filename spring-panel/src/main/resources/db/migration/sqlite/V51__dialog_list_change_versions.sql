@@ -0,0 +1,13 @@
+ALTER TABLE dialog_list_projection ADD COLUMN change_version INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_projection_change_version
+    ON dialog_list_projection(change_version);
+
+CREATE TABLE IF NOT EXISTS dialog_list_tombstones (
+    ticket_id TEXT PRIMARY KEY,
+    change_version INTEGER NOT NULL,
+    removed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dialog_list_tombstones_change_version
+    ON dialog_list_tombstones(change_version);
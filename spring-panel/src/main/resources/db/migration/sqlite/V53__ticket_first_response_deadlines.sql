@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS ticket_first_response_deadlines (
+    ticket_id TEXT PRIMARY KEY,
+    channel_id INTEGER,
+    first_client_message_at INTEGER,
+    settled_at INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_first_response_deadlines_pending
+    ON ticket_first_response_deadlines(first_client_message_at)
+    WHERE settled_at IS NULL;
@@ -88,6 +88,11 @@
 
     let triagePreferencesLoadedFromServer = false;
     let triagePreferencesSaveTimer = null;
+    const LIST_FULL_RESYNC_INTERVAL_MS = 5 * 60 * 1000;
+    let listDialogs = null;
+    let listVersion = 0;
+    let listFullSyncAt = 0;
+    let slaThresholds = null;
 
     function resolveStorageKey(key) {
       return String(key || '').trim();
@@ -471,6 +476,76 @@
       }
     }
 
+    function dialogActivityKey(item) {
+      return String(item?.lastMessageTimestamp || item?.createdAt || '').replace(' ', 'T');
+    }
+
+    function mergeDialogChanges(dialogs, upserted, removed) {
+      const removedIds = new Set((Array.isArray(removed) ? removed : []).map((ticketId) => String(ticketId)));
+      const byTicketId = new Map();
+      dialogs.forEach((item) => {
+        const ticketId = String(item?.ticketId || '');
+        if (ticketId && !removedIds.has(ticketId)) {
+          byTicketId.set(ticketId, item);
+        }
+      });
+      (Array.isArray(upserted) ? upserted : []).forEach((item) => {
+        const ticketId = String(item?.ticketId || '');
+        if (ticketId) {
+          byTicketId.set(ticketId, item);
+        }
+      });
+      return Array.from(byTicketId.values()).sort((left, right) => {
+        const leftKey = dialogActivityKey(left);
+        const rightKey = dialogActivityKey(right);
+        if (leftKey !== rightKey) {
+          return leftKey < rightKey ? 1 : -1;
+        }
+        return String(right?.ticketId || '').localeCompare(String(left?.ticketId || ''));
+      });
+    }
+
+    async function fetchDialogsPayload() {
+      const canUseDelta = Array.isArray(listDialogs)
+        && listVersion > 0
+        && Date.now() - listFullSyncAt < LIST_FULL_RESYNC_INTERVAL_MS;
+      if (canUseDelta) {
+        const resp = await fetch(`/api/dialogs/changes?since=${encodeURIComponent(String(listVersion))}`, {
+          credentials: 'same-origin',
+          cache: 'no-store',
+        });
+        const data = await resp.json();
+        if (!resp.ok || !data?.success) {
+          throw new Error(data?.error || `Ошибка ${resp.status}`);
+        }
+        if (!data.reset) {
+          const upserted = Array.isArray(data.upserted) ? data.upserted : [];
+          const removed = Array.isArray(data.removed) ? data.removed : [];
+          listVersion = Number(data.version) || listVersion;
+          return {
+            delta: true,
+            removed,
+            summary: data.summary,
+            sla_orchestration: data.sla_orchestration,
+            dialogs: upserted.length || removed.length
+              ? mergeDialogChanges(listDialogs, upserted, removed)
+              : listDialogs,
+          };
+        }
+      }
+      const resp = await fetch('/api/dialogs', {
+        credentials: 'same-origin',
+        cache: 'no-store',
+      });
+      const data = await resp.json();
+      if (!resp.ok || !data?.success) {
+        throw new Error(data?.error || `Ошибка ${resp.status}`);
+      }
+      listVersion = Number(data.version) || 0;
+      listFullSyncAt = Date.now();
+      return data;
+    }
+
     async function refreshDialogsList() {
       if (isListLoading()) {
         return;
@@ -480,16 +555,10 @@
       }
       setListLoading(true);
       try {
-        const resp = await fetch('/api/dialogs', {
-          credentials: 'same-origin',
-          cache: 'no-store',
-        });
-        const data = await resp.json();
-        if (!resp.ok || !data?.success) {
-          throw new Error(data?.error || `Ошибка ${resp.status}`);
-        }
+        const data = await fetchDialogsPayload();
         const dialogs = data.dialogs || [];
-        syncSlaOrchestrationSignals(data.sla_orchestration || null);
+        listDialogs = dialogs;
+        syncSlaOrchestrationSignals(data.sla_orchestration || null, data.delta === true, data.removed);
         applySlaOrchestrationToRows();
         const marker = options.buildDialogsMarker(dialogs);
         const lastMarker = typeof options.getLastListMarker === 'function' ? options.getLastListMarker() : null;
@@ -499,7 +568,7 @@
           options.setLastListMarker?.(marker);
         }
         syncDialogsTable(dialogs);
-        if (data.my_dialogs && typeof data.my_dialogs === 'object') {
+        if (!data.delta && data.my_dialogs && typeof data.my_dialogs === 'object') {
           options.normalizeMyDialogsState(data.my_dialogs);
         } else {
           options.syncMyDialogsStateFromTable();
@@ -542,9 +611,23 @@
       }
     }
 
-    function syncSlaOrchestrationSignals(slaOrchestration) {
+    function syncSlaOrchestrationSignals(slaOrchestration, merge = false, removedTicketIds = []) {
       const store = getSlaOrchestrationByTicket();
-      store.clear();
+      if (merge) {
+        (Array.isArray(removedTicketIds) ? removedTicketIds : []).forEach((ticketId) => {
+          store.delete(String(ticketId));
+        });
+      } else {
+        store.clear();
+      }
+      if (slaOrchestration && typeof slaOrchestration === 'object') {
+        slaThresholds = {
+          enabled: slaOrchestration.enabled !== false,
+          targetMinutes: Number(slaOrchestration.target_minutes),
+          warningMinutes: Number(slaOrchestration.warning_minutes),
+          criticalMinutes: Number(slaOrchestration.critical_minutes),
+        };
+      }
       const tickets = slaOrchestration && typeof slaOrchestration === 'object'
         ? slaOrchestration.tickets
         : null;
@@ -559,11 +642,40 @@
       });
     }
 
+    // Delta responses only carry signals for changed rows, so the state of every row is re-derived
+    // from its created_at with the server thresholds; the stored signal is used when that is not possible.
+    function resolveRowSlaSignal(row, storedSignal) {
+      const thresholds = slaThresholds;
+      if (!thresholds || !Number.isFinite(thresholds.targetMinutes)) {
+        return storedSignal;
+      }
+      const statusKey = String(row?.dataset?.statusKey || '').trim().toLowerCase();
+      if (statusKey === 'closed' || statusKey === 'auto_closed') {
+        return { state: 'closed', minutes_left: null, auto_pin: false, escalation_required: false };
+      }
+      const createdAt = options.parseUtcDateValue(String(row?.dataset?.createdAt || '').trim());
+      if (!createdAt) {
+        return storedSignal;
+      }
+      const msLeft = createdAt.getTime() + thresholds.targetMinutes * 60000 - Date.now();
+      const warningMs = (Number.isFinite(thresholds.warningMinutes) ? thresholds.warningMinutes : 0) * 60000;
+      const minutesLeft = Math.round(msLeft / 60000);
+      const critical = thresholds.enabled
+        && Number.isFinite(thresholds.criticalMinutes)
+        && minutesLeft <= thresholds.criticalMinutes;
+      return {
+        state: msLeft <= 0 ? 'breached' : (msLeft <= warningMs ? 'at_risk' : 'normal'),
+        minutes_left: minutesLeft,
+        auto_pin: critical,
+        escalation_required: critical && isUnassignedDialog(row),
+      };
+    }
+
     function applySlaOrchestrationToRows() {
       const store = getSlaOrchestrationByTicket();
       rowsList().forEach((row) => {
         const ticketId = String(row?.dataset?.ticketId || '');
-        const signal = store.get(ticketId);
+        const signal = resolveRowSlaSignal(row, store.get(ticketId));
         if (!signal) {
           row.dataset.slaServerState = '';
           row.dataset.slaServerPinned = '';
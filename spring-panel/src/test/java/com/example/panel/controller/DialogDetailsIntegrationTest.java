@@ -2,6 +2,7 @@ package com.example.panel.controller;
 
 import com.example.panel.service.NotificationService;
 import com.example.panel.service.SharedConfigService;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -96,6 +97,9 @@ class DialogDetailsIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SchemaCapabilityRegistry schemaCapabilityRegistry;
+
     @Autowired
     @Qualifier("usersJdbcTemplate")
     private JdbcTemplate usersJdbcTemplate;
@@ -1321,6 +1325,7 @@ class DialogDetailsIntegrationTest {
             return;
         }
         template.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + definition);
+        schemaCapabilityRegistry.refresh();
     }
 
     private Set<String> loadColumns(JdbcTemplate template, String tableName) {
@@ -1,15 +1,21 @@
 package com.example.panel.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.service.DialogListReadService;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -61,4 +67,55 @@ class DialogListControllerWebMvcTest {
             .andExpect(jsonPath("$.success").value(true))
             .andExpect(jsonPath("$.summary.open").value(0));
     }
+
+    @Test
+    void listSwitchesToPagedModeWhenPagingParametersArePresent() throws Exception {
+        when(dialogListReadService.loadListPagePayload(eq("operator"), any(DialogListPageQuery.class)))
+            .thenReturn(Map.of(
+                    "success", true,
+                    "dialogs", List.of(Map.of("ticketId", "T-901")),
+                    "page", Map.of("has_more", true, "next_cursor", "abc")
+            ));
+
+        mockMvc.perform(get("/api/dialogs")
+                .param("limit", "20")
+                .param("status", "open")
+                .param("channelId", "7")
+                .with(user("operator")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dialogs[0].ticketId").value("T-901"))
+            .andExpect(jsonPath("$.page.next_cursor").value("abc"));
+
+        ArgumentCaptor<DialogListPageQuery> queryCaptor = ArgumentCaptor.forClass(DialogListPageQuery.class);
+        verify(dialogListReadService).loadListPagePayload(eq("operator"), queryCaptor.capture());
+        assertThat(queryCaptor.getValue().limit()).isEqualTo(20);
+        assertThat(queryCaptor.getValue().channelId()).isEqualTo(7L);
+        assertThat(queryCaptor.getValue().statusKeys()).contains("new", "waiting_operator");
+    }
+
+    @Test
+    void listRejectsUnknownStatusFilter() throws Exception {
+        mockMvc.perform(get("/api/dialogs").param("status", "archived").with(user("operator")))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changesDelegatesSinceVersion() throws Exception {
+        when(dialogListReadService.loadChangesPayload("operator", 1_700_000_000_000_000_000L))
+            .thenReturn(Map.of(
+                    "success", true,
+                    "version", 1_700_000_000_500_000_000L,
+                    "reset", false,
+                    "upserted", List.of(Map.of("ticketId", "T-902")),
+                    "removed", List.of("T-903")
+            ));
+
+        mockMvc.perform(get("/api/dialogs/changes")
+                .param("since", "1700000000000000000")
+                .with(user("operator")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reset").value(false))
+            .andExpect(jsonPath("$.upserted[0].ticketId").value("T-902"))
+            .andExpect(jsonPath("$.removed[0]").value("T-903"));
+    }
 }
@@ -4,6 +4,7 @@ import com.example.panel.entity.Channel;
 import com.example.panel.service.DialogReplyTransportService;
 import com.example.panel.service.NotificationService;
 import com.example.panel.service.SharedConfigService;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -114,6 +115,9 @@ class DialogQuickActionsIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SchemaCapabilityRegistry schemaCapabilityRegistry;
+
     @Autowired
     @Qualifier("usersJdbcTemplate")
     private JdbcTemplate usersJdbcTemplate;
@@ -2489,6 +2493,7 @@ class DialogQuickActionsIntegrationTest {
             return;
         }
         template.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + definition);
+        schemaCapabilityRegistry.refresh();
     }
 
     private Set<String> loadColumns(JdbcTemplate template, String tableName) {
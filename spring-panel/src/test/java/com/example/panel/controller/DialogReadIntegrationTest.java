@@ -1,6 +1,7 @@
 package com.example.panel.controller;
 
 import com.example.panel.service.NotificationService;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -92,6 +93,9 @@ class DialogReadIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SchemaCapabilityRegistry schemaCapabilityRegistry;
+
     @Autowired
     @Qualifier("usersJdbcTemplate")
     private JdbcTemplate usersJdbcTemplate;
@@ -695,6 +699,7 @@ class DialogReadIntegrationTest {
             return;
         }
         template.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + definition);
+        schemaCapabilityRegistry.refresh();
     }
 
     private Set<String> loadColumns(JdbcTemplate template, String tableName) {
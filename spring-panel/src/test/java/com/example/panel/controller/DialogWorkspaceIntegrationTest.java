@@ -2,6 +2,7 @@ package com.example.panel.controller;
 
 import com.example.panel.service.SharedConfigService;
 import com.example.panel.service.NotificationService;
+import com.example.panel.support.SchemaCapabilityRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -97,6 +98,9 @@ class DialogWorkspaceIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SchemaCapabilityRegistry schemaCapabilityRegistry;
+
     @Autowired
     @Qualifier("usersJdbcTemplate")
     private JdbcTemplate usersJdbcTemplate;
@@ -144,6 +148,7 @@ class DialogWorkspaceIntegrationTest {
             return;
         }
         jdbcTemplate.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + definition);
+        schemaCapabilityRegistry.refresh();
     }
 
     private void ensureUsersDirectoryColumns() {
@@ -162,6 +167,7 @@ class DialogWorkspaceIntegrationTest {
             return;
         }
         usersJdbcTemplate.execute("ALTER TABLE users ADD COLUMN " + columnName + " " + definition);
+        schemaCapabilityRegistry.refresh();
     }
 
     private Set<String> loadColumns(String tableName) {
@@ -0,0 +1,79 @@
+package com.example.panel.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PanelMetricsRegistryTest {
+
+    @Test
+    void rendersCountersGaugesAndCumulativeHistogramBuckets() {
+        PanelMetricsRegistry registry = new PanelMetricsRegistry();
+        registry.counter("panel_test_events_total", "Test events.", "kind", "a\"b").increment(3);
+        registry.gauge("panel_test_depth", "Test depth.", () -> 7, "outbox", "ui_event_outbox");
+        Timer histogram = registry.histogram("panel_test_seconds", "Test latency.", "client", "notion");
+        histogram.record(Duration.ofMillis(3));
+        histogram.record(Duration.ofMillis(200));
+        histogram.record(Duration.ofSeconds(400));
+
+        String scrape = registry.scrape();
+
+        assertThat(scrape).contains("# TYPE panel_test_events_total counter\n");
+        assertThat(scrape).contains("panel_test_events_total{kind=\"a\\\"b\",} 3.0\n");
+        assertThat(scrape).contains("panel_test_depth{outbox=\"ui_event_outbox\",} 7.0\n");
+        assertThat(scrape).contains("# TYPE panel_test_seconds histogram\n");
+        assertThat(scrape).contains("panel_test_seconds_bucket{client=\"notion\",le=\"0.005\",} 1.0\n");
+        assertThat(scrape).contains("panel_test_seconds_bucket{client=\"notion\",le=\"0.25\",} 2.0\n");
+        assertThat(scrape).contains("panel_test_seconds_bucket{client=\"notion\",le=\"300.0\",} 2.0\n");
+        assertThat(scrape).contains("panel_test_seconds_bucket{client=\"notion\",le=\"+Inf\",} 3.0\n");
+        assertThat(scrape).contains("panel_test_seconds_count{client=\"notion\",} 3.0\n");
+    }
+
+    @Test
+    void returnsTheSameSeriesForTheSameLabelsInAnyOrder() {
+        PanelMetricsRegistry registry = new PanelMetricsRegistry();
+
+        Counter first = registry.counter("panel_test_total", "Test.", "a", "1", "b", "2");
+        Counter second = registry.counter("panel_test_total", "Test.", "b", "2", "a", "1");
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void timesScheduledMethodsByJobName() throws Exception {
+        PanelMetricsRegistry registry = new PanelMetricsRegistry();
+        InstrumentedTaskScheduler scheduler = new InstrumentedTaskScheduler(registry);
+        scheduler.initialize();
+        try {
+            SampleJob job = new SampleJob();
+            ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(
+                    new ScheduledMethodRunnable(job, SampleJob.class.getMethod("tick")), Duration.ofMillis(10));
+            assertThat(job.runs.await(5, TimeUnit.SECONDS)).isTrue();
+            future.cancel(false);
+        } finally {
+            scheduler.shutdown();
+            scheduler.getScheduledExecutor().awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        String scrape = registry.scrape();
+        assertThat(scrape).contains("panel_scheduled_job_duration_seconds_count{job=\"SampleJob.tick\",outcome=\"success\",}");
+        assertThat(scrape).contains("panel_scheduled_job_lag_seconds_count{job=\"SampleJob.tick\",}");
+        assertThat(scrape).contains("panel_scheduled_job_running{job=\"SampleJob.tick\",} 0.0\n");
+    }
+
+    public static class SampleJob {
+        private final CountDownLatch runs = new CountDownLatch(3);
+
+        public void tick() {
+            runs.countDown();
+        }
+    }
+}
@@ -5,11 +5,14 @@ import com.example.panel.config.DatabaseMode;
 import com.example.panel.support.PanelTimestampSqlSupport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.util.HexFormat;
 import java.util.Locale;
@@ -84,6 +87,47 @@ class AiRetrievalServiceTest {
         assertNotNull(result.candidates().get(0).canonicalKey());
     }
 
+    @Test
+    void picksUpMemoryWrittenAfterIndexWasBuilt() {
+        seedTicketScope("T-4", 4L, "telegram", "блинбери", "центр");
+        insertApprovedMemory("Как вернуть деньги за заказ", "Возврат оформляется в течение трех дней.", 1, "telegram", "блинбери", "центр");
+        assertTrue(retrievalService.retrieve("T-4", "Где мой заказ #A-100?", 3).candidates().stream()
+                .noneMatch(candidate -> "order_status".equals(candidate.intentKey())));
+
+        String key = insertApprovedMemory("Где заказ #A-100", "Заказ A-100 в пути и скоро будет у вас.", 2, "telegram", "блинбери", "центр");
+        knowledgeService.syncFromMemory(key);
+        retrievalService.invalidateIndex();
+
+        AiRetrievalService.RetrievalResult result = retrievalService.retrieve("T-4", "Где мой заказ #A-100?", 3);
+
+        assertFalse(result.candidates().isEmpty());
+        assertEquals(key, result.candidates().get(0).memoryKey());
+    }
+
+    @Test
+    void restoresIndexFromSnapshotAndReloadsOnlyChangedRows(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("retrieval-index.json");
+        AiRetrievalService snapshotting = new AiRetrievalService(jdbcTemplate, intentService,
+                new PanelTimestampSqlSupport(DatabaseMode.POSTGRESQL), new ObjectMapper(), snapshotPath.toString());
+        seedTicketScope("T-5", 5L, "telegram", "блинбери", "центр");
+        String keyA = insertApprovedMemory("Где заказ #A-100", "Заказ A-100 в пути и скоро будет у вас.", 3, "telegram", "блинбери", "центр");
+        snapshotting.retrieve("T-5", "Где мой заказ #A-100?", 3);
+        snapshotting.flushSnapshot();
+        assertTrue(Files.isRegularFile(snapshotPath));
+
+        jdbcTemplate.update("DELETE FROM ai_agent_solution_memory WHERE query_key = ?", keyA);
+        String keyB = insertApprovedMemory("Где заказ #B-200", "Заказ B-200 готов к выдаче.", 3, "telegram", "блинбери", "центр");
+        AiRetrievalService restored = new AiRetrievalService(jdbcTemplate, intentService,
+                new PanelTimestampSqlSupport(DatabaseMode.POSTGRESQL), new ObjectMapper(), snapshotPath.toString());
+        restored.restoreSnapshot();
+
+        AiRetrievalService.RetrievalResult result = restored.retrieve("T-5", "Где мой заказ #B-200?", 3);
+
+        assertFalse(result.candidates().isEmpty());
+        assertEquals(keyB, result.candidates().get(0).memoryKey());
+        assertTrue(result.candidates().stream().noneMatch(candidate -> keyA.equals(candidate.memoryKey())));
+    }
+
     private void createSchema() {
         jdbcTemplate.execute("CREATE TABLE channels (id BIGINT PRIMARY KEY, platform VARCHAR(32), channel_name VARCHAR(120))");
         jdbcTemplate.execute("CREATE TABLE tickets (user_id BIGINT, ticket_id VARCHAR(120), channel_id BIGINT, PRIMARY KEY (user_id, ticket_id))");
@@ -0,0 +1,209 @@
+package com.example.panel.service;
+
+import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.service.DashboardRollupService.RollupRow;
+import com.example.panel.service.DashboardRollupService.RollupSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2026-04-01");
+    private static final LocalDate TO = LocalDate.parse("2026-04-30");
+
+    private final Map<String, DialogListItem> dialogs = new LinkedHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private DashboardRollupService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dbFile = Files.createTempFile("dashboard-rollups-", ".db");
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:sqlite:" + dbFile.toAbsolutePath()));
+        createSchema();
+        DialogLookupReadService lookup = mock(DialogLookupReadService.class);
+        when(lookup.loadDialogRowsByTicketIds(anyCollection())).thenAnswer(invocation -> {
+            List<DialogListItem> items = new ArrayList<>();
+            for (Object ticketId : invocation.<Iterable<?>>getArgument(0)) {
+                DialogListItem item = dialogs.get(String.valueOf(ticketId));
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            return items;
+        });
+        service = new DashboardRollupService(jdbcTemplate, lookup, mock(DialogListProjectionService.class));
+    }
+
+    @Test
+    void rebuildMatchesInMemoryAggregationAndMarksReady() {
+        put(dialog("T-1", "open", "Иванов", "2026-04-20T08:15:00", null, null));
+        put(dialog("T-2", "open", "Иванов", "2026-04-20T08:45:00", null, null));
+        put(dialog("T-3", "resolved", "Петров", "2026-04-21T10:00:00", "2026-04-21T10:30:00", 5));
+        service.initialize();
+        assertThat(service.isReady()).isFalse();
+
+        assertThat(service.rebuild()).isEqualTo(3);
+
+        assertThat(service.isReady()).isTrue();
+        RollupSet loaded = service.loadRows(FROM, TO);
+        RollupSet aggregated = DashboardRollupService.aggregate(dialogs.values());
+        assertThat(summarize(loaded.rows())).isEqualTo(summarize(aggregated.rows()));
+        assertThat(hourTotals(loaded)).isEqualTo(hourTotals(aggregated))
+                .containsOnly(Map.entry("2026-04-20|8", 2L), Map.entry("2026-04-21|10", 1L));
+        assertThat(loaded.categories()).extracting(row -> row.category()).containsOnly("billing");
+        assertThat(loaded.categories().stream().mapToLong(row -> row.tickets()).sum()).isEqualTo(3);
+        RollupRow resolved = single(service.loadRows(LocalDate.parse("2026-04-21"), LocalDate.parse("2026-04-21")).rows());
+        assertThat(resolved.resolved()).isEqualTo(1);
+        assertThat(resolved.handlingMinutes()).isEqualTo(30);
+        assertThat(resolved.ratings()).containsExactly(0, 0, 0, 0, 1);
+    }
+
+    @Test
+    void refreshMovesTicketBetweenBucketsAndDropsDeletedTickets() {
+        put(dialog("T-1", "open", "Иванов", "2026-04-20T08:15:00", null, null));
+        put(dialog("T-2", "open", "Иванов", "2026-04-20T08:45:00", null, null));
+        service.rebuild();
+        assertThat(single(service.loadRows(FROM, TO).rows()).tickets()).isEqualTo(2);
+
+        put(dialog("T-1", "resolved", "Иванов", "2026-04-20T08:15:00", "2026-04-20T09:00:00", 4));
+        assertThat(service.refreshTickets(List.of("T-1", "T-2"))).isEqualTo(1);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        service.loadRows(FROM, TO).rows().forEach(row -> byStatus.merge(row.status(), row.tickets(), Long::sum));
+        assertThat(byStatus).containsOnly(Map.entry("open", 1L), Map.entry("resolved", 1L));
+
+        dialogs.remove("T-2");
+        jdbcTemplate.update("DELETE FROM tickets WHERE ticket_id = 'T-2'");
+        assertThat(service.refreshTickets(List.of("T-2"))).isEqualTo(1);
+
+        RollupRow remaining = single(service.loadRows(FROM, TO).rows());
+        assertThat(remaining.status()).isEqualTo("resolved");
+        assertThat(remaining.handlingMinutes()).isEqualTo(45);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dashboard_rollup_tickets", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void ticketsOfOneDayAndLocationShareBucketsRegardlessOfHourAndCategories() {
+        put(dialog("T-1", "open", "Иванов", "2026-04-20T08:15:00", null, null, "billing, delivery"));
+        put(dialog("T-2", "open", "Иванов", "2026-04-20T17:45:00", null, null, "delivery"));
+        put(dialog("T-3", "open", "Иванов", "2026-04-20T17:50:00", null, null, "—"));
+        service.rebuild();
+
+        RollupSet loaded = service.loadRows(FROM, TO);
+
+        assertThat(single(loaded.rows()).tickets()).isEqualTo(3);
+        assertThat(hourTotals(loaded)).containsOnly(Map.entry("2026-04-20|8", 1L), Map.entry("2026-04-20|17", 2L));
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        loaded.categories().forEach(row -> byCategory.merge(row.category(), row.tickets(), Long::sum));
+        assertThat(byCategory).containsOnly(Map.entry("billing", 1L), Map.entry("delivery", 1L), Map.entry("", 1L));
+    }
+
+    @Test
+    void dayRangeAndUndatedBucketsCoverAllTime() {
+        put(dialog("T-1", "open", "Иванов", "2024-01-05T08:15:00", null, null));
+        put(dialog("T-2", "open", "Иванов", "2026-04-20T08:45:00", null, null));
+        put(dialog("T-3", "open", "Иванов", null, null, null));
+        assertThat(service.loadDayRange()).isEmpty();
+        service.rebuild();
+
+        DashboardRollupService.DayRange range = service.loadDayRange().orElseThrow();
+        assertThat(range.first()).isEqualTo(LocalDate.parse("2024-01-05"));
+        assertThat(range.last()).isEqualTo(LocalDate.parse("2026-04-20"));
+        assertThat(service.loadRows(range.first(), range.last()).rows()).hasSize(2);
+        RollupSet all = service.loadRows(range.first(), range.last(), true);
+        assertThat(summarize(all.rows())).isEqualTo(summarize(DashboardRollupService.aggregate(dialogs.values()).rows()));
+        assertThat(all.hours().stream().mapToLong(row -> row.tickets()).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void everyNodePicksUpReadinessOnSynchronize() {
+        put(dialog("T-1", "open", "Иванов", "2026-04-20T08:15:00", null, null));
+        DashboardRollupService otherNode = new DashboardRollupService(
+                jdbcTemplate, mock(DialogLookupReadService.class), mock(DialogListProjectionService.class));
+        otherNode.initialize();
+        service.rebuild();
+        assertThat(otherNode.isReady()).isFalse();
+
+        otherNode.synchronize();
+
+        assertThat(otherNode.isReady()).isTrue();
+    }
+
+    @Test
+    void readsRequireBoundedDateWindow() {
+        assertThatThrownBy(() -> service.loadRows(null, TO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.loadRows(FROM, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.loadAttributeCounts("business", null, null, true, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void put(DialogListItem item) {
+        dialogs.put(item.ticketId(), item);
+        jdbcTemplate.update("INSERT OR IGNORE INTO tickets(ticket_id) VALUES (?)", item.ticketId());
+    }
+
+    private RollupRow single(List<RollupRow> rows) {
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private Map<String, Long> summarize(List<RollupRow> rows) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (RollupRow row : rows) {
+            String key = row.day() + "|" + row.locationName() + "|" + row.responsible() + "|" + row.status();
+            totals.merge(key, row.tickets(), Long::sum);
+        }
+        return totals;
+    }
+
+    private Map<String, Long> hourTotals(RollupSet rollup) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        rollup.hours().forEach(row -> totals.merge(row.day() + "|" + row.hour(), row.tickets(), Long::sum));
+        return totals;
+    }
+
+    private DialogListItem dialog(String ticketId, String status, String responsible,
+                                  String createdAt, String resolvedAt, Integer rating) {
+        return dialog(ticketId, status, responsible, createdAt, resolvedAt, rating, "billing");
+    }
+
+    private DialogListItem dialog(String ticketId, String status, String responsible,
+                                  String createdAt, String resolvedAt, Integer rating, String categories) {
+        return new DialogListItem(ticketId, (String) null, 1L, "client", "Клиент", "БлинБери", 1L, "Telegram",
+                "Москва", "Тверская", "problem", createdAt, status, false, null, resolvedAt, responsible,
+                null, null, null, null, null, 0, rating, categories, responsible, null);
+    }
+
+    private void createSchema() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE tickets (ticket_id TEXT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE channels (id INTEGER PRIMARY KEY, channel_name TEXT)");
+        jdbcTemplate.update("INSERT INTO channels(id, channel_name) VALUES (1, 'Telegram')");
+        jdbcTemplate.execute("CREATE TABLE runtime_worker_checkpoints (worker_key TEXT PRIMARY KEY, cursor_text TEXT, updated_at TEXT)");
+        for (String script : List.of("V52__dashboard_rollups.sql", "V54__dashboard_rollup_filter_dimensions.sql")) {
+            String migration = new ClassPathResource("db/migration/sqlite/" + script).getContentAsString(StandardCharsets.UTF_8);
+            for (String statement : migration.split(";")) {
+                if (!statement.isBlank()) {
+                    jdbcTemplate.execute(statement);
+                }
+            }
+        }
+    }
+}
@@ -139,6 +139,51 @@ class DialogConversationReadServiceTest {
         assertThat(categories).containsExactly("billing", "delivery");
     }
 
+    @Test
+    void loadHistoryWindowPagesBothDirectionsAndResolvesRepliesOutsideTheWindow() {
+        for (int i = 1; i <= 7; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO chat_history(ticket_id, sender, message, timestamp, message_type, tg_message_id, reply_to_tg_id, channel_id)
+                    VALUES (?, ?, ?, ?, 'text', ?, ?, 5)
+                    """,
+                    "T-20", i % 2 == 0 ? "operator" : "client", "Сообщение " + i,
+                    "2026-04-21T09:0" + i + ":00Z", 100L + i, i == 6 ? 101L : null
+            );
+        }
+        jdbcTemplate.update("""
+                INSERT INTO chat_history(ticket_id, sender, message, timestamp, message_type, tg_message_id, channel_id)
+                VALUES ('T-other', 'client', 'Чужой тикет', '2026-04-21T09:03:30Z', 'text', 900, 5)
+                """);
+
+        DialogConversationReadService.HistoryWindow first = service.loadHistoryWindow(
+                "T-20", 5L, DialogConversationReadService.HistoryWindowQuery.fromOffset(0, 3));
+        assertThat(first.items()).extracting(ChatMessageDto::message)
+                .containsExactly("Сообщение 1", "Сообщение 2", "Сообщение 3");
+        assertThat(first.hasMore()).isTrue();
+
+        DialogConversationReadService.HistoryWindow newer = service.loadHistoryWindow(
+                "T-20", 5L, new DialogConversationReadService.HistoryWindowQuery(0, first.lastId(), null, 3));
+        assertThat(newer.items()).extracting(ChatMessageDto::message)
+                .containsExactly("Сообщение 4", "Сообщение 5", "Сообщение 6");
+        assertThat(newer.items().get(2).replyPreview()).isEqualTo("Сообщение 1");
+        assertThat(newer.hasMore()).isTrue();
+
+        DialogConversationReadService.HistoryWindow last = service.loadHistoryWindow(
+                "T-20", 5L, new DialogConversationReadService.HistoryWindowQuery(0, newer.lastId(), null, 3));
+        assertThat(last.items()).extracting(ChatMessageDto::message).containsExactly("Сообщение 7");
+        assertThat(last.hasMore()).isFalse();
+
+        DialogConversationReadService.HistoryWindow older = service.loadHistoryWindow(
+                "T-20", 5L, new DialogConversationReadService.HistoryWindowQuery(0, null, newer.firstId(), 2));
+        assertThat(older.items()).extracting(ChatMessageDto::message)
+                .containsExactly("Сообщение 2", "Сообщение 3");
+        assertThat(older.hasMore()).isTrue();
+
+        DialogConversationReadService.HistoryWindow foreignAnchor = service.loadHistoryWindow(
+                "T-20", 5L, new DialogConversationReadService.HistoryWindowQuery(0, 8L, null, 3));
+        assertThat(foreignAnchor.items()).isEmpty();
+    }
+
     @Test
     void loadHistoryFallsBackToLegacyQueryWhenAttachmentMetadataReadFails() {
         JdbcTemplate failingJdbcTemplate = mock(JdbcTemplate.class);
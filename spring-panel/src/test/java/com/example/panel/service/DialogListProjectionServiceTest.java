@@ -0,0 +1,226 @@
+package com.example.panel.service;
+
+import com.example.panel.config.DatabaseMode;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DialogListProjectionServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DialogListProjectionService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dbFile = Files.createTempFile("dialog-list-projection-", ".db");
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:sqlite:" + dbFile.toAbsolutePath()));
+        createSchema();
+        service = new DialogListProjectionService(jdbcTemplate, new PanelTimestampSqlSupport(DatabaseMode.SQLITE));
+    }
+
+    @Test
+    void rebuildStoresDerivedColumnsPerTicket() {
+        insertTicket("T-1", "2026-04-20T08:00:00Z");
+        insertHistory(1L, "T-1", "client", "2026-04-20T08:05:00Z");
+        insertHistory(2L, "T-1", "operator", "2026-04-20T08:06:00Z");
+        insertHistory(3L, "T-1", "client", "2026-04-20T08:07:00Z");
+        jdbcTemplate.update("INSERT INTO ticket_categories(ticket_id, category) VALUES ('T-1', 'billing')");
+        jdbcTemplate.update("INSERT INTO feedbacks(id, ticket_id, rating, timestamp) VALUES (1, 'T-1', 5, '2026-04-20T09:00:00Z')");
+
+        assertThat(service.rebuild()).isEqualTo(1);
+
+        Map<String, Object> row = projectionRow("T-1");
+        assertThat(row.get("last_sender")).isEqualTo("client");
+        assertThat(row.get("last_activity")).isEqualTo("2026-04-20T08:07:00");
+        assertThat(row.get("categories")).isEqualTo("billing");
+        assertThat(row.get("rating")).isEqualTo(5);
+        assertThat(row.get("unread_count")).isEqualTo(1);
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void synchronizeCatchesUpRowsWrittenOutsideThePanel() {
+        insertTicket("T-2", "2026-04-20T08:00:00Z");
+        insertHistory(1L, "T-2", "client", "2026-04-20T08:05:00Z");
+        service.initialize();
+        service.rebuild();
+
+        insertHistory(2L, "T-2", "support", "2026-04-20T08:30:00Z");
+        service.synchronize();
+
+        Map<String, Object> row = projectionRow("T-2");
+        assertThat(row.get("last_sender")).isEqualTo("support");
+        assertThat(row.get("unread_count")).isEqualTo(0);
+    }
+
+    @Test
+    void checkConsistencyRepairsDriftedMissingAndOrphanedRows() {
+        insertTicket("T-3", "2026-04-20T08:00:00Z");
+        insertTicket("T-4", "2026-04-20T09:00:00Z");
+        insertHistory(1L, "T-3", "client", "2026-04-20T08:05:00Z");
+        service.rebuild();
+        jdbcTemplate.update("UPDATE dialog_list_projection SET last_sender = 'operator' WHERE ticket_id = 'T-3'");
+        jdbcTemplate.update("DELETE FROM dialog_list_projection WHERE ticket_id = 'T-4'");
+        jdbcTemplate.update("INSERT INTO dialog_list_projection(ticket_id, unread_count) VALUES ('T-gone', 0)");
+
+        DialogListProjectionService.ConsistencyReport report = service.checkConsistency(50);
+
+        assertThat(report.hasDrift()).isTrue();
+        assertThat(report.missing()).isEqualTo(1);
+        assertThat(report.stale()).isEqualTo(1);
+        assertThat(report.orphaned()).isEqualTo(1);
+        assertThat(projectionRow("T-3").get("last_sender")).isEqualTo("client");
+        assertThat(jdbcTemplate.queryForList("SELECT ticket_id FROM dialog_list_projection ORDER BY ticket_id", String.class))
+                .containsExactly("T-3", "T-4");
+        assertThat(service.checkConsistency(50).hasDrift()).isFalse();
+    }
+
+    @Test
+    void changesSinceReportsUpsertedRowsAndTombstones() {
+        insertTicket("T-5", "2026-04-20T08:00:00Z");
+        insertTicket("T-6", "2026-04-20T08:10:00Z");
+        service.rebuild();
+        long version = service.currentVersion();
+        assertThat(version).isPositive();
+        assertThat(service.changesSince(0L, 100).reset()).isTrue();
+
+        insertHistory(1L, "T-5", "client", "2026-04-20T08:20:00Z");
+        service.refreshTicket("T-5");
+        jdbcTemplate.update("DELETE FROM tickets WHERE ticket_id = 'T-6'");
+        service.refreshTicket("T-6");
+
+        DialogListProjectionService.ChangeSet changes = service.changesSince(version, 100);
+
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.version()).isGreaterThan(version);
+        assertThat(changes.upsertedTicketIds()).contains("T-5");
+        assertThat(changes.removedTicketIds()).containsExactly("T-6");
+        assertThat(service.changesSince(version, 1).reset()).isTrue();
+    }
+
+    private Map<String, Object> projectionRow(String ticketId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT * FROM dialog_list_projection WHERE ticket_id = ?", ticketId);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private void insertTicket(String ticketId, String createdAt) {
+        jdbcTemplate.update("INSERT INTO tickets(ticket_id, status, user_id, channel_id, created_at) VALUES (?, 'pending', 90, 7, ?)",
+                ticketId, createdAt);
+        jdbcTemplate.update("""
+                INSERT INTO messages(group_msg_id, ticket_id, user_id, username, channel_id, problem, created_at)
+                VALUES (?, ?, 90, 'client90', 7, 'Проблема', ?)
+                """,
+                (long) ticketId.hashCode(), ticketId, createdAt);
+    }
+
+    private void insertHistory(long id, String ticketId, String sender, String timestamp) {
+        jdbcTemplate.update("INSERT INTO chat_history(id, ticket_id, sender, timestamp) VALUES (?, ?, ?, ?)",
+                id, ticketId, sender, timestamp);
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE tickets (
+                    ticket_id TEXT PRIMARY KEY,
+                    status TEXT,
+                    resolved_by TEXT,
+                    resolved_at TEXT,
+                    user_id INTEGER,
+                    channel_id INTEGER,
+                    created_at TEXT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE messages (
+                    group_msg_id INTEGER PRIMARY KEY,
+                    ticket_id TEXT,
+                    user_id INTEGER,
+                    username TEXT,
+                    client_name TEXT,
+                    business TEXT,
+                    channel_id INTEGER,
+                    city TEXT,
+                    location_name TEXT,
+                    problem TEXT,
+                    created_at TEXT,
+                    created_date TEXT,
+                    created_time TEXT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE ticket_responsibles (
+                    ticket_id TEXT PRIMARY KEY,
+                    responsible TEXT,
+                    assigned_by TEXT,
+                    last_read_at TEXT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE chat_history (
+                    id INTEGER PRIMARY KEY,
+                    ticket_id TEXT,
+                    sender TEXT,
+                    timestamp TEXT,
+                    tg_message_id INTEGER
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE feedbacks (
+                    id INTEGER PRIMARY KEY,
+                    ticket_id TEXT,
+                    rating INTEGER,
+                    timestamp TEXT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE ticket_categories (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    ticket_id TEXT,
+                    category TEXT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE dialog_list_projection (
+                    ticket_id TEXT PRIMARY KEY,
+                    group_msg_id INTEGER,
+                    user_id INTEGER,
+                    username TEXT,
+                    client_name TEXT,
+                    business TEXT,
+                    channel_id INTEGER,
+                    city TEXT,
+                    location_name TEXT,
+                    problem TEXT,
+                    created_at TEXT,
+                    created_date TEXT,
+                    created_time TEXT,
+                    last_sender TEXT,
+                    last_sender_time TEXT,
+                    last_activity TEXT,
+                    categories TEXT,
+                    rating INTEGER,
+                    unread_count INTEGER NOT NULL DEFAULT 0,
+                    change_version INTEGER NOT NULL DEFAULT 0,
+                    refreshed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE dialog_list_tombstones (
+                    ticket_id TEXT PRIMARY KEY,
+                    change_version INTEGER NOT NULL,
+                    removed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.panel.service;
 
 import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.model.dialog.DialogListPage;
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.model.dialog.DialogMyDialogs;
 import com.example.panel.model.dialog.DialogSummary;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -11,7 +14,11 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DialogListReadServiceTest {
@@ -86,6 +93,51 @@ class DialogListReadServiceTest {
         assertThat(((DialogListItem) ((List<?>) myDialogs.get("in_work")).get(0)).ticketId()).isEqualTo("T-301");
     }
 
+    @Test
+    void loadListPagePayloadTranslatesSlaStateIntoCreatedAtWindowAndReturnsPageMeta() {
+        when(dialogLookupReadService.loadSummary()).thenReturn(new DialogSummary(1, 0, 1, List.of()));
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of(
+                "dialog_config", Map.of("sla_target_minutes", 180, "sla_warning_minutes", 60)
+        ));
+        DialogListItem dialog = sampleDialog("T-400", null, "2026-04-21T00:00:00Z", "open");
+        when(dialogLookupReadService.loadDialogPage(eq("operator"), any(DialogListPageQuery.class)))
+                .thenReturn(new DialogListPage(List.of(dialog), "next-token", true));
+        when(dialogLookupReadService.groupMyActiveDialogs(List.of(dialog), "operator")).thenReturn(DialogMyDialogs.empty());
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Map<String, Object> payload = service.loadListPagePayload("operator",
+                DialogListPageQuery.fromRequest(null, 25, List.of("new", "closed"), null, null, "breached"));
+
+        ArgumentCaptor<DialogListPageQuery> queryCaptor = ArgumentCaptor.forClass(DialogListPageQuery.class);
+        verify(dialogLookupReadService).loadDialogPage(eq("operator"), queryCaptor.capture());
+        DialogListPageQuery effective = queryCaptor.getValue();
+        Map<?, ?> page = (Map<?, ?>) payload.get("page");
+
+        assertThat(effective.statusKeys()).containsExactly("new");
+        assertThat(effective.createdAfter()).isNull();
+        assertThat(effective.createdAtOrBefore())
+                .isBetween(before.minus(180, ChronoUnit.MINUTES), Instant.now().minus(180, ChronoUnit.MINUTES));
+        assertThat(page.get("limit")).isEqualTo(25);
+        assertThat(page.get("next_cursor")).isEqualTo("next-token");
+        assertThat(page.get("has_more")).isEqualTo(true);
+        assertThat((List<?>) payload.get("dialogs")).hasSize(1);
+        assertThat(payload).containsKeys("summary", "my_dialogs", "sla_orchestration");
+    }
+
+    @Test
+    void loadListPagePayloadSkipsLookupWhenStatusFilterCannotMatchSlaState() {
+        when(dialogLookupReadService.loadSummary()).thenReturn(new DialogSummary(0, 0, 0, List.of()));
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of());
+        when(dialogLookupReadService.groupMyActiveDialogs(List.of(), "operator")).thenReturn(DialogMyDialogs.empty());
+
+        Map<String, Object> payload = service.loadListPagePayload("operator",
+                DialogListPageQuery.fromRequest(null, null, List.of("closed"), null, null, "at_risk"));
+
+        verify(dialogLookupReadService, never()).loadDialogPage(any(), any());
+        assertThat((List<?>) payload.get("dialogs")).isEmpty();
+        assertThat(((Map<?, ?>) payload.get("page")).get("has_more")).isEqualTo(false);
+    }
+
     private DialogListItem sampleDialog(String ticketId, String responsible, String createdAt, String statusKey) {
         return dialogItem(ticketId, responsible, createdAt, statusKey, false, "client", 1);
     }
@@ -1,7 +1,10 @@
 package com.example.panel.service;
 
 import com.example.panel.config.DatabaseMode;
+import com.example.panel.model.dialog.DialogListChanges;
 import com.example.panel.model.dialog.DialogListItem;
+import com.example.panel.model.dialog.DialogListPage;
+import com.example.panel.model.dialog.DialogListPageQuery;
 import com.example.panel.model.dialog.DialogSummary;
 import com.example.panel.storage.AttachmentObjectStorageService;
 import com.example.panel.support.PanelTimestampSqlSupport;
@@ -44,6 +47,7 @@ class DialogLookupReadServiceTest {
                 new PanelTimestampSqlSupport(DatabaseMode.SQLITE)
         );
         createPanelSchema();
+        createProjectionSchema();
         createUsersSchema();
     }
 
@@ -138,6 +142,60 @@ class DialogLookupReadServiceTest {
                 );
     }
 
+    @Test
+    void loadDialogPageWalksKeysetCursorByLastActivity() {
+        insertPagedTicket("T-401", 7L, null, "2026-04-20T08:00:00Z", "client", "2026-04-20T08:10:00Z");
+        insertPagedTicket("T-402", 7L, "operator", "2026-04-20T09:00:00Z", "support", "2026-04-21T10:00:00Z");
+        insertPagedTicket("T-403", 8L, null, "2026-04-20T10:00:00Z", "client", "2026-04-22T11:00:00Z");
+
+        DialogListPage firstPage = service.loadDialogPage("operator", pageQuery(null, 2, List.of(), null, null));
+        DialogListPage secondPage = service.loadDialogPage("operator", pageQuery(firstPage.nextCursor(), 2, List.of(), null, null));
+
+        assertThat(firstPage.items()).extracting(DialogListItem::ticketId).containsExactly("T-403", "T-402");
+        assertThat(firstPage.hasMore()).isTrue();
+        assertThat(firstPage.items().get(0).requestNumber()).isEqualTo("20260420-003");
+        assertThat(secondPage.items()).extracting(DialogListItem::ticketId).containsExactly("T-401");
+        assertThat(secondPage.hasMore()).isFalse();
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void bulkLoadNumbersEachCreationDayLikeSingleDialogLookup() {
+        insertPagedTicket("T-421", 7L, null, "2026-04-20T08:00:00Z", "client", "2026-04-20T08:10:00Z");
+        insertPagedTicket("T-422", 7L, null, "2026-04-21T09:00:00Z", "client", "2026-04-21T09:10:00Z");
+        insertPagedTicket("T-423", 8L, null, "2026-04-20T10:00:00Z", "client", "2026-04-22T11:00:00Z");
+        insertPagedTicket("T-424", 8L, null, "2026-04-21T07:00:00Z", "client", "2026-04-22T12:00:00Z");
+
+        List<DialogListItem> numbered = service.loadDialogsByTicketIds(List.of("T-424", "T-423", "T-422"));
+
+        assertThat(numbered).extracting(DialogListItem::ticketId, DialogListItem::requestNumber)
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple("T-424", service.findDialog("T-424", "operator").orElseThrow().requestNumber()),
+                        org.assertj.core.groups.Tuple.tuple("T-423", service.findDialog("T-423", "operator").orElseThrow().requestNumber()),
+                        org.assertj.core.groups.Tuple.tuple("T-422", service.findDialog("T-422", "operator").orElseThrow().requestNumber()));
+        assertThat(numbered.get(0).requestNumber()).endsWith("-001");
+        assertThat(service.loadDialogRowsByTicketIds(List.of("T-423")))
+                .extracting(DialogListItem::ticketId)
+                .containsExactly("T-423");
+    }
+
+    @Test
+    void loadDialogPagePushesChannelResponsibleAndStatusFiltersIntoSql() {
+        insertPagedTicket("T-501", 7L, null, "2026-04-20T08:00:00Z", "client", "2026-04-20T08:10:00Z");
+        insertPagedTicket("T-502", 7L, "operator", "2026-04-20T09:00:00Z", "support", "2026-04-21T10:00:00Z");
+        insertPagedTicket("T-503", 8L, null, "2026-04-20T10:00:00Z", "client", "2026-04-22T11:00:00Z");
+
+        DialogListPage channelPage = service.loadDialogPage("operator", pageQuery(null, 10, List.of(), 7L, null));
+        DialogListPage minePage = service.loadDialogPage("operator", pageQuery(null, 10, List.of(), null, "me"));
+        DialogListPage newPage = service.loadDialogPage("operator", pageQuery(null, 10, List.of("new"), null, null));
+        DialogListPage waitingClientPage = service.loadDialogPage("operator", pageQuery(null, 10, List.of("waiting_client"), null, null));
+
+        assertThat(channelPage.items()).extracting(DialogListItem::ticketId).containsExactly("T-502", "T-501");
+        assertThat(minePage.items()).extracting(DialogListItem::ticketId).containsExactly("T-502");
+        assertThat(newPage.items()).extracting(DialogListItem::ticketId).containsExactly("T-503", "T-501");
+        assertThat(waitingClientPage.items()).extracting(DialogListItem::ticketId).containsExactly("T-502");
+    }
+
     @Test
     void groupMyActiveDialogsKeepsOnlyCurrentOperatorsOpenDialogsAndSplitsByUnread() {
         List<DialogListItem> dialogs = List.of(
@@ -216,6 +274,90 @@ class DialogLookupReadServiceTest {
         assertThat(newOwnerDialogs.inWork()).extracting(DialogListItem::ticketId).containsExactly("T-303");
     }
 
+    @Test
+    void readsDialogListFromProjectionOnceBackfillCompleted() {
+        insertPagedTicket("T-601", 7L, null, "2026-04-20T08:00:00Z", "client", "2026-04-20T08:10:00Z");
+        insertPagedTicket("T-602", 7L, "operator", "2026-04-20T09:00:00Z", "support", "2026-04-21T10:00:00Z");
+        insertPagedTicket("T-603", 8L, "other", "2026-04-20T10:00:00Z", "client", "2026-04-22T11:00:00Z");
+        jdbcTemplate.update("INSERT INTO ticket_categories(ticket_id, category) VALUES (?, ?)", "T-602", "billing");
+        jdbcTemplate.update("INSERT INTO feedbacks(id, ticket_id, rating, timestamp) VALUES (?, ?, ?, ?)",
+                1L, "T-602", 4, "2026-04-21T10:05:00Z");
+        DialogListProjectionService projectionService = new DialogListProjectionService(
+                jdbcTemplate,
+                new PanelTimestampSqlSupport(DatabaseMode.SQLITE)
+        );
+        DialogLookupReadService projected = new DialogLookupReadService(
+                jdbcTemplate,
+                usersJdbcTemplate,
+                new PanelUserPhotoService(mock(AttachmentObjectStorageService.class)),
+                new PanelTimestampSqlSupport(DatabaseMode.SQLITE),
+                projectionService
+        );
+
+        assertThat(projectionService.isReady()).isFalse();
+        assertThat(projectionService.rebuild()).isEqualTo(3);
+
+        assertThat(projectionService.isReady()).isTrue();
+        assertThat(projected.loadDialogs("operator")).isEqualTo(service.loadDialogs("operator"));
+        assertThat(projected.findDialog("T-602", "operator")).isEqualTo(service.findDialog("T-602", "operator"));
+        assertThat(projected.loadDialogPage("operator", pageQuery(null, 2, List.of("new"), null, null)))
+                .isEqualTo(service.loadDialogPage("operator", pageQuery(null, 2, List.of("new"), null, null)));
+    }
+
+    @Test
+    void loadsDialogChangesAsFullRowsFromProjection() {
+        insertPagedTicket("T-611", 7L, null, "2026-04-20T08:00:00Z", "client", "2026-04-20T08:10:00Z");
+        DialogListProjectionService projectionService = new DialogListProjectionService(
+                jdbcTemplate,
+                new PanelTimestampSqlSupport(DatabaseMode.SQLITE)
+        );
+        DialogLookupReadService projected = new DialogLookupReadService(
+                jdbcTemplate,
+                usersJdbcTemplate,
+                new PanelUserPhotoService(mock(AttachmentObjectStorageService.class)),
+                new PanelTimestampSqlSupport(DatabaseMode.SQLITE),
+                projectionService
+        );
+        assertThat(projected.loadDialogChanges("operator", 1L, 10).reset()).isTrue();
+        projectionService.rebuild();
+        long version = projected.currentChangeVersion();
+
+        insertPagedTicket("T-612", 8L, "operator", "2026-04-20T09:00:00Z", "client", "2026-04-20T09:10:00Z");
+        projectionService.refreshTicket("T-612");
+        DialogListChanges changes = projected.loadDialogChanges("operator", version, 10);
+
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.upserted()).extracting(DialogListItem::ticketId).contains("T-612");
+        assertThat(changes.upserted()).filteredOn(item -> "T-612".equals(item.ticketId()))
+                .containsExactlyElementsOf(service.findDialog("T-612", "operator").stream().toList());
+        assertThat(changes.removed()).isEmpty();
+    }
+
+    private DialogListPageQuery pageQuery(String cursor, int limit, List<String> statuses, Long channelId, String responsible) {
+        return DialogListPageQuery.fromRequest(cursor, limit, statuses, channelId, responsible, null);
+    }
+
+    private void insertPagedTicket(String ticketId,
+                                   Long channelId,
+                                   String responsible,
+                                   String createdAt,
+                                   String lastSender,
+                                   String lastActivity) {
+        jdbcTemplate.update("INSERT INTO tickets(ticket_id, status, user_id, channel_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                ticketId, "pending", 90L, channelId, createdAt);
+        jdbcTemplate.update("""
+                INSERT INTO messages(group_msg_id, ticket_id, user_id, username, channel_id, problem, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+                Long.parseLong(ticketId.substring(2)), ticketId, 90L, "client90", channelId, "Проблема", createdAt);
+        if (responsible != null) {
+            jdbcTemplate.update("INSERT INTO ticket_responsibles(ticket_id, responsible, assigned_by) VALUES (?, ?, ?)",
+                    ticketId, responsible, responsible);
+        }
+        jdbcTemplate.update("INSERT INTO chat_history(ticket_id, sender, timestamp) VALUES (?, ?, ?)",
+                ticketId, lastSender, lastActivity);
+    }
+
     private DialogListItem dialogItem(String ticketId,
                                       String responsible,
                                       String status,
@@ -342,6 +484,41 @@ class DialogLookupReadServiceTest {
                 """);
     }
 
+    private void createProjectionSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE dialog_list_projection (
+                    ticket_id TEXT PRIMARY KEY,
+                    group_msg_id INTEGER,
+                    user_id INTEGER,
+                    username TEXT,
+                    client_name TEXT,
+                    business TEXT,
+                    channel_id INTEGER,
+                    city TEXT,
+                    location_name TEXT,
+                    problem TEXT,
+                    created_at TEXT,
+                    created_date TEXT,
+                    created_time TEXT,
+                    last_sender TEXT,
+                    last_sender_time TEXT,
+                    last_activity TEXT,
+                    categories TEXT,
+                    rating INTEGER,
+                    unread_count INTEGER NOT NULL DEFAULT 0,
+                    change_version INTEGER NOT NULL DEFAULT 0,
+                    refreshed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE dialog_list_tombstones (
+                    ticket_id TEXT PRIMARY KEY,
+                    change_version INTEGER NOT NULL,
+                    removed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+    }
+
     private void createUsersSchema() {
         usersJdbcTemplate.execute("""
                 CREATE TABLE users (
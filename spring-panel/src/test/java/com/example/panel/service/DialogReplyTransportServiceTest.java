@@ -1,5 +1,6 @@
 package com.example.panel.service;
 
+import com.example.panel.config.OperatorReplyRateLimitProperties;
 import com.example.panel.entity.Channel;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -348,6 +349,41 @@ class DialogReplyTransportServiceTest {
         assertThat(result.telegramMessageId()).isNull();
     }
 
+    @Test
+    void sendTextWaitsForTelegramRetryAfterAndRetries() throws Exception {
+        HttpClient httpClient = mock(HttpClient.class);
+        IntegrationNetworkService integrationNetworkService = mock(IntegrationNetworkService.class);
+        when(integrationNetworkService.createChannelHttpClient(any(), any(Duration.class))).thenReturn(httpClient);
+
+        List<String> methodCalls = new ArrayList<>();
+        List<Long> sentAt = new ArrayList<>();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    sentAt.add(System.nanoTime());
+                    return sentAt.size() == 1
+                            ? responseFor(invocation.getArgument(0), methodCalls,
+                                    "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after 1\",\"parameters\":{\"retry_after\":1}}",
+                                    429)
+                            : responseFor(invocation.getArgument(0), methodCalls,
+                                    "{\"ok\":true,\"result\":{\"message_id\":55}}",
+                                    200);
+                });
+
+        DialogReplyTransportService service = new DialogReplyTransportService(
+                mock(com.example.panel.repository.ChannelRepository.class),
+                integrationNetworkService,
+                new ObjectMapper(),
+                new OperatorReplyRateLimiter(new OperatorReplyRateLimitProperties())
+        );
+
+        DialogReplyTransportService.DialogReplyTransportResult result = service.sendText(telegramChannel(), 42L, "hello", null);
+
+        assertThat(result.error()).isNull();
+        assertThat(result.telegramMessageId()).isEqualTo(55L);
+        assertThat(methodCalls).containsExactly("sendMessage", "sendMessage");
+        assertThat(Duration.ofNanos(sentAt.get(1) - sentAt.get(0))).isGreaterThanOrEqualTo(Duration.ofMillis(950));
+    }
+
     @Test
     void sourceDoesNotContainReadAllBytesOrMojibakeMarkers() throws Exception {
         Path source = Path.of("src/main/java/com/example/panel/service/DialogReplyTransportService.java");
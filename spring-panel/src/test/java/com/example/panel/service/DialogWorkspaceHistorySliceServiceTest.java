@@ -26,6 +26,28 @@ class DialogWorkspaceHistorySliceServiceTest {
         assertThat(slice.hasMore()).isTrue();
     }
 
+    @Test
+    void fromWindowKeepsNumericCursorForOffsetPagingAndIdCursorsForKeysetPaging() {
+        List<ChatMessageDto> items = List.of(
+                chatMessage("client", "m3", "2026-05-01T10:02:00Z", 3L),
+                chatMessage("operator", "m4", "2026-05-01T10:03:00Z", 4L)
+        );
+
+        DialogWorkspaceHistorySliceService.HistorySlice offsetSlice = service.fromWindow(
+                DialogConversationReadService.HistoryWindowQuery.fromOffset(2, 2),
+                new DialogConversationReadService.HistoryWindow(items, 30L, 40L, true));
+        DialogWorkspaceHistorySliceService.HistorySlice olderSlice = service.fromWindow(
+                new DialogConversationReadService.HistoryWindowQuery(0, null, 50L, 2),
+                new DialogConversationReadService.HistoryWindow(items, 30L, 40L, false));
+
+        assertThat(offsetSlice.safeCursor()).isEqualTo(2);
+        assertThat(offsetSlice.nextCursor()).isEqualTo(4);
+        assertThat(offsetSlice.previousCursor()).isEqualTo("before:30");
+        assertThat(olderSlice.nextCursor()).isEqualTo("after:40");
+        assertThat(olderSlice.previousCursor()).isNull();
+        assertThat(olderSlice.hasMore()).isFalse();
+    }
+
     private ChatMessageDto chatMessage(String sender, String message, String timestamp, Long telegramMessageId) {
         return new ChatMessageDto(
                 sender,
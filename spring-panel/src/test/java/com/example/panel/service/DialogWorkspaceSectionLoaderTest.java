@@ -0,0 +1,92 @@
+package com.example.panel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DialogWorkspaceSectionLoaderTest {
+
+    private final DialogWorkspaceSectionLoader loader = new DialogWorkspaceSectionLoader(4, 16, 200);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        loader.shutdownExecutor();
+    }
+
+    @Test
+    void runsSectionsConcurrentlyAndReportsHealthyAssembly() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        DialogWorkspaceSectionLoader.Assembly assembly = loader.start();
+        DialogWorkspaceSectionLoader.Section<String> first = assembly.fork("first", () -> awaitPeer(bothStarted, "a"));
+        DialogWorkspaceSectionLoader.Section<String> second = assembly.fork("second", () -> awaitPeer(bothStarted, "b"));
+
+        assertThat(assembly.join(first, "fallback")).isEqualTo("a");
+        assertThat(assembly.join(second, "fallback")).isEqualTo("b");
+        assertThat(assembly.degraded()).isFalse();
+        assertThat(assembly.health()).containsOnlyKeys("first", "second");
+        assertThat(statusOf(assembly, "first")).isEqualTo("ok");
+    }
+
+    @Test
+    void degradesSlowAndFailingSectionsToFallbacks() {
+        DialogWorkspaceSectionLoader.Assembly assembly = loader.start();
+        DialogWorkspaceSectionLoader.Section<List<String>> slow = assembly.fork("slow", () -> {
+            awaitRelease();
+            return List.of("late");
+        });
+        DialogWorkspaceSectionLoader.Section<List<String>> broken = assembly.fork("broken", () -> {
+            throw new IllegalStateException("db down");
+        });
+
+        long started = System.nanoTime();
+        assertThat(assembly.join(slow, List.of())).isEmpty();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2_000);
+        assertThat(assembly.join(broken, List.of("fallback"))).containsExactly("fallback");
+        assertThat(assembly.skip("permissions", Map.of())).isEmpty();
+
+        assertThat(assembly.degraded()).isTrue();
+        assertThat(statusOf(assembly, "slow")).isEqualTo("timeout");
+        assertThat(statusOf(assembly, "broken")).isEqualTo("error");
+        assertThat(statusOf(assembly, "permissions")).isEqualTo("skipped");
+    }
+
+    @Test
+    void zeroThreadsLoadsSectionsInline() {
+        DialogWorkspaceSectionLoader inline = new DialogWorkspaceSectionLoader(0, 0, 200);
+        String caller = Thread.currentThread().getName();
+        DialogWorkspaceSectionLoader.Assembly assembly = inline.start();
+
+        DialogWorkspaceSectionLoader.Section<String> section = assembly.fork("inline", () -> Thread.currentThread().getName());
+
+        assertThat(assembly.join(section, "fallback")).isEqualTo(caller);
+    }
+
+    private String awaitPeer(CountDownLatch bothStarted, String value) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(150, TimeUnit.MILLISECONDS) ? value : "sequential";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Object statusOf(DialogWorkspaceSectionLoader.Assembly assembly, String section) {
+        return ((Map<?, ?>) assembly.health().get(section)).get("status");
+    }
+}
@@ -2,6 +2,8 @@ package com.example.panel.service;
 
 import com.example.panel.entity.Channel;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -398,4 +400,45 @@ class IntegrationNetworkServiceTest {
         assertThat(result.port()).isEqualTo(853);
     }
 
+    @Test
+    void sharesChannelHttpClientBetweenCallsOnTheSameRoute() {
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of());
+        Channel first = channelWithProxy(1L, "proxy-a");
+        Channel second = channelWithProxy(2L, "proxy-a");
+
+        HttpClient client = service.createChannelHttpClient(first, Duration.ofSeconds(10));
+
+        assertThat(service.createChannelHttpClient(first, Duration.ofSeconds(10))).isSameAs(client);
+        assertThat(service.createChannelHttpClient(second, Duration.ofSeconds(10))).isSameAs(client);
+        assertThat(service.createChannelHttpClient(second, Duration.ofSeconds(120))).isNotSameAs(client);
+    }
+
+    @Test
+    void dropsChannelHttpClientOnceNoChannelUsesItsRoute() {
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of());
+        Channel channel = channelWithProxy(1L, "proxy-a");
+        Channel neighbour = channelWithProxy(2L, "proxy-b");
+
+        HttpClient original = service.createChannelHttpClient(channel, Duration.ofSeconds(10));
+        HttpClient shared = service.createChannelHttpClient(neighbour, Duration.ofSeconds(10));
+
+        channel.setDeliverySettings(channelWithProxy(1L, "proxy-b").getDeliverySettings());
+        assertThat(service.createChannelHttpClient(channel, Duration.ofSeconds(10))).isSameAs(shared);
+
+        service.invalidateChannelHttpClient(1L);
+        assertThat(service.createChannelHttpClient(neighbour, Duration.ofSeconds(10))).isSameAs(shared);
+
+        channel.setDeliverySettings(channelWithProxy(1L, "proxy-a").getDeliverySettings());
+        assertThat(service.createChannelHttpClient(channel, Duration.ofSeconds(10))).isNotSameAs(original);
+    }
+
+    private Channel channelWithProxy(Long id, String host) {
+        Channel channel = new Channel();
+        channel.setId(id);
+        channel.setPlatform("vk");
+        channel.setDeliverySettings("""
+            {"network_route": {"mode": "proxy", "proxy": {"scheme": "http", "host": "%s", "port": 3128}}}
+            """.formatted(host));
+        return channel;
+    }
 }
@@ -173,6 +173,68 @@ class OperatorNotificationWatcherTest {
         );
     }
 
+    @Test
+    void watchSkipsFirstResponseOverdueOnceOperatorReplied() {
+        Channel channel = channel(12L, "Escalation Queue");
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of(
+                "dialog_config", Map.of("sla_target_minutes", 1)
+        ));
+        when(channelRepository.findById(12L)).thenReturn(Optional.of(channel));
+
+        jdbcTemplate.update("""
+                INSERT INTO tickets(ticket_id, channel_id, status, created_at, user_id)
+                VALUES (?, ?, ?, ?, ?)
+                """,
+                "T-ANSWERED-1", 12L, "open", OffsetDateTime.now(ZoneOffset.UTC).minusHours(2).toString(), 1L);
+        jdbcTemplate.update("""
+                INSERT INTO chat_history(id, ticket_id, sender, message, message_type, channel_id, timestamp)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+                1L, "T-ANSWERED-1", "user", "Жду ответа", "text", 12L, OffsetDateTime.now(ZoneOffset.UTC).minusHours(2).toString());
+        jdbcTemplate.update("""
+                INSERT INTO chat_history(id, ticket_id, sender, message, message_type, channel_id, timestamp)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+                2L, "T-ANSWERED-1", "operator", "Здравствуйте", "text", 12L, OffsetDateTime.now(ZoneOffset.UTC).minusHours(1).toString());
+
+        watcher.watch();
+
+        verify(alertQueueService, never()).notifyFirstResponseOverdue(eq(channel), eq("T-ANSWERED-1"), org.mockito.ArgumentMatchers.anyLong());
+        verify(dialogAuditService, never()).hasSuccessfulDialogAction(anyString(), anyString());
+    }
+
+    @Test
+    void initializeBackfillsDeadlinesForDialogsAlreadyWaitingForFirstResponse() {
+        Channel channel = channel(12L, "Escalation Queue");
+        when(sharedConfigService.loadSettings()).thenReturn(Map.of(
+                "dialog_config", Map.of("sla_target_minutes", 1)
+        ));
+        when(channelRepository.findById(12L)).thenReturn(Optional.of(channel));
+        when(alertQueueService.notifyFirstResponseOverdue(eq(channel), anyString(), org.mockito.ArgumentMatchers.anyLong())).thenReturn(true);
+        when(dialogAuditService.hasSuccessfulDialogAction("T-NOTIFIED-1", "first_response_overdue_notification")).thenReturn(true);
+        String twoHoursAgo = OffsetDateTime.now(ZoneOffset.UTC).minusHours(2).toString();
+        for (String ticketId : new String[]{"T-WAITING-1", "T-NOTIFIED-1"}) {
+            jdbcTemplate.update("""
+                    INSERT INTO tickets(ticket_id, channel_id, status, created_at, user_id)
+                    VALUES (?, ?, ?, ?, ?)
+                    """,
+                    ticketId, 12L, "open", twoHoursAgo, 1L);
+            jdbcTemplate.update("""
+                    INSERT INTO chat_history(ticket_id, sender, message, message_type, channel_id, timestamp)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """,
+                    ticketId, "user", "Жду ответа", "text", 12L, twoHoursAgo);
+        }
+        jdbcTemplate.update("DELETE FROM runtime_worker_checkpoints");
+
+        watcher.initialize();
+        watcher.watch();
+        watcher.watch();
+
+        verify(alertQueueService).notifyFirstResponseOverdue(eq(channel), eq("T-WAITING-1"), org.mockito.ArgumentMatchers.anyLong());
+        verify(alertQueueService, never()).notifyFirstResponseOverdue(eq(channel), eq("T-NOTIFIED-1"), org.mockito.ArgumentMatchers.anyLong());
+    }
+
     private Channel channel(Long id, String channelName) {
         Channel channel = new Channel();
         channel.setId(id);
@@ -220,6 +282,14 @@ class OperatorNotificationWatcherTest {
                     created_at TEXT
                 )
                 """);
+        jdbcTemplate.execute("""
+                CREATE TABLE ticket_first_response_deadlines (
+                    ticket_id TEXT PRIMARY KEY,
+                    channel_id INTEGER,
+                    first_client_message_at INTEGER,
+                    settled_at INTEGER
+                )
+                """);
         jdbcTemplate.execute("""
                 CREATE TABLE dialog_action_audit (
                     id INTEGER PRIMARY KEY AUTOINCREMENT,
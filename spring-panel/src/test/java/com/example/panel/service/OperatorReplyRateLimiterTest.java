@@ -0,0 +1,45 @@
+package com.example.panel.service;
+
+import com.example.panel.config.OperatorReplyRateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperatorReplyRateLimiterTest {
+
+    @Test
+    void perChatBurstIsEnforcedAndOtherChatsAreNotDelayed() throws Exception {
+        OperatorReplyRateLimitProperties properties = new OperatorReplyRateLimitProperties();
+        properties.setMaxWait(Duration.ofMillis(100));
+        properties.setPlatforms(Map.of("telegram", new OperatorReplyRateLimitProperties.PlatformLimits(100, 0.5, 2)));
+        OperatorReplyRateLimiter limiter = new OperatorReplyRateLimiter(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        limiter.execute("telegram", 1L, 42L, calls::incrementAndGet, result -> null);
+        limiter.execute("telegram", 1L, 42L, calls::incrementAndGet, result -> null);
+
+        assertThatThrownBy(() -> limiter.execute("telegram", 1L, 42L, calls::incrementAndGet, result -> null))
+                .isInstanceOf(OperatorReplyRateLimiter.OperatorReplyRateLimitedException.class);
+        limiter.execute("telegram", 1L, 43L, calls::incrementAndGet, result -> null);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void returnsLastRateLimitedResultAfterMaxRetries() throws Exception {
+        OperatorReplyRateLimitProperties properties = new OperatorReplyRateLimitProperties();
+        properties.setMaxRetries(2);
+        properties.setDefaultRetryAfter(Duration.ofMillis(20));
+        OperatorReplyRateLimiter limiter = new OperatorReplyRateLimiter(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        Integer result = limiter.execute("vk", 7L, 42L, calls::incrementAndGet, attempt -> Duration.ZERO);
+
+        assertThat(result).isEqualTo(3);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.panel.service;
+
+import com.example.panel.model.dialog.DialogListItem;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperatorWorkloadIndexServiceTest {
+
+    private final DialogLookupReadService dialogLookupReadService = Mockito.mock(DialogLookupReadService.class);
+    private final DialogListProjectionService projectionService = Mockito.mock(DialogListProjectionService.class);
+    private final OperatorWorkloadIndexService index = new OperatorWorkloadIndexService(dialogLookupReadService, projectionService);
+
+    @Test
+    void countsOpenUnansweredAndCriticalTicketsPerOperatorAndChannel() {
+        index.reconcile(List.of(
+                dialog("T-1", 10L, "2026-04-20T08:00:00Z", "open", "Ivanov", "client"),
+                dialog("T-2", 10L, "2026-04-20T09:00:00Z", "open", "ivanov", "operator"),
+                dialog("T-3", 20L, "2026-04-20T07:00:00Z", "open", "ivanov", "client"),
+                dialog("T-4", 10L, "2026-04-20T07:00:00Z", "resolved", "ivanov", "client"),
+                dialog("T-5", 10L, "2026-04-20T07:00:00Z", "open", null, "client")
+        ));
+
+        OperatorWorkloadIndexService.OperatorWorkload workload =
+                index.workload("IVANOV", Instant.parse("2026-04-20T08:00:00Z"));
+
+        assertTrue(index.isReady());
+        assertEquals(3, workload.open());
+        assertEquals(2, workload.unanswered());
+        assertEquals(2, workload.critical());
+        assertEquals(new OperatorWorkloadIndexService.ChannelWorkload(2, 1, 1), workload.byChannel().get(10L));
+        assertEquals(new OperatorWorkloadIndexService.ChannelWorkload(1, 1, 1), workload.byChannel().get(20L));
+        assertEquals(0, index.openCount("petrov"));
+    }
+
+    @Test
+    void followsProjectionChangesForReassignmentAndClosing() {
+        index.reconcile(List.of(
+                dialog("T-1", 10L, "2026-04-20T08:00:00Z", "open", "ivanov", "client"),
+                dialog("T-2", 10L, "2026-04-20T09:00:00Z", "open", "ivanov", "client")
+        ));
+        Mockito.when(projectionService.isReady()).thenReturn(true);
+        Mockito.when(projectionService.changesSince(Mockito.anyLong(), Mockito.anyInt()))
+                .thenReturn(new DialogListProjectionService.ChangeSet(7L, false, List.of("T-1", "T-2"), List.of()));
+        Mockito.when(dialogLookupReadService.loadDialogRowsByTicketIds(Set.of("T-1", "T-2"))).thenReturn(List.of(
+                dialog("T-1", 10L, "2026-04-20T08:00:00Z", "open", "petrov", "client"),
+                dialog("T-2", 10L, "2026-04-20T09:00:00Z", "resolved", "ivanov", "client")
+        ));
+
+        index.synchronize();
+
+        assertEquals(0, index.openCount("ivanov"));
+        assertEquals(1, index.openCount("petrov"));
+        assertFalse(index.workload("ivanov", null).byChannel().containsKey(10L));
+    }
+
+    @Test
+    void autoAssignUsesIndexedLoadOnceReady() {
+        index.reconcile(List.of(
+                dialog("B-1", 10L, Instant.now().toString(), "open", "busy_operator", "client"),
+                dialog("B-2", 10L, Instant.now().toString(), "open", "busy_operator", "client")
+        ));
+        SlaEscalationAutoAssignService service = new SlaEscalationAutoAssignService(dialogLookupReadService);
+        ReflectionTestUtils.setField(service, "workloadIndex", index);
+
+        List<SlaEscalationWebhookNotifier.AutoAssignDecision> decisions = service.resolveAutoAssignDecisions(
+                List.of(Map.of("ticket_id", "T-11", "channel", "Telegram")),
+                Map.of(
+                        "sla_critical_auto_assign_enabled", true,
+                        "sla_critical_auto_assign_rules", List.of(Map.of(
+                                "rule_id", "least_loaded_pool",
+                                "match_channel", "telegram",
+                                "assign_to_pool", List.of("busy_operator", "free_operator"),
+                                "assign_to_pool_strategy", "least_loaded"
+                        ))
+                ));
+
+        assertEquals("free_operator", decisions.get(0).assignee());
+        Mockito.verify(dialogLookupReadService, Mockito.never()).loadDialogs(Mockito.any());
+    }
+
+    private DialogListItem dialog(String ticketId, Long channelId, String createdAt, String status,
+                                  String responsible, String lastSender) {
+        return new DialogListItem(ticketId, 100L, 1L, "client", "Client", "biz", channelId, "Telegram",
+                "Moscow", "HQ", "Issue", createdAt, status, null, null, responsible, null, null, null,
+                lastSender, createdAt, 0, null, null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.panel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class OutboxWakeupTest {
+
+    @Test
+    void skipsTicksUntilNotifiedWhileListenerIsActive() {
+        PostgresNotificationListener listener = mock(PostgresNotificationListener.class);
+        when(listener.isActive()).thenReturn(true);
+        OutboxWakeup wakeup = new OutboxWakeup(listener, null, 60_000L, () -> { }, "panel_ui_event_outbox");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(listener).subscribe(eq("panel_ui_event_outbox"), handler.capture());
+        AtomicInteger passes = new AtomicInteger();
+
+        assertThat(wakeup.runIfDue(passes::incrementAndGet)).isTrue();
+        assertThat(wakeup.runIfDue(passes::incrementAndGet)).isFalse();
+        handler.getValue().accept("");
+        assertThat(wakeup.runIfDue(passes::incrementAndGet)).isTrue();
+
+        assertThat(passes).hasValue(2);
+    }
+
+    @Test
+    void runsEveryTickWithoutActiveListenerOrAfterFallback() {
+        PostgresNotificationListener listener = mock(PostgresNotificationListener.class);
+        OutboxWakeup inactive = new OutboxWakeup(listener, null, 60_000L, () -> { }, "panel_feedbacks");
+        OutboxWakeup detached = new OutboxWakeup(null, null, 60_000L, () -> { });
+        when(listener.isActive()).thenReturn(true);
+        OutboxWakeup fallback = new OutboxWakeup(listener, null, 0L, () -> { }, "panel_chat_history");
+        when(listener.isActive()).thenReturn(false);
+        AtomicInteger passes = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            inactive.runIfDue(passes::incrementAndGet);
+            detached.runIfDue(passes::incrementAndGet);
+        }
+        when(listener.isActive()).thenReturn(true);
+        fallback.runIfDue(passes::incrementAndGet);
+        fallback.runIfDue(passes::incrementAndGet);
+
+        assertThat(passes).hasValue(8);
+    }
+}
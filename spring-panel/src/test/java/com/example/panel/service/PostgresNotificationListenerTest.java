@@ -0,0 +1,72 @@
+package com.example.panel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+class PostgresNotificationListenerTest {
+
+    @Test
+    void wakesSubscribersOnceListenSucceedsAndAgainAfterReconnect() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        PGConnection broken = mock(PGConnection.class);
+        when(broken.getNotifications(anyInt())).thenThrow(new SQLException("connection reset"));
+        PGConnection healthy = mock(PGConnection.class);
+        when(healthy.getNotifications(anyInt())).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(10);
+            return new PGNotification[0];
+        });
+        Connection first = connection(broken);
+        Connection second = connection(healthy);
+        when(dataSource.getConnection()).thenReturn(first, second);
+        PostgresNotificationListener listener = new PostgresNotificationListener(dataSource, true);
+        BlockingQueue<String> wakes = new LinkedBlockingQueue<>();
+
+        try {
+            listener.subscribe("panel_feedbacks", payload -> wakes.add(String.valueOf(payload)));
+
+            assertThat(wakes.poll(5, TimeUnit.SECONDS)).isEqualTo("null");
+            assertThat(wakes.poll(15, TimeUnit.SECONDS)).isEqualTo("null");
+            verify(second.createStatement()).execute("LISTEN \"panel_feedbacks\"");
+        } finally {
+            listener.shutdown();
+        }
+    }
+
+    @Test
+    void listenConnectionDoesNotTakeAPoolSlot() throws Exception {
+        Path dbFile = Files.createTempFile("panel-listen-", ".db");
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl("jdbc:sqlite:" + dbFile.toAbsolutePath());
+            try (Connection connection = PostgresNotificationListener.openListenConnection(pool)) {
+                assertThat(connection.isValid(1)).isTrue();
+                assertThat(pool.getHikariPoolMXBean()).isNull();
+            }
+        }
+    }
+
+    private static Connection connection(PGConnection pgConnection) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        return connection;
+    }
+}
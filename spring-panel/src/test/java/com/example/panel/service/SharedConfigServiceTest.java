@@ -1,6 +1,9 @@
 package com.example.panel.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.panel.model.channel.BotCredential;
@@ -8,6 +11,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -167,4 +172,52 @@ class SharedConfigServiceTest {
 
         assertTrue(sharedConfigService.loadBotCredentials().isEmpty());
     }
+
+    @Test
+    void settingsSnapshotIsSharedUntilFileChanges() throws Exception {
+        SharedConfigService sharedConfigService = new SharedConfigService(objectMapper, tempDir.toString());
+        sharedConfigService.saveSettings(Map.of("theme", "neo"));
+
+        SharedConfigService.SettingsSnapshot first = sharedConfigService.settingsSnapshot();
+        assertSame(first.settings(), sharedConfigService.settingsSnapshot().settings());
+        assertEquals(first.version(), sharedConfigService.settingsVersion());
+
+        Path settingsFile = tempDir.resolve("settings.json");
+        Files.writeString(settingsFile, "{\"theme\": \"catppuccin\"}");
+        Files.setLastModifiedTime(settingsFile, FileTime.from(Instant.now().plusSeconds(5)));
+
+        SharedConfigService.SettingsSnapshot second = sharedConfigService.settingsSnapshot();
+        assertEquals("catppuccin", second.settings().get("theme"));
+        assertNotEquals(first.version(), second.version());
+    }
+
+    @Test
+    void loadSettingsReturnsMutableCopyDetachedFromSnapshot() {
+        SharedConfigService sharedConfigService = new SharedConfigService(objectMapper, tempDir.toString());
+        sharedConfigService.saveSettings(Map.of("dialog_config", Map.of("sla_target_minutes", 240)));
+
+        Map<String, Object> settings = sharedConfigService.loadSettings();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> dialogConfig = (Map<String, Object>) settings.get("dialog_config");
+        dialogConfig.put("sla_target_minutes", 30);
+
+        Map<?, ?> snapshotDialogConfig = (Map<?, ?>) sharedConfigService.settingsSnapshot().settings().get("dialog_config");
+        assertEquals(240, snapshotDialogConfig.get("sla_target_minutes"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> sharedConfigService.settingsSnapshot().settings().put("theme", "neo"));
+    }
+
+    @Test
+    void saveSettingsStartsNewVersion() {
+        SharedConfigService sharedConfigService = new SharedConfigService(objectMapper, tempDir.toString());
+        assertEquals(0L, sharedConfigService.settingsVersion());
+
+        sharedConfigService.saveSettings(Map.of("theme", "neo"));
+        long firstVersion = sharedConfigService.settingsVersion();
+        sharedConfigService.saveSettings(Map.of("theme", "nya"));
+
+        assertTrue(firstVersion > 0);
+        assertTrue(sharedConfigService.settingsVersion() > firstVersion);
+        assertEquals("nya", sharedConfigService.loadSettings().get("theme"));
+    }
 }
@@ -94,6 +94,37 @@ class SlaEscalationAutoAssignServiceTest {
         assertEquals("free_operator", decisions.get(0).assignee());
     }
 
+    @Test
+    void leastLoadedFallbackCountsOnlyTheOperatorsOwnOpenDialogs() {
+        DialogLookupReadService dialogLookupReadService = Mockito.mock(DialogLookupReadService.class);
+        List<com.example.panel.model.dialog.DialogListItem> allDialogs = List.of(
+                dialog("B-1", Instant.now().toString(), "open", "Busy_Operator"),
+                dialog("B-2", Instant.now().toString(), "open", "busy_operator"),
+                dialog("F-1", Instant.now().toString(), "open", "free_operator"),
+                dialog("U-1", Instant.now().toString(), "open", null)
+        );
+        Mockito.when(dialogLookupReadService.loadDialogs(Mockito.anyString())).thenReturn(allDialogs);
+        SlaEscalationAutoAssignService service = new SlaEscalationAutoAssignService(dialogLookupReadService);
+
+        List<Map<String, Object>> candidates = List.of(Map.of("ticket_id", "T-12", "channel", "Telegram"));
+        Map<String, Object> config = Map.of(
+                "sla_critical_auto_assign_enabled", true,
+                "sla_critical_auto_assign_max_open_per_operator", 2,
+                "sla_critical_auto_assign_rules", List.of(
+                        Map.of(
+                                "rule_id", "least_loaded_pool",
+                                "match_channel", "telegram",
+                                "assign_to_pool", List.of("busy_operator", "free_operator"),
+                                "assign_to_pool_strategy", "least_loaded"
+                        )
+                )
+        );
+
+        List<SlaEscalationWebhookNotifier.AutoAssignDecision> decisions = service.resolveAutoAssignDecisions(candidates, config);
+        assertEquals(1, decisions.size());
+        assertEquals("free_operator", decisions.get(0).assignee());
+    }
+
     private com.example.panel.model.dialog.DialogListItem dialog(String ticketId, String createdAt, String status, String responsible) {
         return new com.example.panel.model.dialog.DialogListItem(
                 ticketId,
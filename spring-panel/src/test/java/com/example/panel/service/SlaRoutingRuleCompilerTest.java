@@ -0,0 +1,72 @@
+package com.example.panel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SlaRoutingRuleCompilerTest {
+
+    @Test
+    void picksMostSpecificThenHighestPriorityThenFirstConfiguredRule() {
+        SlaRoutingRuleCompiler.CompiledRules rules = SlaRoutingRuleCompiler.compile(List.of(
+                Map.of("rule_id", "any_breached", "match_sla_state", "overdue", "assign_to", "duty"),
+                Map.of("rule_id", "telegram_low", "match_channel", "Telegram", "priority", 1, "assign_to", "a"),
+                Map.of("rule_id", "telegram_high", "match_channels", "telegram, vk", "priority", 5, "assign_to", "b"),
+                Map.of("rule_id", "telegram_high_copy", "match_channel", "telegram", "priority", 5, "assign_to", "c"),
+                Map.of("rule_id", "telegram_vip", "match_channel", "telegram", "match_client_status", "VIP", "assign_to", "d")
+        ), null, null);
+
+        assertEquals("telegram_high", bestRoute(rules, "telegram", null, null));
+        assertEquals("telegram_vip", bestRoute(rules, "telegram", "vip", null));
+        assertEquals("telegram_high", bestRoute(rules, "vk", null, "breached"));
+        assertEquals("any_breached", bestRoute(rules, "max", null, "breached"));
+        assertNull(bestRoute(rules, null, null, "normal"));
+    }
+
+    @Test
+    void normalizesOperatorSkillsAndSkipsRulesWithoutConditions() {
+        SlaRoutingRuleCompiler.CompiledRules rules = SlaRoutingRuleCompiler.compile(
+                List.of(
+                        Map.of("rule_id", "no_conditions", "assign_to", "ivanov"),
+                        Map.of("rule_id", "no_assignee", "match_channel", "telegram"),
+                        Map.of("match_request_prefixes", "VIP-;Gold-", "assign_to", "petrov")
+                ),
+                Map.of(" Petrov ", "Billing,\nVIP"),
+                Map.of());
+
+        assertEquals(1, rules.rules().size());
+        assertEquals("rule:petrov", rules.rules().get(0).route());
+        assertEquals(Set.of("billing", "vip"), rules.operatorSkills().get("petrov"));
+        assertEquals("rule:petrov", rules.bestMatch(null, null, null, Set.of(), null, null, null, null, null, "gold-17").route());
+    }
+
+    @Test
+    void reusesCompilationWhileRuleObjectsStayTheSame() {
+        SlaRoutingRuleCompiler compiler = new SlaRoutingRuleCompiler();
+        List<Map<String, Object>> rawRules = List.of(Map.of("match_channel", "telegram", "assign_to", "ivanov"));
+
+        SlaRoutingRuleCompiler.CompiledRules first = compiler.compiled(Map.of("sla_critical_auto_assign_rules", rawRules));
+        SlaRoutingRuleCompiler.CompiledRules second = compiler.compiled(Map.of(
+                "sla_critical_auto_assign_rules", rawRules,
+                "sla_critical_auto_assign_enabled", true));
+        SlaRoutingRuleCompiler.CompiledRules changed = compiler.compiled(Map.of(
+                "sla_critical_auto_assign_rules", List.of(Map.of("match_channel", "vk", "assign_to", "petrov"))));
+
+        assertSame(first, second);
+        assertNotSame(first, changed);
+        assertEquals("rule:petrov", changed.rules().get(0).route());
+    }
+
+    private String bestRoute(SlaRoutingRuleCompiler.CompiledRules rules, String channel, String clientStatus, String slaState) {
+        SlaRoutingRuleCompiler.CompiledRule rule = rules.bestMatch(channel, null, null, Set.of(), clientStatus,
+                null, null, null, slaState, null);
+        return rule != null ? rule.route() : null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.panel.service;
+
+import com.example.panel.config.DatabaseMode;
+import com.example.panel.service.StreamingExportService.Dataset;
+import com.example.panel.service.StreamingExportService.ExportFilters;
+import com.example.panel.service.StreamingExportService.Format;
+import com.example.panel.support.PanelTimestampSqlSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingExportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StreamingExportService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dbFile = Files.createTempFile("streaming-export-", ".db");
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:sqlite:" + dbFile.toAbsolutePath()));
+        createSchema();
+        service = new StreamingExportService(jdbcTemplate, new PanelTimestampSqlSupport(DatabaseMode.SQLITE));
+    }
+
+    @Test
+    void dialogsCsvAppliesDateAndChannelFilters() throws Exception {
+        insertDialog("T-1", 1L, "2026-03-01T10:00:00", "Тверская");
+        insertDialog("T-2", 1L, "2026-03-02T23:59:59", "Арбат \"центр\"");
+        insertDialog("T-3", 2L, "2026-03-02T12:00:00", "Невский");
+        insertDialog("T-4", 1L, "2026-03-03T00:00:00", "Садовая");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = service.export(Dataset.DIALOGS, Format.CSV,
+                new ExportFilters(LocalDate.parse("2026-03-01"), LocalDate.parse("2026-03-02"), List.of(1L)), out);
+
+        assertThat(rows).isEqualTo(2);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("\"ticket_id\",\"created_at\",\"status\",\"channel\"");
+        assertThat(lines.get(1)).startsWith("\"T-1\",\"2026-03-01T10:00:00\",\"open\",\"Telegram\"");
+        assertThat(lines.get(2)).contains("\"Арбат \"\"центр\"\"\"");
+    }
+
+    @Test
+    void slaEventsXlsxContainsOnlySlaActions() throws Exception {
+        insertDialog("T-1", 1L, "2026-03-01T10:00:00", "Тверская");
+        jdbcTemplate.update("""
+                INSERT INTO dialog_action_audit(ticket_id, actor, action, result, detail, created_at)
+                VALUES ('T-1', 'sla_orchestrator', 'sla_auto_assign', 'success', 'assigned_to=ivanov', '2026-03-01 11:00:00'),
+                       ('T-1', 'ivanov', 'take', 'success', NULL, '2026-03-01 11:05:00')
+                """);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = service.export(Dataset.SLA_EVENTS, Format.XLSX, new ExportFilters(null, null, List.of(1L)), out);
+
+        assertThat(rows).isEqualTo(1);
+        String sheet = readEntry(out.toByteArray(), "xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("sla_auto_assign").contains("assigned_to=ivanov").doesNotContain(">take<");
+        assertThat(readEntry(out.toByteArray(), "xl/workbook.xml")).contains("name=\"Sheet1\"");
+    }
+
+    private String readEntry(byte[] zipBytes, String name) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipBytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().equals(name)) {
+                    return new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("missing zip entry " + name);
+    }
+
+    private void insertDialog(String ticketId, long channelId, String createdAt, String location) {
+        jdbcTemplate.update("INSERT INTO tickets(user_id, ticket_id, status, channel_id) VALUES (1, ?, 'open', ?)", ticketId, channelId);
+        jdbcTemplate.update("""
+                INSERT INTO messages(group_msg_id, user_id, ticket_id, created_at, location_name, channel_id)
+                VALUES ((SELECT COUNT(*) + 1 FROM messages), 1, ?, ?, ?, ?)
+                """, ticketId, createdAt, location, channelId);
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE channels (id INTEGER PRIMARY KEY, channel_name TEXT)");
+        jdbcTemplate.execute("INSERT INTO channels(id, channel_name) VALUES (1, 'Telegram'), (2, 'VK')");
+        jdbcTemplate.execute("""
+                CREATE TABLE tickets (
+                    user_id BIGINT, ticket_id TEXT, status TEXT, resolved_at TEXT, resolved_by TEXT, channel_id BIGINT,
+                    PRIMARY KEY (user_id, ticket_id)
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE messages (
+                    group_msg_id BIGINT PRIMARY KEY, user_id BIGINT, business TEXT, city TEXT, location_name TEXT,
+                    problem TEXT, created_at TEXT, username TEXT, ticket_id TEXT UNIQUE, client_name TEXT, channel_id BIGINT
+                )
+                """);
+        jdbcTemplate.execute("CREATE TABLE ticket_responsibles (ticket_id TEXT PRIMARY KEY, responsible TEXT)");
+        jdbcTemplate.execute("""
+                CREATE TABLE dialog_action_audit (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT, ticket_id TEXT, actor TEXT, action TEXT,
+                    result TEXT, detail TEXT, created_at TEXT
+                )
+                """);
+    }
+}
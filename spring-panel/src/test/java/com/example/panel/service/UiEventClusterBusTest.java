@@ -0,0 +1,106 @@
+package com.example.panel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.example.panel.config.UiEventClusterProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class UiEventClusterBusTest {
+
+    @Test
+    void deliversEventsFromOtherNodesOnce() {
+        UiEventClusterBus bus = newBus();
+        List<UiEventClusterBus.Event> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(received::add);
+        String message = """
+                {"id":"node-b:1","origin":"node-b","name":"dialogs_changed","ticketId":"T-1","channelId":5,
+                 "users":[],"payload":{"reason":"ticket_created","ticketId":"T-1"}}
+                """;
+
+        bus.receive(message);
+        bus.receive(message);
+        bus.receive("{not json");
+
+        assertThat(received).singleElement().satisfies(event -> {
+            assertThat(event.name()).isEqualTo("dialogs_changed");
+            assertThat(event.ticketId()).isEqualTo("T-1");
+            assertThat(event.channelId()).isEqualTo(5L);
+            assertThat(event.payload()).containsEntry("reason", "ticket_created");
+        });
+    }
+
+    @Test
+    void publishIsNoOpWithoutTransport() {
+        UiEventClusterBus bus = newBus();
+        bus.start();
+
+        bus.publish("dialogs_changed", "T-1", null, List.of(), java.util.Map.of());
+
+        assertThat(bus.isEnabled()).isFalse();
+    }
+
+    @Test
+    void publishDoesNotWaitForTheTransportAndDropsWhenTheQueueIsFull() throws Exception {
+        UiEventClusterProperties properties = new UiEventClusterProperties();
+        properties.setPublishQueueCapacity(2);
+        UiEventClusterBus bus = newBus(properties);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        bus.attach(new UiEventClusterTransport() {
+            @Override
+            public void send(String message) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(message);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        try {
+            bus.publish("dialogs_changed", "T-0", null, List.of(), Map.of());
+            assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+            long started = System.nanoTime();
+            for (int i = 1; i < 10; i++) {
+                bus.publish("dialogs_changed", "T-" + i, null, List.of(), Map.of());
+            }
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < 3 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+            // One event in flight plus a queue of two; the rest were dropped.
+            assertThat(sent).hasSize(3);
+        } finally {
+            bus.stop();
+        }
+    }
+
+    static UiEventClusterBus newBus() {
+        return newBus(new UiEventClusterProperties());
+    }
+
+    @SuppressWarnings("unchecked")
+    static UiEventClusterBus newBus(UiEventClusterProperties properties) {
+        return new UiEventClusterBus(properties, new ObjectMapper(),
+                mock(ObjectProvider.class), mock(ObjectProvider.class), mock(ObjectProvider.class));
+    }
+}
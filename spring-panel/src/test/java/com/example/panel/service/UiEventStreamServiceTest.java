@@ -0,0 +1,174 @@
+package com.example.panel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class UiEventStreamServiceTest {
+
+    private UiEventStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdownWriters();
+        }
+    }
+
+    @Test
+    void coalescesRepeatedEventsWhileTheConnectionIsBusy() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(1), 3);
+        service = new UiEventStreamService(1, 16, () -> emitter);
+        service.connect("Operator");
+        awaitEmptyQueues();
+
+        for (int i = 0; i < 10; i++) {
+            service.publishDialogsChanged("incoming_client_message", "T-1");
+        }
+        service.publishDialogsChanged("ticket_created", "T-2");
+        assertThat(service.queuedEventCount()).isEqualTo(2);
+        emitter.release.countDown();
+
+        assertThat(emitter.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).containsExactly("connected", "dialogs_changed", "dialogs_changed");
+        assertThat(service.queuedEventCount()).isZero();
+    }
+
+    @Test
+    void filteredConnectionReceivesOnlyItsTicketsAndUnscopedEvents() {
+        RecordingEmitter emitter = new RecordingEmitter(null, 0);
+        service = new UiEventStreamService(0, 16, () -> emitter);
+        service.connect("operator", List.of(), List.of("T-1"));
+
+        service.publishDialogHistoryChanged("T-2", 5L, "incoming_client_message");
+        service.publishDialogHistoryChanged("T-1", 5L, "incoming_client_message");
+        service.publishSidebarUnblockChanged("unblock_request_decided");
+
+        assertThat(emitter.events).containsExactly("connected", "dialog_history_changed", "sidebar_unblock_changed");
+    }
+
+    @Test
+    void channelFilterKeepsTicketEventsWithoutChannel() {
+        RecordingEmitter emitter = new RecordingEmitter(null, 0);
+        service = new UiEventStreamService(0, 16, () -> emitter);
+        service.connect("operator", Set.of(5L), List.of());
+
+        service.publishSidebarBotsChanged("bot_restarted", 6L);
+        service.publishDialogsChanged("ticket_created", "T-3");
+        service.publishSidebarBotsChanged("bot_restarted", 5L);
+
+        assertThat(emitter.events).containsExactly("connected", "dialogs_changed", "sidebar_bots_changed");
+    }
+
+    @Test
+    void channelFilterDropsDialogsChangedOfOtherChannels() {
+        RecordingEmitter emitter = new RecordingEmitter(null, 0);
+        service = new UiEventStreamService(0, 16, () -> emitter);
+        service.connect("operator", Set.of(5L), List.of());
+
+        service.publishDialogsChanged("ticket_created", "T-4", 6L);
+        service.publishDialogHistoryChanged("T-5", 6L, "incoming_client_message");
+        service.publishDialogsChanged("dialog_resolved", "T-5");
+        service.publishDialogsChanged("ticket_created", "T-6", 5L);
+
+        assertThat(emitter.events).containsExactly("connected", "dialogs_changed");
+    }
+
+    @Test
+    void heartbeatAbortsStalledSendAndFreesTheWriter() throws Exception {
+        RecordingEmitter stalled = new RecordingEmitter(new CountDownLatch(1), 1);
+        RecordingEmitter healthy = new RecordingEmitter(null, 1);
+        Iterator<RecordingEmitter> emitters = List.of(stalled, healthy).iterator();
+        service = new UiEventStreamService(1, 16, 50L, emitters::next);
+        service.connect("slow");
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        service.sendHeartbeat();
+        service.connect("fast");
+
+        assertThat(healthy.delivered.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(healthy.events).containsExactly("connected");
+        assertThat(service.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectsConsumerWhoseQueueOverflows() {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(1), 1);
+        service = new UiEventStreamService(1, 2, () -> emitter);
+        service.connect("operator");
+
+        service.publishDialogsChanged("incoming_client_message", "T-1");
+        service.publishDialogsChanged("incoming_client_message", "T-2");
+        service.publishDialogsChanged("incoming_client_message", "T-3");
+
+        assertThat(service.connectionCount()).isZero();
+        emitter.release.countDown();
+    }
+
+    @Test
+    void deliversEventsReceivedFromOtherNodesToLocalSubscribers() {
+        RecordingEmitter emitter = new RecordingEmitter(null, 0);
+        service = new UiEventStreamService(0, 16, () -> emitter);
+        UiEventClusterBus bus = UiEventClusterBusTest.newBus();
+        ReflectionTestUtils.setField(service, "clusterBus", bus);
+        service.subscribeToCluster();
+        service.connect("Operator", List.of(), List.of("T-1"));
+
+        bus.receive("""
+                {"id":"node-b:1","origin":"node-b","name":"notifications_changed","users":["operator"],"payload":{}}
+                """);
+        bus.receive("""
+                {"id":"node-b:2","origin":"node-b","name":"dialogs_changed","ticketId":"T-2","users":[],"payload":{}}
+                """);
+        bus.receive("""
+                {"id":"node-b:3","origin":"node-b","name":"dialog_history_changed","ticketId":"T-1","channelId":5,"users":[],"payload":{}}
+                """);
+
+        assertThat(emitter.events).containsExactly("connected", "notifications_changed", "dialog_history_changed");
+    }
+
+    private void awaitEmptyQueues() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.queuedEventCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch delivered;
+
+        private RecordingEmitter(CountDownLatch release, int expectedEvents) {
+            super(0L);
+            this.release = release;
+            this.delivered = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            String head = String.valueOf(parts.iterator().next().getData());
+            events.add(head.substring("event:".length(), head.indexOf('\n')));
+            delivered.countDown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.panel.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkspaceTelemetryBatchWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private WorkspaceTelemetryBatchWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dbFile = Files.createTempFile("workspace-telemetry-writer-", ".db");
+        DataSource dataSource = new DriverManagerDataSource("jdbc:sqlite:" + dbFile.toAbsolutePath());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE workspace_telemetry_audit (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    actor TEXT,
+                    event_type TEXT NOT NULL,
+                    event_group TEXT,
+                    ticket_id TEXT,
+                    reason TEXT,
+                    error_code TEXT,
+                    contract_version TEXT,
+                    duration_ms INTEGER,
+                    experiment_name TEXT,
+                    experiment_cohort TEXT,
+                    operator_segment TEXT,
+                    primary_kpis TEXT,
+                    secondary_kpis TEXT,
+                    template_id TEXT,
+                    template_name TEXT,
+                    created_at TEXT NOT NULL
+                )
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void buffersEventsUntilFlushAndWritesThemInOrder() {
+        writer = new WorkspaceTelemetryBatchWriter(jdbcTemplate, 1000, 1000);
+        for (int i = 0; i < 120; i++) {
+            writer.append(telemetry("T-" + i));
+        }
+
+        assertThat(countRows()).isZero();
+        assertThat(writer.queuedEventCount()).isEqualTo(120);
+
+        writer.flush();
+
+        assertThat(writer.queuedEventCount()).isZero();
+        assertThat(countRows()).isEqualTo(120);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT ticket_id FROM workspace_telemetry_audit ORDER BY id LIMIT 3", String.class))
+                .containsExactly("T-0", "T-1", "T-2");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM workspace_telemetry_audit WHERE created_at IS NULL", Long.class)).isZero();
+    }
+
+    @Test
+    void dropsEventsWhileBufferIsFull() {
+        writer = new WorkspaceTelemetryBatchWriter(jdbcTemplate, 1000, 2);
+        writer.append(telemetry("T-1"));
+        writer.append(telemetry("T-2"));
+        writer.append(telemetry("T-3"));
+
+        writer.flush();
+        writer.append(telemetry("T-4"));
+        writer.flush();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT ticket_id FROM workspace_telemetry_audit ORDER BY id", String.class))
+                .containsExactly("T-1", "T-2", "T-4");
+    }
+
+    @Test
+    void shutdownWritesPendingEvents() {
+        writer = new WorkspaceTelemetryBatchWriter(jdbcTemplate, 1000, 1000);
+        writer.append(telemetry("T-1"));
+
+        writer.shutdown();
+
+        assertThat(countRows()).isEqualTo(1);
+    }
+
+    private Object[] telemetry(String ticketId) {
+        return new Object[]{"operator", "workspace_open_ms", "workspace", ticketId, null, null, "workspace.v1",
+                120L, null, null, null, "frt", null, null, null};
+    }
+
+    private long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM workspace_telemetry_audit", Long.class);
+        return count != null ? count : 0L;
+    }
+}
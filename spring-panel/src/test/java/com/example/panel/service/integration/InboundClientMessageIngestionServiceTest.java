@@ -1,6 +1,7 @@
 package com.example.panel.service.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -21,6 +22,7 @@ import com.example.panel.repository.TicketActiveRepository;
 import com.example.panel.repository.TicketRepository;
 import com.example.panel.service.ChatAttachmentMetadataService;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -178,4 +180,54 @@ class InboundClientMessageIngestionServiceTest {
         verify(inboxService, never()).markProcessed(any());
         verify(inboxService, never()).markFailed(any(), any());
     }
+
+    @Test
+    void ingestBatchMarksEveryClaimedEventFailedWhenOneEventBreaksTheBatch() {
+        IntegrationInboundEventInboxService inboxService = mock(IntegrationInboundEventInboxService.class);
+        ChannelRepository channelRepository = mock(ChannelRepository.class);
+        InboundClientMessageIngestionService service = new InboundClientMessageIngestionService(
+            inboxService,
+            channelRepository,
+            mock(TicketRepository.class),
+            mock(ChatHistoryRepository.class),
+            mock(MessageRepository.class),
+            mock(TicketActiveRepository.class),
+            mock(ChatAttachmentMetadataService.class)
+        );
+        InboundClientMessageEvent first = batchEvent("evt-a");
+        InboundClientMessageEvent second = batchEvent("evt-b");
+        when(inboxService.beginProcessing(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(true);
+        when(channelRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.ingestBatch(List.of(
+            new InboundClientMessageIngestionService.InboundDelivery(first, "integration.inbound.telegram"),
+            new InboundClientMessageIngestionService.InboundDelivery(second, "integration.inbound.telegram")
+        ))).isInstanceOf(IllegalStateException.class);
+
+        verify(inboxService).markFailed(eq("evt-a"), any());
+        verify(inboxService).markFailed(eq("evt-b"), any());
+        verify(inboxService, never()).markProcessed(any());
+    }
+
+    private static InboundClientMessageEvent batchEvent(String eventId) {
+        return new InboundClientMessageEvent(
+            eventId,
+            "client_message.active_ticket",
+            "telegram",
+            3L,
+            "T-3",
+            3L,
+            "batch",
+            "batch",
+            null,
+            "text",
+            "text",
+            null,
+            null,
+            null,
+            null,
+            null,
+            OffsetDateTime.parse("2026-08-14T10:17:00Z")
+        );
+    }
 }
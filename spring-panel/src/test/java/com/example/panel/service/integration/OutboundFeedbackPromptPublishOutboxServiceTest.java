@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.example.panel.config.IntegrationRabbitProperties;
 import com.example.panel.service.RuntimeCoordinationService;
@@ -12,6 +14,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
 import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -98,4 +103,34 @@ class OutboundFeedbackPromptPublishOutboxServiceTest {
             event.eventId()
         )).isEqualTo("published");
     }
+
+    @Test
+    void lifecycleEventsArePublishedEvenWithoutBoundQueue() {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(4);
+            correlationData.setReturned(new ReturnedMessage(
+                new Message(new byte[0], new MessageProperties()), 312, "NO_ROUTE", "iguana.integration.outbound",
+                invocation.getArgument(1)));
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(), any(), any(CorrelationData.class));
+        TicketLifecycleEvent event = new TicketLifecycleEvent(
+            UUID.randomUUID().toString(),
+            TicketLifecycleEvent.TICKET_CLOSED,
+            42L,
+            200L,
+            "T-1"
+        );
+
+        service.enqueue(event, "integration.outbound.lifecycle.ticket.closed");
+        service.dispatchScheduled();
+
+        verify(rabbitTemplate).convertAndSend(eq("iguana.integration.outbound"),
+            eq("integration.outbound.lifecycle.ticket.closed"), eq(event), any(), any(CorrelationData.class));
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT status FROM integration_transport_outbox WHERE event_id = ?",
+            String.class,
+            event.eventId()
+        )).isEqualTo("published");
+    }
 }
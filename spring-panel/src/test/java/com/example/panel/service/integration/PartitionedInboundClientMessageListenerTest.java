@@ -0,0 +1,155 @@
+package com.example.panel.service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.panel.config.IntegrationRabbitProperties;
+import com.example.panel.service.integration.InboundClientMessageIngestionService.InboundDelivery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+class PartitionedInboundClientMessageListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final InboundClientMessageIngestionService ingestionService = mock(InboundClientMessageIngestionService.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private PartitionedInboundClientMessageListener listener;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (listener != null) {
+            listener.shutdown();
+        }
+    }
+
+    @Test
+    void keepsPerTicketOrderWhileSpreadingTicketsAcrossLanes() throws Exception {
+        listener = newListener(4);
+        Map<String, List<String>> appliedByTicket = new ConcurrentHashMap<>();
+        List<String> laneThreads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<InboundDelivery> deliveries = invocation.getArgument(0);
+            laneThreads.add(Thread.currentThread().getName());
+            for (InboundDelivery delivery : deliveries) {
+                appliedByTicket.computeIfAbsent(delivery.event().ticketId(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(delivery.event().eventId());
+            }
+            return null;
+        }).when(ingestionService).ingestBatch(anyList());
+
+        List<Message> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(message(event("evt-" + i, "T-" + (i % 8))));
+        }
+        listener.onInboundClientMessages(batch);
+
+        assertThat(appliedByTicket).hasSize(8);
+        for (int ticket = 0; ticket < 8; ticket++) {
+            List<String> expected = new ArrayList<>();
+            for (int i = ticket; i < 40; i += 8) {
+                expected.add("evt-" + i);
+            }
+            assertThat(appliedByTicket.get("T-" + ticket)).containsExactlyElementsOf(expected);
+        }
+        assertThat(laneThreads).allMatch(name -> name.startsWith("inbound-lane-"));
+        for (int ticket = 0; ticket < 8; ticket++) {
+            assertThat(PartitionedInboundClientMessageListener.laneOf(event("any", "T-" + ticket), 4))
+                .isEqualTo(PartitionedInboundClientMessageListener.laneOf(event("other", "T-" + ticket), 4));
+        }
+    }
+
+    @Test
+    void retriesFailedLaneOneByOneAndDeadLettersOnlyThePoisonEvent() throws Exception {
+        listener = newListener(1);
+        doThrow(new IllegalStateException("ticket not found")).when(ingestionService).ingestBatch(anyList());
+        doThrow(new IllegalStateException("ticket not found")).when(ingestionService).ingest(
+            argThat(event -> event != null && "evt-bad".equals(event.eventId())),
+            any());
+
+        listener.onInboundClientMessages(List.of(
+            message(event("evt-1", "T-1")),
+            message(event("evt-bad", "T-missing")),
+            message(event("evt-2", "T-1"))
+        ));
+
+        ArgumentCaptor<InboundClientMessageEvent> ingested = ArgumentCaptor.forClass(InboundClientMessageEvent.class);
+        verify(ingestionService, times(3)).ingest(ingested.capture(), eq("integration.inbound.telegram"));
+        assertThat(ingested.getAllValues()).extracting(InboundClientMessageEvent::eventId)
+            .containsExactly("evt-1", "evt-bad", "evt-2");
+        ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("inbound.dlx"), eq("inbound.dlq"), deadLettered.capture());
+        assertThat(objectMapper.readValue(deadLettered.getValue().getBody(), InboundClientMessageEvent.class).eventId())
+            .isEqualTo("evt-bad");
+        assertThat((String) deadLettered.getValue().getMessageProperties()
+            .getHeader(PartitionedInboundClientMessageListener.ERROR_HEADER)).isEqualTo("ticket not found");
+    }
+
+    @Test
+    void deadLettersUnreadablePayloadWithoutTouchingIngestion() {
+        listener = newListener(2);
+        MessageProperties properties = new MessageProperties();
+        properties.setReceivedRoutingKey("integration.inbound.telegram");
+
+        listener.onInboundClientMessages(List.of(new Message("{not json".getBytes(), properties)));
+
+        verify(rabbitTemplate).send(eq("inbound.dlx"), eq("inbound.dlq"), any(Message.class));
+        verify(ingestionService, never()).ingestBatch(anyList());
+    }
+
+    private PartitionedInboundClientMessageListener newListener(int partitions) {
+        IntegrationRabbitProperties properties = new IntegrationRabbitProperties();
+        properties.setInboundPartitions(partitions);
+        properties.setInboundDlx("inbound.dlx");
+        properties.setInboundDlq("inbound.dlq");
+        return new PartitionedInboundClientMessageListener(ingestionService, rabbitTemplate, properties, objectMapper);
+    }
+
+    private Message message(InboundClientMessageEvent event) throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setReceivedRoutingKey("integration.inbound.telegram");
+        return new Message(objectMapper.writeValueAsBytes(event), properties);
+    }
+
+    private static InboundClientMessageEvent event(String eventId, String ticketId) {
+        return new InboundClientMessageEvent(
+            eventId,
+            "client_message.active_ticket",
+            "telegram",
+            1L,
+            ticketId,
+            7001L,
+            "tg-7001",
+            "tg_user",
+            null,
+            "text",
+            "text",
+            null,
+            null,
+            null,
+            null,
+            null,
+            OffsetDateTime.parse("2026-08-14T10:15:00Z")
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.panel.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaCapabilityRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SchemaCapabilityRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dbFile = Files.createTempFile("schema-capability-", ".db");
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:sqlite:" + dbFile.toAbsolutePath()));
+        jdbcTemplate.execute("CREATE TABLE feedbacks (id INTEGER PRIMARY KEY, rating INTEGER, timestamp TEXT)");
+        registry = new SchemaCapabilityRegistry();
+    }
+
+    @Test
+    void servesCachedColumnsUntilSchemaIsRefreshed() {
+        assertThat(registry.columns(jdbcTemplate, "feedbacks")).containsExactly("id", "rating", "timestamp");
+
+        jdbcTemplate.execute("ALTER TABLE feedbacks ADD COLUMN ticket_id TEXT");
+        assertThat(registry.hasColumn(jdbcTemplate, "feedbacks", "ticket_id")).isFalse();
+
+        registry.refresh();
+        assertThat(registry.hasColumn(jdbcTemplate, "FEEDBACKS", "TICKET_ID")).isTrue();
+    }
+
+    @Test
+    void doesNotCacheMissingTables() {
+        assertThat(registry.columns(jdbcTemplate, "ticket_categories")).isEmpty();
+
+        jdbcTemplate.execute("CREATE TABLE ticket_categories (ticket_id TEXT, category TEXT)");
+
+        assertThat(registry.columns(jdbcTemplate, "ticket_categories")).containsExactly("ticket_id", "category");
+    }
+
+    @Test
+    void rebuildsCompiledValuesOncePerSchemaVersion() {
+        AtomicInteger builds = new AtomicInteger();
+
+        assertThat(registry.compiled("rows", () -> "sql-" + builds.incrementAndGet())).isEqualTo("sql-1");
+        assertThat(registry.compiled("rows", () -> "sql-" + builds.incrementAndGet())).isEqualTo("sql-1");
+
+        registry.refresh();
+
+        assertThat(registry.compiled("rows", () -> "sql-" + builds.incrementAndGet())).isEqualTo("sql-2");
+        assertThat(SchemaCapabilityRegistry.compiled(null, "rows", () -> "uncached")).isEqualTo("uncached");
+    }
+}
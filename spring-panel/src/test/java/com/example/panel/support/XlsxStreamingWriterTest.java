@@ -0,0 +1,63 @@
+package com.example.panel.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxStreamingWriterTest {
+
+    @Test
+    void escapesTextAndKeepsNumbersNumeric() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxStreamingWriter writer = new XlsxStreamingWriter(out)) {
+            writer.writeRow(List.of("id", "detail"));
+            writer.writeRow(Arrays.asList(42L, "a < b & \"c\"\u0001"));
+            writer.writeRow(Arrays.asList(null, "ok"));
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(entries).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<c><v>42</v></c>");
+        assertThat(sheet).contains("a &lt; b &amp; &quot;c&quot;</t>");
+        assertThat(sheet).contains("<c/>");
+    }
+
+    @Test
+    void startsNewSheetWhenRowLimitIsReached() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxStreamingWriter writer = new XlsxStreamingWriter(out, 2)) {
+            for (int row = 0; row < 5; row++) {
+                writer.writeRow(List.of(row));
+            }
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(entries).containsKeys("xl/worksheets/sheet1.xml", "xl/worksheets/sheet2.xml", "xl/worksheets/sheet3.xml");
+        assertThat(entries.get("xl/workbook.xml")).contains("name=\"Sheet3\"");
+        assertThat(entries.get("[Content_Types].xml")).contains("/xl/worksheets/sheet3.xml");
+        assertThat(entries.get("xl/worksheets/sheet3.xml")).contains("<v>4</v>").doesNotContain("<v>3</v>");
+    }
+
+    private Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}